@@ -0,0 +1,72 @@
+package com.flowmaster.auth.loadtest;
+
+import com.flowmaster.auth.AuthServiceApplication;
+import com.flowmaster.auth.infrastructure.cache.CredentialReplica;
+import com.flowmaster.auth.loadtest.generator.LoadTestRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证服务压测启动类
+ * 以loadtest配置启动完整的认证服务（H2、内存Redis替身、用户服务桩），
+ * 等待本地凭据副本同步完成后执行压测，报告写入日志；配置loadtest.report-file时同时写入该文件
+ * <p>
+ * 用法：mvn -Ploadtest package 后执行
+ * java -jar flowmaster-auth-loadtest/target/flowmaster-auth-loadtest-*.jar --loadtest.mode=OPEN --loadtest.rate=2000
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class AuthLoadTestApplication {
+
+    private static final long REPLICA_READY_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AuthServiceApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            awaitCredentialReplica(context);
+            String report = context.getBean(LoadTestRunner.class).run();
+            log.info("压测报告:\n{}", report);
+            writeReport(context, report);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void writeReport(ConfigurableApplicationContext context, String report) throws IOException {
+        String reportFile = context.getEnvironment().getProperty("loadtest.report-file");
+        if (reportFile == null || reportFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(reportFile);
+        Files.writeString(path, report, StandardCharsets.UTF_8);
+        log.info("压测报告已写入: file={}", path.toAbsolutePath());
+    }
+
+    private static void awaitCredentialReplica(ConfigurableApplicationContext context) throws InterruptedException {
+        boolean replicaEnabled = context.getEnvironment()
+                .getProperty("security.credential-replica.enabled", Boolean.class, true);
+        if (!replicaEnabled) {
+            return;
+        }
+        CredentialReplica replica = context.getBean(CredentialReplica.class);
+        long deadline = System.currentTimeMillis() + REPLICA_READY_TIMEOUT_MILLIS;
+        while (!replica.isReady()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("凭据副本同步超时");
+            }
+            Thread.sleep(100);
+        }
+        log.info("凭据副本已就绪");
+    }
+}
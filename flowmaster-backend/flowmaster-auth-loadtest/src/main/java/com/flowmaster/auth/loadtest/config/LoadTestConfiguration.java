@@ -0,0 +1,85 @@
+package com.flowmaster.auth.loadtest.config;
+
+import com.flowmaster.auth.infrastructure.service.PasswordService;
+import com.flowmaster.auth.loadtest.redis.InMemoryMessageListenerContainer;
+import com.flowmaster.auth.loadtest.redis.InMemoryRedis;
+import com.flowmaster.auth.loadtest.redis.InMemoryRedisTemplate;
+import com.flowmaster.auth.loadtest.stub.StubUserServiceClient;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 压测环境配置
+ * 用内存Redis替身替换RedisTemplate和消息监听容器，用桩替换用户服务客户端，
+ * 数据库使用application-loadtest.yml中配置的H2内存库
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfiguration {
+
+    private static final String LISTENER_CONTAINER_BEAN = "redisMessageListenerContainer";
+    private static final String IN_MEMORY_REDIS_BEAN = "inMemoryRedis";
+
+    @Bean(name = IN_MEMORY_REDIS_BEAN)
+    public InMemoryRedis inMemoryRedis() {
+        return new InMemoryRedis();
+    }
+
+    /**
+     * 内存RedisTemplate，优先于自动配置的StringRedisTemplate注入
+     */
+    @Bean
+    @Primary
+    public InMemoryRedisTemplate inMemoryRedisTemplate(InMemoryRedis inMemoryRedis) {
+        return new InMemoryRedisTemplate(inMemoryRedis);
+    }
+
+    /**
+     * 用户服务桩，优先于真实的用户服务客户端注入
+     */
+    @Bean
+    @Primary
+    public StubUserServiceClient stubUserServiceClient(RestTemplate restTemplate,
+                                                       PasswordService passwordService,
+                                                       LoadTestProperties properties) {
+        return new StubUserServiceClient(restTemplate, passwordService, properties);
+    }
+
+    /**
+     * 替换基础设施配置中的Redis消息监听容器
+     * 容器由认证服务的配置类按名称定义，在所有配置类解析完成后替换定义，与配置类的加载顺序无关
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor inMemoryListenerContainerRegistrar() {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                if (registry.containsBeanDefinition(LISTENER_CONTAINER_BEAN)) {
+                    registry.removeBeanDefinition(LISTENER_CONTAINER_BEAN);
+                }
+                RootBeanDefinition definition = new RootBeanDefinition(InMemoryMessageListenerContainer.class);
+                definition.getConstructorArgumentValues()
+                        .addGenericArgumentValue(new RuntimeBeanReference(IN_MEMORY_REDIS_BEAN));
+                registry.registerBeanDefinition(LISTENER_CONTAINER_BEAN, definition);
+            }
+
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                // 无需处理
+            }
+        };
+    }
+}
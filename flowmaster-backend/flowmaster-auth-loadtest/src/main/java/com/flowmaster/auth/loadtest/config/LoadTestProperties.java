@@ -0,0 +1,82 @@
+package com.flowmaster.auth.loadtest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 压测配置
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    /**
+     * 负载模式：CLOSED（固定并发，每个虚拟用户完成一次请求后立即发起下一次）
+     * 或 OPEN（固定到达速率，与响应时间无关）
+     */
+    private Mode mode = Mode.CLOSED;
+
+    /**
+     * 闭环模式的虚拟用户数；开环模式的工作线程数
+     */
+    private int concurrency = 32;
+
+    /**
+     * 开环模式的目标到达速率（次/秒）
+     */
+    private int rate = 500;
+
+    /**
+     * 预热时长，预热期间的请求不计入结果
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 统计时长
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 操作比例，格式为 操作:权重，逗号分隔
+     */
+    private String mix = "login:10,refresh:10,validate:75,logout:5";
+
+    /**
+     * 模拟用户数
+     */
+    private int users = 1000;
+
+    /**
+     * 模拟用户的统一密码（需满足密码强度规则）
+     */
+    private String password = "LoadTest@2024";
+
+    /**
+     * 保存已登录会话的槽位数，刷新、验证、登出从中随机选取
+     */
+    private int sessionSlots = 4096;
+
+    /**
+     * 用户服务桩配置
+     */
+    private UserService userService = new UserService();
+
+    public enum Mode {
+        CLOSED,
+        OPEN
+    }
+
+    @Data
+    public static class UserService {
+
+        /**
+         * 模拟用户服务的HTTP往返时间
+         */
+        private Duration latency = Duration.ofMillis(5);
+    }
+}
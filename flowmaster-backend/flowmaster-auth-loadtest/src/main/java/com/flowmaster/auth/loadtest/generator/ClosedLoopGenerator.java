@@ -0,0 +1,41 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 闭环负载生成器
+ * 固定数量的虚拟用户，每个虚拟用户完成一次操作后立即发起下一次；
+ * 吞吐量随响应时间变化，适合测量给定并发下的最大吞吐
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+public class ClosedLoopGenerator implements LoadGenerator {
+
+    private final LoadDriver driver;
+    private final LoadMix mix;
+    private final int concurrency;
+
+    @Override
+    public void run(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    driver.execute(mix.next(), System.nanoTime(), recorder);
+                }
+            }, "loadtest-closed-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
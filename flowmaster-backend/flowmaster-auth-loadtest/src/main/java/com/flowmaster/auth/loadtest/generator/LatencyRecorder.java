@@ -0,0 +1,74 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟记录器
+ * 每种操作一个HdrHistogram（微秒精度，3位有效数字），另记成功和失败次数
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<OperationType, ConcurrentHistogram> histograms = new EnumMap<>(OperationType.class);
+    private final Map<OperationType, LongAdder> failures = new EnumMap<>(OperationType.class);
+
+    public LatencyRecorder() {
+        for (OperationType operation : OperationType.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * 记录一次操作
+     *
+     * @param operation 操作类型
+     * @param latencyNanos 延迟（纳秒）
+     * @param success 是否成功
+     */
+    public void record(OperationType operation, long latencyNanos, boolean success) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        histograms.get(operation).recordValue(micros);
+        if (!success) {
+            failures.get(operation).increment();
+        }
+    }
+
+    /**
+     * 清空记录（预热结束时调用）
+     */
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        failures.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * 获取操作的延迟直方图副本
+     *
+     * @param operation 操作类型
+     * @return 直方图副本
+     */
+    public Histogram snapshot(OperationType operation) {
+        return histograms.get(operation).copy();
+    }
+
+    /**
+     * 获取操作的失败次数
+     *
+     * @param operation 操作类型
+     * @return 失败次数
+     */
+    public long failures(OperationType operation) {
+        return failures.get(operation).sum();
+    }
+}
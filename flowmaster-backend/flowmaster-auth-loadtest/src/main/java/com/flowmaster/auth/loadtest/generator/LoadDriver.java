@@ -0,0 +1,108 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import com.flowmaster.auth.application.command.LoginCommand;
+import com.flowmaster.auth.application.command.LogoutCommand;
+import com.flowmaster.auth.application.command.RefreshTokenCommand;
+import com.flowmaster.auth.application.dto.AuthResponseDTO;
+import com.flowmaster.auth.application.service.AuthApplicationService;
+import com.flowmaster.auth.loadtest.config.LoadTestProperties;
+import com.flowmaster.auth.loadtest.stub.StubUserServiceClient;
+import com.flowmaster.common.response.Result;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 压测操作执行器
+ * 在进程内直接调用认证应用服务，不经过HTTP层；会话池为空时刷新、验证、登出退化为登录
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final String CLIENT_IP = "127.0.0.1";
+    private static final String USER_AGENT = "flowmaster-auth-loadtest";
+
+    private final AuthApplicationService authApplicationService;
+    private final SessionPool sessionPool;
+    private final int users;
+    private final String password;
+
+    public LoadDriver(AuthApplicationService authApplicationService, LoadTestProperties properties) {
+        this.authApplicationService = authApplicationService;
+        this.sessionPool = new SessionPool(properties.getSessionSlots());
+        this.users = properties.getUsers();
+        this.password = properties.getPassword();
+    }
+
+    /**
+     * 执行一次操作并记录延迟
+     *
+     * @param operation 计划执行的操作
+     * @param intendedStartNanos 计划开始时间（开环模式下为调度时间，用于避免协调遗漏）
+     * @param recorder 延迟记录器
+     */
+    public void execute(OperationType operation, long intendedStartNanos, LatencyRecorder recorder) {
+        SessionPool.Tokens tokens = null;
+        if (operation == OperationType.REFRESH || operation == OperationType.LOGOUT) {
+            tokens = sessionPool.take();
+        } else if (operation == OperationType.VALIDATE) {
+            tokens = sessionPool.peek();
+        }
+        if (operation != OperationType.LOGIN && tokens == null) {
+            operation = OperationType.LOGIN;
+        }
+
+        boolean success;
+        try {
+            success = switch (operation) {
+                case LOGIN -> login();
+                case REFRESH -> refresh(tokens);
+                case VALIDATE -> authApplicationService.validateToken(tokens.accessToken()).isSuccess();
+                case LOGOUT -> logout(tokens);
+            };
+        } catch (RuntimeException e) {
+            log.debug("压测操作异常: operation={}, error={}", operation, e.getMessage());
+            success = false;
+        }
+        recorder.record(operation, System.nanoTime() - intendedStartNanos, success);
+    }
+
+    private boolean login() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1L);
+        LoginCommand command = new LoginCommand()
+                .setUsername(StubUserServiceClient.username(userId))
+                .setPassword(password)
+                .setClientIp(CLIENT_IP)
+                .setUserAgent(USER_AGENT);
+        return keep(authApplicationService.login(command));
+    }
+
+    private boolean refresh(SessionPool.Tokens tokens) {
+        RefreshTokenCommand command = new RefreshTokenCommand()
+                .setRefreshToken(tokens.refreshToken())
+                .setClientIp(CLIENT_IP)
+                .setUserAgent(USER_AGENT);
+        return keep(authApplicationService.refreshToken(command));
+    }
+
+    private boolean logout(SessionPool.Tokens tokens) {
+        LogoutCommand command = new LogoutCommand()
+                .setAccessToken(tokens.accessToken())
+                .setRefreshToken(tokens.refreshToken())
+                .setClientIp(CLIENT_IP)
+                .setUserAgent(USER_AGENT);
+        return authApplicationService.logout(command).isSuccess();
+    }
+
+    private boolean keep(Result<AuthResponseDTO> result) {
+        if (!result.isSuccess()) {
+            return false;
+        }
+        AuthResponseDTO response = result.getData();
+        sessionPool.offer(new SessionPool.Tokens(response.getAccessToken(), response.getRefreshToken()));
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import java.time.Duration;
+
+/**
+ * 负载生成器
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public interface LoadGenerator {
+
+    /**
+     * 施加负载直到时长结束，阻塞调用线程
+     *
+     * @param duration 持续时长
+     * @param recorder 延迟记录器
+     */
+    void run(Duration duration, LatencyRecorder recorder) throws InterruptedException;
+}
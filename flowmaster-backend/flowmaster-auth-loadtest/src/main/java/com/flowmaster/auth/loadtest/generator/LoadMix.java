@@ -0,0 +1,82 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 操作比例
+ * 按权重随机选择下一个操作，例如 login:10,refresh:10,validate:75,logout:5
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class LoadMix {
+
+    private final OperationType[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final Map<OperationType, Integer> weights;
+
+    private LoadMix(Map<OperationType, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new OperationType[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * 解析操作比例
+     *
+     * @param spec 操作:权重，逗号分隔
+     * @return 操作比例
+     */
+    public static LoadMix parse(String spec) {
+        Map<OperationType, Integer> weights = new EnumMap<>(OperationType.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("操作比例格式错误: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("操作权重不能为负数: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(OperationType.parse(pair[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("操作比例不能为空: " + spec);
+        }
+        return new LoadMix(weights);
+    }
+
+    /**
+     * 随机选择下一个操作
+     *
+     * @return 操作类型
+     */
+    public OperationType next() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 压测报告
+ * 输出每种操作及合计的次数、失败数、吞吐量和延迟分位数（毫秒）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public final class LoadReport {
+
+    private static final String HEADER_FORMAT = "%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n";
+    private static final String ROW_FORMAT = "%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private LoadReport() {
+    }
+
+    /**
+     * 生成报告文本
+     *
+     * @param recorder 延迟记录器
+     * @param duration 统计时长
+     * @param description 负载描述
+     * @return 报告文本
+     */
+    public static String render(LatencyRecorder recorder, Duration duration, String description) {
+        double seconds = Math.max(1, duration.toMillis()) / 1000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(description).append(System.lineSeparator());
+        report.append(String.format(Locale.ROOT, HEADER_FORMAT,
+                "operation", "count", "errors", "ops/s", "p50", "p90", "p99", "p99.9", "max"));
+
+        Histogram total = null;
+        long totalFailures = 0;
+        for (OperationType operation : OperationType.values()) {
+            Histogram histogram = recorder.snapshot(operation);
+            long failures = recorder.failures(operation);
+            appendRow(report, operation.name().toLowerCase(Locale.ROOT), histogram, failures, seconds);
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            totalFailures += failures;
+        }
+        appendRow(report, "total", total, totalFailures, seconds);
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String name, Histogram histogram,
+                                  long failures, double seconds) {
+        long count = histogram.getTotalCount();
+        report.append(String.format(Locale.ROOT, ROW_FORMAT, name, count, failures, count / seconds,
+                millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1000.0));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import com.flowmaster.auth.application.service.AuthApplicationService;
+import com.flowmaster.auth.loadtest.config.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 压测执行器
+ * 先预热（结果丢弃），再按配置的模式和时长施加负载，返回报告文本
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestRunner {
+
+    private final AuthApplicationService authApplicationService;
+    private final LoadTestProperties properties;
+
+    /**
+     * 执行压测
+     *
+     * @return 报告文本
+     */
+    public String run() throws InterruptedException {
+        LoadMix mix = LoadMix.parse(properties.getMix());
+        LoadDriver driver = new LoadDriver(authApplicationService, properties);
+        LoadGenerator generator = properties.getMode() == LoadTestProperties.Mode.OPEN
+                ? new OpenLoopGenerator(driver, mix, properties.getConcurrency(), properties.getRate())
+                : new ClosedLoopGenerator(driver, mix, properties.getConcurrency());
+        String description = properties.getMode() == LoadTestProperties.Mode.OPEN
+                ? String.format("mode=OPEN, rate=%d/s, workers=%d, mix=%s, duration=%s",
+                        properties.getRate(), properties.getConcurrency(), mix, properties.getDuration())
+                : String.format("mode=CLOSED, concurrency=%d, mix=%s, duration=%s",
+                        properties.getConcurrency(), mix, properties.getDuration());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        if (!properties.getWarmup().isZero()) {
+            log.info("开始预热: warmup={}", properties.getWarmup());
+            generator.run(properties.getWarmup(), recorder);
+            recorder.reset();
+        }
+        log.info("开始压测: {}", description);
+        generator.run(properties.getDuration(), recorder);
+        return LoadReport.render(recorder, properties.getDuration(), description);
+    }
+}
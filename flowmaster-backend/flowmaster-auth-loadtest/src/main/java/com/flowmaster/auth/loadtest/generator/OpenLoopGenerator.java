@@ -0,0 +1,54 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环负载生成器
+ * 按固定速率调度请求，与响应时间无关；延迟从计划开始时间算起，
+ * 服务变慢导致的排队时间会计入结果，避免协调遗漏（coordinated omission）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+public class OpenLoopGenerator implements LoadGenerator {
+
+    private final LoadDriver driver;
+    private final LoadMix mix;
+    private final int concurrency;
+    private final int rate;
+
+    @Override
+    public void run(Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                r -> new Thread(r, "loadtest-open-" + threadIndex.getAndIncrement()));
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            for (long n = 0; ; n++) {
+                long intendedStart = start + n * intervalNanos;
+                if (intendedStart >= deadline) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                OperationType operation = mix.next();
+                workers.execute(() -> driver.execute(operation, intendedStart, recorder));
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
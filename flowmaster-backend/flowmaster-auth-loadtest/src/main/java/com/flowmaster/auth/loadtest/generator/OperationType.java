@@ -0,0 +1,31 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import java.util.Locale;
+
+/**
+ * 压测操作类型
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public enum OperationType {
+
+    LOGIN,
+    REFRESH,
+    VALIDATE,
+    LOGOUT;
+
+    /**
+     * 按名称解析操作类型（忽略大小写）
+     *
+     * @param name 操作名
+     * @return 操作类型
+     */
+    public static OperationType parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("未知的压测操作: " + name);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.flowmaster.auth.loadtest.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 已登录会话池
+ * 固定数量的槽位保存登录得到的令牌对，刷新和登出取走槽位中的令牌（避免两个线程同时使用同一刷新令牌），
+ * 验证只读取不取走
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class SessionPool {
+
+    private final AtomicReferenceArray<Tokens> slots;
+
+    public SessionPool(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 放入令牌对，覆盖随机槽位中的旧会话
+     *
+     * @param tokens 令牌对
+     */
+    public void offer(Tokens tokens) {
+        slots.set(ThreadLocalRandom.current().nextInt(slots.length()), tokens);
+    }
+
+    /**
+     * 读取随机槽位中的令牌对
+     *
+     * @return 令牌对，槽位为空时返回null
+     */
+    public Tokens peek() {
+        return slots.get(ThreadLocalRandom.current().nextInt(slots.length()));
+    }
+
+    /**
+     * 取走随机槽位中的令牌对
+     *
+     * @return 令牌对，槽位为空时返回null
+     */
+    public Tokens take() {
+        return slots.getAndSet(ThreadLocalRandom.current().nextInt(slots.length()), null);
+    }
+
+    /**
+     * 令牌对
+     */
+    public record Tokens(String accessToken, String refreshToken) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.flowmaster.auth.loadtest.redis;
+
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+/**
+ * 基于内存Redis替身的消息监听容器
+ * 替换认证服务的Redis消息监听容器，只支持按频道订阅
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class InMemoryMessageListenerContainer extends RedisMessageListenerContainer {
+
+    private final InMemoryRedis redis;
+
+    public InMemoryMessageListenerContainer(InMemoryRedis redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 不需要连接工厂
+    }
+
+    @Override
+    public void addMessageListener(MessageListener listener, Topic topic) {
+        if (!(topic instanceof ChannelTopic)) {
+            throw new UnsupportedOperationException("内存Redis替身只支持频道订阅: " + topic.getTopic());
+        }
+        redis.subscribe(topic.getTopic(), listener);
+    }
+
+    @Override
+    public void removeMessageListener(MessageListener listener) {
+        redis.unsubscribe(listener);
+    }
+
+    @Override
+    public void start() {
+        // 订阅在addMessageListener时即生效
+    }
+
+    @Override
+    public void stop() {
+        // 无连接需要关闭
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        redis.shutdown();
+    }
+}
@@ -0,0 +1,183 @@
+package com.flowmaster.auth.loadtest.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 内存Redis替身
+ * 单进程内的字符串键值存储（支持过期时间）和发布订阅，覆盖认证服务用到的命令子集；
+ * 订阅消息在单独的线程上异步投递，与真实Redis一致，发布方不会同步执行监听器
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class InMemoryRedis {
+
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+    private final Map<String, List<MessageListener>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-redis-pubsub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 读取键值，已过期的键视为不存在
+     */
+    public String get(String key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 写入键值
+     *
+     * @param ttlMillis 过期时间，小于等于0表示不过期
+     */
+    public void set(String key, String value, long ttlMillis) {
+        store.put(key, new Entry(value, expiresAt(ttlMillis)));
+    }
+
+    /**
+     * 键不存在时写入
+     *
+     * @return 是否写入
+     */
+    public boolean setIfAbsent(String key, String value, long ttlMillis) {
+        Entry created = new Entry(value, expiresAt(ttlMillis));
+        Entry result = store.compute(key, (k, existing) ->
+                existing == null || existing.isExpired() ? created : existing);
+        return result == created;
+    }
+
+    /**
+     * 自增，键不存在时从0开始，保留原有过期时间
+     */
+    public long increment(String key, long delta) {
+        Entry result = store.compute(key, (k, existing) -> {
+            if (existing == null || existing.isExpired()) {
+                return new Entry(Long.toString(delta), 0L);
+            }
+            return new Entry(Long.toString(Long.parseLong(existing.value) + delta), existing.expiresAt);
+        });
+        return Long.parseLong(result.value);
+    }
+
+    /**
+     * 值等于期望值时重设过期时间
+     */
+    public boolean expireIfEquals(String key, String expected, long ttlMillis) {
+        boolean[] updated = new boolean[1];
+        store.computeIfPresent(key, (k, existing) -> {
+            if (existing.isExpired() || !existing.value.equals(expected)) {
+                return existing;
+            }
+            updated[0] = true;
+            return new Entry(existing.value, expiresAt(ttlMillis));
+        });
+        return updated[0];
+    }
+
+    /**
+     * 值等于期望值时删除
+     */
+    public boolean deleteIfEquals(String key, String expected) {
+        Entry existing = store.get(key);
+        return existing != null && !existing.isExpired() && existing.value.equals(expected) && store.remove(key, existing);
+    }
+
+    /**
+     * 删除键
+     */
+    public boolean delete(String key) {
+        Entry removed = store.remove(key);
+        return removed != null && !removed.isExpired();
+    }
+
+    /**
+     * 订阅频道
+     */
+    public void subscribe(String channel, MessageListener listener) {
+        subscriptions.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 取消订阅
+     */
+    public void unsubscribe(MessageListener listener) {
+        subscriptions.values().forEach(listeners -> listeners.remove(listener));
+    }
+
+    /**
+     * 发布消息
+     *
+     * @return 收到消息的订阅者数量
+     */
+    public long publish(String channel, String message) {
+        List<MessageListener> listeners = subscriptions.get(channel);
+        if (listeners == null || listeners.isEmpty()) {
+            return 0;
+        }
+        DefaultMessage payload = new DefaultMessage(
+                channel.getBytes(StandardCharsets.UTF_8), message.getBytes(StandardCharsets.UTF_8));
+        for (MessageListener listener : listeners) {
+            dispatcher.execute(() -> {
+                try {
+                    listener.onMessage(payload, null);
+                } catch (Exception e) {
+                    log.warn("内存Redis消息投递异常: channel={}, error={}", channel, e.getMessage());
+                }
+            });
+        }
+        return listeners.size();
+    }
+
+    /**
+     * 当前键数量（含尚未清理的过期键）
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * 关闭消息投递线程
+     */
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private static long expiresAt(long ttlMillis) {
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0L;
+    }
+
+    private static final class Entry {
+        private final String value;
+        private final long expiresAt;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.flowmaster.auth.loadtest.redis;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于内存Redis替身的RedisTemplate
+ * 只实现认证服务实际使用的操作：字符串读写、批量读取、自增、删除、发布，
+ * 以及"值相等时续期/删除"两种租约脚本；其余操作抛出UnsupportedOperationException，
+ * 以便新代码用到未覆盖的命令时在压测中立即暴露
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, String> {
+
+    private final InMemoryRedis redis;
+    private final ValueOperations<String, String> valueOperations;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryRedisTemplate(InMemoryRedis redis) {
+        this.redis = redis;
+        this.valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> "InMemoryValueOperations";
+                        };
+                    }
+                    return invokeValueOperation(method.getName(), args);
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 不需要连接工厂
+    }
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public Boolean hasKey(String key) {
+        return redis.get(key) != null;
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        return redis.delete(key);
+    }
+
+    @Override
+    public Long delete(Collection<String> keys) {
+        long deleted = 0;
+        for (String key : keys) {
+            if (redis.delete(key)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public Long convertAndSend(String channel, Object message) {
+        return redis.publish(channel, String.valueOf(message));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        String source = script.getScriptAsString();
+        String key = keys.get(0);
+        if (source.contains("pexpire")) {
+            return (T) Long.valueOf(redis.expireIfEquals(key, String.valueOf(args[0]), Long.parseLong(String.valueOf(args[1]))) ? 1 : 0);
+        }
+        if (source.contains("'del'")) {
+            return (T) Long.valueOf(redis.deleteIfEquals(key, String.valueOf(args[0])) ? 1 : 0);
+        }
+        throw new UnsupportedOperationException("内存Redis替身不支持该脚本: " + source);
+    }
+
+    private Object invokeValueOperation(String name, Object[] args) {
+        switch (name) {
+            case "get":
+                return redis.get((String) args[0]);
+            case "multiGet": {
+                Collection<?> keys = (Collection<?>) args[0];
+                List<String> values = new ArrayList<>(keys.size());
+                for (Object key : keys) {
+                    values.add(redis.get((String) key));
+                }
+                return values;
+            }
+            case "set":
+                redis.set((String) args[0], (String) args[1], ttlMillis(args));
+                return null;
+            case "setIfAbsent":
+                return redis.setIfAbsent((String) args[0], (String) args[1], ttlMillis(args));
+            case "increment":
+                return redis.increment((String) args[0], args.length > 1 ? ((Number) args[1]).longValue() : 1L);
+            case "getOperations":
+                return this;
+            default:
+                throw new UnsupportedOperationException("内存Redis替身不支持该操作: " + name);
+        }
+    }
+
+    /**
+     * 解析 (key, value)、(key, value, Duration)、(key, value, long, TimeUnit) 三种参数形式的过期时间
+     */
+    private static long ttlMillis(Object[] args) {
+        if (args.length == 3 && args[2] instanceof Duration duration) {
+            return duration.toMillis();
+        }
+        if (args.length == 4 && args[3] instanceof TimeUnit unit) {
+            return unit.toMillis(((Number) args[2]).longValue());
+        }
+        if (args.length == 2) {
+            return 0L;
+        }
+        throw new UnsupportedOperationException("内存Redis替身不支持该写入参数");
+    }
+}
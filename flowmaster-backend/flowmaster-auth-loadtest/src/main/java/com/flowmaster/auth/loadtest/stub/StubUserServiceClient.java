@@ -0,0 +1,125 @@
+package com.flowmaster.auth.loadtest.stub;
+
+import com.flowmaster.auth.domain.model.valueobject.Password;
+import com.flowmaster.auth.domain.model.valueobject.Username;
+import com.flowmaster.auth.infrastructure.service.PasswordService;
+import com.flowmaster.auth.infrastructure.service.UserServiceClient;
+import com.flowmaster.auth.loadtest.config.LoadTestProperties;
+import com.flowmaster.common.event.UserCredentialMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 用户服务桩
+ * 模拟用户为 lt_user_1 … lt_user_N（用户ID即序号），共用同一个密码和BCrypt哈希；
+ * 单用户查询按配置的延迟模拟HTTP往返，凭据快照直接返回，供本地凭据副本同步
+ * <p>
+ * 密码校验仍由认证服务自己的PasswordService完成，因此压测结果包含真实的哈希开销
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class StubUserServiceClient extends UserServiceClient {
+
+    public static final String USERNAME_PREFIX = "lt_user_";
+
+    private static final String STATUS_ACTIVE = "ACTIVE";
+
+    private final int users;
+    private final long latencyNanos;
+    private final String passwordHash;
+
+    public StubUserServiceClient(RestTemplate restTemplate, PasswordService passwordService,
+                                 LoadTestProperties properties) {
+        super(restTemplate, passwordService);
+        this.users = properties.getUsers();
+        this.latencyNanos = properties.getUserService().getLatency().toNanos();
+        this.passwordHash = passwordService.encryptPassword(Password.of(properties.getPassword())).getEncodedValue();
+        log.info("初始化用户服务桩: users={}, latency={}ms", users, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+    }
+
+    /**
+     * 模拟用户名
+     *
+     * @param userId 用户ID（1 … users）
+     * @return 用户名
+     */
+    public static String username(long userId) {
+        return USERNAME_PREFIX + userId;
+    }
+
+    @Override
+    public Long validateCredentials(Username username, Password password) {
+        return validateUserPassword(username, password.getEncodedValue());
+    }
+
+    @Override
+    public Map<String, Object> getUserByUsername(Username username) {
+        simulateLatency();
+        Long userId = userIdOf(username.getValue());
+        if (userId == null) {
+            return null;
+        }
+        Map<String, Object> user = new HashMap<>();
+        user.put("userId", userId);
+        user.put("username", username.getValue());
+        user.put("password", passwordHash);
+        user.put("status", STATUS_ACTIVE);
+        return user;
+    }
+
+    @Override
+    public List<UserCredentialMessage> fetchCredentialSnapshot(long afterId, int limit) {
+        List<UserCredentialMessage> batch = new ArrayList<>(limit);
+        for (long userId = afterId + 1; userId <= users && batch.size() < limit; userId++) {
+            batch.add(credential(userId));
+        }
+        return batch;
+    }
+
+    @Override
+    public List<UserCredentialMessage> fetchCredentials(List<Long> userIds) {
+        List<UserCredentialMessage> credentials = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            if (userId != null && userId >= 1 && userId <= users) {
+                credentials.add(credential(userId));
+            }
+        }
+        return credentials;
+    }
+
+    private UserCredentialMessage credential(long userId) {
+        return new UserCredentialMessage()
+                .setUserId(userId)
+                .setUsername(username(userId))
+                .setPasswordHash(passwordHash)
+                .setStatus(STATUS_ACTIVE)
+                .setVersion(1);
+    }
+
+    private Long userIdOf(String username) {
+        if (username == null || !username.startsWith(USERNAME_PREFIX)) {
+            return null;
+        }
+        try {
+            long userId = Long.parseLong(username.substring(USERNAME_PREFIX.length()));
+            return userId >= 1 && userId <= users ? userId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.flowmaster.auth.application.command;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 批量验证令牌命令
+ * 
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class BatchValidateTokenCommand {
+
+    /**
+     * 访问令牌列表
+     */
+    @NotEmpty(message = "令牌列表不能为空")
+    @Size(max = 1000, message = "单次最多验证1000个令牌")
+    private List<String> tokens;
+}
@@ -0,0 +1,23 @@
+package com.flowmaster.auth.application.command;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 令牌内省命令
+ * 
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class IntrospectTokenCommand {
+
+    /**
+     * 引用令牌
+     */
+    @NotBlank(message = "令牌不能为空")
+    private String token;
+}
@@ -40,6 +40,11 @@ public class LoginCommand {
      */
     private String userAgent;
 
+    /**
+     * 客户端标识，决定签发JWT还是引用令牌
+     */
+    private String clientId;
+
     /**
      * 记住我
      */
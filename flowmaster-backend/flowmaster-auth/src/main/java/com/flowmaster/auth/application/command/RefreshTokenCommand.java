@@ -30,4 +30,9 @@ public class RefreshTokenCommand {
      * 用户代理
      */
     private String userAgent;
+
+    /**
+     * 客户端标识，决定签发JWT还是引用令牌
+     */
+    private String clientId;
 }
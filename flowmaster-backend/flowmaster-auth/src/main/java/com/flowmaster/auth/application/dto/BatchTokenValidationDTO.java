@@ -0,0 +1,27 @@
+package com.flowmaster.auth.application.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 批量令牌验证结果DTO
+ * 
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class BatchTokenValidationDTO {
+
+    /**
+     * 与请求顺序一致的用户ID，令牌无效、过期或已撤销的位置为null
+     */
+    private List<Long> userIds;
+
+    /**
+     * 有效令牌数量
+     */
+    private Integer validCount;
+}
@@ -0,0 +1,30 @@
+package com.flowmaster.auth.application.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 令牌内省结果DTO
+ * 
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class TokenIntrospectionDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 过期时间（毫秒时间戳），调用方据此确定本地缓存时长
+     */
+    private Long expiresAt;
+}
@@ -6,14 +6,25 @@ import com.flowmaster.auth.application.command.LoginCommand;
 import com.flowmaster.auth.application.command.LogoutCommand;
 import com.flowmaster.auth.application.command.RefreshTokenCommand;
 import com.flowmaster.auth.application.dto.AuthResponseDTO;
+import com.flowmaster.auth.application.dto.BatchTokenValidationDTO;
 import com.flowmaster.auth.application.dto.SessionInfoDTO;
+import com.flowmaster.auth.application.dto.TokenIntrospectionDTO;
+import com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException;
+import com.flowmaster.auth.domain.exception.LoginThrottledException;
 import com.flowmaster.auth.domain.model.aggregate.AuthSession;
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.Password;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 import com.flowmaster.auth.domain.repository.AuthSessionRepository;
 import com.flowmaster.auth.domain.service.AuthDomainService;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore.ReferenceToken;
+import com.flowmaster.auth.infrastructure.metrics.AuthPipelineMetrics;
+import com.flowmaster.auth.infrastructure.metrics.AuthPipelineMetrics.PipelineTrace;
+import com.flowmaster.auth.infrastructure.scheduler.SessionExpirySweeper;
+import com.flowmaster.auth.infrastructure.scheduler.SessionExpirySweeper.SweepResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,6 +32,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -42,6 +54,12 @@ public class AuthApplicationService {
 
     private final AuthDomainService authDomainService;
     private final AuthSessionRepository authSessionRepository;
+    private final SessionActivityTracker sessionActivityTracker;
+    private final FailedLoginTracker failedLoginTracker;
+    private final SessionExpirySweeper sessionExpirySweeper;
+    private final ReferenceTokenStore referenceTokenStore;
+    private final AuthPipelineMetrics pipelineMetrics;
+    private final ConcurrentSessionLimiter concurrentSessionLimiter;
 
     /**
      * 用户登录
@@ -50,22 +68,36 @@ public class AuthApplicationService {
      * @return 认证响应
      */
     public Result<AuthResponseDTO> login(LoginCommand command) {
+        PipelineTrace trace = pipelineMetrics.start("login");
         try {
             log.info("用户登录请求: username={}, clientIp={}", command.getUsername(), command.getClientIp());
 
+            // 失败次数超过阈值时在密码校验之前直接拒绝
+            long retryAfter = failedLoginTracker.checkAllowed(command.getUsername(), command.getClientIp());
+            trace.mark("throttle_check");
+            if (retryAfter > 0) {
+                log.debug("用户登录被拒绝: username={}, reason=too_many_failures, retryAfter={}s", command.getUsername(), retryAfter);
+                throw new LoginThrottledException(retryAfter);
+            }
+
             // 验证用户凭据
             Username username = Username.of(command.getUsername());
             Password password = Password.of(command.getPassword());
             
             Long userId = authDomainService.validateCredentials(username, password);
             if (userId == null) {
+                failedLoginTracker.recordFailure(command.getUsername(), command.getClientIp());
+                trace.outcome("invalid_credentials");
                 log.warn("用户登录失败: username={}, reason=invalid_credentials", command.getUsername());
                 return Result.fail("用户名或密码错误");
             }
+            failedLoginTracker.recordSuccess(command.getUsername());
 
             // 生成令牌
-            AccessToken accessToken = authDomainService.generateAccessToken(userId, username);
+            AccessToken accessToken = authDomainService.generateAccessToken(userId, username, command.getClientId());
+            trace.mark("access_token");
             RefreshToken refreshToken = authDomainService.generateRefreshToken(userId, username);
+            trace.mark("refresh_token");
 
             // 创建认证会话
             AuthSession session = AuthSession.create(
@@ -77,8 +109,13 @@ public class AuthApplicationService {
                 command.getUserAgent()
             );
 
+            // 占用会话名额，超过上限时撤销最早的会话
+            concurrentSessionLimiter.admit(userId);
+            trace.mark("session_limit");
+
             // 保存会话
             AuthSession savedSession = authSessionRepository.save(session);
+            trace.mark("session_save");
 
             // 构建响应
             AuthResponseDTO response = new AuthResponseDTO()
@@ -92,15 +129,28 @@ public class AuthApplicationService {
                 .setSessionId(savedSession.getSessionId())
                 .setCreatedAt(savedSession.getCreatedAt());
 
+            trace.outcome("success");
             log.info("用户登录成功: userId={}, username={}, sessionId={}", userId, username.getValue(), savedSession.getSessionId());
             return Result.success(response);
 
         } catch (IllegalArgumentException e) {
+            trace.outcome("invalid_request");
             log.warn("用户登录参数错误: username={}, error={}", command.getUsername(), e.getMessage());
             return Result.fail(e.getMessage());
+        } catch (LoginThrottledException e) {
+            trace.outcome("throttled");
+            log.warn("用户登录被限流: username={}", command.getUsername());
+            throw e;
+        } catch (CredentialServiceUnavailableException e) {
+            // 无法判定凭据是否正确，不计入失败次数
+            trace.outcome("unavailable");
+            log.warn("用户登录失败: username={}, reason=credential_service_unavailable", command.getUsername());
+            throw e;
         } catch (Exception e) {
             log.error("用户登录异常: username={}, error={}", command.getUsername(), e.getMessage(), e);
             return Result.fail("登录失败，请稍后重试");
+        } finally {
+            trace.finish();
         }
     }
 
@@ -111,6 +161,7 @@ public class AuthApplicationService {
      * @return 认证响应
      */
     public Result<AuthResponseDTO> refreshToken(RefreshTokenCommand command) {
+        PipelineTrace trace = pipelineMetrics.start("refresh");
         try {
             log.info("刷新令牌请求: clientIp={}", command.getClientIp());
 
@@ -118,31 +169,47 @@ public class AuthApplicationService {
             
             // 验证刷新令牌
             Long userId = authDomainService.validateRefreshToken(refreshToken);
+            trace.mark("token_verify");
             if (userId == null) {
+                trace.outcome("invalid_token");
                 log.warn("刷新令牌失败: reason=invalid_refresh_token");
                 return Result.fail("刷新令牌无效或已过期");
             }
 
             // 查找会话
             Optional<AuthSession> sessionOpt = authSessionRepository.findByRefreshToken(refreshToken);
+            trace.mark("session_lookup");
             if (sessionOpt.isEmpty()) {
+                trace.outcome("session_not_found");
                 log.warn("刷新令牌失败: reason=session_not_found");
                 return Result.fail("会话不存在");
             }
 
             AuthSession session = sessionOpt.get();
             if (!session.isValid()) {
+                trace.outcome("session_invalid");
                 log.warn("刷新令牌失败: reason=session_invalid");
                 return Result.fail("会话已失效");
             }
 
             // 生成新令牌
-            AccessToken newAccessToken = authDomainService.generateAccessToken(userId, session.getUsername());
+            AccessToken newAccessToken = authDomainService.generateAccessToken(userId, session.getUsername(), command.getClientId());
+            trace.mark("access_token");
             RefreshToken newRefreshToken = authDomainService.generateRefreshToken(userId, session.getUsername());
+            trace.mark("refresh_token");
 
-            // 更新会话
+            // 轮换令牌：一条条件UPDATE，只有数据库中的刷新令牌仍是本次出示的令牌时才成功
+            TokenDigest presentedDigest = session.getRefreshTokenDigest();
             session.refreshTokens(newAccessToken, newRefreshToken);
-            authSessionRepository.save(session);
+            boolean rotated = authSessionRepository.rotateTokens(session, presentedDigest);
+            trace.mark("session_save");
+            if (!rotated) {
+                // 并发刷新中落败，撤销本次已签发的访问令牌（引用令牌已写入存储）
+                authDomainService.blacklistToken(newAccessToken.getJwt());
+                trace.outcome("rotation_conflict");
+                log.warn("刷新令牌失败: reason=rotation_conflict, sessionId={}", session.getSessionId());
+                return Result.fail("刷新令牌已被使用");
+            }
 
             // 构建响应
             AuthResponseDTO response = new AuthResponseDTO()
@@ -156,15 +223,19 @@ public class AuthApplicationService {
                 .setSessionId(session.getSessionId())
                 .setCreatedAt(session.getCreatedAt());
 
+            trace.outcome("success");
             log.info("刷新令牌成功: userId={}, sessionId={}", userId, session.getSessionId());
             return Result.success(response);
 
         } catch (IllegalArgumentException e) {
+            trace.outcome("invalid_request");
             log.warn("刷新令牌参数错误: error={}", e.getMessage());
             return Result.fail(e.getMessage());
         } catch (Exception e) {
             log.error("刷新令牌异常: error={}", e.getMessage(), e);
             return Result.fail("刷新令牌失败，请稍后重试");
+        } finally {
+            trace.finish();
         }
     }
 
@@ -175,6 +246,7 @@ public class AuthApplicationService {
      * @return 操作结果
      */
     public Result<Void> logout(LogoutCommand command) {
+        PipelineTrace trace = pipelineMetrics.start("logout");
         try {
             log.info("用户登出请求: clientIp={}", command.getClientIp());
 
@@ -182,32 +254,42 @@ public class AuthApplicationService {
             
             // 查找会话
             Optional<AuthSession> sessionOpt = authSessionRepository.findByAccessToken(accessToken);
+            trace.mark("session_lookup");
             if (sessionOpt.isEmpty()) {
+                trace.outcome("session_not_found");
                 log.warn("登出失败: reason=session_not_found");
                 return Result.fail("会话不存在");
             }
 
             AuthSession session = sessionOpt.get();
             
-            // 撤销会话
+            // 撤销会话，并发登出同一会话时只有一个请求撤销成功并释放会话名额
             session.revoke();
-            authSessionRepository.save(session);
+            if (!authSessionRepository.revoke(session, session.getUserId())) {
+                log.debug("会话已被撤销: sessionId={}", session.getSessionId());
+            }
+            trace.mark("session_save");
 
             // 将令牌加入黑名单
             authDomainService.blacklistToken(accessToken.getJwt());
             if (command.getRefreshToken() != null) {
                 authDomainService.blacklistToken(command.getRefreshToken());
             }
+            trace.mark("token_revoke");
 
+            trace.outcome("success");
             log.info("用户登出成功: userId={}, sessionId={}", session.getUserId(), session.getSessionId());
             return Result.success();
 
         } catch (IllegalArgumentException e) {
+            trace.outcome("invalid_request");
             log.warn("登出参数错误: error={}", e.getMessage());
             return Result.fail(e.getMessage());
         } catch (Exception e) {
             log.error("登出异常: error={}", e.getMessage(), e);
             return Result.fail("登出失败，请稍后重试");
+        } finally {
+            trace.finish();
         }
     }
 
@@ -221,28 +303,25 @@ public class AuthApplicationService {
     public Result<Long> validateToken(String accessToken) {
         try {
             AccessToken token = AccessToken.of(accessToken);
-            
-            // 检查令牌是否在黑名单中
-            if (authDomainService.isTokenBlacklisted(token.getJwt())) {
-                log.warn("令牌验证失败: reason=token_blacklisted");
-                return Result.fail("令牌已失效");
-            }
 
-            // 验证令牌
+            // 验证令牌（领域服务已检查黑名单，黑名单中的令牌同样返回null）
             Long userId = authDomainService.validateAccessToken(token);
             if (userId == null) {
                 log.warn("令牌验证失败: reason=invalid_token");
                 return Result.fail("令牌无效或已过期");
             }
 
-            // 查找会话并更新活动时间
+            // 查找会话：已撤销（登出、超出并发上限被挤下线）的会话签发的令牌在签名过期前同样拒绝
             Optional<AuthSession> sessionOpt = authSessionRepository.findByAccessToken(token);
-            if (sessionOpt.isPresent()) {
-                AuthSession session = sessionOpt.get();
-                session.updateLastActivity();
-                authSessionRepository.save(session);
+            if (sessionOpt.isPresent() && sessionOpt.get().getStatus() != AuthSession.SessionStatus.ACTIVE) {
+                log.warn("令牌验证失败: reason=session_inactive, sessionId={}, status={}",
+                    sessionOpt.get().getSessionId(), sessionOpt.get().getStatus());
+                return Result.fail("令牌已失效");
             }
 
+            // 记录会话活动时间（由SessionActivityTracker批量写回）
+            sessionOpt.ifPresent(session -> sessionActivityTracker.recordActivity(session.getSessionId()));
+
             return Result.success(userId);
 
         } catch (IllegalArgumentException e) {
@@ -254,6 +333,61 @@ public class AuthApplicationService {
         }
     }
 
+    /**
+     * 批量验证访问令牌（供内部服务调用，不记录会话活动时间）
+     *
+     * @param accessTokens 访问令牌列表
+     * @return 批量验证结果
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Result<BatchTokenValidationDTO> validateTokens(List<String> accessTokens) {
+        try {
+            long startTime = System.nanoTime();
+            List<Long> userIds = authDomainService.validateAccessTokens(accessTokens);
+            int validCount = (int) userIds.stream().filter(userId -> userId != null).count();
+
+            log.debug("批量验证令牌完成: count={}, validCount={}, duration={}us",
+                accessTokens.size(), validCount, (System.nanoTime() - startTime) / 1000);
+            return Result.success(new BatchTokenValidationDTO()
+                .setUserIds(userIds)
+                .setValidCount(validCount));
+
+        } catch (Exception e) {
+            log.error("批量验证令牌异常: count={}, error={}", accessTokens.size(), e.getMessage(), e);
+            return Result.fail("批量验证令牌失败");
+        }
+    }
+
+    /**
+     * 内省引用令牌（供网关调用，不记录会话活动时间）
+     *
+     * @param token 引用令牌
+     * @return 令牌信息
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Result<TokenIntrospectionDTO> introspectToken(String token) {
+        try {
+            if (!AccessToken.isReference(token)) {
+                return Result.fail("仅支持引用令牌");
+            }
+
+            ReferenceToken reference = referenceTokenStore.resolve(token);
+            if (reference == null) {
+                log.debug("令牌内省失败: reason=invalid_token");
+                return Result.fail("令牌无效或已过期");
+            }
+
+            return Result.success(new TokenIntrospectionDTO()
+                .setUserId(reference.getUserId())
+                .setUsername(reference.getUsername())
+                .setExpiresAt(reference.getExpiresAt()));
+
+        } catch (Exception e) {
+            log.error("令牌内省异常: error={}", e.getMessage(), e);
+            return Result.fail("令牌内省失败");
+        }
+    }
+
     /**
      * 获取用户会话列表
      *
@@ -304,6 +438,7 @@ public class AuthApplicationService {
             
             // 删除所有会话
             authSessionRepository.deleteByUserId(userId);
+            concurrentSessionLimiter.reset(userId);
 
             log.info("撤销用户所有会话成功: userId={}", userId);
             return Result.success();
@@ -316,18 +451,23 @@ public class AuthApplicationService {
 
     /**
      * 清理过期会话
+     * 立即执行一轮分批清理（与定时清理共用集群租约）
+     * 每批在各自的事务中提交，不在外层事务中执行，避免整轮清理及批间暂停持有同一个事务
      *
-     * @return 清理的会话数量
+     * @return 逻辑删除的过期会话数量
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Result<Integer> cleanupExpiredSessions() {
         try {
             log.info("开始清理过期会话");
 
-            LocalDateTime expiredBefore = LocalDateTime.now().minusDays(7); // 清理7天前的过期会话
-            int deletedCount = authSessionRepository.deleteExpiredSessions(expiredBefore);
+            SweepResult sweepResult = sessionExpirySweeper.sweep();
+            if (sweepResult == null) {
+                return Result.fail("清理任务正在执行，请稍后重试");
+            }
 
-            log.info("清理过期会话完成: deletedCount={}", deletedCount);
-            return Result.success(deletedCount);
+            log.info("清理过期会话完成: deletedCount={}, purgedCount={}", sweepResult.getSoftDeleted(), sweepResult.getPurged());
+            return Result.success((int) sweepResult.getSoftDeleted());
 
         } catch (Exception e) {
             log.error("清理过期会话异常: error={}", e.getMessage(), e);
@@ -342,6 +482,12 @@ public class AuthApplicationService {
      * @return 会话信息DTO
      */
     private SessionInfoDTO toSessionInfoDTO(AuthSession session) {
+        LocalDateTime lastActivityAt = session.getLastActivityAt();
+        LocalDateTime pendingActivityAt = sessionActivityTracker.getPendingActivity(session.getSessionId());
+        if (pendingActivityAt != null && (lastActivityAt == null || pendingActivityAt.isAfter(lastActivityAt))) {
+            lastActivityAt = pendingActivityAt;
+        }
+
         return new SessionInfoDTO()
             .setSessionId(session.getSessionId())
             .setUserId(session.getUserId())
@@ -352,7 +498,7 @@ public class AuthApplicationService {
             .setStatusDescription(session.getStatus().getDescription())
             .setAccessTokenExpiresAt(session.getAccessTokenExpiresAt())
             .setRefreshTokenExpiresAt(session.getRefreshTokenExpiresAt())
-            .setLastActivityAt(session.getLastActivityAt())
+            .setLastActivityAt(lastActivityAt)
             .setCreatedAt(session.getCreatedAt())
             .setUpdatedAt(session.getUpdatedAt());
     }
@@ -0,0 +1,287 @@
+package com.flowmaster.auth.application.service;
+
+import com.flowmaster.auth.domain.model.aggregate.AuthSession.SessionRevokedEvent;
+import com.flowmaster.auth.domain.repository.AuthSessionRepository;
+import com.flowmaster.common.logging.LogUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发会话数限制
+ * 每个用户维护一个活跃会话计数，登录时原子递增，未超过上限时不查询数据库；
+ * 超过上限时以数据库计数为准，在同一事务中撤销最早创建的会话
+ * <p>
+ * 计数首次使用时从会话表加载，会话撤销后递减；过期清理等批量操作不逐个递减，
+ * 由定时任务按会话表重新统计近期登录过的用户进行校正。启用Redis时计数保存在Redis中，集群内共享
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ConcurrentSessionLimiter {
+
+    private static final String COUNT_KEY_PREFIX = "auth:session-count:";
+
+    private final AuthSessionRepository authSessionRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int maxSessions;
+    private final boolean redisEnabled;
+    private final long idleTimeoutMillis;
+    private final int reconcileBatchSize;
+
+    /**
+     * 本节点使用过的用户计数：userId -> 计数（启用Redis时只记录最近一次读到的值）
+     */
+    private final ConcurrentHashMap<Long, UserCounter> counters = new ConcurrentHashMap<>();
+
+    public ConcurrentSessionLimiter(AuthSessionRepository authSessionRepository,
+                                    RedisTemplate<String, String> redisTemplate,
+                                    @Value("${security.session.max-sessions:5}") int maxSessions,
+                                    @Value("${security.session.limiter.redis-enabled:true}") boolean redisEnabled,
+                                    @Value("${security.session.limiter.idle-timeout:86400000}") long idleTimeoutMillis,
+                                    @Value("${security.session.limiter.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.authSessionRepository = authSessionRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxSessions = maxSessions;
+        this.redisEnabled = redisEnabled;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.reconcileBatchSize = reconcileBatchSize;
+        log.info("初始化并发会话限制: maxSessions={}, redisEnabled={}", maxSessions, redisEnabled);
+    }
+
+    /**
+     * 为即将创建的会话占用一个名额，超过上限时撤销用户最早的会话
+     * 需在登录事务内、保存新会话之前调用；事务回滚时释放占用的名额
+     *
+     * @param userId 用户ID
+     * @return 被撤销的会话数量
+     */
+    public int admit(Long userId) {
+        if (maxSessions <= 0) {
+            return 0;
+        }
+
+        long count = add(userId, 1);
+        afterRollback(() -> add(userId, -1));
+        if (count <= maxSessions) {
+            return 0;
+        }
+
+        // 计数可能因其他批量操作偏高，超限时以数据库为准再决定撤销数量
+        long existing = authSessionRepository.countActiveSessionsByUserId(userId);
+        int excess = (int) Math.max(0, existing + 1 - maxSessions);
+        int revoked = excess > 0 ? authSessionRepository.revokeOldestActiveSessions(userId, excess) : 0;
+        overwrite(userId, existing + 1 - revoked);
+
+        if (revoked > 0) {
+            LogUtils.securityLog("SESSION_LIMIT_EVICTED", String.valueOf(userId), null,
+                    "活跃会话数超过上限" + maxSessions + "，撤销最早的" + revoked + "个会话");
+        }
+        log.debug("活跃会话数超过上限: userId={}, counted={}, existing={}, revoked={}", userId, count, existing, revoked);
+        return revoked;
+    }
+
+    /**
+     * 会话撤销（登出）提交后释放名额
+     * 撤销事件只在数据库中的会话由活跃变为已撤销时发布，重复撤销不会重复递减
+     *
+     * @param event 会话撤销事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        if (maxSessions > 0 && event.getSession().getUserId() != null) {
+            add(event.getSession().getUserId(), -1);
+        }
+    }
+
+    /**
+     * 用户全部会话删除后计数清零
+     *
+     * @param userId 用户ID
+     */
+    public void reset(Long userId) {
+        if (maxSessions > 0) {
+            afterCommit(() -> overwrite(userId, 0));
+        }
+    }
+
+    /**
+     * 按会话表重新统计近期登录过的用户，校正过期清理等批量操作造成的计数偏差，
+     * 并移除长时间未使用的本地计数
+     */
+    @Scheduled(initialDelayString = "${security.session.limiter.reconcile-interval:300000}",
+               fixedDelayString = "${security.session.limiter.reconcile-interval:300000}")
+    public void reconcile() {
+        if (maxSessions <= 0 || counters.isEmpty()) {
+            return;
+        }
+
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMillis;
+        List<Long> userIds = new ArrayList<>();
+        for (Map.Entry<Long, UserCounter> entry : counters.entrySet()) {
+            UserCounter counter = entry.getValue();
+            if (counter.touchedAt < idleBefore) {
+                counters.remove(entry.getKey(), counter);
+            } else if (counter.dirty) {
+                counter.dirty = false;
+                userIds.add(entry.getKey());
+            }
+        }
+
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += reconcileBatchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + reconcileBatchSize, userIds.size()));
+            try {
+                Map<Long, Long> counts = authSessionRepository.countActiveSessionsByUserIds(chunk);
+                for (Long userId : chunk) {
+                    UserCounter counter = counters.get(userId);
+                    long actual = counts.getOrDefault(userId, 0L);
+                    if (counter != null && counter.sessions.get() != actual) {
+                        corrected++;
+                    }
+                    overwrite(userId, actual);
+                }
+            } catch (Exception e) {
+                log.error("校正活跃会话计数失败，等待下次重试: count={}, error={}", chunk.size(), e.getMessage());
+                chunk.forEach(userId -> {
+                    UserCounter counter = counters.get(userId);
+                    if (counter != null) {
+                        counter.dirty = true;
+                    }
+                });
+            }
+        }
+
+        log.debug("校正活跃会话计数: users={}, corrected={}, tracked={}", userIds.size(), corrected, counters.size());
+    }
+
+    /**
+     * 获取本节点跟踪的用户数量
+     *
+     * @return 用户数量
+     */
+    public int getTrackedUserCount() {
+        return counters.size();
+    }
+
+    private long add(Long userId, long delta) {
+        UserCounter counter = counterFor(userId);
+        counter.touch();
+        if (redisEnabled) {
+            try {
+                Long value = redisTemplate.opsForValue().increment(COUNT_KEY_PREFIX + userId, delta);
+                if (value != null) {
+                    counter.sessions.set(value);
+                    return value;
+                }
+            } catch (Exception e) {
+                log.warn("Redis会话计数失败，使用本地计数: userId={}, error={}", userId, e.getMessage());
+            }
+        }
+        return counter.sessions.addAndGet(delta);
+    }
+
+    private void overwrite(Long userId, long value) {
+        UserCounter counter = counters.get(userId);
+        if (counter != null) {
+            counter.sessions.set(value);
+        }
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().set(COUNT_KEY_PREFIX + userId, String.valueOf(value),
+                        idleTimeoutMillis * 2, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.warn("写入Redis会话计数失败: userId={}, error={}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取本地计数，首次使用时从会话表加载；启用Redis时同时以加载值初始化共享计数（已存在则保留）
+     * Redis计数的过期时间为本地计数空闲超时的两倍，本地计数存在期间共享计数不会过期
+     * <p>
+     * 数据库统计在映射操作之外执行，不占用ConcurrentHashMap的桶锁；并发首次加载时只保留先放入的计数
+     */
+    private UserCounter counterFor(Long userId) {
+        UserCounter counter = counters.get(userId);
+        if (counter != null) {
+            return counter;
+        }
+
+        long existing = authSessionRepository.countActiveSessionsByUserId(userId);
+        UserCounter loaded = new UserCounter(existing);
+        UserCounter previous = counters.putIfAbsent(userId, loaded);
+        if (previous != null) {
+            return previous;
+        }
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForValue().setIfAbsent(COUNT_KEY_PREFIX + userId, String.valueOf(existing),
+                        idleTimeoutMillis * 2, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.warn("初始化Redis会话计数失败: userId={}, error={}", userId, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 单个用户的本地计数
+     */
+    private static class UserCounter {
+        private final AtomicLong sessions;
+        private volatile long touchedAt;
+        private volatile boolean dirty;
+
+        UserCounter(long sessions) {
+            this.sessions = new AtomicLong(sessions);
+            this.touchedAt = System.currentTimeMillis();
+        }
+
+        void touch() {
+            touchedAt = System.currentTimeMillis();
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.flowmaster.auth.application.service;
+
+import com.flowmaster.common.logging.LogUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * 登录失败跟踪器
+ * 按用户名和客户端IP分别统计登录失败次数，计数按半衰期指数衰减；
+ * 超过阈值的登录在密码哈希和远程调用之前直接拒绝，攻击流量只消耗一次哈希表查找
+ * <p>
+ * 计数保存在固定容量的分片开放寻址表中（64位键哈希 + 分数 + 更新时间），内存占用与攻击规模无关，
+ * 表满时淘汰探测窗口内衰减后分数最低的条目
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class FailedLoginTracker {
+
+    private static final int SHARD_COUNT = 64;
+    private static final int MAX_PROBE = 16;
+
+    private final Shard[] shards;
+    private final int usernameThreshold;
+    private final int ipThreshold;
+    private final double halfLifeMillis;
+
+    public FailedLoginTracker(@Value("${security.login.max-attempts:5}") int usernameThreshold,
+                              @Value("${security.login.ip-max-attempts:20}") int ipThreshold,
+                              @Value("${security.login.lockout-duration:300000}") long halfLifeMillis,
+                              @Value("${security.login.tracker-capacity:65536}") int capacity) {
+        this.usernameThreshold = usernameThreshold;
+        this.ipThreshold = ipThreshold;
+        this.halfLifeMillis = halfLifeMillis;
+
+        int shardCapacity = Integer.highestOneBit(Math.max(MAX_PROBE, capacity / SHARD_COUNT) - 1) << 1;
+        this.shards = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(shardCapacity);
+        }
+        log.info("初始化登录失败跟踪器: usernameThreshold={}, ipThreshold={}, halfLife={}ms, capacity={}",
+                usernameThreshold, ipThreshold, halfLifeMillis, shardCapacity * SHARD_COUNT);
+    }
+
+    /**
+     * 检查是否允许登录
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP
+     * @return 0表示允许，否则为建议的重试等待时间（秒）
+     */
+    public long checkAllowed(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        long retryAfter = retryAfterSeconds(score(usernameKey(username), now), usernameThreshold);
+        if (clientIp != null) {
+            retryAfter = Math.max(retryAfter, retryAfterSeconds(score(ipKey(clientIp), now), ipThreshold));
+        }
+        return retryAfter;
+    }
+
+    /**
+     * 记录一次登录失败
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP
+     */
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        double usernameScore = increment(usernameKey(username), now);
+        if (usernameScore >= usernameThreshold && usernameScore - 1 < usernameThreshold) {
+            LogUtils.securityLog("LOGIN_USERNAME_THROTTLED", username, clientIp,
+                    "连续登录失败次数达到阈值: " + usernameThreshold);
+        }
+        if (clientIp != null) {
+            double ipScore = increment(ipKey(clientIp), now);
+            if (ipScore >= ipThreshold && ipScore - 1 < ipThreshold) {
+                LogUtils.securityLog("LOGIN_IP_THROTTLED", username, clientIp,
+                        "来源IP登录失败次数达到阈值: " + ipThreshold);
+            }
+        }
+    }
+
+    /**
+     * 记录一次登录成功，清除用户名的失败计数（IP计数继续衰减）
+     *
+     * @param username 用户名
+     */
+    public void recordSuccess(String username) {
+        long key = usernameKey(username);
+        shardFor(key).remove(key);
+    }
+
+    private long retryAfterSeconds(double score, int threshold) {
+        if (score < threshold) {
+            return 0;
+        }
+        // 分数衰减到阈值以下所需的时间：halfLife * log2(score / threshold)
+        double millis = halfLifeMillis * (Math.log(score / threshold) / Math.log(2));
+        return Math.max(1, (long) Math.ceil(millis / 1000));
+    }
+
+    private double score(long key, long now) {
+        return shardFor(key).score(key, now, halfLifeMillis);
+    }
+
+    private double increment(long key, long now) {
+        return shardFor(key).increment(key, now, halfLifeMillis);
+    }
+
+    private Shard shardFor(long key) {
+        return shards[(int) (key >>> 58) & (SHARD_COUNT - 1)];
+    }
+
+    private static long usernameKey(String username) {
+        return hash('u', username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static long ipKey(String clientIp) {
+        return hash('i', clientIp);
+    }
+
+    /**
+     * 64位FNV-1a哈希，0保留为空槽标记
+     */
+    private static long hash(char prefix, String value) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ prefix) * 0x100000001b3L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static double decay(double score, long updatedAt, long now, double halfLifeMillis) {
+        long elapsed = now - updatedAt;
+        return elapsed <= 0 ? score : score * Math.pow(0.5, elapsed / halfLifeMillis);
+    }
+
+    /**
+     * 计数分片：线性探测的开放寻址表
+     */
+    private static class Shard {
+        private final long[] keys;
+        private final double[] scores;
+        private final long[] updatedAt;
+        private final int mask;
+
+        Shard(int capacity) {
+            this.keys = new long[capacity];
+            this.scores = new double[capacity];
+            this.updatedAt = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        synchronized double score(long key, long now, double halfLifeMillis) {
+            int slot = find(key);
+            return slot < 0 ? 0 : decay(scores[slot], updatedAt[slot], now, halfLifeMillis);
+        }
+
+        synchronized double increment(long key, long now, double halfLifeMillis) {
+            int slot = find(key);
+            if (slot < 0) {
+                slot = claim(key, now, halfLifeMillis);
+                scores[slot] = 0;
+                updatedAt[slot] = now;
+            }
+            double score = decay(scores[slot], updatedAt[slot], now, halfLifeMillis) + 1;
+            scores[slot] = score;
+            updatedAt[slot] = now;
+            return score;
+        }
+
+        synchronized void remove(long key) {
+            int slot = find(key);
+            if (slot >= 0) {
+                // 置零分数而不清空键，保持探测链连续
+                scores[slot] = 0;
+            }
+        }
+
+        private int find(long key) {
+            int start = (int) key & mask;
+            for (int i = 0; i < MAX_PROBE; i++) {
+                int slot = (start + i) & mask;
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private int claim(long key, long now, double halfLifeMillis) {
+            int start = (int) key & mask;
+            int victim = start;
+            double victimScore = Double.MAX_VALUE;
+            for (int i = 0; i < MAX_PROBE; i++) {
+                int slot = (start + i) & mask;
+                if (keys[slot] == 0) {
+                    keys[slot] = key;
+                    return slot;
+                }
+                double score = decay(scores[slot], updatedAt[slot], now, halfLifeMillis);
+                if (score < victimScore) {
+                    victimScore = score;
+                    victim = slot;
+                }
+            }
+            keys[victim] = key;
+            return victim;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.flowmaster.auth.application.service;
+
+import com.flowmaster.auth.domain.repository.AuthSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 会话活动时间合并写入
+ * 令牌验证只在内存中记录会话的最后活动时间，由定时任务按批次写回数据库，
+ * 同一会话在一个刷新周期内的多次活动合并为一次更新；写回时按各会话自己的活动时间（精确到秒）分组，
+ * 同一秒内活动的会话共用一条UPDATE，每个刷新周期的语句数与会话数无关
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class SessionActivityTracker {
+
+    private final AuthSessionRepository authSessionRepository;
+    private final int batchSize;
+
+    /**
+     * 待写回的会话活动时间：sessionId -> 最后活动时间（毫秒）
+     */
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public SessionActivityTracker(AuthSessionRepository authSessionRepository,
+                                  @Value("${security.session.activity-flush-batch-size:500}") int batchSize) {
+        this.authSessionRepository = authSessionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 记录会话活动
+     *
+     * @param sessionId 会话ID
+     */
+    public void recordActivity(Long sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        pending.merge(sessionId, System.currentTimeMillis(), Math::max);
+    }
+
+    /**
+     * 获取尚未写回的最后活动时间
+     *
+     * @param sessionId 会话ID
+     * @return 最后活动时间，没有待写回的记录返回null
+     */
+    public LocalDateTime getPendingActivity(Long sessionId) {
+        Long millis = sessionId != null ? pending.get(sessionId) : null;
+        return millis != null ? toLocalDateTime(millis) : null;
+    }
+
+    /**
+     * 将累积的活动时间批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${security.session.activity-flush-interval:30000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 逐个摘取，摘取后到达的活动留给下一个周期
+        Map<Long, Long> drained = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // 按活动时间所在的秒分组，每个会话写回自己的活动时间，而不是批次内最晚的时间
+        Map<Long, List<Long>> sessionIdsBySecond = new TreeMap<>();
+        for (Map.Entry<Long, Long> entry : drained.entrySet()) {
+            long second = entry.getValue() - Math.floorMod(entry.getValue(), 1000L);
+            sessionIdsBySecond.computeIfAbsent(second, key -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        int updatedCount = 0;
+        for (Map.Entry<Long, List<Long>> group : sessionIdsBySecond.entrySet()) {
+            LocalDateTime lastActivityAt = toLocalDateTime(group.getKey());
+            List<Long> sessionIds = group.getValue();
+            for (int from = 0; from < sessionIds.size(); from += batchSize) {
+                List<Long> chunk = sessionIds.subList(from, Math.min(from + batchSize, sessionIds.size()));
+                try {
+                    updatedCount += authSessionRepository.updateLastActivity(chunk, lastActivityAt);
+                } catch (Exception e) {
+                    log.error("写回会话活动时间失败，等待下次重试: count={}, error={}", chunk.size(), e.getMessage());
+                    for (Long sessionId : chunk) {
+                        pending.merge(sessionId, drained.get(sessionId), Math::max);
+                    }
+                }
+            }
+        }
+
+        log.debug("写回会话活动时间: sessions={}, groups={}, updatedCount={}",
+                drained.size(), sessionIdsBySecond.size(), updatedCount);
+    }
+
+    /**
+     * 停机前写回剩余的活动时间
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 获取待写回的会话数量
+     *
+     * @return 待写回数量
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
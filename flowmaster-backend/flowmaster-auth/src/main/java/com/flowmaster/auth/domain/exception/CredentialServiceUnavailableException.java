@@ -0,0 +1,18 @@
+package com.flowmaster.auth.domain.exception;
+
+import com.flowmaster.common.exception.BusinessException;
+import com.flowmaster.common.response.ResultCode;
+
+/**
+ * 凭据校验服务不可用异常
+ * 用户服务调用失败等基础设施错误导致无法判定凭据是否正确时抛出，不计为登录失败，由接口层转换为503响应
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class CredentialServiceUnavailableException extends BusinessException {
+
+    public CredentialServiceUnavailableException(Throwable cause) {
+        super(ResultCode.SERVICE_UNAVAILABLE.getCode(), ResultCode.SERVICE_UNAVAILABLE.getMessage(), cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.flowmaster.auth.domain.exception;
+
+import com.flowmaster.common.exception.BusinessException;
+import com.flowmaster.common.response.ResultCode;
+import lombok.Getter;
+
+/**
+ * 登录限流异常
+ * 密码验证队列已满或等待超时时抛出，由接口层转换为429响应
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Getter
+public class LoginThrottledException extends BusinessException {
+
+    /**
+     * 建议客户端重试的等待时间（秒）
+     */
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super(ResultCode.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,6 +3,7 @@ package com.flowmaster.auth.domain.model.aggregate;
 import com.flowmaster.common.domain.BaseDomainEntity;
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 import lombok.Getter;
 import lombok.Setter;
@@ -42,15 +43,25 @@ public class AuthSession extends BaseDomainEntity {
     private Username username;
 
     /**
-     * 访问令牌
+     * 访问令牌（仅签发时持有，持久化只保存摘要）
      */
     private AccessToken accessToken;
 
     /**
-     * 刷新令牌
+     * 刷新令牌（仅签发时持有，持久化只保存摘要）
      */
     private RefreshToken refreshToken;
 
+    /**
+     * 访问令牌摘要
+     */
+    private TokenDigest accessTokenDigest;
+
+    /**
+     * 刷新令牌摘要
+     */
+    private TokenDigest refreshTokenDigest;
+
     /**
      * 客户端IP
      */
@@ -124,6 +135,8 @@ public class AuthSession extends BaseDomainEntity {
         session.username = username;
         session.accessToken = accessToken;
         session.refreshToken = refreshToken;
+        session.accessTokenDigest = TokenDigest.of(accessToken);
+        session.refreshTokenDigest = TokenDigest.of(refreshToken);
         session.clientIp = clientIp;
         session.userAgent = userAgent;
         session.status = SessionStatus.ACTIVE;
@@ -146,6 +159,8 @@ public class AuthSession extends BaseDomainEntity {
     public void refreshTokens(AccessToken newAccessToken, RefreshToken newRefreshToken) {
         this.accessToken = newAccessToken;
         this.refreshToken = newRefreshToken;
+        this.accessTokenDigest = TokenDigest.of(newAccessToken);
+        this.refreshTokenDigest = TokenDigest.of(newRefreshToken);
         this.lastActivityAt = LocalDateTime.now();
         this.accessTokenExpiresAt = LocalDateTime.now().plusHours(24); // TODO: 从配置获取
         this.refreshTokenExpiresAt = LocalDateTime.now().plusDays(7); // TODO: 从配置获取
@@ -155,8 +170,12 @@ public class AuthSession extends BaseDomainEntity {
 
     /**
      * 撤销会话
+     * 只有活跃会话会变为已撤销并产生撤销事件，重复撤销不产生事件
      */
     public void revoke() {
+        if (status != SessionStatus.ACTIVE) {
+            return;
+        }
         this.status = SessionStatus.REVOKED;
         this.lastActivityAt = LocalDateTime.now();
         
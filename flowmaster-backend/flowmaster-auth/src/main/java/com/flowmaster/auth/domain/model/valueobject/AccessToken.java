@@ -8,7 +8,8 @@ import java.util.regex.Pattern;
 
 /**
  * 访问令牌值对象
- * 
+ * 支持JWT和引用令牌两种形式，引用令牌为带固定前缀的随机字符串，需在令牌存储中查找
+ *
  * @author FlowMaster Team
  * @since 1.0.0
  */
@@ -16,7 +17,13 @@ import java.util.regex.Pattern;
 @Slf4j
 public class AccessToken {
 
+    /**
+     * 引用令牌前缀
+     */
+    public static final String REFERENCE_PREFIX = "fmr_";
+
     private static final Pattern TOKEN_PATTERN = Pattern.compile("^[A-Za-z0-9-_]+\\.[A-Za-z0-9-_]+\\.[A-Za-z0-9-_]+$");
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile("^" + REFERENCE_PREFIX + "[A-Za-z0-9-_]{43}$");
 
     private final String value;
 
@@ -24,7 +31,7 @@ public class AccessToken {
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalArgumentException("访问令牌不能为空");
         }
-        if (!TOKEN_PATTERN.matcher(value.trim()).matches()) {
+        if (!TOKEN_PATTERN.matcher(value.trim()).matches() && !REFERENCE_PATTERN.matcher(value.trim()).matches()) {
             throw new IllegalArgumentException("访问令牌格式不正确");
         }
         this.value = value.trim();
@@ -50,6 +57,25 @@ public class AccessToken {
         return new AccessToken(jwt);
     }
 
+    /**
+     * 是否为引用令牌
+     *
+     * @return 是否为引用令牌
+     */
+    public boolean isReference() {
+        return isReference(value);
+    }
+
+    /**
+     * 判断令牌字符串是否为引用令牌
+     *
+     * @param token 令牌字符串
+     * @return 是否为引用令牌
+     */
+    public static boolean isReference(String token) {
+        return token != null && token.startsWith(REFERENCE_PREFIX);
+    }
+
     /**
      * 获取JWT字符串
      *
@@ -65,7 +91,8 @@ public class AccessToken {
      * @return 是否有效
      */
     public boolean isValid() {
-        return value != null && !value.trim().isEmpty() && TOKEN_PATTERN.matcher(value).matches();
+        return value != null && !value.trim().isEmpty()
+                && (TOKEN_PATTERN.matcher(value).matches() || REFERENCE_PATTERN.matcher(value).matches());
     }
 
     @Override
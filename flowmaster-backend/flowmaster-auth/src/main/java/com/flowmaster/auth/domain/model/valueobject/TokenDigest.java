@@ -0,0 +1,108 @@
+package com.flowmaster.auth.domain.model.valueobject;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * 令牌摘要值对象
+ * 令牌的SHA-256摘要（64位十六进制），用于缓存键和会话索引，避免保存和比较完整令牌
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Getter
+public class TokenDigest {
+
+    /**
+     * 摘要长度（十六进制字符数）
+     */
+    public static final int LENGTH = 64;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    });
+
+    private final String value;
+
+    private TokenDigest(String value) {
+        if (value == null || value.length() != LENGTH) {
+            throw new IllegalArgumentException("令牌摘要格式不正确");
+        }
+        this.value = value;
+    }
+
+    /**
+     * 计算令牌摘要
+     *
+     * @param token 令牌字符串
+     * @return 令牌摘要
+     */
+    public static TokenDigest of(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("令牌不能为空");
+        }
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return new TokenDigest(HexFormat.of().formatHex(hash));
+    }
+
+    /**
+     * 计算访问令牌摘要
+     *
+     * @param accessToken 访问令牌
+     * @return 令牌摘要
+     */
+    public static TokenDigest of(AccessToken accessToken) {
+        return of(accessToken.getJwt());
+    }
+
+    /**
+     * 计算刷新令牌摘要
+     *
+     * @param refreshToken 刷新令牌
+     * @return 令牌摘要
+     */
+    public static TokenDigest of(RefreshToken refreshToken) {
+        return of(refreshToken.getJwt());
+    }
+
+    /**
+     * 从已计算的摘要值恢复
+     *
+     * @param value 摘要值
+     * @return 令牌摘要
+     */
+    public static TokenDigest fromValue(String value) {
+        return new TokenDigest(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TokenDigest that = (TokenDigest) o;
+        return Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenDigest{" +
+                "value='" + value.substring(0, 12) + "..." +
+                '}';
+    }
+}
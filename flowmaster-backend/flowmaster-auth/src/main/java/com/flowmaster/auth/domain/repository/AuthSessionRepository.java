@@ -3,12 +3,15 @@ package com.flowmaster.auth.domain.repository;
 import com.flowmaster.auth.domain.model.aggregate.AuthSession;
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +30,26 @@ public interface AuthSessionRepository {
      */
     AuthSession save(AuthSession session);
 
+    /**
+     * 轮换会话令牌（比较并交换）
+     * 以会话中已更新的令牌摘要和过期时间覆盖数据库记录，仅当数据库中的刷新令牌摘要仍等于预期值时成功
+     *
+     * @param session 已调用refreshTokens的会话
+     * @param expectedRefreshTokenDigest 刷新前的刷新令牌摘要
+     * @return 是否轮换成功，失败表示刷新令牌已被并发请求使用或会话已失效
+     */
+    boolean rotateTokens(AuthSession session, TokenDigest expectedRefreshTokenDigest);
+
+    /**
+     * 撤销会话（比较并交换）
+     * 仅当数据库中的会话仍处于活跃状态时更新为已撤销并发布撤销事件，并发撤销同一会话只有一个成功
+     *
+     * @param session 已调用revoke的会话
+     * @param operatorId 操作人ID
+     * @return 是否撤销成功，失败表示会话已被撤销或已失效
+     */
+    boolean revoke(AuthSession session, Long operatorId);
+
     /**
      * 根据会话ID查找会话
      *
@@ -106,6 +129,52 @@ public interface AuthSessionRepository {
      */
     int deleteExpiredSessions(LocalDateTime expiredBefore);
 
+    /**
+     * 按主键顺序查找下一批过期会话ID
+     *
+     * @param expiredBefore 过期时间
+     * @param afterId 上一批最后一个会话ID
+     * @param limit 批大小
+     * @return 会话ID列表
+     */
+    List<Long> findExpiredSessionIds(LocalDateTime expiredBefore, Long afterId, int limit);
+
+    /**
+     * 按ID批量删除过期会话
+     *
+     * @param sessionIds 会话ID列表
+     * @param expiredBefore 过期时间
+     * @return 删除的会话数量
+     */
+    int deleteExpiredSessions(Collection<Long> sessionIds, LocalDateTime expiredBefore);
+
+    /**
+     * 按主键顺序查找下一批可物理删除的会话ID
+     *
+     * @param deletedBefore 删除时间
+     * @param afterId 上一批最后一个会话ID
+     * @param limit 批大小
+     * @return 会话ID列表
+     */
+    List<Long> findPurgeableSessionIds(LocalDateTime deletedBefore, Long afterId, int limit);
+
+    /**
+     * 按ID批量物理删除已删除的会话
+     *
+     * @param sessionIds 会话ID列表
+     * @return 物理删除的会话数量
+     */
+    int purgeDeletedSessions(Collection<Long> sessionIds);
+
+    /**
+     * 批量更新会话最后活动时间
+     *
+     * @param sessionIds 会话ID列表
+     * @param lastActivityAt 最后活动时间
+     * @return 更新的会话数量
+     */
+    int updateLastActivity(Collection<Long> sessionIds, LocalDateTime lastActivityAt);
+
     /**
      * 统计用户活跃会话数量
      *
@@ -114,6 +183,23 @@ public interface AuthSessionRepository {
      */
     long countActiveSessionsByUserId(Long userId);
 
+    /**
+     * 批量统计用户活跃会话数量
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 活跃会话数量，没有活跃会话的用户不出现
+     */
+    Map<Long, Long> countActiveSessionsByUserIds(Collection<Long> userIds);
+
+    /**
+     * 撤销用户最早创建的若干个活跃会话
+     *
+     * @param userId 用户ID
+     * @param limit 撤销数量上限
+     * @return 实际撤销的会话数量
+     */
+    int revokeOldestActiveSessions(Long userId, int limit);
+
     /**
      * 统计总会话数量
      *
@@ -6,6 +6,8 @@ import com.flowmaster.auth.domain.model.valueobject.Password;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 
+import java.util.List;
+
 /**
  * 认证领域服务
  * 
@@ -19,7 +21,8 @@ public interface AuthDomainService {
      *
      * @param username 用户名
      * @param password 密码
-     * @return 用户ID，验证失败返回null
+     * @return 用户ID，用户不存在、状态不允许登录或密码错误返回null
+     * @throws com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException 无法判定凭据是否正确（用户服务不可用等）
      */
     Long validateCredentials(Username username, Password password);
 
@@ -32,6 +35,17 @@ public interface AuthDomainService {
      */
     AccessToken generateAccessToken(Long userId, Username username);
 
+    /**
+     * 按客户端配置生成访问令牌
+     * 配置为使用引用令牌的客户端签发不透明的引用令牌，其余客户端签发JWT
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param clientId 客户端标识，可为空
+     * @return 访问令牌
+     */
+    AccessToken generateAccessToken(Long userId, Username username, String clientId);
+
     /**
      * 生成刷新令牌
      *
@@ -49,6 +63,14 @@ public interface AuthDomainService {
      */
     Long validateAccessToken(AccessToken accessToken);
 
+    /**
+     * 批量验证访问令牌
+     *
+     * @param accessTokens 访问令牌列表
+     * @return 与输入顺序一致的用户ID列表，验证失败或已加入黑名单的位置为null
+     */
+    List<Long> validateAccessTokens(List<String> accessTokens);
+
     /**
      * 验证刷新令牌
      *
@@ -0,0 +1,548 @@
+package com.flowmaster.auth.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.auth.domain.model.aggregate.AuthSession;
+import com.flowmaster.auth.domain.model.aggregate.AuthSession.SessionRefreshedEvent;
+import com.flowmaster.auth.domain.model.aggregate.AuthSession.SessionRevokedEvent;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
+import com.flowmaster.auth.domain.model.valueobject.Username;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证会话二级缓存
+ * 一级为本地Caffeine缓存，二级为Redis共享缓存（未启用Redis时以本地映射代替，便于单机和测试环境使用），
+ * 会话按会话ID缓存，访问令牌和刷新令牌摘要映射到会话ID，刷新、登出和令牌验证命中缓存时不再读取数据库
+ * <p>
+ * 缓存保存会话的不可变快照，每次命中都还原新的领域对象，调用方修改会话不会影响缓存；
+ * 保存会话后在事务提交时写入新快照，会话刷新和撤销事件在提交后广播，其他节点随即丢弃本地一级缓存。
+ * 按摘要查找时校验快照中的摘要与请求一致，刷新前的旧摘要映射不会命中
+ * <p>
+ * 移除会话时二级缓存写入短期墓碑而不是直接删除：并发读取在移除前从数据库读到的旧数据，
+ * 墓碑存在期间无法通过"不存在才写入"的填充把已删除或已撤销的会话写回缓存
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class AuthSessionCache implements MessageListener {
+
+    private static final String SESSION_KEY_PREFIX = "auth:session:";
+    private static final String DIGEST_KEY_PREFIX = "auth:session:digest:";
+    private static final String INVALIDATION_CHANNEL = "auth:session:invalidated";
+    private static final String TOMBSTONE = "-";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long l2TtlMillis;
+    private final long tombstoneTtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<Long, CachedSession> l1Sessions;
+    private final Cache<String, Long> l1Digests;
+    private final Cache<Long, CachedSession> localL2Sessions;
+    private final Cache<String, Long> localL2Digests;
+    private final Cache<Long, Boolean> localL2Tombstones;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public AuthSessionCache(RedisTemplate<String, String> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.session.cache.enabled:true}") boolean enabled,
+                            @Value("${security.session.cache.redis-enabled:true}") boolean redisEnabled,
+                            @Value("${security.session.cache.l1-max-size:50000}") long l1MaxSize,
+                            @Value("${security.session.cache.l1-ttl:60000}") long l1TtlMillis,
+                            @Value("${security.session.cache.l2-ttl:1800000}") long l2TtlMillis,
+                            @Value("${security.session.cache.tombstone-ttl:10000}") long tombstoneTtlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.l2TtlMillis = l2TtlMillis;
+        this.tombstoneTtlMillis = tombstoneTtlMillis;
+
+        this.l1Sessions = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.l1Digests = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize * 2)
+                .expireAfterWrite(l1TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.localL2Sessions = Caffeine.newBuilder()
+                .expireAfterWrite(l2TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.localL2Digests = Caffeine.newBuilder()
+                .expireAfterWrite(l2TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.localL2Tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+
+        this.l1Hits = requestCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, "l2", "miss");
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && redisEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+        log.info("初始化认证会话缓存: enabled={}, redisEnabled={}, l2Ttl={}ms, tombstoneTtl={}ms",
+                enabled, redisEnabled, l2TtlMillis, tombstoneTtlMillis);
+    }
+
+    /**
+     * 根据会话ID获取会话
+     *
+     * @param sessionId 会话ID
+     * @return 认证会话，未命中返回空
+     */
+    public Optional<AuthSession> get(Long sessionId) {
+        if (!enabled || sessionId == null) {
+            return Optional.empty();
+        }
+        CachedSession cached = lookup(sessionId);
+        return cached != null ? Optional.of(cached.toDomain()) : Optional.empty();
+    }
+
+    /**
+     * 根据令牌摘要获取会话
+     *
+     * @param digest 访问令牌或刷新令牌摘要
+     * @return 认证会话，未命中返回空
+     */
+    public Optional<AuthSession> getByDigest(TokenDigest digest) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String digestValue = digest.getValue();
+        Long sessionId = l1Digests.getIfPresent(digestValue);
+        if (sessionId == null) {
+            sessionId = loadDigest(digestValue);
+            if (sessionId == null) {
+                l1Misses.increment();
+                l2Misses.increment();
+                return Optional.empty();
+            }
+            l1Digests.put(digestValue, sessionId);
+        }
+
+        CachedSession cached = lookup(sessionId);
+        if (cached == null || !cached.matches(digestValue)) {
+            // 摘要映射已过时（令牌已刷新），交由数据库判定
+            l1Digests.invalidate(digestValue);
+            return Optional.empty();
+        }
+        return Optional.of(cached.toDomain());
+    }
+
+    /**
+     * 写入会话（保存后写穿），在事务提交后执行并覆盖已有条目
+     *
+     * @param session 已保存的会话
+     */
+    public void put(AuthSession session) {
+        if (!enabled || session.getSessionId() == null) {
+            return;
+        }
+        CachedSession cached = CachedSession.from(session);
+        afterCommit(() -> {
+            store(cached, false);
+            cacheLocally(cached);
+        });
+    }
+
+    /**
+     * 填充数据库读取的会话，已有条目或墓碑时不覆盖，避免并发读取的旧数据覆盖刚提交的新数据或复活刚移除的会话
+     *
+     * @param session 数据库中读取的会话
+     */
+    public void fill(AuthSession session) {
+        if (!enabled || session.getSessionId() == null) {
+            return;
+        }
+        CachedSession cached = CachedSession.from(session);
+        if (store(cached, true)) {
+            cacheLocally(cached);
+        }
+    }
+
+    /**
+     * 移除会话（事务提交后执行并通知其他节点），二级缓存中留下墓碑
+     *
+     * @param sessionIds 会话ID集合
+     */
+    public void evict(Collection<Long> sessionIds) {
+        if (!enabled || sessionIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (Long sessionId : sessionIds) {
+                evictLocally(sessionId);
+                tombstoneShared(sessionId);
+                broadcast(sessionId);
+            }
+        });
+    }
+
+    /**
+     * 会话刷新后通知其他节点丢弃持有旧令牌摘要的本地快照
+     * 新快照已由保存时的写穿写入二级缓存
+     *
+     * @param event 会话刷新事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionRefreshed(SessionRefreshedEvent event) {
+        if (enabled && event.getSession().getSessionId() != null) {
+            broadcast(event.getSession().getSessionId());
+        }
+    }
+
+    /**
+     * 会话撤销后通知其他节点丢弃本地快照
+     * 二级缓存保留已撤销状态的快照，避免并发读取把撤销前的数据重新填入
+     *
+     * @param event 会话撤销事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        if (enabled && event.getSession().getSessionId() != null) {
+            broadcast(event.getSession().getSessionId());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        try {
+            Long sessionId = Long.valueOf(body.substring(separator + 1));
+            evictLocally(sessionId);
+            log.debug("收到会话缓存失效通知: sessionId={}", sessionId);
+        } catch (NumberFormatException e) {
+            log.warn("会话缓存失效消息格式错误: {}", body);
+        }
+    }
+
+    /**
+     * 获取一级缓存中的会话数量
+     *
+     * @return 会话数量
+     */
+    public long size() {
+        return l1Sessions.estimatedSize();
+    }
+
+    private CachedSession lookup(Long sessionId) {
+        CachedSession cached = l1Sessions.getIfPresent(sessionId);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached;
+        }
+        l1Misses.increment();
+
+        cached = loadShared(sessionId);
+        if (cached == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        cacheLocally(cached);
+        return cached;
+    }
+
+    private void cacheLocally(CachedSession cached) {
+        CachedSession previous = l1Sessions.getIfPresent(cached.getSessionId());
+        if (previous != null) {
+            if (!previous.getAccessTokenDigest().equals(cached.getAccessTokenDigest())) {
+                l1Digests.invalidate(previous.getAccessTokenDigest());
+            }
+            if (!previous.getRefreshTokenDigest().equals(cached.getRefreshTokenDigest())) {
+                l1Digests.invalidate(previous.getRefreshTokenDigest());
+            }
+        }
+        l1Sessions.put(cached.getSessionId(), cached);
+        l1Digests.put(cached.getAccessTokenDigest(), cached.getSessionId());
+        l1Digests.put(cached.getRefreshTokenDigest(), cached.getSessionId());
+    }
+
+    private void evictLocally(Long sessionId) {
+        CachedSession previous = l1Sessions.getIfPresent(sessionId);
+        l1Sessions.invalidate(sessionId);
+        if (previous != null) {
+            l1Digests.invalidate(previous.getAccessTokenDigest());
+            l1Digests.invalidate(previous.getRefreshTokenDigest());
+        }
+    }
+
+    /**
+     * 写入二级缓存
+     *
+     * @param cached 会话快照
+     * @param ifAbsent 是否仅在不存在时写入
+     * @return 是否写入
+     */
+    private boolean store(CachedSession cached, boolean ifAbsent) {
+        long ttl = ttlMillis(cached);
+        if (ttl <= 0) {
+            return false;
+        }
+        if (!redisEnabled) {
+            if (ifAbsent) {
+                // 在映射的桶锁内检查墓碑，与移除时先写墓碑再删除快照的顺序配合，不会漏判
+                boolean[] stored = {false};
+                localL2Sessions.asMap().compute(cached.getSessionId(), (sessionId, existing) -> {
+                    if (existing != null || localL2Tombstones.getIfPresent(sessionId) != null) {
+                        return existing;
+                    }
+                    stored[0] = true;
+                    return cached;
+                });
+                if (!stored[0]) {
+                    return false;
+                }
+            } else {
+                localL2Tombstones.invalidate(cached.getSessionId());
+                localL2Sessions.put(cached.getSessionId(), cached);
+            }
+            localL2Digests.put(cached.getAccessTokenDigest(), cached.getSessionId());
+            localL2Digests.put(cached.getRefreshTokenDigest(), cached.getSessionId());
+            return true;
+        }
+
+        String sessionKey = SESSION_KEY_PREFIX + cached.getSessionId();
+        try {
+            String json = objectMapper.writeValueAsString(cached);
+            if (ifAbsent) {
+                Boolean stored = redisTemplate.opsForValue().setIfAbsent(sessionKey, json, ttl, TimeUnit.MILLISECONDS);
+                if (!Boolean.TRUE.equals(stored)) {
+                    return false;
+                }
+            } else {
+                redisTemplate.opsForValue().set(sessionKey, json, ttl, TimeUnit.MILLISECONDS);
+            }
+            String sessionId = String.valueOf(cached.getSessionId());
+            redisTemplate.opsForValue().set(DIGEST_KEY_PREFIX + cached.getAccessTokenDigest(), sessionId, ttl, TimeUnit.MILLISECONDS);
+            redisTemplate.opsForValue().set(DIGEST_KEY_PREFIX + cached.getRefreshTokenDigest(), sessionId, ttl, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            log.warn("写入会话缓存异常: sessionId={}, error={}", cached.getSessionId(), e.getMessage());
+            // 写入失败时删除可能残留的旧快照，后续读取回到数据库
+            removeShared(cached.getSessionId());
+            return false;
+        }
+    }
+
+    private CachedSession loadShared(Long sessionId) {
+        if (!redisEnabled) {
+            return localL2Sessions.getIfPresent(sessionId);
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(SESSION_KEY_PREFIX + sessionId);
+            return json != null && !TOMBSTONE.equals(json) ? objectMapper.readValue(json, CachedSession.class) : null;
+        } catch (Exception e) {
+            log.warn("读取会话缓存异常: sessionId={}, error={}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long loadDigest(String digest) {
+        if (!redisEnabled) {
+            return localL2Digests.getIfPresent(digest);
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(DIGEST_KEY_PREFIX + digest);
+            return value != null ? Long.valueOf(value) : null;
+        } catch (Exception e) {
+            log.warn("读取会话摘要缓存异常: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void removeShared(Long sessionId) {
+        if (!redisEnabled) {
+            localL2Sessions.invalidate(sessionId);
+            return;
+        }
+        try {
+            // 摘要映射随TTL过期，查找时会因快照缺失或摘要不符而回到数据库
+            redisTemplate.delete(SESSION_KEY_PREFIX + sessionId);
+        } catch (Exception e) {
+            log.warn("删除会话缓存异常: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 以墓碑替换二级缓存中的会话快照，墓碑过期前填充无法写入
+     */
+    private void tombstoneShared(Long sessionId) {
+        if (!redisEnabled) {
+            localL2Tombstones.put(sessionId, Boolean.TRUE);
+            localL2Sessions.invalidate(sessionId);
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(SESSION_KEY_PREFIX + sessionId, TOMBSTONE, tombstoneTtlMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入会话缓存墓碑异常: sessionId={}, error={}", sessionId, e.getMessage());
+            removeShared(sessionId);
+        }
+    }
+
+    private void broadcast(Long sessionId) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + sessionId);
+        } catch (Exception e) {
+            log.warn("广播会话缓存失效异常: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 二级缓存时间不超过刷新令牌的剩余有效期
+     */
+    private long ttlMillis(CachedSession cached) {
+        if (cached.getRefreshTokenExpiresAt() == null) {
+            return l2TtlMillis;
+        }
+        long remaining = Duration.between(LocalDateTime.now(), cached.getRefreshTokenExpiresAt()).toMillis();
+        return Math.min(l2TtlMillis, remaining);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("auth.session.cache.requests")
+                .description("认证会话缓存请求次数")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 会话快照
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CachedSession {
+        private Long sessionId;
+        private Long userId;
+        private String username;
+        private String accessTokenDigest;
+        private String refreshTokenDigest;
+        private String clientIp;
+        private String userAgent;
+        private String status;
+        private LocalDateTime accessTokenExpiresAt;
+        private LocalDateTime refreshTokenExpiresAt;
+        private LocalDateTime lastActivityAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private Long createdBy;
+        private Long updatedBy;
+        private Integer version;
+
+        static CachedSession from(AuthSession session) {
+            CachedSession cached = new CachedSession();
+            cached.sessionId = session.getSessionId();
+            cached.userId = session.getUserId();
+            cached.username = session.getUsername().getValue();
+            cached.accessTokenDigest = session.getAccessTokenDigest().getValue();
+            cached.refreshTokenDigest = session.getRefreshTokenDigest().getValue();
+            cached.clientIp = session.getClientIp();
+            cached.userAgent = session.getUserAgent();
+            cached.status = session.getStatus().name();
+            cached.accessTokenExpiresAt = session.getAccessTokenExpiresAt();
+            cached.refreshTokenExpiresAt = session.getRefreshTokenExpiresAt();
+            cached.lastActivityAt = session.getLastActivityAt();
+            cached.createdAt = session.getCreatedAt();
+            cached.updatedAt = session.getUpdatedAt();
+            cached.createdBy = session.getCreatedBy();
+            cached.updatedBy = session.getUpdatedBy();
+            cached.version = session.getVersion();
+            return cached;
+        }
+
+        boolean matches(String digest) {
+            return digest.equals(accessTokenDigest) || digest.equals(refreshTokenDigest);
+        }
+
+        AuthSession toDomain() {
+            AuthSession session = new AuthSession();
+            session.setSessionId(sessionId);
+            session.setUserId(userId);
+            session.setUsername(Username.of(username));
+            session.setAccessTokenDigest(TokenDigest.fromValue(accessTokenDigest));
+            session.setRefreshTokenDigest(TokenDigest.fromValue(refreshTokenDigest));
+            session.setClientIp(clientIp);
+            session.setUserAgent(userAgent);
+            session.setStatus(AuthSession.SessionStatus.valueOf(status));
+            session.setAccessTokenExpiresAt(accessTokenExpiresAt);
+            session.setRefreshTokenExpiresAt(refreshTokenExpiresAt);
+            session.setLastActivityAt(lastActivityAt);
+            session.setCreatedAt(createdAt);
+            session.setUpdatedAt(updatedAt);
+            session.setCreatedBy(createdBy);
+            session.setUpdatedBy(updatedBy);
+            session.setVersion(version);
+            session.setDeleted(false);
+            return session;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.flowmaster.auth.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.auth.infrastructure.service.UserServiceClient;
+import com.flowmaster.common.event.UserCredentialChangedMessage;
+import com.flowmaster.common.event.UserCredentialMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 本地凭据副本
+ * 保存 用户名 -> (用户ID, 密码哈希, 状态)，启动时从用户服务分批拉取全量快照，
+ * 之后收到用户服务发布的凭据变更通知（只含用户ID和版本号）时按ID重新拉取该用户的凭据，
+ * 登录时的凭据校验不再需要跨服务调用
+ * <p>
+ * 通知与快照可能乱序到达，按用户版本号只接受不低于当前版本的数据；定期全量同步修正丢失的通知，
+ * 并移除快照中已不存在的用户（丢失删除通知时，已删除用户不会一直留在副本中）
+ * <p>
+ * 按通知拉取失败时，相关用户的旧凭据可能已失效（改密、禁用），先从副本移除使登录回退到用户服务，
+ * 再按指数退避间隔重试拉取
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class CredentialReplica implements MessageListener {
+
+    private static final String STATUS_ACTIVE = "ACTIVE";
+
+    private final UserServiceClient userServiceClient;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int snapshotBatchSize;
+    private final long refreshRetryIntervalMillis;
+    private final long refreshRetryMaxIntervalMillis;
+
+    private final ConcurrentHashMap<String, CredentialRecord> byUsername = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> usernameById = new ConcurrentHashMap<>();
+    private final AtomicBoolean syncing = new AtomicBoolean();
+    private volatile boolean ready;
+
+    /**
+     * 同步代数，每次全量同步加一；同步结束时仍停留在旧代数的记录不在快照中，需要移除
+     */
+    private volatile long generation;
+
+    /**
+     * 待按ID重新拉取的用户，多条通知合并为一次批量查询
+     */
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * 全量同步期间按通知刷新过的用户，快照批次可能早于刷新读取，同步结束后再刷新一次
+     */
+    private final Set<Long> refreshedDuringSync = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 拉取失败等待重试的用户，连续失败次数决定下次重试的退避间隔
+     */
+    private final Set<Long> failedRefresh = ConcurrentHashMap.newKeySet();
+    private volatile int refreshFailures;
+    private volatile long nextRetryAt;
+
+    public CredentialReplica(UserServiceClient userServiceClient,
+                             RedisMessageListenerContainer listenerContainer,
+                             ObjectMapper objectMapper,
+                             @Value("${security.credential-replica.enabled:true}") boolean enabled,
+                             @Value("${security.credential-replica.snapshot-batch-size:1000}") int snapshotBatchSize,
+                             @Value("${security.credential-replica.refresh-retry-interval:1000}") long refreshRetryIntervalMillis,
+                             @Value("${security.credential-replica.refresh-retry-max-interval:60000}") long refreshRetryMaxIntervalMillis) {
+        this.userServiceClient = userServiceClient;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.snapshotBatchSize = snapshotBatchSize;
+        this.refreshRetryIntervalMillis = refreshRetryIntervalMillis;
+        this.refreshRetryMaxIntervalMillis = refreshRetryMaxIntervalMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            // 先订阅再拉快照，快照期间的变更不会丢失
+            listenerContainer.addMessageListener(this, new ChannelTopic(UserCredentialChangedMessage.CHANNEL));
+        }
+        log.info("初始化本地凭据副本: enabled={}, snapshotBatchSize={}", enabled, snapshotBatchSize);
+    }
+
+    /**
+     * 应用启动后异步加载全量快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::synchronize);
+        }
+    }
+
+    /**
+     * 定期全量同步
+     */
+    @Scheduled(initialDelayString = "${security.credential-replica.resync-interval:3600000}",
+               fixedDelayString = "${security.credential-replica.resync-interval:3600000}")
+    public void resync() {
+        if (enabled) {
+            synchronize();
+        }
+    }
+
+    /**
+     * 从用户服务分批拉取全量凭据快照
+     * 快照完整拉取后移除本次快照中没有出现的用户；拉取中途失败时保留现有副本，不做移除
+     */
+    public void synchronize() {
+        if (!syncing.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        long syncGeneration = ++generation;
+        try {
+            long afterId = 0L;
+            int total = 0;
+            while (true) {
+                List<UserCredentialMessage> batch = userServiceClient.fetchCredentialSnapshot(afterId, snapshotBatchSize);
+                if (batch == null) {
+                    log.warn("拉取凭据快照失败，保留现有副本: afterId={}", afterId);
+                    return;
+                }
+                for (UserCredentialMessage credential : batch) {
+                    apply(credential, syncGeneration);
+                    afterId = Math.max(afterId, credential.getUserId());
+                }
+                total += batch.size();
+                if (batch.size() < snapshotBatchSize) {
+                    break;
+                }
+            }
+            int removed = sweep(syncGeneration);
+            ready = true;
+            log.info("凭据快照同步完成: total={}, removed={}, size={}, duration={}ms",
+                    total, removed, byUsername.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("凭据快照同步异常: error={}", e.getMessage(), e);
+        } finally {
+            syncing.set(false);
+            if (!refreshedDuringSync.isEmpty()) {
+                pendingRefresh.addAll(refreshedDuringSync);
+                refreshedDuringSync.clear();
+                drainPendingRefresh();
+            }
+        }
+    }
+
+    /**
+     * 退避间隔到期后重新拉取此前失败的用户
+     */
+    @Scheduled(initialDelayString = "${security.credential-replica.refresh-retry-interval:1000}",
+               fixedDelayString = "${security.credential-replica.refresh-retry-interval:1000}")
+    public void retryFailedRefresh() {
+        if (failedRefresh.isEmpty() || System.currentTimeMillis() < nextRetryAt) {
+            return;
+        }
+        Iterator<Long> iterator = failedRefresh.iterator();
+        while (iterator.hasNext()) {
+            pendingRefresh.add(iterator.next());
+            iterator.remove();
+        }
+        drainPendingRefresh();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        UserCredentialChangedMessage change;
+        try {
+            change = objectMapper.readValue(message.getBody(), UserCredentialChangedMessage.class);
+        } catch (Exception e) {
+            log.warn("凭据变更消息解析失败: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+            return;
+        }
+        if (change.getUserId() == null) {
+            return;
+        }
+        log.debug("收到凭据变更: userId={}, version={}", change.getUserId(), change.getVersion());
+
+        // 副本版本已高于通知时无需拉取；版本相同仍然拉取，软删除不会递增版本号
+        CredentialRecord current = findById(change.getUserId());
+        if (current != null && change.getVersion() != null && current.getVersion() > change.getVersion()) {
+            return;
+        }
+        pendingRefresh.add(change.getUserId());
+        drainPendingRefresh();
+    }
+
+    /**
+     * 查找用户凭据
+     *
+     * @param username 用户名
+     * @return 用户凭据，不存在返回null
+     */
+    public CredentialRecord find(String username) {
+        return enabled ? byUsername.get(username) : null;
+    }
+
+    /**
+     * 副本是否已完成首次全量同步
+     *
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 获取副本中的用户数量
+     *
+     * @return 用户数量
+     */
+    public int size() {
+        return byUsername.size();
+    }
+
+    /**
+     * 分批拉取待刷新的用户凭据，同一时刻只有一个线程在拉取，其余线程只登记用户ID
+     */
+    private void drainPendingRefresh() {
+        while (!pendingRefresh.isEmpty() && refreshing.compareAndSet(false, true)) {
+            try {
+                List<Long> userIds = new ArrayList<>();
+                Iterator<Long> iterator = pendingRefresh.iterator();
+                while (iterator.hasNext() && userIds.size() < snapshotBatchSize) {
+                    userIds.add(iterator.next());
+                    iterator.remove();
+                }
+                refresh(userIds);
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * 按ID重新拉取用户凭据，用户服务没有返回的用户（已删除）从副本中移除
+     * 拉取失败时移除这些用户并登记重试
+     *
+     * @param userIds 用户ID列表
+     */
+    private void refresh(List<Long> userIds) {
+        List<UserCredentialMessage> credentials = userServiceClient.fetchCredentials(userIds);
+        if (credentials == null) {
+            userIds.forEach(this::remove);
+            failedRefresh.addAll(userIds);
+            int failures = ++refreshFailures;
+            long delay = Math.min(refreshRetryMaxIntervalMillis, refreshRetryIntervalMillis << Math.min(failures - 1, 16));
+            nextRetryAt = System.currentTimeMillis() + delay;
+            log.warn("拉取变更凭据失败，移出副本并等待重试: count={}, failures={}, retryIn={}ms",
+                    userIds.size(), failures, delay);
+            return;
+        }
+        refreshFailures = 0;
+
+        long currentGeneration = generation;
+        Set<Long> found = new HashSet<>();
+        for (UserCredentialMessage credential : credentials) {
+            apply(credential, currentGeneration);
+            found.add(credential.getUserId());
+        }
+        for (Long userId : userIds) {
+            if (!found.contains(userId)) {
+                remove(userId);
+            }
+        }
+        if (syncing.get()) {
+            refreshedDuringSync.addAll(userIds);
+        }
+        log.debug("刷新变更凭据: count={}, removed={}", userIds.size(), userIds.size() - found.size());
+    }
+
+    private CredentialRecord findById(Long userId) {
+        String username = usernameById.get(userId);
+        return username != null ? byUsername.get(username) : null;
+    }
+
+    /**
+     * 应用一条凭据数据（按用户ID串行化）
+     *
+     * @param credential 凭据数据
+     * @param recordGeneration 记录所属的同步代数
+     */
+    private void apply(UserCredentialMessage credential, long recordGeneration) {
+        if (credential.getUserId() == null || credential.getUsername() == null) {
+            return;
+        }
+        usernameById.compute(credential.getUserId(), (userId, previousUsername) -> {
+            CredentialRecord current = previousUsername != null ? byUsername.get(previousUsername) : null;
+            int version = credential.getVersion() != null ? credential.getVersion() : 0;
+            if (current != null && version < current.getVersion()) {
+                // 用户仍然存在，只是数据较旧，标记为本代已见，避免被同步结束时移除
+                byUsername.put(previousUsername, current.withGeneration(recordGeneration));
+                return previousUsername;
+            }
+
+            if (previousUsername != null && !previousUsername.equals(credential.getUsername())) {
+                byUsername.remove(previousUsername);
+            }
+            byUsername.put(credential.getUsername(), new CredentialRecord(
+                    userId, credential.getPasswordHash(), credential.getStatus(), version, recordGeneration));
+            return credential.getUsername();
+        });
+    }
+
+    /**
+     * 移除用户凭据（按用户ID串行化）
+     *
+     * @param userId 用户ID
+     */
+    private void remove(Long userId) {
+        usernameById.computeIfPresent(userId, (id, username) -> {
+            byUsername.remove(username);
+            return null;
+        });
+    }
+
+    /**
+     * 移除本次全量同步中没有出现的用户
+     *
+     * @param syncGeneration 本次同步代数
+     * @return 移除的用户数
+     */
+    private int sweep(long syncGeneration) {
+        int[] removed = {0};
+        for (Long userId : usernameById.keySet()) {
+            usernameById.computeIfPresent(userId, (id, username) -> {
+                CredentialRecord record = byUsername.get(username);
+                if (record != null && record.getGeneration() >= syncGeneration) {
+                    return username;
+                }
+                byUsername.remove(username);
+                removed[0]++;
+                return null;
+            });
+        }
+        return removed[0];
+    }
+
+    /**
+     * 用户凭据
+     */
+    public static class CredentialRecord {
+        private final Long userId;
+        private final String passwordHash;
+        private final String status;
+        private final int version;
+        private final long generation;
+
+        public CredentialRecord(Long userId, String passwordHash, String status, int version, long generation) {
+            this.userId = userId;
+            this.passwordHash = passwordHash;
+            this.status = status;
+            this.version = version;
+            this.generation = generation;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getPasswordHash() {
+            return passwordHash;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public boolean canLogin() {
+            return STATUS_ACTIVE.equals(status);
+        }
+
+        CredentialRecord withGeneration(long newGeneration) {
+            return new CredentialRecord(userId, passwordHash, status, version, newGeneration);
+        }
+    }
+}
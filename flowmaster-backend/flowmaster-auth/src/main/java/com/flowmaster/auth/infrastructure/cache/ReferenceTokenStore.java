@@ -0,0 +1,400 @@
+package com.flowmaster.auth.infrastructure.cache;
+
+import com.flowmaster.auth.domain.model.valueobject.AccessToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 引用令牌存储
+ * 引用令牌是256位随机数，验证时只需一次哈希表查找，不需要解析和验签JWT；
+ * 令牌按摘要分片保存在本地内存中，每个分片独立加读写锁，并发验证只在同一分片上竞争
+ * <p>
+ * 启用Redis时以Redis为准：签发和撤销写入Redis并通过频道广播到其他节点，
+ * 节点本地未命中时从Redis加载，新启动的节点无需全量同步；
+ * 本地条目只在短时间内直接使用，超过本地有效期后命中时重新向Redis确认，
+ * 漏收撤销广播的节点最多在本地有效期内继续接受已撤销的令牌
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ReferenceTokenStore implements MessageListener {
+
+    private static final String TOKEN_KEY_PREFIX = "auth:reftoken:";
+    private static final String CHANGE_CHANNEL = "auth:reftoken:changed";
+    private static final int SHARD_COUNT = 64;
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TokenEpochStore epochStore;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long ttlMillis;
+    private final long localTtlMillis;
+    private final Set<String> clients;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    public ReferenceTokenStore(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               TokenEpochStore epochStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.reference-token.enabled:true}") boolean enabled,
+                               @Value("${security.reference-token.redis-enabled:true}") boolean redisEnabled,
+                               @Value("${security.reference-token.clients:}") String clients,
+                               @Value("${security.reference-token.local-ttl:5000}") long localTtlMillis,
+                               @Value("${jwt.expiration}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.epochStore = epochStore;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.ttlMillis = ttlMillis;
+        this.localTtlMillis = localTtlMillis;
+        this.clients = Arrays.stream(clients.split(","))
+                .map(String::trim)
+                .filter(client -> !client.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+
+        Gauge.builder("auth.reference.token.size", this, ReferenceTokenStore::size)
+                .description("本地引用令牌数量")
+                .register(meterRegistry);
+        this.localHits = lookupCounter(meterRegistry, "local");
+        this.remoteHits = lookupCounter(meterRegistry, "redis");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && redisEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+        }
+        log.info("初始化引用令牌存储: enabled={}, redisEnabled={}, clients={}, ttl={}ms, localTtl={}ms",
+                enabled, redisEnabled, clients, ttlMillis, localTtlMillis);
+    }
+
+    /**
+     * 客户端是否使用引用令牌
+     *
+     * @param clientId 客户端标识
+     * @return 是否使用引用令牌
+     */
+    public boolean isEnabledFor(String clientId) {
+        return enabled && clientId != null && clients.contains(clientId);
+    }
+
+    /**
+     * 签发引用令牌
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @return 引用令牌
+     */
+    public String issue(Long userId, String username) {
+        byte[] random = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String token = AccessToken.REFERENCE_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        String digest = TokenDigest.of(token).getValue();
+        ReferenceToken entry = new ReferenceToken(userId, username, epochStore.currentEpoch(userId),
+                System.currentTimeMillis() + ttlMillis);
+        shardFor(digest).put(digest, entry, System.currentTimeMillis());
+
+        if (redisEnabled) {
+            String payload = entry.encode();
+            redisTemplate.opsForValue().set(TOKEN_KEY_PREFIX + digest, payload, ttlMillis, TimeUnit.MILLISECONDS);
+            publish("P|" + digest + "|" + payload);
+        }
+        log.debug("签发引用令牌: userId={}", userId);
+        return token;
+    }
+
+    /**
+     * 解析引用令牌
+     * 本地条目超过本地有效期时重新从Redis加载，Redis中已不存在（已撤销）则同时移除本地条目
+     *
+     * @param token 引用令牌
+     * @return 令牌信息，不存在、已过期或已被整体撤销返回null
+     */
+    public ReferenceToken resolve(String token) {
+        String digest = TokenDigest.of(token).getValue();
+        Shard shard = shardFor(digest);
+        long now = System.currentTimeMillis();
+        LocalEntry local = shard.get(digest);
+        ReferenceToken entry;
+        if (local != null && (!redisEnabled || now - local.checkedAt < localTtlMillis)) {
+            localHits.increment();
+            entry = local.token;
+        } else {
+            entry = load(digest);
+            if (entry == null) {
+                if (local != null) {
+                    shard.remove(digest);
+                }
+                misses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            shard.put(digest, entry, now);
+        }
+
+        if (entry.isExpired()) {
+            shard.remove(digest);
+            return null;
+        }
+        if (!epochStore.isCurrent(entry.getUserId(), entry.getEpoch())) {
+            log.debug("引用令牌已被整体撤销: userId={}, epoch={}", entry.getUserId(), entry.getEpoch());
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 撤销引用令牌
+     *
+     * @param token 引用令牌
+     */
+    public void revoke(String token) {
+        String digest = TokenDigest.of(token).getValue();
+        shardFor(digest).remove(digest);
+        if (redisEnabled) {
+            redisTemplate.delete(TOKEN_KEY_PREFIX + digest);
+            publish("D|" + digest);
+        }
+        log.debug("撤销引用令牌");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            String[] parts = body.split("\\|", 3);
+            if ("P".equals(parts[0]) && parts.length == 3) {
+                shardFor(parts[1]).put(parts[1], ReferenceToken.decode(parts[2]), System.currentTimeMillis());
+            } else if ("D".equals(parts[0]) && parts.length >= 2) {
+                shardFor(parts[1]).remove(parts[1]);
+            }
+        } catch (RuntimeException e) {
+            log.warn("引用令牌变更消息格式错误: {}", body);
+        }
+    }
+
+    /**
+     * 定期清理本地已过期的令牌
+     */
+    @Scheduled(fixedDelayString = "${security.reference-token.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (Shard shard : shards) {
+            purged += shard.purge(now);
+        }
+        if (purged > 0) {
+            log.debug("清理过期引用令牌: count={}", purged);
+        }
+    }
+
+    /**
+     * 获取本地令牌数量
+     *
+     * @return 令牌数量
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private ReferenceToken load(String digest) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String payload = redisTemplate.opsForValue().get(TOKEN_KEY_PREFIX + digest);
+            return payload != null ? ReferenceToken.decode(payload) : null;
+        } catch (Exception e) {
+            log.error("加载引用令牌异常: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, message);
+        } catch (Exception e) {
+            // 其他节点在本地未命中时仍会从Redis加载，广播失败只影响撤销的传播速度
+            log.warn("广播引用令牌变更异常: error={}", e.getMessage());
+        }
+    }
+
+    private Shard shardFor(String digest) {
+        // 摘要为均匀分布的十六进制字符串，取前两位即可定位分片
+        return shards[Integer.parseInt(digest, 0, 2, 16) & (SHARD_COUNT - 1)];
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("auth.reference.token.lookups")
+                .description("引用令牌查找次数")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本地令牌条目，记录最近一次从Redis确认（或签发、收到广播）的时间
+     */
+    private static class LocalEntry {
+        private final ReferenceToken token;
+        private final long checkedAt;
+
+        LocalEntry(ReferenceToken token, long checkedAt) {
+            this.token = token;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /**
+     * 令牌分片：HashMap + 读写锁
+     */
+    private static class Shard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final HashMap<String, LocalEntry> entries = new HashMap<>();
+
+        LocalEntry get(String digest) {
+            lock.readLock().lock();
+            try {
+                return entries.get(digest);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(String digest, ReferenceToken token, long checkedAt) {
+            lock.writeLock().lock();
+            try {
+                entries.put(digest, new LocalEntry(token, checkedAt));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String digest) {
+            lock.writeLock().lock();
+            try {
+                entries.remove(digest);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int purge(long now) {
+            lock.writeLock().lock();
+            try {
+                int purged = 0;
+                Iterator<LocalEntry> iterator = entries.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().token.getExpiresAt() <= now) {
+                        iterator.remove();
+                        purged++;
+                    }
+                }
+                return purged;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 引用令牌信息
+     */
+    public static class ReferenceToken {
+        private final Long userId;
+        private final String username;
+        private final long epoch;
+        private final long expiresAt;
+
+        public ReferenceToken(Long userId, String username, long epoch, long expiresAt) {
+            this.userId = userId;
+            this.username = username;
+            this.epoch = epoch;
+            this.expiresAt = expiresAt;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public long getEpoch() {
+            return epoch;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        /**
+         * 编码为 userId|epoch|expiresAt|username，用户名放在最后，允许包含分隔符
+         */
+        String encode() {
+            return userId + "|" + epoch + "|" + expiresAt + "|" + username;
+        }
+
+        static ReferenceToken decode(String payload) {
+            String[] parts = payload.split("\\|", 4);
+            return new ReferenceToken(Long.valueOf(parts[0]), parts[3],
+                    Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.flowmaster.auth.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户令牌纪元存储
+ * 每个用户维护一个单调递增的令牌纪元，签发的令牌携带签发时的纪元，
+ * 令牌纪元小于用户当前纪元即视为已撤销，撤销用户全部令牌只需将纪元加一
+ * <p>
+ * 启用Redis时以Redis为准，本地只短时缓存读到的纪元（有容量上限，写入后按cache-ttl过期），
+ * 纪元变更同时通过频道广播到其他节点；即使漏收广播，过期后也会重新从Redis读取。
+ * 读取Redis失败时不缓存，也不把纪元当作0处理，验证直接拒绝令牌
+ * <p>
+ * 未启用Redis时本地映射就是唯一的数据源，不设容量上限和过期时间
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class TokenEpochStore implements MessageListener {
+
+    private static final String EPOCH_KEY_PREFIX = "jwt:epoch:";
+    private static final String EPOCH_CHANNEL = "jwt:epoch:changed";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean redisEnabled;
+
+    /**
+     * 用户当前纪元：userId -> epoch，未撤销过的用户纪元为0
+     */
+    private final Cache<Long, Long> epochs;
+
+    public TokenEpochStore(RedisTemplate<String, String> redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${jwt.epoch.redis-enabled:true}") boolean redisEnabled,
+                           @Value("${jwt.epoch.cache-max-size:100000}") long cacheMaxSize,
+                           @Value("${jwt.epoch.cache-ttl:30000}") long cacheTtlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.redisEnabled = redisEnabled;
+        this.epochs = redisEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfterWrite(cacheTtlMillis, TimeUnit.MILLISECONDS)
+                        .build()
+                : Caffeine.newBuilder().build();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (redisEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(EPOCH_CHANNEL));
+        }
+        log.info("初始化令牌纪元存储: redisEnabled={}", redisEnabled);
+    }
+
+    /**
+     * 获取用户当前纪元
+     *
+     * @param userId 用户ID
+     * @return 当前纪元
+     * @throws IllegalStateException 无法读取纪元（Redis不可用）
+     */
+    public long currentEpoch(Long userId) {
+        Long epoch = lookup(userId);
+        if (epoch == null) {
+            throw new IllegalStateException("无法读取用户令牌纪元: userId=" + userId);
+        }
+        return epoch;
+    }
+
+    /**
+     * 判断令牌纪元是否仍然有效，无法读取用户当前纪元时视为无效
+     *
+     * @param userId 用户ID
+     * @param tokenEpoch 令牌携带的纪元
+     * @return 是否有效
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        Long epoch = lookup(userId);
+        if (epoch == null) {
+            log.warn("无法读取用户令牌纪元，拒绝令牌: userId={}", userId);
+            return false;
+        }
+        return tokenEpoch >= epoch;
+    }
+
+    /**
+     * 递增用户纪元，使此前签发的令牌全部失效
+     *
+     * @param userId 用户ID
+     * @return 新纪元
+     */
+    public long advance(Long userId) {
+        long next;
+        if (redisEnabled) {
+            Long value = redisTemplate.opsForValue().increment(EPOCH_KEY_PREFIX + userId);
+            next = value != null ? value : currentEpoch(userId) + 1;
+            epochs.asMap().merge(userId, next, Math::max);
+            redisTemplate.convertAndSend(EPOCH_CHANNEL, userId + ":" + next);
+        } else {
+            next = epochs.asMap().merge(userId, 1L, Long::sum);
+        }
+        log.debug("用户令牌纪元已递增: userId={}, epoch={}", userId, next);
+        return next;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(body.substring(0, separator));
+            long epoch = Long.parseLong(body.substring(separator + 1));
+            epochs.asMap().merge(userId, epoch, Math::max);
+            log.debug("收到令牌纪元变更: userId={}, epoch={}", userId, epoch);
+        } catch (NumberFormatException e) {
+            log.warn("令牌纪元变更消息格式错误: {}", body);
+        }
+    }
+
+    /**
+     * 获取本地缓存的用户数量
+     *
+     * @return 用户数量
+     */
+    public long size() {
+        return epochs.estimatedSize();
+    }
+
+    /**
+     * 读取用户当前纪元，本地未命中时从Redis加载
+     * Redis读取在缓存锁之外进行，写回时与并发到达的广播取较大值，纪元只增不减
+     *
+     * @param userId 用户ID
+     * @return 当前纪元，读取失败返回null（不写入本地缓存）
+     */
+    private Long lookup(Long userId) {
+        Long epoch = epochs.getIfPresent(userId);
+        if (epoch != null) {
+            return epoch;
+        }
+        if (!redisEnabled) {
+            return 0L;
+        }
+        Long loaded = loadEpoch(userId);
+        if (loaded == null) {
+            return null;
+        }
+        return epochs.asMap().merge(userId, loaded, Math::max);
+    }
+
+    private Long loadEpoch(Long userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(EPOCH_KEY_PREFIX + userId);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.error("加载用户令牌纪元异常: userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.flowmaster.auth.infrastructure.cache;
+
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已验证令牌缓存
+ * 以令牌摘要为键缓存签名验证通过的令牌，条目在令牌过期或达到最大缓存时间时失效（取较早者）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class TokenVerificationCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public TokenVerificationCache(
+            @Value("${jwt.verification-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.verification-cache.max-ttl:300000}") long maxTtlMillis,
+            MeterRegistry meterRegistry) {
+        long maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(maxTtlMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remaining = TimeUnit.MILLISECONDS.toNanos(value.getExpiresAt() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(maxTtlNanos, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verification");
+        log.info("初始化令牌验证缓存: maxSize={}, maxTtl={}ms", maxSize, maxTtlMillis);
+    }
+
+    /**
+     * 获取已验证的令牌
+     *
+     * @param digest 令牌摘要
+     * @param type 令牌类型
+     * @return 已验证的令牌，不存在、类型不符或已过期返回null
+     */
+    public VerifiedToken get(TokenDigest digest, String type) {
+        VerifiedToken token = get(digest);
+        return token != null && token.getType().equals(type) ? token : null;
+    }
+
+    /**
+     * 获取已验证的令牌（不区分类型）
+     *
+     * @param digest 令牌摘要
+     * @return 已验证的令牌，不存在或已过期返回null
+     */
+    public VerifiedToken get(TokenDigest digest) {
+        VerifiedToken token = cache.getIfPresent(digest.getValue());
+        if (token == null) {
+            return null;
+        }
+        if (token.isExpired()) {
+            cache.invalidate(digest.getValue());
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * 缓存已验证的令牌
+     *
+     * @param digest 令牌摘要
+     * @param token 已验证的令牌
+     */
+    public void put(TokenDigest digest, VerifiedToken token) {
+        cache.put(digest.getValue(), token);
+    }
+
+    /**
+     * 移除令牌
+     *
+     * @param digest 令牌摘要
+     */
+    public void invalidate(TokenDigest digest) {
+        cache.invalidate(digest.getValue());
+    }
+
+    /**
+     * 已验证的令牌
+     */
+    public static class VerifiedToken {
+        private final Long userId;
+        private final String username;
+        private final String type;
+        private final long expiresAt;
+        private final long epoch;
+
+        public VerifiedToken(Long userId, String username, String type, long expiresAt, long epoch) {
+            this.userId = userId;
+            this.username = username;
+            this.type = type;
+            this.expiresAt = expiresAt;
+            this.epoch = epoch;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public long getEpoch() {
+            return epoch;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
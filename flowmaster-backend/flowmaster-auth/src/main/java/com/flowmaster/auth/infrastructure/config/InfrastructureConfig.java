@@ -1,8 +1,14 @@
 package com.flowmaster.auth.infrastructure.config;
 
+import com.flowmaster.common.security.JwtSigningProperties;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -13,6 +19,7 @@ import org.springframework.web.client.RestTemplate;
  */
 @Configuration
 @EnableJpaRepositories(basePackages = "com.flowmaster.auth.infrastructure.persistence.repository")
+@EnableConfigurationProperties(JwtSigningProperties.class)
 public class InfrastructureConfig {
 
     /**
@@ -24,4 +31,44 @@ public class InfrastructureConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * JWT签名密钥注册表
+     * 未配置jwt.signing.keys时使用jwt.secret作为唯一的HS256密钥；
+     * 不带kid的旧令牌（HS512）使用jwt.secret登记的旧令牌验证密钥验证
+     *
+     * @param properties 签名密钥配置
+     * @param secret 共享密钥
+     * @return 签名密钥注册表
+     */
+    @Bean
+    public SigningKeyRegistry signingKeyRegistry(JwtSigningProperties properties,
+                                                 @Value("${jwt.secret:}") String secret) {
+        if (properties.getKeys().isEmpty()) {
+            JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+            definition.setKid("default");
+            definition.setAlgorithm("HS256");
+            definition.setSecret(secret);
+            properties.getKeys().add(definition);
+        }
+        SigningKeyRegistry.registerLegacyKey(properties, secret);
+        SigningKeyRegistry registry = new SigningKeyRegistry(properties);
+        if (!registry.getActiveKey().canSign()) {
+            throw new IllegalStateException("当前签名密钥缺少私钥: kid=" + registry.getActiveKey().getKid());
+        }
+        return registry;
+    }
+
+    /**
+     * Redis消息监听容器，用于接收跨节点广播
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return 消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
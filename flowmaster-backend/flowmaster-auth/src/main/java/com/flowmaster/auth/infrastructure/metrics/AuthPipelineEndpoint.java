@@ -0,0 +1,62 @@
+package com.flowmaster.auth.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证流程耗时端点
+ * /actuator/authpipeline 按 流程 → 阶段 → 结果 汇总各阶段的次数、平均值、最大值和分位数（毫秒），
+ * 分位数来自 management.metrics.distribution.percentiles 配置
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "authpipeline")
+@RequiredArgsConstructor
+public class AuthPipelineEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Map<String, Object>>>> pipeline() {
+        Map<String, Map<String, Map<String, Map<String, Object>>>> result = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(AuthPipelineMetrics.METER_NAME).timers()) {
+            String operation = timer.getId().getTag("operation");
+            String stage = timer.getId().getTag("stage");
+            String outcome = timer.getId().getTag("outcome");
+            result.computeIfAbsent(operation, key -> new TreeMap<>())
+                    .computeIfAbsent(stage, key -> new TreeMap<>())
+                    .put(outcome, summarize(timer.takeSnapshot()));
+        }
+        return result;
+    }
+
+    private Map<String, Object> summarize(HistogramSnapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put("p" + formatPercentile(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return summary;
+    }
+
+    private String formatPercentile(double percentile) {
+        // 0.5 -> 50，0.999 -> 99.9
+        String value = Double.toString(percentile * 100);
+        return value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+    }
+}
@@ -0,0 +1,151 @@
+package com.flowmaster.auth.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证流程分阶段耗时统计
+ * 登录、刷新、登出在各阶段结束时打点，只记录阶段名和System.nanoTime()；
+ * 流程结束时才按结果（outcome）把各阶段耗时写入直方图，打点本身不分配对象、不访问注册表
+ * <p>
+ * 当前流程绑定在线程上，领域服务可在同一线程内继续打点（如区分密码哈希和用户服务调用）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class AuthPipelineMetrics {
+
+    /**
+     * 阶段耗时指标名，标签：operation、stage、outcome
+     */
+    public static final String METER_NAME = "auth.pipeline.stage";
+
+    /**
+     * 整个流程的耗时使用的阶段名
+     */
+    public static final String STAGE_TOTAL = "total";
+
+    private static final int MAX_STAGES = 16;
+
+    private final ThreadLocal<PipelineTrace> current = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public AuthPipelineMetrics(MeterRegistry meterRegistry,
+                               @Value("${security.metrics.pipeline.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        log.info("初始化认证流程耗时统计: enabled={}", enabled);
+    }
+
+    /**
+     * 开始一个流程
+     *
+     * @param operation 流程名（login、refresh、logout）
+     * @return 流程计时，必须在finally中调用finish
+     */
+    public PipelineTrace start(String operation) {
+        if (!enabled) {
+            return PipelineTrace.NOOP;
+        }
+        PipelineTrace trace = new PipelineTrace(this, operation);
+        current.set(trace);
+        return trace;
+    }
+
+    /**
+     * 在当前线程的流程上打点，当前线程没有流程时忽略
+     *
+     * @param stage 刚结束的阶段名
+     */
+    public void mark(String stage) {
+        PipelineTrace trace = current.get();
+        if (trace != null) {
+            trace.mark(stage);
+        }
+    }
+
+    private void record(PipelineTrace trace) {
+        current.remove();
+        long previous = trace.startNanos;
+        for (int i = 0; i < trace.stageCount; i++) {
+            timer(trace.operation, trace.stages[i], trace.outcome).record(trace.marks[i] - previous, TimeUnit.NANOSECONDS);
+            previous = trace.marks[i];
+        }
+        timer(trace.operation, STAGE_TOTAL, trace.outcome).record(System.nanoTime() - trace.startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String operation, String stage, String outcome) {
+        return timers.computeIfAbsent(operation + '|' + stage + '|' + outcome, key -> Timer.builder(METER_NAME)
+                .description("认证流程各阶段耗时")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * 单次流程计时
+     */
+    public static class PipelineTrace {
+
+        static final PipelineTrace NOOP = new PipelineTrace(null, null);
+
+        private final AuthPipelineMetrics owner;
+        private final String operation;
+        private final long startNanos;
+        private final String[] stages;
+        private final long[] marks;
+        private int stageCount;
+        private String outcome = "error";
+
+        PipelineTrace(AuthPipelineMetrics owner, String operation) {
+            this.owner = owner;
+            this.operation = operation;
+            this.startNanos = owner != null ? System.nanoTime() : 0L;
+            this.stages = owner != null ? new String[MAX_STAGES] : null;
+            this.marks = owner != null ? new long[MAX_STAGES] : null;
+        }
+
+        /**
+         * 标记阶段结束，耗时从上一次打点（或流程开始）算起
+         *
+         * @param stage 阶段名
+         */
+        public void mark(String stage) {
+            if (owner == null || stageCount == MAX_STAGES) {
+                return;
+            }
+            stages[stageCount] = stage;
+            marks[stageCount] = System.nanoTime();
+            stageCount++;
+        }
+
+        /**
+         * 设置流程结果，未设置时为error
+         *
+         * @param outcome 结果
+         */
+        public void outcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        /**
+         * 结束流程并记录各阶段耗时
+         */
+        public void finish() {
+            if (owner != null) {
+                owner.record(this);
+            }
+        }
+    }
+}
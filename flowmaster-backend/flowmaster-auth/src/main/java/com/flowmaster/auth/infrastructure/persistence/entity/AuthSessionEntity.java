@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_auth_sessions_user_id", columnList = "user_id"),
     @Index(name = "idx_auth_sessions_username", columnList = "username"),
     @Index(name = "idx_auth_sessions_status", columnList = "status"),
-    @Index(name = "idx_auth_sessions_created_at", columnList = "created_at")
+    @Index(name = "idx_auth_sessions_created_at", columnList = "created_at"),
+    @Index(name = "uk_auth_sessions_access_token_digest", columnList = "access_token_digest", unique = true),
+    @Index(name = "uk_auth_sessions_refresh_token_digest", columnList = "refresh_token_digest", unique = true)
 })
 @Getter
 @Setter
@@ -43,16 +45,16 @@ public class AuthSessionEntity extends BaseJpaEntity {
     private String username;
 
     /**
-     * 访问令牌
+     * 访问令牌摘要（SHA-256十六进制）
      */
-    @Column(name = "access_token", nullable = false, length = 2000)
-    private String accessToken;
+    @Column(name = "access_token_digest", nullable = false, length = 64)
+    private String accessTokenDigest;
 
     /**
-     * 刷新令牌
+     * 刷新令牌摘要（SHA-256十六进制）
      */
-    @Column(name = "refresh_token", nullable = false, length = 2000)
-    private String refreshToken;
+    @Column(name = "refresh_token_digest", nullable = false, length = 64)
+    private String refreshTokenDigest;
 
     /**
      * 客户端IP
@@ -117,15 +119,15 @@ public class AuthSessionEntity extends BaseJpaEntity {
      * @return 认证会话领域对象
      */
     public com.flowmaster.auth.domain.model.aggregate.AuthSession toDomain() {
-        com.flowmaster.auth.domain.model.aggregate.AuthSession session = 
-            com.flowmaster.auth.domain.model.aggregate.AuthSession.create(
-                this.userId,
-                com.flowmaster.auth.domain.model.valueobject.Username.of(this.username),
-                com.flowmaster.auth.domain.model.valueobject.AccessToken.of(this.accessToken),
-                com.flowmaster.auth.domain.model.valueobject.RefreshToken.of(this.refreshToken),
-                this.clientIp,
-                this.userAgent
-            );
+        // 直接还原状态，不经过create()，避免产生会话创建事件
+        com.flowmaster.auth.domain.model.aggregate.AuthSession session =
+            new com.flowmaster.auth.domain.model.aggregate.AuthSession();
+        session.setUserId(this.userId);
+        session.setUsername(com.flowmaster.auth.domain.model.valueobject.Username.of(this.username));
+        session.setAccessTokenDigest(com.flowmaster.auth.domain.model.valueobject.TokenDigest.fromValue(this.accessTokenDigest));
+        session.setRefreshTokenDigest(com.flowmaster.auth.domain.model.valueobject.TokenDigest.fromValue(this.refreshTokenDigest));
+        session.setClientIp(this.clientIp);
+        session.setUserAgent(this.userAgent);
         
         // 设置基础字段
         session.setSessionId(this.id);
@@ -154,8 +156,8 @@ public class AuthSessionEntity extends BaseJpaEntity {
         entity.id = session.getSessionId();
         entity.userId = session.getUserId();
         entity.username = session.getUsername().getValue();
-        entity.accessToken = session.getAccessToken().getJwt();
-        entity.refreshToken = session.getRefreshToken().getJwt();
+        entity.accessTokenDigest = session.getAccessTokenDigest().getValue();
+        entity.refreshTokenDigest = session.getRefreshTokenDigest().getValue();
         entity.clientIp = session.getClientIp();
         entity.userAgent = session.getUserAgent();
         entity.status = SessionStatus.valueOf(session.getStatus().name());
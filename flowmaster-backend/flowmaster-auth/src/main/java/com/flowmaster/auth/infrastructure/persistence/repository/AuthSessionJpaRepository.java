@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,20 +25,20 @@ import java.util.Optional;
 public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntity, Long>, JpaSpecificationExecutor<AuthSessionEntity> {
 
     /**
-     * 根据访问令牌查找会话
+     * 根据访问令牌摘要查找会话
      *
-     * @param accessToken 访问令牌
+     * @param accessTokenDigest 访问令牌摘要
      * @return 会话实体
      */
-    Optional<AuthSessionEntity> findByAccessTokenAndDeletedFalse(String accessToken);
+    Optional<AuthSessionEntity> findByAccessTokenDigestAndDeletedFalse(String accessTokenDigest);
 
     /**
-     * 根据刷新令牌查找会话
+     * 根据刷新令牌摘要查找会话
      *
-     * @param refreshToken 刷新令牌
+     * @param refreshTokenDigest 刷新令牌摘要
      * @return 会话实体
      */
-    Optional<AuthSessionEntity> findByRefreshTokenAndDeletedFalse(String refreshToken);
+    Optional<AuthSessionEntity> findByRefreshTokenDigestAndDeletedFalse(String refreshTokenDigest);
 
     /**
      * 根据用户ID查找活跃会话
@@ -48,6 +49,15 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
     @Query("SELECT s FROM AuthSessionEntity s WHERE s.userId = :userId AND s.status = 'ACTIVE' AND s.deleted = false")
     List<AuthSessionEntity> findActiveSessionsByUserId(@Param("userId") Long userId);
 
+    /**
+     * 查找用户未删除会话的ID
+     *
+     * @param userId 用户ID
+     * @return 会话ID列表
+     */
+    @Query("SELECT s.id FROM AuthSessionEntity s WHERE s.userId = :userId AND s.deleted = false")
+    List<Long> findSessionIdsByUserId(@Param("userId") Long userId);
+
     /**
      * 根据用户名查找活跃会话
      *
@@ -111,6 +121,56 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
     @Query("UPDATE AuthSessionEntity s SET s.deleted = true, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.accessTokenExpiresAt < :expiredBefore AND s.deleted = false")
     int softDeleteExpiredSessions(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
 
+    /**
+     * 按主键顺序查找下一批过期会话ID（一致性读，不加锁）
+     *
+     * @param expiredBefore 过期时间
+     * @param afterId 上一批最后一个会话ID
+     * @param limit 批大小
+     * @return 会话ID列表
+     */
+    @Query(value = "SELECT id FROM auth_sessions WHERE id > :afterId AND deleted = false AND access_token_expires_at < :expiredBefore ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findExpiredSessionIds(@Param("expiredBefore") LocalDateTime expiredBefore,
+                                     @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID批量逻辑删除过期会话
+     *
+     * @param sessionIds 会话ID列表
+     * @param expiredBefore 过期时间
+     * @param updatedAt 更新时间
+     * @param updatedBy 更新人
+     * @return 删除数量
+     */
+    @Modifying
+    @Query("UPDATE AuthSessionEntity s SET s.deleted = true, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id IN :sessionIds AND s.accessTokenExpiresAt < :expiredBefore AND s.deleted = false")
+    int softDeleteExpiredSessionsByIds(@Param("sessionIds") Collection<Long> sessionIds, @Param("expiredBefore") LocalDateTime expiredBefore,
+                                       @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
+
+    /**
+     * 按主键顺序查找下一批可物理删除的会话ID（逻辑删除时间早于指定时间）
+     *
+     * @param deletedBefore 逻辑删除时间
+     * @param afterId 上一批最后一个会话ID
+     * @param limit 批大小
+     * @return 会话ID列表
+     */
+    @Query(value = "SELECT id FROM auth_sessions WHERE id > :afterId AND deleted = true AND updated_at < :deletedBefore ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findPurgeableSessionIds(@Param("deletedBefore") LocalDateTime deletedBefore,
+                                       @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID批量物理删除已逻辑删除的会话
+     *
+     * @param sessionIds 会话ID列表
+     * @return 删除数量
+     */
+    @Modifying
+    @Query(value = "DELETE FROM auth_sessions WHERE id IN (:sessionIds) AND deleted = true", nativeQuery = true)
+    int purgeDeletedSessionsByIds(@Param("sessionIds") Collection<Long> sessionIds);
+
     /**
      * 统计用户活跃会话数量
      *
@@ -120,6 +180,26 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
     @Query("SELECT COUNT(s) FROM AuthSessionEntity s WHERE s.userId = :userId AND s.status = 'ACTIVE' AND s.deleted = false")
     long countActiveSessionsByUserId(@Param("userId") Long userId);
 
+    /**
+     * 批量统计用户活跃会话数量
+     *
+     * @param userIds 用户ID列表
+     * @return [用户ID, 活跃会话数量] 列表，没有活跃会话的用户不出现
+     */
+    @Query("SELECT s.userId, COUNT(s) FROM AuthSessionEntity s WHERE s.userId IN :userIds AND s.status = 'ACTIVE' AND s.deleted = false GROUP BY s.userId")
+    List<Object[]> countActiveSessionsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 按创建顺序查找用户最早的活跃会话ID
+     *
+     * @param userId 用户ID
+     * @param limit 数量
+     * @return 会话ID列表
+     */
+    @Query(value = "SELECT id FROM auth_sessions WHERE user_id = :userId AND status = 'ACTIVE' AND deleted = false ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findOldestActiveSessionIds(@Param("userId") Long userId, @Param("limit") int limit);
+
     /**
      * 统计总会话数量
      *
@@ -142,6 +222,19 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
     int updateStatusById(@Param("sessionId") Long sessionId, @Param("status") AuthSessionEntity.SessionStatus status, 
                        @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
 
+    /**
+     * 按ID批量撤销仍处于活跃状态的会话
+     *
+     * @param sessionIds 会话ID列表
+     * @param updatedAt 更新时间
+     * @param updatedBy 更新人
+     * @return 撤销数量
+     */
+    @Modifying
+    @Query("UPDATE AuthSessionEntity s SET s.status = 'REVOKED', s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id IN :sessionIds AND s.status = 'ACTIVE' AND s.deleted = false")
+    int revokeActiveSessionsByIds(@Param("sessionIds") Collection<Long> sessionIds,
+                                  @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
+
     /**
      * 更新最后活动时间
      *
@@ -156,19 +249,31 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
     int updateLastActivityById(@Param("sessionId") Long sessionId, @Param("lastActivityAt") LocalDateTime lastActivityAt,
                               @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
 
+    /**
+     * 批量更新最后活动时间（只前移，不回退）
+     *
+     * @param sessionIds 会话ID列表
+     * @param lastActivityAt 最后活动时间
+     * @return 更新数量
+     */
+    @Modifying
+    @Query("UPDATE AuthSessionEntity s SET s.lastActivityAt = :lastActivityAt WHERE s.id IN :sessionIds AND s.lastActivityAt < :lastActivityAt")
+    int updateLastActivityByIds(@Param("sessionIds") Collection<Long> sessionIds,
+                                @Param("lastActivityAt") LocalDateTime lastActivityAt);
+
     /**
      * 更新访问令牌
      *
      * @param sessionId 会话ID
-     * @param accessToken 新访问令牌
+     * @param accessTokenDigest 新访问令牌摘要
      * @param accessTokenExpiresAt 访问令牌过期时间
      * @param updatedAt 更新时间
      * @param updatedBy 更新人
      * @return 更新数量
      */
     @Modifying
-    @Query("UPDATE AuthSessionEntity s SET s.accessToken = :accessToken, s.accessTokenExpiresAt = :accessTokenExpiresAt, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id = :sessionId")
-    int updateAccessTokenById(@Param("sessionId") Long sessionId, @Param("accessToken") String accessToken,
+    @Query("UPDATE AuthSessionEntity s SET s.accessTokenDigest = :accessTokenDigest, s.accessTokenExpiresAt = :accessTokenExpiresAt, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id = :sessionId")
+    int updateAccessTokenById(@Param("sessionId") Long sessionId, @Param("accessTokenDigest") String accessTokenDigest,
                              @Param("accessTokenExpiresAt") LocalDateTime accessTokenExpiresAt,
                              @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
 
@@ -176,15 +281,41 @@ public interface AuthSessionJpaRepository extends JpaRepository<AuthSessionEntit
      * 更新刷新令牌
      *
      * @param sessionId 会话ID
-     * @param refreshToken 新刷新令牌
+     * @param refreshTokenDigest 新刷新令牌摘要
      * @param refreshTokenExpiresAt 刷新令牌过期时间
      * @param updatedAt 更新时间
      * @param updatedBy 更新人
      * @return 更新数量
      */
     @Modifying
-    @Query("UPDATE AuthSessionEntity s SET s.refreshToken = :refreshToken, s.refreshTokenExpiresAt = :refreshTokenExpiresAt, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id = :sessionId")
-    int updateRefreshTokenById(@Param("sessionId") Long sessionId, @Param("refreshToken") String refreshToken,
+    @Query("UPDATE AuthSessionEntity s SET s.refreshTokenDigest = :refreshTokenDigest, s.refreshTokenExpiresAt = :refreshTokenExpiresAt, s.updatedAt = :updatedAt, s.updatedBy = :updatedBy WHERE s.id = :sessionId")
+    int updateRefreshTokenById(@Param("sessionId") Long sessionId, @Param("refreshTokenDigest") String refreshTokenDigest,
                               @Param("refreshTokenExpiresAt") LocalDateTime refreshTokenExpiresAt,
                               @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
-}
+
+    /**
+     * 轮换访问令牌和刷新令牌（比较并交换）
+     * 仅当会话仍处于活跃状态且当前刷新令牌摘要等于预期值时更新，同一刷新令牌的并发刷新只有一个成功
+     *
+     * @param sessionId 会话ID
+     * @param expectedRefreshTokenDigest 预期的当前刷新令牌摘要
+     * @param accessTokenDigest 新访问令牌摘要
+     * @param accessTokenExpiresAt 访问令牌过期时间
+     * @param refreshTokenDigest 新刷新令牌摘要
+     * @param refreshTokenExpiresAt 刷新令牌过期时间
+     * @param lastActivityAt 最后活动时间
+     * @param updatedAt 更新时间
+     * @param updatedBy 更新人
+     * @return 更新数量，0表示刷新令牌已被轮换或会话已失效
+     */
+    @Modifying
+    @Query("UPDATE AuthSessionEntity s SET s.accessTokenDigest = :accessTokenDigest, s.accessTokenExpiresAt = :accessTokenExpiresAt, " +
+           "s.refreshTokenDigest = :refreshTokenDigest, s.refreshTokenExpiresAt = :refreshTokenExpiresAt, s.lastActivityAt = :lastActivityAt, " +
+           "s.updatedAt = :updatedAt, s.updatedBy = :updatedBy, s.version = s.version + 1 " +
+           "WHERE s.id = :sessionId AND s.refreshTokenDigest = :expectedRefreshTokenDigest AND s.status = 'ACTIVE' AND s.deleted = false")
+    int rotateTokensById(@Param("sessionId") Long sessionId, @Param("expectedRefreshTokenDigest") String expectedRefreshTokenDigest,
+                         @Param("accessTokenDigest") String accessTokenDigest, @Param("accessTokenExpiresAt") LocalDateTime accessTokenExpiresAt,
+                         @Param("refreshTokenDigest") String refreshTokenDigest, @Param("refreshTokenExpiresAt") LocalDateTime refreshTokenExpiresAt,
+                         @Param("lastActivityAt") LocalDateTime lastActivityAt,
+                         @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
+}
\ No newline at end of file
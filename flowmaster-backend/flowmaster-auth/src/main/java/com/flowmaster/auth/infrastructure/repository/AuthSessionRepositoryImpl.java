@@ -3,25 +3,32 @@ package com.flowmaster.auth.infrastructure.repository;
 import com.flowmaster.auth.domain.model.aggregate.AuthSession;
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 import com.flowmaster.auth.domain.repository.AuthSessionRepository;
+import com.flowmaster.auth.infrastructure.cache.AuthSessionCache;
 import com.flowmaster.auth.infrastructure.persistence.entity.AuthSessionEntity;
 import com.flowmaster.auth.infrastructure.persistence.repository.AuthSessionJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * 认证会话仓储实现
- * 
+ * 按ID和令牌摘要的查询优先读取会话缓存，保存时写穿缓存并发布会话领域事件
+ *
  * @author FlowMaster Team
  * @since 1.0.0
  */
@@ -31,7 +38,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class AuthSessionRepositoryImpl implements AuthSessionRepository {
 
+    /**
+     * 系统任务（过期会话清理、并发会话数限制）的操作人ID
+     */
+    private static final Long SYSTEM_OPERATOR_ID = 0L;
+
     private final AuthSessionJpaRepository authSessionJpaRepository;
+    private final AuthSessionCache authSessionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public AuthSession save(AuthSession session) {
@@ -40,24 +54,104 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
             
             AuthSessionEntity entity = AuthSessionEntity.fromDomain(session);
             AuthSessionEntity savedEntity = authSessionJpaRepository.save(entity);
+            AuthSession savedSession = savedEntity.toDomain();
+
+            // 先登记写穿再发布事件，提交后缓存中已是新快照，事件监听器再通知其他节点
+            authSessionCache.put(savedSession);
+            session.getDomainEvents().forEach(eventPublisher::publishEvent);
+            session.clearDomainEvents();
             
             log.debug("认证会话保存成功: sessionId={}", savedEntity.getId());
-            return savedEntity.toDomain();
+            return savedSession;
         } catch (Exception e) {
             log.error("保存认证会话异常: sessionId={}, error={}", session.getSessionId(), e.getMessage(), e);
             throw new RuntimeException("保存认证会话失败", e);
         }
     }
 
+    @Override
+    public boolean rotateTokens(AuthSession session, TokenDigest expectedRefreshTokenDigest) {
+        try {
+            log.debug("轮换会话令牌: sessionId={}", session.getSessionId());
+
+            LocalDateTime now = LocalDateTime.now();
+            int updatedCount = authSessionJpaRepository.rotateTokensById(
+                session.getSessionId(), expectedRefreshTokenDigest.getValue(),
+                session.getAccessTokenDigest().getValue(), session.getAccessTokenExpiresAt(),
+                session.getRefreshTokenDigest().getValue(), session.getRefreshTokenExpiresAt(),
+                session.getLastActivityAt(), now, session.getUserId());
+
+            if (updatedCount == 0) {
+                // 缓存中的快照可能仍持有已被轮换的刷新令牌摘要，丢弃后由下次查询从数据库重新加载
+                session.clearDomainEvents();
+                authSessionCache.evict(List.of(session.getSessionId()));
+                log.debug("轮换会话令牌失败，刷新令牌已被使用或会话已失效: sessionId={}", session.getSessionId());
+                return false;
+            }
+
+            session.setUpdatedAt(now);
+            session.setUpdatedBy(session.getUserId());
+            if (session.getVersion() != null) {
+                session.setVersion(session.getVersion() + 1);
+            }
+            authSessionCache.put(session);
+            session.getDomainEvents().forEach(eventPublisher::publishEvent);
+            session.clearDomainEvents();
+
+            log.debug("轮换会话令牌成功: sessionId={}", session.getSessionId());
+            return true;
+        } catch (Exception e) {
+            log.error("轮换会话令牌异常: sessionId={}, error={}", session.getSessionId(), e.getMessage(), e);
+            throw new RuntimeException("轮换会话令牌失败", e);
+        }
+    }
+
+    @Override
+    public boolean revoke(AuthSession session, Long operatorId) {
+        try {
+            log.debug("撤销认证会话: sessionId={}", session.getSessionId());
+
+            LocalDateTime now = LocalDateTime.now();
+            int updatedCount = authSessionJpaRepository.revokeActiveSessionsByIds(
+                List.of(session.getSessionId()), now, operatorId);
+
+            if (updatedCount == 0) {
+                // 会话已被并发请求撤销或已失效，撤销事件已由成功的一方发布
+                session.clearDomainEvents();
+                authSessionCache.evict(List.of(session.getSessionId()));
+                log.debug("撤销认证会话失败，会话已不处于活跃状态: sessionId={}", session.getSessionId());
+                return false;
+            }
+
+            session.setUpdatedAt(now);
+            session.setUpdatedBy(operatorId);
+            authSessionCache.put(session);
+            session.getDomainEvents().forEach(eventPublisher::publishEvent);
+            session.clearDomainEvents();
+
+            log.debug("撤销认证会话成功: sessionId={}", session.getSessionId());
+            return true;
+        } catch (Exception e) {
+            log.error("撤销认证会话异常: sessionId={}, error={}", session.getSessionId(), e.getMessage(), e);
+            throw new RuntimeException("撤销认证会话失败", e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<AuthSession> findById(Long sessionId) {
         try {
             log.debug("根据ID查找认证会话: sessionId={}", sessionId);
+
+            Optional<AuthSession> cached = authSessionCache.get(sessionId);
+            if (cached.isPresent()) {
+                return cached;
+            }
             
             Optional<AuthSessionEntity> entityOpt = authSessionJpaRepository.findById(sessionId);
             if (entityOpt.isPresent()) {
                 AuthSession session = entityOpt.get().toDomain();
+                authSessionCache.fill(session);
                 log.debug("认证会话查找成功: sessionId={}", sessionId);
                 return Optional.of(session);
             } else {
@@ -75,10 +169,18 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
     public Optional<AuthSession> findByAccessToken(AccessToken accessToken) {
         try {
             log.debug("根据访问令牌查找认证会话");
+
+            TokenDigest digest = TokenDigest.of(accessToken);
+            Optional<AuthSession> cached = authSessionCache.getByDigest(digest);
+            if (cached.isPresent()) {
+                return cached;
+            }
             
-            Optional<AuthSessionEntity> entityOpt = authSessionJpaRepository.findByAccessTokenAndDeletedFalse(accessToken.getJwt());
+            Optional<AuthSessionEntity> entityOpt = authSessionJpaRepository.findByAccessTokenDigestAndDeletedFalse(
+                    digest.getValue());
             if (entityOpt.isPresent()) {
                 AuthSession session = entityOpt.get().toDomain();
+                authSessionCache.fill(session);
                 log.debug("根据访问令牌查找认证会话成功: sessionId={}", session.getSessionId());
                 return Optional.of(session);
             } else {
@@ -96,10 +198,18 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
     public Optional<AuthSession> findByRefreshToken(RefreshToken refreshToken) {
         try {
             log.debug("根据刷新令牌查找认证会话");
+
+            TokenDigest digest = TokenDigest.of(refreshToken);
+            Optional<AuthSession> cached = authSessionCache.getByDigest(digest);
+            if (cached.isPresent()) {
+                return cached;
+            }
             
-            Optional<AuthSessionEntity> entityOpt = authSessionJpaRepository.findByRefreshTokenAndDeletedFalse(refreshToken.getJwt());
+            Optional<AuthSessionEntity> entityOpt = authSessionJpaRepository.findByRefreshTokenDigestAndDeletedFalse(
+                    digest.getValue());
             if (entityOpt.isPresent()) {
                 AuthSession session = entityOpt.get().toDomain();
+                authSessionCache.fill(session);
                 log.debug("根据刷新令牌查找认证会话成功: sessionId={}", session.getSessionId());
                 return Optional.of(session);
             } else {
@@ -193,6 +303,7 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
             
             LocalDateTime now = LocalDateTime.now();
             int deletedCount = authSessionJpaRepository.softDeleteById(sessionId, now, 1L); // TODO: 从认证上下文获取当前用户ID
+            authSessionCache.evict(List.of(sessionId));
             
             log.debug("认证会话删除成功: sessionId={}, deletedCount={}", sessionId, deletedCount);
         } catch (Exception e) {
@@ -206,8 +317,10 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
         try {
             log.debug("删除用户所有会话: userId={}", userId);
             
+            List<Long> sessionIds = authSessionJpaRepository.findSessionIdsByUserId(userId);
             LocalDateTime now = LocalDateTime.now();
             int deletedCount = authSessionJpaRepository.softDeleteByUserId(userId, now, 1L); // TODO: 从认证上下文获取当前用户ID
+            authSessionCache.evict(sessionIds);
             
             log.debug("用户所有会话删除成功: userId={}, deletedCount={}", userId, deletedCount);
         } catch (Exception e) {
@@ -222,7 +335,7 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
             log.debug("删除过期会话: expiredBefore={}", expiredBefore);
             
             LocalDateTime now = LocalDateTime.now();
-            int deletedCount = authSessionJpaRepository.softDeleteExpiredSessions(expiredBefore, now, 1L); // TODO: 从认证上下文获取当前用户ID
+            int deletedCount = authSessionJpaRepository.softDeleteExpiredSessions(expiredBefore, now, SYSTEM_OPERATOR_ID);
             
             log.debug("过期会话删除成功: deletedCount={}", deletedCount);
             return deletedCount;
@@ -232,6 +345,65 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findExpiredSessionIds(LocalDateTime expiredBefore, Long afterId, int limit) {
+        return authSessionJpaRepository.findExpiredSessionIds(expiredBefore, afterId, limit);
+    }
+
+    @Override
+    public int deleteExpiredSessions(Collection<Long> sessionIds, LocalDateTime expiredBefore) {
+        try {
+            log.debug("批量删除过期会话: count={}, expiredBefore={}", sessionIds.size(), expiredBefore);
+            
+            int deletedCount = authSessionJpaRepository.softDeleteExpiredSessionsByIds(
+                sessionIds, expiredBefore, LocalDateTime.now(), SYSTEM_OPERATOR_ID);
+            authSessionCache.evict(sessionIds);
+            
+            log.debug("批量删除过期会话成功: deletedCount={}", deletedCount);
+            return deletedCount;
+        } catch (Exception e) {
+            log.error("批量删除过期会话异常: count={}, error={}", sessionIds.size(), e.getMessage(), e);
+            throw new RuntimeException("批量删除过期会话失败", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findPurgeableSessionIds(LocalDateTime deletedBefore, Long afterId, int limit) {
+        return authSessionJpaRepository.findPurgeableSessionIds(deletedBefore, afterId, limit);
+    }
+
+    @Override
+    public int purgeDeletedSessions(Collection<Long> sessionIds) {
+        try {
+            log.debug("批量物理删除会话: count={}", sessionIds.size());
+            
+            int purgedCount = authSessionJpaRepository.purgeDeletedSessionsByIds(sessionIds);
+            
+            log.debug("批量物理删除会话成功: purgedCount={}", purgedCount);
+            return purgedCount;
+        } catch (Exception e) {
+            log.error("批量物理删除会话异常: count={}, error={}", sessionIds.size(), e.getMessage(), e);
+            throw new RuntimeException("批量物理删除会话失败", e);
+        }
+    }
+
+    @Override
+    public int updateLastActivity(Collection<Long> sessionIds, LocalDateTime lastActivityAt) {
+        try {
+            log.debug("批量更新会话最后活动时间: count={}, lastActivityAt={}", sessionIds.size(), lastActivityAt);
+            
+            int updatedCount = authSessionJpaRepository.updateLastActivityByIds(sessionIds, lastActivityAt);
+            
+            log.debug("批量更新会话最后活动时间成功: updatedCount={}", updatedCount);
+            return updatedCount;
+        } catch (Exception e) {
+            log.error("批量更新会话最后活动时间异常: count={}, error={}", sessionIds.size(), e.getMessage(), e);
+            throw new RuntimeException("批量更新会话最后活动时间失败", e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countActiveSessionsByUserId(Long userId) {
@@ -248,6 +420,42 @@ public class AuthSessionRepositoryImpl implements AuthSessionRepository {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countActiveSessionsByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        log.debug("批量统计用户活跃会话数量: count={}", userIds.size());
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : authSessionJpaRepository.countActiveSessionsByUserIds(userIds)) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public int revokeOldestActiveSessions(Long userId, int limit) {
+        try {
+            log.debug("撤销用户最早的活跃会话: userId={}, limit={}", userId, limit);
+
+            List<Long> sessionIds = authSessionJpaRepository.findOldestActiveSessionIds(userId, limit);
+            if (sessionIds.isEmpty()) {
+                return 0;
+            }
+            int revokedCount = authSessionJpaRepository.revokeActiveSessionsByIds(
+                sessionIds, LocalDateTime.now(), SYSTEM_OPERATOR_ID);
+            authSessionCache.evict(sessionIds);
+
+            log.debug("撤销用户最早的活跃会话成功: userId={}, sessionIds={}, revokedCount={}", userId, sessionIds, revokedCount);
+            return revokedCount;
+        } catch (Exception e) {
+            log.error("撤销用户最早的活跃会话异常: userId={}, error={}", userId, e.getMessage(), e);
+            throw new RuntimeException("撤销用户最早的活跃会话失败", e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long count() {
@@ -0,0 +1,240 @@
+package com.flowmaster.auth.infrastructure.scheduler;
+
+import com.flowmaster.auth.domain.repository.AuthSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 过期会话清理任务
+ * 按主键顺序分批处理：先逻辑删除过期会话，再物理删除早已逻辑删除的会话，
+ * 每批在独立事务中执行并在批次之间暂停，避免长时间持有行锁而阻塞登录写入
+ * <p>
+ * 通过Redis租约保证集群中同一时间只有一个节点执行清理
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class SessionExpirySweeper {
+
+    private static final String LEASE_KEY = "auth:session-sweeper:lease";
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final AuthSessionRepository authSessionRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long expiredRetentionMillis;
+    private final long purgeAfterMillis;
+    private final long leaseTtlMillis;
+
+    private final Counter softDeletedCounter;
+    private final Counter purgedCounter;
+    private final Counter chunkCounter;
+    private final Timer runTimer;
+    private final AtomicLong lastRunCompletedAt = new AtomicLong();
+
+    public SessionExpirySweeper(AuthSessionRepository authSessionRepository,
+                                RedisTemplate<String, String> redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.session.sweeper.chunk-size:500}") int chunkSize,
+                                @Value("${security.session.sweeper.pause:200}") long pauseMillis,
+                                @Value("${security.session.sweeper.expired-retention:604800000}") long expiredRetentionMillis,
+                                @Value("${security.session.sweeper.purge-after:2592000000}") long purgeAfterMillis,
+                                @Value("${security.session.sweeper.lease-ttl:300000}") long leaseTtlMillis) {
+        this.authSessionRepository = authSessionRepository;
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.expiredRetentionMillis = expiredRetentionMillis;
+        this.purgeAfterMillis = purgeAfterMillis;
+        this.leaseTtlMillis = leaseTtlMillis;
+
+        this.softDeletedCounter = Counter.builder("auth.session.sweeper.soft.deleted")
+                .description("清理任务逻辑删除的过期会话数量")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("auth.session.sweeper.purged")
+                .description("清理任务物理删除的会话数量")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("auth.session.sweeper.chunks")
+                .description("清理任务处理的批次数量")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("auth.session.sweeper.duration")
+                .description("清理任务执行时间")
+                .register(meterRegistry);
+        Gauge.builder("auth.session.sweeper.last.completed", lastRunCompletedAt, AtomicLong::get)
+                .description("最近一次清理完成时间（毫秒时间戳）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 定时清理
+     */
+    @Scheduled(initialDelayString = "${security.session.sweeper.interval:600000}",
+               fixedDelayString = "${security.session.sweeper.interval:600000}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * 执行一轮清理
+     *
+     * @return 清理结果，未获得租约返回null
+     */
+    public SweepResult sweep() {
+        if (!acquireLease()) {
+            log.debug("过期会话清理租约被其他节点持有，跳过本轮");
+            return null;
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiredBefore = now.minus(Duration.ofMillis(expiredRetentionMillis));
+            LocalDateTime deletedBefore = now.minus(Duration.ofMillis(purgeAfterMillis));
+
+            long softDeleted = runPhase("逻辑删除过期会话",
+                    afterId -> authSessionRepository.findExpiredSessionIds(expiredBefore, afterId, chunkSize),
+                    ids -> authSessionRepository.deleteExpiredSessions(ids, expiredBefore),
+                    softDeletedCounter);
+            long purged = runPhase("物理删除会话",
+                    afterId -> authSessionRepository.findPurgeableSessionIds(deletedBefore, afterId, chunkSize),
+                    authSessionRepository::purgeDeletedSessions,
+                    purgedCounter);
+
+            lastRunCompletedAt.set(System.currentTimeMillis());
+            log.info("过期会话清理完成: softDeleted={}, purged={}, duration={}ms",
+                    softDeleted, purged, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            return new SweepResult(softDeleted, purged);
+
+        } finally {
+            runTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            releaseLease();
+        }
+    }
+
+    private long runPhase(String phase,
+                          Function<Long, List<Long>> nextChunk,
+                          Function<List<Long>, Integer> processChunk,
+                          Counter counter) {
+        long total = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = nextChunk.apply(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            int affected = processChunk.apply(ids);
+            total += affected;
+            counter.increment(affected);
+            chunkCounter.increment();
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!renewLease()) {
+                log.warn("清理租约已丢失，停止{}: processed={}", phase, total);
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        log.debug("{}完成: count={}", phase, total);
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean acquireLease() {
+        try {
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_KEY, nodeId, leaseTtlMillis, TimeUnit.MILLISECONDS);
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            log.error("获取清理租约异常: error={}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean renewLease() {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(LEASE_KEY),
+                    nodeId, String.valueOf(leaseTtlMillis));
+            return renewed != null && renewed > 0;
+        } catch (Exception e) {
+            log.error("续期清理租约异常: error={}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(LEASE_KEY), nodeId);
+        } catch (Exception e) {
+            log.error("释放清理租约异常: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 清理结果
+     */
+    public static class SweepResult {
+        private final long softDeleted;
+        private final long purged;
+
+        public SweepResult(long softDeleted, long purged) {
+            this.softDeleted = softDeleted;
+            this.purged = purged;
+        }
+
+        public long getSoftDeleted() {
+            return softDeleted;
+        }
+
+        public long getPurged() {
+            return purged;
+        }
+    }
+}
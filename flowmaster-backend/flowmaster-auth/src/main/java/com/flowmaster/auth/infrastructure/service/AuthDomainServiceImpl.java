@@ -1,16 +1,24 @@
 package com.flowmaster.auth.infrastructure.service;
 
+import com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException;
+import com.flowmaster.auth.domain.exception.LoginThrottledException;
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.Password;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
 import com.flowmaster.auth.domain.model.valueobject.Username;
 import com.flowmaster.auth.domain.service.AuthDomainService;
+import com.flowmaster.auth.infrastructure.cache.CredentialReplica;
+import com.flowmaster.auth.infrastructure.cache.CredentialReplica.CredentialRecord;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore.ReferenceToken;
+import com.flowmaster.auth.infrastructure.metrics.AuthPipelineMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,15 +35,32 @@ public class AuthDomainServiceImpl implements AuthDomainService {
     private final JwtService jwtService;
     private final PasswordService passwordService;
     private final UserServiceClient userServiceClient;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final CredentialReplica credentialReplica;
+    private final ReferenceTokenStore referenceTokenStore;
+    private final AuthPipelineMetrics pipelineMetrics;
+
+    @Value("${security.credential-replica.fallback-on-miss:true}")
+    private boolean credentialFallbackOnMiss;
 
     @Override
     public Long validateCredentials(Username username, Password password) {
         try {
             log.debug("验证用户凭据: username={}", username.getValue());
             
-            // 使用用户服务客户端验证凭据
-            Long userId = userServiceClient.validateUserPassword(username, password.getEncodedValue());
+            // 优先使用本地凭据副本，副本未命中时回退到用户服务
+            Long userId;
+            CredentialRecord credential = credentialReplica.find(username.getValue());
+            pipelineMetrics.mark("credential_lookup");
+            if (credential != null) {
+                userId = validateWithReplica(username, password, credential);
+                pipelineMetrics.mark("password_hash");
+            } else if (credentialReplica.isReady() && !credentialFallbackOnMiss) {
+                log.debug("本地凭据副本中不存在用户: username={}", username.getValue());
+                userId = null;
+            } else {
+                userId = userServiceClient.validateUserPassword(username, password.getEncodedValue());
+                pipelineMetrics.mark("user_service_call");
+            }
             
             if (userId != null) {
                 log.debug("用户凭据验证成功: username={}, userId={}", username.getValue(), userId);
@@ -44,10 +69,34 @@ public class AuthDomainServiceImpl implements AuthDomainService {
             }
             
             return userId;
+        } catch (LoginThrottledException | CredentialServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("验证用户凭据异常: username={}, error={}", username.getValue(), e.getMessage(), e);
+            throw new CredentialServiceUnavailableException(e);
+        }
+    }
+
+    /**
+     * 使用本地凭据副本验证密码
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @param credential 本地凭据
+     * @return 用户ID，验证失败返回null
+     */
+    private Long validateWithReplica(Username username, Password password, CredentialRecord credential) {
+        if (!credential.canLogin()) {
+            log.warn("用户状态不允许登录: username={}, status={}", username.getValue(), credential.getStatus());
+            return null;
+        }
+        if (credential.getPasswordHash() == null) {
+            log.warn("用户密码哈希为空: username={}", username.getValue());
             return null;
         }
+        return passwordService.matchesPassword(password.getEncodedValue(), credential.getPasswordHash())
+                ? credential.getUserId()
+                : null;
     }
 
     @Override
@@ -61,6 +110,20 @@ public class AuthDomainServiceImpl implements AuthDomainService {
         }
     }
 
+    @Override
+    public AccessToken generateAccessToken(Long userId, Username username, String clientId) {
+        if (!referenceTokenStore.isEnabledFor(clientId)) {
+            return generateAccessToken(userId, username);
+        }
+        try {
+            log.debug("生成引用访问令牌: userId={}, clientId={}", userId, clientId);
+            return AccessToken.of(referenceTokenStore.issue(userId, username.getValue()));
+        } catch (Exception e) {
+            log.error("生成引用访问令牌异常: userId={}, clientId={}, error={}", userId, clientId, e.getMessage(), e);
+            throw new RuntimeException("生成访问令牌失败", e);
+        }
+    }
+
     @Override
     public RefreshToken generateRefreshToken(Long userId, Username username) {
         try {
@@ -76,6 +139,12 @@ public class AuthDomainServiceImpl implements AuthDomainService {
     public Long validateAccessToken(AccessToken accessToken) {
         try {
             log.debug("验证访问令牌");
+
+            // 引用令牌撤销时直接从存储中删除，不经过黑名单
+            if (accessToken.isReference()) {
+                ReferenceToken reference = referenceTokenStore.resolve(accessToken.getJwt());
+                return reference != null ? reference.getUserId() : null;
+            }
             
             // 检查令牌是否在黑名单中
             if (isTokenBlacklisted(accessToken.getJwt())) {
@@ -90,6 +159,40 @@ public class AuthDomainServiceImpl implements AuthDomainService {
         }
     }
 
+    @Override
+    public List<Long> validateAccessTokens(List<String> accessTokens) {
+        log.debug("批量验证访问令牌: count={}", accessTokens.size());
+
+        // 引用令牌直接查存储；JWT先用一次MGET排除黑名单中的令牌，剩余令牌并行验签
+        List<Boolean> blacklisted = jwtService.areTokensBlacklisted(accessTokens);
+        List<String> candidates = new ArrayList<>(accessTokens.size());
+        Long[] referenceUserIds = new Long[accessTokens.size()];
+        boolean hasReference = false;
+        for (int i = 0; i < accessTokens.size(); i++) {
+            String token = accessTokens.get(i);
+            if (AccessToken.isReference(token)) {
+                ReferenceToken reference = referenceTokenStore.resolve(token);
+                referenceUserIds[i] = reference != null ? reference.getUserId() : null;
+                hasReference = true;
+                candidates.add(null);
+            } else {
+                candidates.add(blacklisted.get(i) ? null : token);
+            }
+        }
+
+        List<Long> userIds = jwtService.validateAccessTokens(candidates);
+        if (!hasReference) {
+            return userIds;
+        }
+        List<Long> merged = new ArrayList<>(userIds);
+        for (int i = 0; i < referenceUserIds.length; i++) {
+            if (referenceUserIds[i] != null) {
+                merged.set(i, referenceUserIds[i]);
+            }
+        }
+        return merged;
+    }
+
     @Override
     public Long validateRefreshToken(RefreshToken refreshToken) {
         try {
@@ -133,14 +236,9 @@ public class AuthDomainServiceImpl implements AuthDomainService {
         try {
             log.debug("撤销用户所有令牌: userId={}", userId);
             
-            // 使用Redis模式匹配查找用户的所有令牌
-            String pattern = "jwt:user:" + userId + ":*";
-            Set<String> keys = redisTemplate.keys(pattern);
-            
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("撤销用户令牌成功: userId={}, count={}", userId, keys.size());
-            }
+            // 递增用户令牌纪元，此前签发的令牌在验证时即被拒绝
+            long epoch = jwtService.revokeAllTokens(userId);
+            log.debug("撤销用户令牌成功: userId={}, epoch={}", userId, epoch);
             
         } catch (Exception e) {
             log.error("撤销用户所有令牌异常: userId={}, error={}", userId, e.getMessage(), e);
@@ -149,6 +247,9 @@ public class AuthDomainServiceImpl implements AuthDomainService {
 
     @Override
     public boolean isTokenBlacklisted(String token) {
+        if (AccessToken.isReference(token)) {
+            return false;
+        }
         try {
             return jwtService.isTokenBlacklisted(token);
         } catch (Exception e) {
@@ -160,6 +261,11 @@ public class AuthDomainServiceImpl implements AuthDomainService {
     @Override
     public void blacklistToken(String token) {
         try {
+            if (AccessToken.isReference(token)) {
+                log.debug("撤销引用令牌");
+                referenceTokenStore.revoke(token);
+                return;
+            }
             log.debug("将令牌加入黑名单");
             jwtService.blacklistToken(token);
         } catch (Exception e) {
@@ -183,6 +289,8 @@ public class AuthDomainServiceImpl implements AuthDomainService {
         try {
             log.debug("验证密码");
             return passwordService.matchesPassword(rawPassword, encodedPassword);
+        } catch (LoginThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("验证密码异常: error={}", e.getMessage(), e);
             return false;
@@ -2,24 +2,39 @@ package com.flowmaster.auth.infrastructure.service;
 
 import com.flowmaster.auth.domain.model.valueobject.AccessToken;
 import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
 import com.flowmaster.auth.domain.model.valueobject.Username;
+import com.flowmaster.auth.infrastructure.cache.TokenEpochStore;
+import com.flowmaster.auth.infrastructure.cache.TokenVerificationCache;
+import com.flowmaster.auth.infrastructure.cache.TokenVerificationCache.VerifiedToken;
+import com.flowmaster.common.security.CompactClaims;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import com.flowmaster.common.security.SigningKeyRegistry.SigningKey;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JWT服务实现
- * 
+ * 令牌使用签名密钥注册表中的当前密钥签名并在头部写入kid，验证时按kid查找密钥；声明使用紧凑格式
+ * 批量验证时按切片在有界线程池中并行验签，队列满时由调用线程自行验证
+ *
  * @author FlowMaster Team
  * @since 1.0.0
  */
@@ -27,26 +42,73 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class JwtService {
 
-    private final SecretKey secretKey;
+    private static final String TYPE_ACCESS = CompactClaims.TYPE_ACCESS;
+    private static final String TYPE_REFRESH = CompactClaims.TYPE_REFRESH;
+    private static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
+    private static final AtomicInteger BATCH_THREAD_COUNTER = new AtomicInteger();
+
+    private final SigningKeyRegistry signingKeyRegistry;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     private final String issuer;
     private final String audience;
     private final RedisTemplate<String, String> redisTemplate;
+    private final TokenVerificationCache verificationCache;
+    private final TokenEpochStore epochStore;
+    private final ThreadPoolExecutor batchExecutor;
+    private final int batchSliceSize;
+
+    /**
+     * 预构建的解析器（线程安全）：校验发行者和受众的解析器与仅验签的解析器
+     */
+    private final JwtParser audienceParser;
+    private final JwtParser tokenParser;
 
     public JwtService(
-            @Value("${jwt.secret}") String secret,
+            SigningKeyRegistry signingKeyRegistry,
             @Value("${jwt.expiration}") long accessTokenExpiration,
             @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
             @Value("${jwt.issuer}") String issuer,
             @Value("${jwt.audience}") String audience,
-            RedisTemplate<String, String> redisTemplate) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            RedisTemplate<String, String> redisTemplate,
+            TokenVerificationCache verificationCache,
+            TokenEpochStore epochStore,
+            @Value("${jwt.batch.parallelism:0}") int batchParallelism,
+            @Value("${jwt.batch.queue-capacity:256}") int batchQueueCapacity,
+            @Value("${jwt.batch.slice-size:32}") int batchSliceSize) {
+        this.signingKeyRegistry = signingKeyRegistry;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.issuer = issuer;
         this.audience = audience;
         this.redisTemplate = redisTemplate;
+        this.verificationCache = verificationCache;
+        this.epochStore = epochStore;
+        this.audienceParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(signingKeyRegistry)
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .build();
+        this.tokenParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(signingKeyRegistry)
+                .build();
+
+        int threads = batchParallelism > 0 ? batchParallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSliceSize = Math.max(1, batchSliceSize);
+        this.batchExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "jwt-batch-verify-" + BATCH_THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
     }
 
     /**
@@ -61,16 +123,7 @@ public class JwtService {
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime expiration = now.plusSeconds(accessTokenExpiration / 1000);
 
-            String token = Jwts.builder()
-                    .setSubject(userId.toString())
-                    .setIssuer(issuer)
-                    .setAudience(audience)
-                    .claim("username", username.getValue())
-                    .claim("type", "access")
-                    .setIssuedAt(Date.from(now.atZone(ZoneId.systemDefault()).toInstant()))
-                    .setExpiration(Date.from(expiration.atZone(ZoneId.systemDefault()).toInstant()))
-                    .signWith(secretKey, SignatureAlgorithm.HS512)
-                    .compact();
+            String token = sign(userId, username, TYPE_ACCESS, now, expiration);
 
             log.debug("生成访问令牌成功: userId={}, username={}", userId, username.getValue());
             return AccessToken.of(token);
@@ -93,16 +146,7 @@ public class JwtService {
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime expiration = now.plusSeconds(refreshTokenExpiration / 1000);
 
-            String token = Jwts.builder()
-                    .setSubject(userId.toString())
-                    .setIssuer(issuer)
-                    .setAudience(audience)
-                    .claim("username", username.getValue())
-                    .claim("type", "refresh")
-                    .setIssuedAt(Date.from(now.atZone(ZoneId.systemDefault()).toInstant()))
-                    .setExpiration(Date.from(expiration.atZone(ZoneId.systemDefault()).toInstant()))
-                    .signWith(secretKey, SignatureAlgorithm.HS512)
-                    .compact();
+            String token = sign(userId, username, TYPE_REFRESH, now, expiration);
 
             log.debug("生成刷新令牌成功: userId={}, username={}", userId, username.getValue());
             return RefreshToken.of(token);
@@ -113,6 +157,32 @@ public class JwtService {
         }
     }
 
+    /**
+     * 使用当前签名密钥签发令牌
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param type 令牌类型
+     * @param issuedAt 签发时间
+     * @param expiration 过期时间
+     * @return 令牌字符串
+     */
+    private String sign(Long userId, Username username, String type, LocalDateTime issuedAt, LocalDateTime expiration) {
+        SigningKey signingKey = signingKeyRegistry.getActiveKey();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
+                .setSubject(userId.toString())
+                .setIssuer(issuer)
+                .setAudience(audience)
+                .claim(CompactClaims.USERNAME, username.getValue())
+                .claim(CompactClaims.TYPE, type)
+                .claim(CompactClaims.EPOCH, epochStore.currentEpoch(userId))
+                .setIssuedAt(Date.from(issuedAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .setExpiration(Date.from(expiration.atZone(ZoneId.systemDefault()).toInstant()))
+                .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
+                .compact();
+    }
+
     /**
      * 验证访问令牌
      *
@@ -120,49 +190,8 @@ public class JwtService {
      * @return 用户ID
      */
     public Long validateAccessToken(AccessToken accessToken) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(accessToken.getJwt())
-                    .getBody();
-
-            // 验证令牌类型
-            String type = claims.get("type", String.class);
-            if (!"access".equals(type)) {
-                log.warn("访问令牌类型不正确: type={}", type);
-                return null;
-            }
-
-            // 验证发行者和受众
-            if (!issuer.equals(claims.getIssuer()) || !audience.equals(claims.getAudience())) {
-                log.warn("访问令牌发行者或受众不正确: issuer={}, audience={}", claims.getIssuer(), claims.getAudience());
-                return null;
-            }
-
-            Long userId = Long.parseLong(claims.getSubject());
-            log.debug("访问令牌验证成功: userId={}", userId);
-            return userId;
-
-        } catch (ExpiredJwtException e) {
-            log.warn("访问令牌已过期: {}", e.getMessage());
-            return null;
-        } catch (UnsupportedJwtException e) {
-            log.warn("不支持的访问令牌: {}", e.getMessage());
-            return null;
-        } catch (MalformedJwtException e) {
-            log.warn("访问令牌格式错误: {}", e.getMessage());
-            return null;
-        } catch (SignatureException e) {
-            log.warn("访问令牌签名验证失败: {}", e.getMessage());
-            return null;
-        } catch (IllegalArgumentException e) {
-            log.warn("访问令牌参数错误: {}", e.getMessage());
-            return null;
-        } catch (Exception e) {
-            log.error("访问令牌验证异常: {}", e.getMessage(), e);
-            return null;
-        }
+        VerifiedToken verified = verify(accessToken.getJwt(), TYPE_ACCESS, "访问令牌");
+        return verified != null ? verified.getUserId() : null;
     }
 
     /**
@@ -172,49 +201,133 @@ public class JwtService {
      * @return 用户ID
      */
     public Long validateRefreshToken(RefreshToken refreshToken) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(refreshToken.getJwt())
-                    .getBody();
-
-            // 验证令牌类型
-            String type = claims.get("type", String.class);
-            if (!"refresh".equals(type)) {
-                log.warn("刷新令牌类型不正确: type={}", type);
-                return null;
+        VerifiedToken verified = verify(refreshToken.getJwt(), TYPE_REFRESH, "刷新令牌");
+        return verified != null ? verified.getUserId() : null;
+    }
+
+    /**
+     * 批量验证访问令牌（仅验签和纪元检查，不检查黑名单）
+     * 令牌按切片提交到批量验证线程池，最后一个切片在调用线程中执行
+     *
+     * @param tokens 访问令牌列表
+     * @return 与输入顺序一致的用户ID列表，验证失败的位置为null
+     */
+    public List<Long> validateAccessTokens(List<String> tokens) {
+        int size = tokens.size();
+        Long[] userIds = new Long[size];
+        int slices = Math.min(batchExecutor.getMaximumPoolSize() + 1, (size + batchSliceSize - 1) / batchSliceSize);
+        if (slices <= 1) {
+            verifySlice(tokens, userIds, 0, size);
+            return Arrays.asList(userIds);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(slices - 1);
+        for (int slice = 0; slice < slices - 1; slice++) {
+            int from = slice * size / slices;
+            int to = (slice + 1) * size / slices;
+            futures.add(batchExecutor.submit(() -> verifySlice(tokens, userIds, from, to)));
+        }
+        verifySlice(tokens, userIds, (slices - 1) * size / slices, size);
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("批量验证令牌被中断", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("批量验证令牌异常", e.getCause());
             }
+        }
+        return Arrays.asList(userIds);
+    }
+
+    private void verifySlice(List<String> tokens, Long[] userIds, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String token = tokens.get(i);
+            if (token == null || token.isEmpty()) {
+                continue;
+            }
+            VerifiedToken verified = verify(token, TYPE_ACCESS, "访问令牌");
+            userIds[i] = verified != null ? verified.getUserId() : null;
+        }
+    }
+
+    /**
+     * 验证令牌，优先从已验证令牌缓存中获取
+     * 发行者和受众由解析器在验签时一并校验，类型在验签后校验（兼容旧令牌的声明名）
+     *
+     * @param token 令牌
+     * @param type 令牌类型
+     * @param label 日志中的令牌名称
+     * @return 已验证的令牌，验证失败返回null
+     */
+    private VerifiedToken verify(String token, String type, String label) {
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken cached = verificationCache.get(digest, type);
+        if (cached != null) {
+            return checkEpoch(cached, label);
+        }
 
-            // 验证发行者和受众
-            if (!issuer.equals(claims.getIssuer()) || !audience.equals(claims.getAudience())) {
-                log.warn("刷新令牌发行者或受众不正确: issuer={}, audience={}", claims.getIssuer(), claims.getAudience());
+        try {
+            Claims claims = audienceParser.parseClaimsJws(token).getBody();
+            if (!type.equals(CompactClaims.type(claims))) {
+                log.warn("{}类型不正确: type={}", label, CompactClaims.type(claims));
                 return null;
             }
+            VerifiedToken verified = toVerifiedToken(claims, type);
+            verificationCache.put(digest, verified);
 
-            Long userId = Long.parseLong(claims.getSubject());
-            log.debug("刷新令牌验证成功: userId={}", userId);
-            return userId;
+            log.debug("{}验证成功: userId={}", label, verified.getUserId());
+            return checkEpoch(verified, label);
 
         } catch (ExpiredJwtException e) {
-            log.warn("刷新令牌已过期: {}", e.getMessage());
+            log.warn("{}已过期: {}", label, e.getMessage());
+            return null;
+        } catch (InvalidClaimException e) {
+            log.warn("{}发行者或受众不正确: {}", label, e.getMessage());
             return null;
         } catch (UnsupportedJwtException e) {
-            log.warn("不支持的刷新令牌: {}", e.getMessage());
+            log.warn("不支持的{}: {}", label, e.getMessage());
             return null;
         } catch (MalformedJwtException e) {
-            log.warn("刷新令牌格式错误: {}", e.getMessage());
+            log.warn("{}格式错误: {}", label, e.getMessage());
             return null;
         } catch (SignatureException e) {
-            log.warn("刷新令牌签名验证失败: {}", e.getMessage());
+            log.warn("{}签名验证失败: {}", label, e.getMessage());
             return null;
         } catch (IllegalArgumentException e) {
-            log.warn("刷新令牌参数错误: {}", e.getMessage());
+            log.warn("{}参数错误: {}", label, e.getMessage());
             return null;
         } catch (Exception e) {
-            log.error("刷新令牌验证异常: {}", e.getMessage(), e);
+            log.error("{}验证异常: {}", label, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 检查令牌纪元，纪元落后于用户当前纪元的令牌已被整体撤销
+     *
+     * @param verified 已验证的令牌
+     * @param label 日志中的令牌名称
+     * @return 纪元有效返回令牌，否则返回null
+     */
+    private VerifiedToken checkEpoch(VerifiedToken verified, String label) {
+        if (!epochStore.isCurrent(verified.getUserId(), verified.getEpoch())) {
+            log.warn("{}已被撤销: userId={}, epoch={}", label, verified.getUserId(), verified.getEpoch());
             return null;
         }
+        return verified;
+    }
+
+    /**
+     * 撤销用户的所有令牌
+     *
+     * @param userId 用户ID
+     * @return 用户新的令牌纪元
+     */
+    public long revokeAllTokens(Long userId) {
+        return epochStore.advance(userId);
     }
 
     /**
@@ -225,8 +338,7 @@ public class JwtService {
      */
     public boolean isTokenBlacklisted(String token) {
         try {
-            String blacklistKey = "jwt:blacklist:" + token;
-            Boolean exists = redisTemplate.hasKey(blacklistKey);
+            Boolean exists = redisTemplate.hasKey(blacklistKey(token));
             return exists != null && exists;
         } catch (Exception e) {
             log.error("检查令牌黑名单异常: {}", e.getMessage(), e);
@@ -234,6 +346,31 @@ public class JwtService {
         }
     }
 
+    /**
+     * 批量检查令牌是否在黑名单中（一次MGET）
+     *
+     * @param tokens 令牌列表
+     * @return 与输入顺序一致的检查结果
+     */
+    public List<Boolean> areTokensBlacklisted(List<String> tokens) {
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            keys.add(blacklistKey(token));
+        }
+        List<Boolean> blacklisted = new ArrayList<>(tokens.size());
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < tokens.size(); i++) {
+                blacklisted.add(values != null && values.get(i) != null);
+            }
+        } catch (Exception e) {
+            log.error("批量检查令牌黑名单异常: {}", e.getMessage(), e);
+            blacklisted.clear();
+            tokens.forEach(token -> blacklisted.add(false));
+        }
+        return blacklisted;
+    }
+
     /**
      * 将令牌加入黑名单
      *
@@ -241,15 +378,16 @@ public class JwtService {
      */
     public void blacklistToken(String token) {
         try {
-            String blacklistKey = "jwt:blacklist:" + token;
-            
+            TokenDigest digest = TokenDigest.of(token);
+
             // 计算令牌剩余过期时间
             long expirationTime = getTokenExpirationTime(token);
             long currentTime = System.currentTimeMillis();
             long ttl = Math.max(0, expirationTime - currentTime);
             
             // 将令牌加入黑名单，设置过期时间
-            redisTemplate.opsForValue().set(blacklistKey, "1", ttl, TimeUnit.MILLISECONDS);
+            redisTemplate.opsForValue().set(BLACKLIST_KEY_PREFIX + digest.getValue(), "1", ttl, TimeUnit.MILLISECONDS);
+            verificationCache.invalidate(digest);
             
             log.debug("令牌已加入黑名单: ttl={}ms", ttl);
         } catch (Exception e) {
@@ -257,6 +395,16 @@ public class JwtService {
         }
     }
 
+    /**
+     * 黑名单键，按令牌摘要而不是完整令牌建立，键长固定且Redis中不保存可用的令牌
+     *
+     * @param token 令牌
+     * @return 黑名单键
+     */
+    private String blacklistKey(String token) {
+        return BLACKLIST_KEY_PREFIX + TokenDigest.of(token).getValue();
+    }
+
     /**
      * 获取令牌过期时间
      *
@@ -264,17 +412,11 @@ public class JwtService {
      * @return 过期时间（毫秒）
      */
     private long getTokenExpirationTime(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().getTime();
-        } catch (Exception e) {
-            log.warn("获取令牌过期时间失败: {}", e.getMessage());
+        VerifiedToken verified = resolve(token);
+        if (verified == null) {
             return System.currentTimeMillis() + 3600000; // 默认1小时后过期
         }
+        return verified.getExpiresAt();
     }
 
     /**
@@ -284,17 +426,8 @@ public class JwtService {
      * @return 用户名
      */
     public String getUsernameFromToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("username", String.class);
-        } catch (Exception e) {
-            log.warn("从令牌获取用户名失败: {}", e.getMessage());
-            return null;
-        }
+        VerifiedToken verified = resolve(token);
+        return verified != null ? verified.getUsername() : null;
     }
 
     /**
@@ -304,16 +437,37 @@ public class JwtService {
      * @return 用户ID
      */
     public Long getUserIdFromToken(String token) {
+        VerifiedToken verified = resolve(token);
+        return verified != null ? verified.getUserId() : null;
+    }
+
+    /**
+     * 解析令牌声明（仅验签），已验证令牌缓存命中时不再解析
+     *
+     * @param token 令牌
+     * @return 令牌信息，解析失败返回null
+     */
+    private VerifiedToken resolve(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return Long.parseLong(claims.getSubject());
+            VerifiedToken cached = verificationCache.get(TokenDigest.of(token));
+            if (cached != null) {
+                return cached;
+            }
+            Claims claims = tokenParser.parseClaimsJws(token).getBody();
+            return toVerifiedToken(claims, CompactClaims.type(claims));
         } catch (Exception e) {
-            log.warn("从令牌获取用户ID失败: {}", e.getMessage());
+            log.warn("解析令牌失败: {}", e.getMessage());
             return null;
         }
     }
+
+    private VerifiedToken toVerifiedToken(Claims claims, String type) {
+        // 未携带纪元的令牌按纪元0处理，用户首次整体撤销后即失效
+        return new VerifiedToken(
+                Long.parseLong(claims.getSubject()),
+                CompactClaims.username(claims),
+                type,
+                claims.getExpiration().getTime(),
+                CompactClaims.epoch(claims));
+    }
 }
@@ -1,15 +1,33 @@
 package com.flowmaster.auth.infrastructure.service;
 
+import com.flowmaster.auth.domain.exception.LoginThrottledException;
 import com.flowmaster.auth.domain.model.valueobject.Password;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 密码加密服务实现
- * 
+ * 密码验证在独立的有界线程池中执行，线程数与CPU核数一致，队列满或等待超时时拒绝登录（429），
+ * 避免登录高峰时BCrypt占满请求线程而拖慢其他认证接口
+ *
  * @author FlowMaster Team
  * @since 1.0.0
  */
@@ -18,9 +36,48 @@ import org.springframework.stereotype.Service;
 public class PasswordService {
 
     private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor verifyExecutor;
+    private final long verifyTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
 
-    public PasswordService(@Value("${security.password.encoder.strength:12}") int strength) {
+    public PasswordService(@Value("${security.password.encoder.strength:12}") int strength,
+                           @Value("${security.password.verify.pool-size:0}") int poolSize,
+                           @Value("${security.password.verify.queue-capacity:64}") int queueCapacity,
+                           @Value("${security.password.verify.timeout:5000}") long verifyTimeoutMillis,
+                           @Value("${security.password.verify.retry-after:1}") long retryAfterSeconds,
+                           MeterRegistry meterRegistry) {
         this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.verifyTimeoutMillis = verifyTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.verifyExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new VerifyThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.verify.queue.depth", verifyExecutor, executor -> executor.getQueue().size())
+                .description("等待验证的密码数量")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.verify.active", verifyExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("正在验证的密码数量")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.verify.wait")
+                .description("密码验证排队时间")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.password.verify.hash")
+                .description("密码哈希比对时间")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.verify.rejected")
+                .description("因队列已满或等待超时被拒绝的密码验证次数")
+                .register(meterRegistry);
+
+        log.info("初始化密码验证线程池: threads={}, queueCapacity={}, timeout={}ms", threads, queueCapacity, verifyTimeoutMillis);
     }
 
     /**
@@ -42,18 +99,41 @@ public class PasswordService {
 
     /**
      * 验证密码
+     * 在密码验证线程池中执行，调用线程等待结果
      *
      * @param rawPassword 原始密码
      * @param encodedPassword 加密后的密码
      * @return 是否匹配
+     * @throws LoginThrottledException 验证队列已满或等待超时
      */
     public boolean matchesPassword(String rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> future;
         try {
-            boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
-            log.debug("密码验证结果: {}", matches);
-            return matches;
-        } catch (Exception e) {
-            log.error("密码验证异常: {}", e.getMessage(), e);
+            future = verifyExecutor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(() -> doMatches(rawPassword, encodedPassword));
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("密码验证队列已满，拒绝登录: queueDepth={}", verifyExecutor.getQueue().size());
+            throw new LoginThrottledException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(verifyTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("密码验证等待超时，拒绝登录: timeout={}ms", verifyTimeoutMillis);
+            throw new LoginThrottledException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            log.warn("密码验证被中断");
+            return false;
+        } catch (ExecutionException e) {
+            log.error("密码验证异常: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
             return false;
         }
     }
@@ -68,4 +148,29 @@ public class PasswordService {
     public boolean matchesPassword(Password rawPassword, Password encodedPassword) {
         return matchesPassword(rawPassword.getEncodedValue(), encodedPassword.getEncodedValue());
     }
+
+    @PreDestroy
+    public void shutdown() {
+        verifyExecutor.shutdown();
+    }
+
+    private boolean doMatches(String rawPassword, String encodedPassword) {
+        boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+        log.debug("密码验证结果: {}", matches);
+        return matches;
+    }
+
+    /**
+     * 密码验证线程工厂
+     */
+    private static class VerifyThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -1,18 +1,28 @@
 package com.flowmaster.auth.infrastructure.service;
 
+import com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException;
+import com.flowmaster.auth.domain.exception.LoginThrottledException;
 import com.flowmaster.auth.domain.model.valueobject.Password;
 import com.flowmaster.auth.domain.model.valueobject.Username;
+import com.flowmaster.common.event.UserCredentialMessage;
+import com.flowmaster.common.response.Result;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,6 +43,19 @@ public class UserServiceClient {
     @Value("${user.service.url:http://localhost:8081/user-service}")
     private String userServiceUrl;
 
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    /**
+     * 启动时校验内部调用令牌，未配置时拒绝启动，避免内部接口退化为使用默认口令
+     */
+    @PostConstruct
+    public void validateInternalApiToken() {
+        if (!StringUtils.hasText(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token 未配置，请设置环境变量 INTERNAL_API_TOKEN");
+        }
+    }
+
     /**
      * 验证用户凭据
      *
@@ -84,7 +107,8 @@ public class UserServiceClient {
      * 根据用户名获取用户信息
      *
      * @param username 用户名
-     * @return 用户信息
+     * @return 用户信息，用户不存在返回null
+     * @throws CredentialServiceUnavailableException 用户服务调用失败（网络错误、5xx）
      */
     public Map<String, Object> getUserByUsername(Username username) {
         try {
@@ -106,8 +130,77 @@ public class UserServiceClient {
             log.warn("获取用户信息失败: username={}", username.getValue());
             return null;
 
+        } catch (HttpClientErrorException e) {
+            log.warn("获取用户信息失败: username={}, status={}", username.getValue(), e.getStatusCode());
+            return null;
         } catch (Exception e) {
             log.error("获取用户信息异常: username={}, error={}", username.getValue(), e.getMessage(), e);
+            throw new CredentialServiceUnavailableException(e);
+        }
+    }
+
+    /**
+     * 分批获取用户凭据快照
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param limit 批大小
+     * @return 用户凭据列表，调用失败返回null
+     */
+    public List<UserCredentialMessage> fetchCredentialSnapshot(long afterId, int limit) {
+        try {
+            log.debug("获取用户凭据快照: afterId={}, limit={}", afterId, limit);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-Token", internalApiToken);
+
+            String url = userServiceUrl + "/api/v1/users/internal/credentials?afterId=" + afterId + "&limit=" + limit;
+            ResponseEntity<Result<List<UserCredentialMessage>>> response = restTemplate.exchange(
+                    url, HttpMethod.GET, new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<Result<List<UserCredentialMessage>>>() {});
+
+            Result<List<UserCredentialMessage>> body = response.getBody();
+            if (response.getStatusCode().is2xxSuccessful() && body != null && body.isSuccess()) {
+                return body.getData() != null ? body.getData() : List.of();
+            }
+
+            log.warn("获取用户凭据快照失败: afterId={}, status={}", afterId, response.getStatusCode());
+            return null;
+
+        } catch (Exception e) {
+            log.error("获取用户凭据快照异常: afterId={}, error={}", afterId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 按用户ID批量获取用户凭据
+     *
+     * @param userIds 用户ID列表
+     * @return 用户凭据列表（已删除或不存在的用户不返回），调用失败返回null
+     */
+    public List<UserCredentialMessage> fetchCredentials(List<Long> userIds) {
+        try {
+            log.debug("按ID获取用户凭据: count={}", userIds.size());
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-Internal-Token", internalApiToken);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            String url = userServiceUrl + "/api/v1/users/internal/credentials/query";
+            ResponseEntity<Result<List<UserCredentialMessage>>> response = restTemplate.exchange(
+                    url, HttpMethod.POST, new HttpEntity<>(userIds, headers),
+                    new ParameterizedTypeReference<Result<List<UserCredentialMessage>>>() {});
+
+            Result<List<UserCredentialMessage>> body = response.getBody();
+            if (response.getStatusCode().is2xxSuccessful() && body != null && body.isSuccess()) {
+                return body.getData() != null ? body.getData() : List.of();
+            }
+
+            log.warn("按ID获取用户凭据失败: count={}, status={}", userIds.size(), response.getStatusCode());
+            return null;
+
+        } catch (Exception e) {
+            log.error("按ID获取用户凭据异常: count={}, error={}", userIds.size(), e.getMessage(), e);
             return null;
         }
     }
@@ -117,7 +210,8 @@ public class UserServiceClient {
      *
      * @param username 用户名
      * @param rawPassword 原始密码
-     * @return 用户ID，验证失败返回null
+     * @return 用户ID，用户不存在或密码错误返回null
+     * @throws CredentialServiceUnavailableException 用户服务调用失败等无法判定凭据的错误
      */
     public Long validateUserPassword(Username username, String rawPassword) {
         try {
@@ -145,9 +239,11 @@ public class UserServiceClient {
                 return null;
             }
 
+        } catch (LoginThrottledException | CredentialServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("用户密码验证异常: username={}, error={}", username.getValue(), e.getMessage(), e);
-            return null;
+            throw new CredentialServiceUnavailableException(e);
         }
     }
 }
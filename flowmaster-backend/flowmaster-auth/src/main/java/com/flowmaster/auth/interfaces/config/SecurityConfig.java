@@ -34,6 +34,8 @@ public class SecurityConfig {
                         .requestMatchers("/auth-service/api/v1/auth/login").permitAll() // 允许登录
                         .requestMatchers("/auth-service/api/v1/auth/refresh").permitAll() // 允许刷新令牌
                         .requestMatchers("/auth-service/api/v1/auth/validate").permitAll() // 允许验证令牌
+                        .requestMatchers("/auth-service/api/v1/auth/validate/batch").permitAll() // 批量验证令牌（由内部调用令牌保护）
+                        .requestMatchers("/auth-service/api/v1/auth/introspect").permitAll() // 内省引用令牌（由内部调用令牌保护）
                         .requestMatchers("/auth-service/api/v1/auth/cleanup").hasRole("ADMIN") // 清理过期会话需要管理员权限
                         .anyRequest().authenticated() // 其他所有请求需要认证
                 );
@@ -2,23 +2,34 @@ package com.flowmaster.auth.interfaces.rest;
 
 import com.flowmaster.common.response.PageResult;
 import com.flowmaster.common.response.Result;
+import com.flowmaster.auth.application.command.BatchValidateTokenCommand;
+import com.flowmaster.auth.application.command.IntrospectTokenCommand;
 import com.flowmaster.auth.application.command.LoginCommand;
 import com.flowmaster.auth.application.command.LogoutCommand;
 import com.flowmaster.auth.application.command.RefreshTokenCommand;
 import com.flowmaster.auth.application.dto.AuthResponseDTO;
+import com.flowmaster.auth.application.dto.BatchTokenValidationDTO;
 import com.flowmaster.auth.application.dto.SessionInfoDTO;
+import com.flowmaster.auth.application.dto.TokenIntrospectionDTO;
 import com.flowmaster.auth.application.service.AuthApplicationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 /**
  * 认证授权REST控制器
  *
@@ -32,8 +43,23 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "认证授权", description = "认证授权相关API")
 public class AuthController {
 
+    private static final String CLIENT_ID_HEADER = "X-Client-Id";
+
     private final AuthApplicationService authApplicationService;
 
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    /**
+     * 启动时校验内部调用令牌，未配置时拒绝启动，避免内部接口退化为使用默认口令
+     */
+    @PostConstruct
+    public void validateInternalApiToken() {
+        if (!StringUtils.hasText(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token 未配置，请设置环境变量 INTERNAL_API_TOKEN");
+        }
+    }
+
     @Operation(summary = "用户登录", description = "用户登录获取访问令牌")
     @ApiResponse(responseCode = "200", description = "登录成功")
     @ApiResponse(responseCode = "400", description = "请求参数无效或用户名密码错误")
@@ -50,6 +76,7 @@ public class AuthController {
                 .setPassword(command.getPassword())
                 .setClientIp(getClientIp(request))
                 .setUserAgent(request.getHeader("User-Agent"))
+                .setClientId(request.getHeader(CLIENT_ID_HEADER))
                 .setRememberMe(command.getRememberMe());
         
         Result<AuthResponseDTO> result = authApplicationService.login(loginCommand);
@@ -70,7 +97,8 @@ public class AuthController {
         RefreshTokenCommand refreshCommand = new RefreshTokenCommand()
                 .setRefreshToken(command.getRefreshToken())
                 .setClientIp(getClientIp(request))
-                .setUserAgent(request.getHeader("User-Agent"));
+                .setUserAgent(request.getHeader("User-Agent"))
+                .setClientId(request.getHeader(CLIENT_ID_HEADER));
         
         Result<AuthResponseDTO> result = authApplicationService.refreshToken(refreshCommand);
         return ResponseEntity.ok(result);
@@ -117,6 +145,40 @@ public class AuthController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "批量验证令牌", description = "批量验证访问令牌，仅供内部服务调用")
+    @ApiResponse(responseCode = "200", description = "验证完成，按请求顺序返回用户ID，无效令牌为null")
+    @ApiResponse(responseCode = "403", description = "非内部调用")
+    @PostMapping("/validate/batch")
+    public ResponseEntity<Result<BatchTokenValidationDTO>> validateTokens(
+            @RequestHeader(value = "X-Internal-Token", required = false) String internalToken,
+            @Valid @RequestBody BatchValidateTokenCommand command) {
+        if (!isInternalCall(internalToken)) {
+            log.warn("拒绝非内部调用的批量验证令牌请求");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Result.fail("禁止访问"));
+        }
+
+        log.debug("批量验证令牌请求: count={}", command.getTokens().size());
+        
+        Result<BatchTokenValidationDTO> result = authApplicationService.validateTokens(command.getTokens());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "内省引用令牌", description = "解析引用令牌对应的用户信息，仅供内部服务调用")
+    @ApiResponse(responseCode = "200", description = "解析完成")
+    @ApiResponse(responseCode = "403", description = "非内部调用")
+    @PostMapping("/introspect")
+    public ResponseEntity<Result<TokenIntrospectionDTO>> introspectToken(
+            @RequestHeader(value = "X-Internal-Token", required = false) String internalToken,
+            @Valid @RequestBody IntrospectTokenCommand command) {
+        if (!isInternalCall(internalToken)) {
+            log.warn("拒绝非内部调用的令牌内省请求");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Result.fail("禁止访问"));
+        }
+
+        Result<TokenIntrospectionDTO> result = authApplicationService.introspectToken(command.getToken());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "获取用户会话列表", description = "获取当前用户的所有会话")
     @ApiResponse(responseCode = "200", description = "获取成功")
     @ApiResponse(responseCode = "401", description = "未授权")
@@ -183,6 +245,21 @@ public class AuthController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 校验内部调用令牌
+     *
+     * @param token 请求携带的令牌
+     * @return 是否为内部调用
+     */
+    private boolean isInternalCall(String token) {
+        if (token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                internalApiToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * 获取客户端IP地址
      *
@@ -1,5 +1,7 @@
 package com.flowmaster.auth.interfaces.rest;
 
+import com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException;
+import com.flowmaster.auth.domain.exception.LoginThrottledException;
 import com.flowmaster.common.exception.BusinessException;
 import com.flowmaster.common.exception.ParameterException;
 import com.flowmaster.common.exception.SystemException;
@@ -7,6 +9,7 @@ import com.flowmaster.common.response.Result;
 import com.flowmaster.common.response.ResultCode;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,6 +29,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthGlobalExceptionHandler {
 
+    /**
+     * 处理登录限流异常
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Result<Void>> handleLoginThrottledException(LoginThrottledException e) {
+        log.warn("登录限流: retryAfter={}s", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Result.error(e.getCode(), e.getMessage()));
+    }
+
+    /**
+     * 处理凭据校验服务不可用异常
+     */
+    @ExceptionHandler(CredentialServiceUnavailableException.class)
+    public ResponseEntity<Result<Void>> handleCredentialServiceUnavailableException(CredentialServiceUnavailableException e) {
+        log.warn("凭据校验服务不可用: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Result.error(e.getCode(), e.getMessage()));
+    }
+
     /**
      * 处理业务异常
      */
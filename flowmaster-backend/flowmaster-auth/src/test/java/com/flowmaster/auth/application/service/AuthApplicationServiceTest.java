@@ -0,0 +1,167 @@
+package com.flowmaster.auth.application.service;
+
+import com.flowmaster.auth.application.command.LoginCommand;
+import com.flowmaster.auth.application.dto.AuthResponseDTO;
+import com.flowmaster.auth.domain.exception.CredentialServiceUnavailableException;
+import com.flowmaster.auth.domain.model.aggregate.AuthSession;
+import com.flowmaster.auth.domain.model.valueobject.AccessToken;
+import com.flowmaster.auth.domain.model.valueobject.RefreshToken;
+import com.flowmaster.auth.domain.model.valueobject.TokenDigest;
+import com.flowmaster.auth.domain.repository.AuthSessionRepository;
+import com.flowmaster.auth.domain.service.AuthDomainService;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore;
+import com.flowmaster.auth.infrastructure.metrics.AuthPipelineMetrics;
+import com.flowmaster.auth.infrastructure.scheduler.SessionExpirySweeper;
+import com.flowmaster.common.response.Result;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 认证应用服务测试
+ * 超过并发会话上限被撤销的会话，其访问令牌在签名过期前也不能再通过验证；
+ * 凭据校验服务不可用时不计为登录失败
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class AuthApplicationServiceTest {
+
+    private static final int MAX_SESSIONS = 3;
+    private static final long USER_ID = 1001L;
+
+    private final List<AuthSession> sessions = new ArrayList<>();
+    private AuthDomainService authDomainService;
+    private FailedLoginTracker failedLoginTracker;
+    private AuthApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        authDomainService = mock(AuthDomainService.class);
+        AtomicInteger issued = new AtomicInteger();
+        when(authDomainService.validateCredentials(any(), any())).thenReturn(USER_ID);
+        when(authDomainService.generateAccessToken(eq(USER_ID), any(), any()))
+            .thenAnswer(invocation -> AccessToken.of("header.access-" + issued.incrementAndGet() + ".signature"));
+        when(authDomainService.generateRefreshToken(eq(USER_ID), any()))
+            .thenAnswer(invocation -> RefreshToken.of("header.refresh-" + issued.get() + ".signature"));
+        when(authDomainService.validateAccessToken(any())).thenReturn(USER_ID);
+
+        AuthSessionRepository authSessionRepository = inMemoryRepository();
+        failedLoginTracker = mock(FailedLoginTracker.class);
+        when(failedLoginTracker.checkAllowed(anyString(), any())).thenReturn(0L);
+
+        ConcurrentSessionLimiter limiter = new ConcurrentSessionLimiter(
+            authSessionRepository, null, MAX_SESSIONS, false, 86400000L, 500);
+
+        service = new AuthApplicationService(
+            authDomainService,
+            authSessionRepository,
+            mock(SessionActivityTracker.class),
+            failedLoginTracker,
+            mock(SessionExpirySweeper.class),
+            mock(ReferenceTokenStore.class),
+            new AuthPipelineMetrics(new SimpleMeterRegistry(), false),
+            limiter);
+    }
+
+    @Test
+    void evictedSessionTokenFailsValidation() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i <= MAX_SESSIONS; i++) {
+            Result<AuthResponseDTO> result = service.login(new LoginCommand()
+                .setUsername("alice")
+                .setPassword("Passw0rd!")
+                .setClientIp("127.0.0.1"));
+            assertTrue(result.isSuccess());
+            tokens.add(result.getData().getAccessToken());
+        }
+
+        assertEquals(AuthSession.SessionStatus.REVOKED, sessions.get(0).getStatus());
+        assertFalse(service.validateToken(tokens.get(0)).isSuccess());
+        for (int i = 1; i <= MAX_SESSIONS; i++) {
+            Result<Long> result = service.validateToken(tokens.get(i));
+            assertTrue(result.isSuccess());
+            assertEquals(USER_ID, result.getData());
+        }
+    }
+
+    @Test
+    void credentialServiceOutageIsNotRecordedAsFailure() {
+        when(authDomainService.validateCredentials(any(), any()))
+            .thenThrow(new CredentialServiceUnavailableException(new IllegalStateException("connection refused")));
+
+        LoginCommand command = new LoginCommand()
+            .setUsername("alice")
+            .setPassword("Passw0rd!")
+            .setClientIp("127.0.0.1");
+        assertThrows(CredentialServiceUnavailableException.class, () -> service.login(command));
+        verify(failedLoginTracker, never()).recordFailure(anyString(), any());
+        assertTrue(sessions.isEmpty());
+    }
+
+    @Test
+    void rejectedCredentialsAreRecordedAsFailure() {
+        when(authDomainService.validateCredentials(any(), any())).thenReturn(null);
+
+        Result<AuthResponseDTO> result = service.login(new LoginCommand()
+            .setUsername("alice")
+            .setPassword("Passw0rd!")
+            .setClientIp("127.0.0.1"));
+        assertFalse(result.isSuccess());
+        verify(failedLoginTracker).recordFailure("alice", "127.0.0.1");
+    }
+
+    /**
+     * 以列表保存会话的仓储，只实现登录和令牌验证用到的方法
+     */
+    private AuthSessionRepository inMemoryRepository() {
+        AuthSessionRepository repository = mock(AuthSessionRepository.class);
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any())).thenAnswer(invocation -> {
+            AuthSession session = invocation.getArgument(0);
+            session.setSessionId(ids.incrementAndGet());
+            sessions.add(session);
+            return session;
+        });
+        when(repository.findByAccessToken(any())).thenAnswer(invocation -> {
+            TokenDigest digest = TokenDigest.of(invocation.<AccessToken>getArgument(0));
+            return sessions.stream()
+                .filter(session -> session.getAccessTokenDigest().equals(digest))
+                .findFirst();
+        });
+        when(repository.countActiveSessionsByUserId(anyLong())).thenAnswer(invocation -> sessions.stream()
+            .filter(session -> session.getStatus() == AuthSession.SessionStatus.ACTIVE)
+            .count());
+        when(repository.revokeOldestActiveSessions(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(1);
+            int revoked = 0;
+            for (AuthSession session : sessions) {
+                if (revoked < limit && session.getStatus() == AuthSession.SessionStatus.ACTIVE) {
+                    session.setStatus(AuthSession.SessionStatus.REVOKED);
+                    revoked++;
+                }
+            }
+            return revoked;
+        });
+        return repository;
+    }
+}
@@ -0,0 +1,124 @@
+package com.flowmaster.auth.infrastructure.config;
+
+import com.flowmaster.common.security.JwtSigningProperties;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 签名密钥注册表配置测试
+ * 升级前签发的令牌（不带kid、HS512）在升级后仍能通过验证
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class InfrastructureConfigTest {
+
+    private static final String SECRET = "FlowMasterSecretKeyForJWTTokenGeneration2024-ProductionLength-0001";
+    private static final String ISSUER = "FlowMaster";
+    private static final String AUDIENCE = "FlowMaster-Users";
+
+    private final InfrastructureConfig config = new InfrastructureConfig();
+
+    @Test
+    void baselineTokenVerifiesWithConfiguredKeys() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setActiveKid("k1");
+        properties.getKeys().add(key("k1", "HS256", SECRET));
+
+        SigningKeyRegistry registry = config.signingKeyRegistry(properties, SECRET);
+
+        Claims claims = parser(registry).parseClaimsJws(baselineAccessToken(1001L, "alice")).getBody();
+        assertEquals("1001", claims.getSubject());
+        assertEquals("alice", claims.get("username", String.class));
+        assertEquals("k1", registry.getActiveKey().getKid());
+    }
+
+    @Test
+    void baselineTokenVerifiesWithFallbackKey() {
+        SigningKeyRegistry registry = config.signingKeyRegistry(new JwtSigningProperties(), SECRET);
+
+        Claims claims = parser(registry).parseClaimsJws(baselineAccessToken(1002L, "bob")).getBody();
+        assertEquals("1002", claims.getSubject());
+        assertEquals("default", registry.getActiveKey().getKid());
+    }
+
+    @Test
+    void currentTokenStillVerifiesAlongsideLegacyKey() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setActiveKid("k1");
+        properties.getKeys().add(key("k1", "HS256", SECRET));
+        SigningKeyRegistry registry = config.signingKeyRegistry(properties, SECRET);
+
+        SigningKeyRegistry.SigningKey active = registry.getActiveKey();
+        String token = Jwts.builder()
+                .setHeaderParam("kid", active.getKid())
+                .setSubject("1003")
+                .setIssuer(ISSUER)
+                .setAudience(AUDIENCE)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(active.getSigningKey(), active.getAlgorithm())
+                .compact();
+
+        assertEquals("1003", parser(registry).parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Test
+    void shortSecretSkipsLegacyKey() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.getKeys().add(key("k1", "HS256", SECRET));
+
+        SigningKeyRegistry registry = config.signingKeyRegistry(properties, "FlowMasterSecretKeyForJWTTokenGeneration2024");
+
+        assertNull(registry.getKey(SigningKeyRegistry.LEGACY_KID));
+        assertEquals("k1", registry.getKey(null).getKid());
+    }
+
+    /**
+     * 按升级前JwtService.generateAccessToken的方式签发访问令牌
+     */
+    private static String baselineAccessToken(Long userId, String username) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiration = now.plusSeconds(86400);
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setIssuer(ISSUER)
+                .setAudience(AUDIENCE)
+                .claim("username", username)
+                .claim("type", "access")
+                .setIssuedAt(Date.from(now.atZone(ZoneId.systemDefault()).toInstant()))
+                .setExpiration(Date.from(expiration.atZone(ZoneId.systemDefault()).toInstant()))
+                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static JwtParser parser(SigningKeyRegistry registry) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(registry)
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+    }
+
+    private static JwtSigningProperties.KeyDefinition key(String kid, String algorithm, String secret) {
+        JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+        definition.setKid(kid);
+        definition.setAlgorithm(algorithm);
+        definition.setSecret(secret);
+        return definition;
+    }
+}
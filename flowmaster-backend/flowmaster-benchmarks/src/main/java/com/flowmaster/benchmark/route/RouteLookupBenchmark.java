@@ -0,0 +1,113 @@
+package com.flowmaster.benchmark.route;
+
+import com.flowmaster.gateway.infrastructure.route.PathRadixTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由查找基准测试
+ * 对比路径基数树与逐个PathPattern匹配（RoutePredicateHandlerMapping的默认方式）在不同路由数量下的单次查找耗时
+ * <p>
+ * 路由由三类模式循环生成：多段通配（/svcN/**）、模板变量（/api/vN/users/{id}）、单段通配（/staticN/*）；
+ * 请求路径分别命中最后一个路由、以/结尾、以及不命中任何路由
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int routeCount;
+
+    @Param({"last", "trailing-slash", "miss"})
+    private String request;
+
+    private PathRadixTree tree;
+    private List<PathPattern> patterns;
+    private String path;
+    private PathContainer pathContainer;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        PathPatternParser parser = new PathPatternParser();
+        // 与PathRoutePredicateFactory默认的matchTrailingSlash=true一致
+        parser.setMatchOptionalTrailingSeparator(true);
+
+        tree = new PathRadixTree();
+        patterns = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            String pattern = pattern(i);
+            if (!tree.insert(pattern, i)) {
+                throw new IllegalStateException("路由模式不能索引: " + pattern);
+            }
+            patterns.add(parser.parse(pattern));
+        }
+
+        int last = routeCount - 1;
+        path = switch (request) {
+            case "last" -> requestPath(last);
+            case "trailing-slash" -> requestPath(last) + "/";
+            default -> "/unknown/resource/42";
+        };
+        pathContainer = PathContainer.parsePath(path);
+    }
+
+    @Benchmark
+    public Map<Integer, String> radixTree() {
+        Map<Integer, String> matched = new HashMap<>(4);
+        tree.collect(path, matched);
+        return matched;
+    }
+
+    @Benchmark
+    public int linearPathPattern() {
+        // 与逐个执行Path谓词相同，取第一个匹配的路由
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matches(pathContainer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String pattern(int index) {
+        return switch (index % 3) {
+            case 0 -> "/svc" + index + "/**";
+            case 1 -> "/api/v" + index + "/users/{id}";
+            default -> "/static" + index + "/*";
+        };
+    }
+
+    private static String requestPath(int index) {
+        return switch (index % 3) {
+            case 0 -> "/svc" + index + "/orders/42";
+            case 1 -> "/api/v" + index + "/users/42";
+            default -> "/static" + index + "/app.js";
+        };
+    }
+}
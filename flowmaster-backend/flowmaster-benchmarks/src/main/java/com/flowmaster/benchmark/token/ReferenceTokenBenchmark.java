@@ -0,0 +1,113 @@
+package com.flowmaster.benchmark.token;
+
+import com.flowmaster.auth.domain.model.valueobject.AccessToken;
+import com.flowmaster.auth.domain.model.valueobject.Username;
+import com.flowmaster.auth.infrastructure.cache.ReferenceTokenStore;
+import com.flowmaster.auth.infrastructure.cache.TokenEpochStore;
+import com.flowmaster.auth.infrastructure.cache.TokenVerificationCache;
+import com.flowmaster.auth.infrastructure.service.JwtService;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 引用令牌解析基准测试
+ * 对比引用令牌解析（摘要+分片哈希表查找）与JWT验证的单次耗时：
+ * JWT分别测量每次完整验签（验证缓存未命中）和经JwtService验证缓存命中两种情况
+ * <p>
+ * 引用令牌存储只使用本地分片，不连接Redis，测得的是节点本地命中的开销；
+ * 未命中时向Redis加载的网络往返不在测量范围内
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceTokenBenchmark {
+
+    private static final long TOKEN_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * 预先签发的引用令牌数量，使分片哈希表接近线上规模
+     */
+    @Param({"100000"})
+    private int issuedTokens;
+
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+
+    private ReferenceTokenStore referenceTokenStore;
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String referenceToken;
+    private AccessToken accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenEpochStore epochStore = new TokenEpochStore(null, null, false, 100_000, 30_000);
+
+        referenceTokenStore = new ReferenceTokenStore(null, null, epochStore, meterRegistry,
+                true, false, "", 5_000, TOKEN_TTL_MILLIS);
+        for (int i = 1; i < issuedTokens; i++) {
+            referenceTokenStore.issue((long) i, "user_" + i);
+        }
+        referenceToken = referenceTokenStore.issue(TokenSigningBenchmark.USER_ID, TokenSigningBenchmark.USERNAME);
+
+        SigningKeyRegistry registry = TokenSigningBenchmark.signingKeyRegistry(algorithm);
+        jwtService = new JwtService(registry, TOKEN_TTL_MILLIS, TOKEN_TTL_MILLIS,
+                TokenSigningBenchmark.ISSUER, TokenSigningBenchmark.AUDIENCE, null,
+                new TokenVerificationCache(10_000, 300_000, meterRegistry), epochStore, 1, 16, 32);
+        accessToken = jwtService.generateAccessToken(TokenSigningBenchmark.USER_ID,
+                Username.of(TokenSigningBenchmark.USERNAME));
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(registry)
+                .requireIssuer(TokenSigningBenchmark.ISSUER)
+                .requireAudience(TokenSigningBenchmark.AUDIENCE)
+                .build();
+
+        if (referenceTokenStore.resolve(referenceToken) == null
+                || !Long.valueOf(TokenSigningBenchmark.USER_ID).equals(jwtService.validateAccessToken(accessToken))) {
+            throw new IllegalStateException("令牌验证结果不正确: algorithm=" + algorithm);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwtService.shutdown();
+    }
+
+    @Benchmark
+    public Long referenceToken() {
+        return referenceTokenStore.resolve(referenceToken).getUserId();
+    }
+
+    @Benchmark
+    public String jwtVerify() {
+        return parser.parseClaimsJws(accessToken.getJwt()).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Long jwtVerificationCache() {
+        return jwtService.validateAccessToken(accessToken);
+    }
+}
@@ -0,0 +1,263 @@
+package com.flowmaster.benchmark.token;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.common.security.CompactClaims;
+import com.flowmaster.common.security.JwtSigningProperties;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌签名算法基准测试
+ * 对比HS256、HS512、ES256、EdDSA签发与验证访问令牌的单次耗时，并在初始化时输出各算法的令牌长度
+ * <p>
+ * HMAC与ECDSA通过SigningKeyRegistry加载密钥，按JwtService相同的头部与紧凑声明签发，验证不经过验证缓存；
+ * jjwt 0.11不支持EdDSA，EdDSA使用JDK的Ed25519实现按相同的头部与声明手工组装紧凑JWS，结果仅用于评估切换算法的收益
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenSigningBenchmark {
+
+    static final String ISSUER = "flowmaster-auth";
+    static final String AUDIENCE = "flowmaster-services";
+    static final long USER_ID = 10001L;
+    static final String USERNAME = "benchmark_user";
+    static final long EXPIRATION_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final String EDDSA = "EdDSA";
+
+    @Param({"HS256", "HS512", "ES256", EDDSA})
+    private String algorithm;
+
+    private TokenCodec codec;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        codec = EDDSA.equals(algorithm) ? new Ed25519Codec() : new JjwtCodec(signingKeyRegistry(algorithm));
+        token = codec.sign();
+        if (codec.verify(token) != USER_ID) {
+            throw new IllegalStateException("令牌验证结果不正确: algorithm=" + algorithm);
+        }
+        log.info("令牌长度: algorithm={}, tokenBytes={}, signatureBytes={}",
+                algorithm, token.length(), token.length() - token.lastIndexOf('.') - 1);
+    }
+
+    @Benchmark
+    public String sign() throws Exception {
+        return codec.sign();
+    }
+
+    @Benchmark
+    public long verify() throws Exception {
+        return codec.verify(token);
+    }
+
+    /**
+     * 按算法生成单密钥的注册表，非对称密钥在初始化时随机生成
+     */
+    static SigningKeyRegistry signingKeyRegistry(String algorithm) throws GeneralSecurityException {
+        JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+        definition.setKid(algorithm.toLowerCase());
+        definition.setAlgorithm(algorithm);
+        if (algorithm.startsWith("HS")) {
+            int bits = Integer.parseInt(algorithm.substring(2));
+            definition.setSecret(randomSecret(bits / 8));
+        } else if (algorithm.startsWith("ES")) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(curve(algorithm)));
+            KeyPair keyPair = generator.generateKeyPair();
+            definition.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            definition.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        } else {
+            throw new IllegalArgumentException("不支持的签名算法: " + algorithm);
+        }
+
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.getKeys().add(definition);
+        return new SigningKeyRegistry(properties);
+    }
+
+    private static String curve(String algorithm) {
+        return switch (algorithm) {
+            case "ES256" -> "secp256r1";
+            case "ES384" -> "secp384r1";
+            default -> "secp521r1";
+        };
+    }
+
+    private static String randomSecret(int length) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        SecureRandom random = new SecureRandom();
+        StringBuilder secret = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            secret.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return secret.toString();
+    }
+
+    /**
+     * 令牌签发与验证
+     */
+    interface TokenCodec {
+
+        String sign() throws Exception;
+
+        /**
+         * @return 令牌中的用户ID
+         */
+        long verify(String token) throws Exception;
+    }
+
+    /**
+     * jjwt实现，与JwtService签发和解析访问令牌的方式一致
+     */
+    static final class JjwtCodec implements TokenCodec {
+        private final SigningKeyRegistry.SigningKey signingKey;
+        private final JwtParser parser;
+
+        JjwtCodec(SigningKeyRegistry registry) {
+            this.signingKey = registry.getActiveKey();
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(registry)
+                    .requireIssuer(ISSUER)
+                    .requireAudience(AUDIENCE)
+                    .build();
+        }
+
+        @Override
+        public String sign() {
+            long now = System.currentTimeMillis();
+            return Jwts.builder()
+                    .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
+                    .setSubject(Long.toString(USER_ID))
+                    .setIssuer(ISSUER)
+                    .setAudience(AUDIENCE)
+                    .claim(CompactClaims.USERNAME, USERNAME)
+                    .claim(CompactClaims.TYPE, CompactClaims.TYPE_ACCESS)
+                    .claim(CompactClaims.EPOCH, 0L)
+                    .setIssuedAt(new Date(now))
+                    .setExpiration(new Date(now + EXPIRATION_MILLIS))
+                    .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
+                    .compact();
+        }
+
+        @Override
+        public long verify(String token) {
+            return Long.parseLong(parser.parseClaimsJws(token).getBody().getSubject());
+        }
+    }
+
+    /**
+     * JDK Ed25519实现，头部与声明和jjwt签发的令牌相同，验证时同样解析头部、校验签名并检查签发方、受众和过期时间
+     */
+    static final class Ed25519Codec implements TokenCodec {
+        private static final String KID = "ed25519";
+        private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+        };
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        private final Base64.Decoder decoder = Base64.getUrlDecoder();
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+
+        Ed25519Codec() throws GeneralSecurityException {
+            KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+        }
+
+        @Override
+        public String sign() throws Exception {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put(JwsHeader.KEY_ID, KID);
+            header.put(JwsHeader.ALGORITHM, EDDSA);
+
+            long nowSeconds = System.currentTimeMillis() / 1000;
+            Map<String, Object> claims = new LinkedHashMap<>();
+            claims.put("sub", Long.toString(USER_ID));
+            claims.put("iss", ISSUER);
+            claims.put("aud", AUDIENCE);
+            claims.put(CompactClaims.USERNAME, USERNAME);
+            claims.put(CompactClaims.TYPE, CompactClaims.TYPE_ACCESS);
+            claims.put(CompactClaims.EPOCH, 0L);
+            claims.put("iat", nowSeconds);
+            claims.put("exp", nowSeconds + EXPIRATION_MILLIS / 1000);
+
+            String signingInput = encoder.encodeToString(objectMapper.writeValueAsBytes(header))
+                    + '.' + encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+            Signature signature = Signature.getInstance("Ed25519");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + '.' + encoder.encodeToString(signature.sign());
+        }
+
+        @Override
+        public long verify(String token) throws Exception {
+            int headerEnd = token.indexOf('.');
+            int payloadEnd = token.lastIndexOf('.');
+            if (headerEnd <= 0 || payloadEnd <= headerEnd) {
+                throw new IllegalArgumentException("令牌格式错误");
+            }
+            Map<String, Object> header = objectMapper.readValue(decoder.decode(token.substring(0, headerEnd)), MAP_TYPE);
+            if (!EDDSA.equals(header.get(JwsHeader.ALGORITHM)) || !KID.equals(header.get(JwsHeader.KEY_ID))) {
+                throw new IllegalArgumentException("令牌签名算法与密钥不匹配");
+            }
+
+            Signature signature = Signature.getInstance("Ed25519");
+            signature.initVerify(publicKey);
+            signature.update(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(decoder.decode(token.substring(payloadEnd + 1)))) {
+                throw new IllegalArgumentException("令牌签名无效");
+            }
+
+            Map<String, Object> claims = objectMapper.readValue(
+                    decoder.decode(token.substring(headerEnd + 1, payloadEnd)), MAP_TYPE);
+            if (!ISSUER.equals(claims.get("iss")) || !AUDIENCE.equals(claims.get("aud"))) {
+                throw new IllegalArgumentException("令牌签发方或受众不匹配");
+            }
+            if (((Number) claims.get("exp")).longValue() * 1000 <= System.currentTimeMillis()) {
+                throw new IllegalArgumentException("令牌已过期");
+            }
+            return Long.parseLong((String) claims.get("sub"));
+        }
+    }
+}
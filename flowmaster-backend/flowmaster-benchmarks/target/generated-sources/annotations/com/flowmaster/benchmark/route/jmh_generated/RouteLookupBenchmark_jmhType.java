@@ -0,0 +1,4 @@
+package com.flowmaster.benchmark.route.jmh_generated;
+public class RouteLookupBenchmark_jmhType extends RouteLookupBenchmark_jmhType_B3 {
+}
+
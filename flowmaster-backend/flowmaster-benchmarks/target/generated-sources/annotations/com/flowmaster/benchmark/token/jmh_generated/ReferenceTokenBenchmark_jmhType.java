@@ -0,0 +1,4 @@
+package com.flowmaster.benchmark.token.jmh_generated;
+public class ReferenceTokenBenchmark_jmhType extends ReferenceTokenBenchmark_jmhType_B3 {
+}
+
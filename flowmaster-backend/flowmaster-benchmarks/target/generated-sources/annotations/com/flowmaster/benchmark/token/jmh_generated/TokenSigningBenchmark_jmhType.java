@@ -0,0 +1,4 @@
+package com.flowmaster.benchmark.token.jmh_generated;
+public class TokenSigningBenchmark_jmhType extends TokenSigningBenchmark_jmhType_B3 {
+}
+
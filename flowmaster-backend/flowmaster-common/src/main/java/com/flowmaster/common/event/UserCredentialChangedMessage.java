@@ -0,0 +1,32 @@
+package com.flowmaster.common.event;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 用户凭据变更通知
+ * 用户服务在用户创建、更新、状态变更、删除后发布，只携带用户ID和版本号，不携带密码哈希；
+ * 认证服务收到后通过内部接口重新拉取该用户的凭据
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserCredentialChangedMessage {
+
+    /**
+     * 凭据变更频道
+     */
+    public static final String CHANNEL = "user:credential:changed";
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 变更后的版本号，副本中版本更高时无需重新拉取
+     */
+    private Integer version;
+}
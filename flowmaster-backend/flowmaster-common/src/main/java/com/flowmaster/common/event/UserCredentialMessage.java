@@ -0,0 +1,42 @@
+package com.flowmaster.common.event;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 用户凭据
+ * 凭据快照接口和按ID查询接口的条目格式，认证服务据此维护本地凭据副本。
+ * 包含密码哈希，只通过校验内部调用令牌的接口返回，不通过消息频道广播
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserCredentialMessage {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 密码哈希
+     */
+    private String passwordHash;
+
+    /**
+     * 用户状态
+     */
+    private String status;
+
+    /**
+     * 版本号，副本只接受不低于当前版本的数据
+     */
+    private Integer version;
+}
@@ -54,6 +54,11 @@ public class PageResult<T> {
      */
     private Boolean hasPrevious;
     
+    /**
+     * 下一页游标（游标分页时使用，没有下一页时为null）
+     */
+    private String nextCursor;
+    
     /**
      * 创建分页结果
      * 
@@ -75,4 +80,27 @@ public class PageResult<T> {
         pageResult.setHasPrevious(current > 1);
         return pageResult;
     }
+    
+    /**
+     * 创建游标分页结果
+     * 
+     * @param records 数据列表
+     * @param total 总记录数，不统计时为null
+     * @param size 每页大小
+     * @param nextCursor 下一页游标，没有下一页时为null
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> ofCursor(List<T> records, Long total, Long size, String nextCursor) {
+        PageResult<T> pageResult = new PageResult<>();
+        pageResult.setRecords(records);
+        pageResult.setTotal(total);
+        pageResult.setSize(size);
+        if (total != null) {
+            pageResult.setPages((total + size - 1) / size);
+        }
+        pageResult.setHasNext(nextCursor != null);
+        pageResult.setNextCursor(nextCursor);
+        return pageResult;
+    }
 }
@@ -28,6 +28,7 @@ public enum ResultCode {
     METHOD_NOT_ALLOWED(405, "请求方法不允许"),
     CONFLICT(409, "资源冲突"),
     VALIDATION_ERROR(422, "参数验证失败"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试"),
     
     // 服务器错误
     INTERNAL_SERVER_ERROR(500, "服务器内部错误"),
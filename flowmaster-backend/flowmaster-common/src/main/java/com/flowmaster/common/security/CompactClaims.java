@@ -0,0 +1,91 @@
+package com.flowmaster.common.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 紧凑JWT声明
+ * 令牌使用单字母声明名，主题为数字用户ID；读取时兼容旧令牌的完整声明名
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public final class CompactClaims {
+
+    /**
+     * 用户名
+     */
+    public static final String USERNAME = "u";
+
+    /**
+     * 令牌类型
+     */
+    public static final String TYPE = "t";
+
+    /**
+     * 用户令牌纪元
+     */
+    public static final String EPOCH = "e";
+
+    /**
+     * 访问令牌类型
+     */
+    public static final String TYPE_ACCESS = "a";
+
+    /**
+     * 刷新令牌类型
+     */
+    public static final String TYPE_REFRESH = "r";
+
+    private static final String LEGACY_USERNAME = "username";
+    private static final String LEGACY_TYPE = "type";
+    private static final String LEGACY_EPOCH = "epoch";
+
+    private CompactClaims() {
+    }
+
+    /**
+     * 读取用户名
+     *
+     * @param claims 令牌声明
+     * @return 用户名
+     */
+    public static String username(Claims claims) {
+        String username = claims.get(USERNAME, String.class);
+        return username != null ? username : claims.get(LEGACY_USERNAME, String.class);
+    }
+
+    /**
+     * 读取令牌类型，旧令牌的access/refresh转换为紧凑形式
+     *
+     * @param claims 令牌声明
+     * @return 令牌类型，未携带返回null
+     */
+    public static String type(Claims claims) {
+        String type = claims.get(TYPE, String.class);
+        if (type != null) {
+            return type;
+        }
+        String legacyType = claims.get(LEGACY_TYPE, String.class);
+        if ("access".equals(legacyType)) {
+            return TYPE_ACCESS;
+        }
+        if ("refresh".equals(legacyType)) {
+            return TYPE_REFRESH;
+        }
+        return legacyType;
+    }
+
+    /**
+     * 读取用户令牌纪元，未携带时为0
+     *
+     * @param claims 令牌声明
+     * @return 令牌纪元
+     */
+    public static long epoch(Claims claims) {
+        Number epoch = claims.get(EPOCH, Number.class);
+        if (epoch == null) {
+            epoch = claims.get(LEGACY_EPOCH, Number.class);
+        }
+        return epoch != null ? epoch.longValue() : 0L;
+    }
+}
@@ -0,0 +1,67 @@
+package com.flowmaster.common.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT签名密钥配置
+ * 签发方使用activeKid对应的密钥签名并在头部写入kid，验证方按kid查找密钥；
+ * 轮换时先在所有验证方加入新密钥，再切换签发方的activeKid，旧密钥在其签发的令牌全部过期后移除
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    /**
+     * 当前用于签名的密钥ID，未配置时取第一个密钥
+     */
+    private String activeKid;
+
+    /**
+     * 验证不带kid头的旧令牌时使用的密钥ID，未配置时与activeKid相同
+     */
+    private String defaultKid;
+
+    /**
+     * 密钥列表
+     */
+    private List<KeyDefinition> keys = new ArrayList<>();
+
+    /**
+     * 单个密钥定义
+     */
+    @Data
+    public static class KeyDefinition {
+
+        /**
+         * 密钥ID（写入令牌头部，建议使用短字符串）
+         */
+        private String kid;
+
+        /**
+         * 签名算法：HS256/HS384/HS512、RS256/RS384/RS512、ES256/ES384/ES512
+         */
+        private String algorithm;
+
+        /**
+         * HMAC共享密钥（UTF-8）
+         */
+        private String secret;
+
+        /**
+         * 非对称算法私钥（Base64编码的PKCS#8），仅签发方需要
+         */
+        private String privateKey;
+
+        /**
+         * 非对称算法公钥（Base64编码的X.509）
+         */
+        private String publicKey;
+    }
+}
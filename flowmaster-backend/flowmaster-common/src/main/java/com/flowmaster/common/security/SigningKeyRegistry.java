@@ -0,0 +1,238 @@
+package com.flowmaster.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT签名密钥注册表
+ * 启动时按配置加载全部密钥并校验强度，验证时按令牌头部的kid直接查表取得验证密钥，
+ * 并要求头部算法与密钥登记的算法一致，防止算法混淆
+ * <p>
+ * 支持HMAC、RSA和ECDSA系列算法；当前使用的jjwt 0.11不支持EdDSA，配置EdDSA会在启动时报错
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class SigningKeyRegistry extends SigningKeyResolverAdapter {
+
+    /**
+     * 旧令牌验证密钥ID
+     */
+    public static final String LEGACY_KID = "legacy";
+
+    /**
+     * 旧令牌签名算法，引入kid之前签发方固定使用jwt.secret按HS512签名
+     */
+    private static final SignatureAlgorithm LEGACY_ALGORITHM = SignatureAlgorithm.HS512;
+
+    private final Map<String, SigningKey> keys;
+    private final SigningKey activeKey;
+    private final SigningKey defaultKey;
+
+    public SigningKeyRegistry(JwtSigningProperties properties) {
+        Map<String, SigningKey> loaded = new LinkedHashMap<>();
+        for (JwtSigningProperties.KeyDefinition definition : properties.getKeys()) {
+            SigningKey key = SigningKey.of(definition);
+            if (loaded.putIfAbsent(key.getKid(), key) != null) {
+                throw new IllegalArgumentException("签名密钥ID重复: " + key.getKid());
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalArgumentException("未配置JWT签名密钥");
+        }
+        this.keys = Map.copyOf(loaded);
+
+        String activeKid = properties.getActiveKid() != null
+                ? properties.getActiveKid() : loaded.keySet().iterator().next();
+        this.activeKey = requireKey(activeKid);
+        this.defaultKey = requireKey(properties.getDefaultKid() != null ? properties.getDefaultKid() : activeKid);
+
+        log.info("初始化JWT签名密钥: kids={}, activeKid={}, algorithm={}",
+                loaded.keySet(), activeKey.getKid(), activeKey.getAlgorithm().getValue());
+    }
+
+    /**
+     * 注册旧令牌验证密钥
+     * 引入kid之前签发的令牌头部没有kid、算法为HS512，未显式配置defaultKid时追加一个HS512密钥
+     * 作为不带kid令牌的验证密钥，避免升级后已登录的会话全部失效。
+     * 密钥不足512位时旧代码无法签发HS512令牌，不存在需要兼容的旧令牌，不做注册
+     *
+     * @param properties 签名密钥配置
+     * @param secret 旧版本使用的共享密钥（jwt.secret）
+     */
+    public static void registerLegacyKey(JwtSigningProperties properties, String secret) {
+        if (properties.getDefaultKid() != null || secret == null) {
+            return;
+        }
+        if (secret.getBytes(StandardCharsets.UTF_8).length * 8 < LEGACY_ALGORITHM.getMinKeyLength()) {
+            log.info("jwt.secret不足{}位，不注册旧令牌验证密钥", LEGACY_ALGORITHM.getMinKeyLength());
+            return;
+        }
+        JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+        definition.setKid(LEGACY_KID);
+        definition.setAlgorithm(LEGACY_ALGORITHM.getValue());
+        definition.setSecret(secret);
+        properties.getKeys().add(definition);
+        properties.setDefaultKid(LEGACY_KID);
+    }
+
+    /**
+     * 获取当前用于签名的密钥
+     *
+     * @return 签名密钥
+     */
+    public SigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * 根据kid获取密钥
+     *
+     * @param kid 密钥ID，null表示不带kid的旧令牌
+     * @return 密钥，不存在返回null
+     */
+    public SigningKey getKey(String kid) {
+        return kid != null ? keys.get(kid) : defaultKey;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader header) {
+        String kid = header.getKeyId();
+        SigningKey key = getKey(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("未知的签名密钥ID: " + kid);
+        }
+        if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("令牌签名算法与密钥不匹配: kid=" + key.getKid()
+                    + ", alg=" + header.getAlgorithm());
+        }
+        return key.getVerificationKey();
+    }
+
+    private SigningKey requireKey(String kid) {
+        SigningKey key = keys.get(kid);
+        if (key == null) {
+            throw new IllegalArgumentException("签名密钥不存在: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * 已加载的签名密钥
+     */
+    public static class SigningKey {
+        private final String kid;
+        private final SignatureAlgorithm algorithm;
+        private final Key signingKey;
+        private final Key verificationKey;
+
+        private SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.signingKey = signingKey;
+            this.verificationKey = verificationKey;
+        }
+
+        static SigningKey of(JwtSigningProperties.KeyDefinition definition) {
+            if (definition.getKid() == null || definition.getKid().isEmpty()) {
+                throw new IllegalArgumentException("签名密钥缺少kid");
+            }
+            SignatureAlgorithm algorithm = parseAlgorithm(definition.getKid(), definition.getAlgorithm());
+            try {
+                if (algorithm.isHmac()) {
+                    if (definition.getSecret() == null) {
+                        throw new IllegalArgumentException("HMAC密钥缺少secret");
+                    }
+                    Key secretKey = Keys.hmacShaKeyFor(definition.getSecret().getBytes(StandardCharsets.UTF_8));
+                    algorithm.assertValidSigningKey(secretKey);
+                    return new SigningKey(definition.getKid(), algorithm, secretKey, secretKey);
+                }
+
+                String keyAlgorithm = algorithm.isRsa() ? "RSA" : "EC";
+                KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+                if (definition.getPublicKey() == null) {
+                    throw new IllegalArgumentException("非对称密钥缺少publicKey");
+                }
+                PublicKey publicKey = keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(definition.getPublicKey())));
+                algorithm.assertValidVerificationKey(publicKey);
+
+                PrivateKey privateKey = null;
+                if (definition.getPrivateKey() != null) {
+                    privateKey = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(definition.getPrivateKey())));
+                    algorithm.assertValidSigningKey(privateKey);
+                }
+                return new SigningKey(definition.getKid(), algorithm, privateKey, publicKey);
+
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("签名密钥配置错误: kid=" + definition.getKid() + ", " + e.getMessage(), e);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("加载签名密钥失败: kid=" + definition.getKid() + ", " + e.getMessage(), e);
+            }
+        }
+
+        private static SignatureAlgorithm parseAlgorithm(String kid, String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("签名密钥缺少algorithm: kid=" + kid);
+            }
+            if ("EdDSA".equalsIgnoreCase(name) || "Ed25519".equalsIgnoreCase(name)) {
+                throw new IllegalArgumentException("当前JWT库（jjwt 0.11）不支持EdDSA签名算法: kid=" + kid);
+            }
+            SignatureAlgorithm algorithm = SignatureAlgorithm.forName(name.toUpperCase());
+            if (algorithm == SignatureAlgorithm.NONE) {
+                throw new IllegalArgumentException("不支持的签名算法: kid=" + kid + ", algorithm=" + name);
+            }
+            return algorithm;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 签名密钥，仅配置了私钥（或HMAC密钥）时可用
+         */
+        public Key getSigningKey() {
+            return signingKey;
+        }
+
+        public Key getVerificationKey() {
+            return verificationKey;
+        }
+
+        public boolean canSign() {
+            return signingKey != null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.flowmaster.gateway.application.service;
 
+import com.flowmaster.gateway.infrastructure.http.DownstreamConnectionPoolManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -7,6 +8,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,12 +24,15 @@ public class MonitoringStatisticsService {
 
     private final RouteManagementService routeManagementService;
     private final RateLimitStrategyService rateLimitStrategyService;
+    private final DownstreamConnectionPoolManager connectionPoolManager;
 
     @Autowired
     public MonitoringStatisticsService(RouteManagementService routeManagementService,
-                                     RateLimitStrategyService rateLimitStrategyService) {
+                                     RateLimitStrategyService rateLimitStrategyService,
+                                     DownstreamConnectionPoolManager connectionPoolManager) {
         this.routeManagementService = routeManagementService;
         this.rateLimitStrategyService = rateLimitStrategyService;
+        this.connectionPoolManager = connectionPoolManager;
     }
 
     /**
@@ -89,6 +94,15 @@ public class MonitoringStatisticsService {
         ));
     }
 
+    /**
+     * 获取下游服务连接池统计
+     */
+    public Mono<List<DownstreamConnectionPoolManager.PoolStatistics>> getConnectionPoolStatistics() {
+        log.debug("获取下游服务连接池统计");
+        
+        return Mono.fromSupplier(connectionPoolManager::getPoolStatistics);
+    }
+
     /**
      * 网关监控概览
      */
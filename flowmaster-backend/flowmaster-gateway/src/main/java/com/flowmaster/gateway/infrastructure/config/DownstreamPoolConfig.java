@@ -0,0 +1,36 @@
+package com.flowmaster.gateway.infrastructure.config;
+
+import com.flowmaster.gateway.infrastructure.filter.PooledNettyRoutingFilter;
+import com.flowmaster.gateway.infrastructure.http.DownstreamConnectionPoolManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * 下游服务连接池配置
+ * 默认的NettyRoutingFilter通过 spring.cloud.gateway.global-filter.netty-routing.enabled=false 关闭
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamPoolProperties.class)
+public class DownstreamPoolConfig {
+
+    /**
+     * 按服务选择连接池的路由过滤器
+     */
+    @Bean
+    public PooledNettyRoutingFilter pooledNettyRoutingFilter(HttpClient httpClient,
+                                                             ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                             HttpClientProperties properties,
+                                                             DownstreamConnectionPoolManager poolManager) {
+        return new PooledNettyRoutingFilter(httpClient, headersFilters, properties, poolManager);
+    }
+}
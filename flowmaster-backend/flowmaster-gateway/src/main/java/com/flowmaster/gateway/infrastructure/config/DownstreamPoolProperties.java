@@ -0,0 +1,127 @@
+package com.flowmaster.gateway.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 下游服务连接池配置
+ * 每个下游服务（lb://服务名 或 host）使用独立的连接池，未单独配置的服务使用默认配置
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "downstream-pool")
+public class DownstreamPoolProperties {
+
+    /**
+     * 是否启用按服务隔离的连接池
+     */
+    private boolean enabled = true;
+
+    /**
+     * 默认连接池配置
+     */
+    private PoolSettings defaults = PoolSettings.builtInDefaults();
+
+    /**
+     * 按服务名覆盖的连接池配置，key为服务名（如 flowmaster-user-service）
+     */
+    private Map<String, PoolSettings> services = new HashMap<>();
+
+    /**
+     * 获取指定服务的连接池配置，未配置的字段回退到默认值
+     */
+    public PoolSettings resolve(String serviceName) {
+        PoolSettings override = services.get(serviceName);
+        if (override == null) {
+            return defaults;
+        }
+        return override.mergeWith(defaults);
+    }
+
+    /**
+     * 单个连接池配置
+     */
+    @Data
+    public static class PoolSettings {
+
+        /**
+         * 最大连接数（h2c模式下为最大复用连接数）
+         */
+        private Integer maxConnections;
+
+        /**
+         * 等待获取连接的最大排队数，超出后立即失败
+         */
+        private Integer pendingAcquireMaxCount;
+
+        /**
+         * 等待获取连接的超时时间
+         */
+        private Duration pendingAcquireTimeout;
+
+        /**
+         * 空闲连接最大存活时间
+         */
+        private Duration maxIdleTime;
+
+        /**
+         * 连接最大生命周期
+         */
+        private Duration maxLifeTime;
+
+        /**
+         * 后台驱逐空闲连接的间隔
+         */
+        private Duration evictionInterval;
+
+        /**
+         * 是否使用h2c（HTTP/2明文）多路复用
+         */
+        private Boolean h2c;
+
+        public PoolSettings() {
+        }
+
+        private PoolSettings(boolean withDefaults) {
+            if (withDefaults) {
+                this.maxConnections = 200;
+                this.pendingAcquireMaxCount = 400;
+                this.pendingAcquireTimeout = Duration.ofSeconds(5);
+                this.maxIdleTime = Duration.ofSeconds(30);
+                this.maxLifeTime = Duration.ofMinutes(10);
+                this.evictionInterval = Duration.ofSeconds(15);
+                this.h2c = false;
+            }
+        }
+
+        /**
+         * 内置默认值
+         */
+        public static PoolSettings builtInDefaults() {
+            return new PoolSettings(true);
+        }
+
+        /**
+         * 用fallback填充未配置的字段
+         */
+        public PoolSettings mergeWith(PoolSettings fallback) {
+            PoolSettings merged = new PoolSettings();
+            merged.maxConnections = maxConnections != null ? maxConnections : fallback.maxConnections;
+            merged.pendingAcquireMaxCount = pendingAcquireMaxCount != null
+                ? pendingAcquireMaxCount : fallback.pendingAcquireMaxCount;
+            merged.pendingAcquireTimeout = pendingAcquireTimeout != null
+                ? pendingAcquireTimeout : fallback.pendingAcquireTimeout;
+            merged.maxIdleTime = maxIdleTime != null ? maxIdleTime : fallback.maxIdleTime;
+            merged.maxLifeTime = maxLifeTime != null ? maxLifeTime : fallback.maxLifeTime;
+            merged.evictionInterval = evictionInterval != null ? evictionInterval : fallback.evictionInterval;
+            merged.h2c = h2c != null ? h2c : fallback.h2c;
+            return merged;
+        }
+    }
+}
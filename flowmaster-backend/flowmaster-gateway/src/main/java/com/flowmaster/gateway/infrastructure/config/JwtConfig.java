@@ -0,0 +1,51 @@
+package com.flowmaster.gateway.infrastructure.config;
+
+import com.flowmaster.common.security.JwtSigningProperties;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * JWT验签配置
+ * 网关与认证服务使用相同的 jwt.signing 密钥配置，按令牌头部的kid选择验签密钥；
+ * 引用令牌无法本地验签，通过负载均衡的WebClient向认证服务内省
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(JwtSigningProperties.class)
+public class JwtConfig {
+
+    /**
+     * JWT签名密钥注册表
+     * 未配置jwt.signing.keys时使用jwt.secret作为唯一的HS256密钥；
+     * 不带kid的旧令牌（HS512）使用jwt.secret登记的旧令牌验证密钥验证
+     */
+    @Bean
+    public SigningKeyRegistry signingKeyRegistry(JwtSigningProperties properties,
+                                                 @Value("${jwt.secret:}") String secret) {
+        if (properties.getKeys().isEmpty()) {
+            JwtSigningProperties.KeyDefinition definition = new JwtSigningProperties.KeyDefinition();
+            definition.setKid("default");
+            definition.setAlgorithm("HS256");
+            definition.setSecret(secret);
+            properties.getKeys().add(definition);
+        }
+        SigningKeyRegistry.registerLegacyKey(properties, secret);
+        return new SigningKeyRegistry(properties);
+    }
+
+    /**
+     * 负载均衡的WebClient构建器，用于按服务名调用认证服务内省引用令牌
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
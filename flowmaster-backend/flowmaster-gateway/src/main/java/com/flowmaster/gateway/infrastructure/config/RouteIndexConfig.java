@@ -0,0 +1,39 @@
+package com.flowmaster.gateway.infrastructure.config;
+
+import com.flowmaster.gateway.infrastructure.route.RadixRoutePredicateHandlerMapping;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 路由索引配置
+ * 替换默认的RoutePredicateHandlerMapping，使用路径基数树查找路由
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+public class RouteIndexConfig {
+
+    @Value("${route-index.enabled:true}")
+    private boolean routeIndexEnabled;
+
+    /**
+     * 基于路径基数树的路由查找
+     */
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     RouteDefinitionLocator routeDefinitionLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment) {
+        return new RadixRoutePredicateHandlerMapping(webHandler, routeLocator, routeDefinitionLocator,
+            globalCorsProperties, environment, routeIndexEnabled);
+    }
+}
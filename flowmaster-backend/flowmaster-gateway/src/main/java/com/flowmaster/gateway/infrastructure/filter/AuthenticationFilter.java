@@ -1,7 +1,10 @@
 package com.flowmaster.gateway.infrastructure.filter;
 
 import com.flowmaster.common.response.ResultCode;
+import com.flowmaster.common.security.CompactClaims;
 import com.flowmaster.gateway.infrastructure.service.JwtService;
+import com.flowmaster.gateway.infrastructure.service.ReferenceTokenResolver;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -20,7 +23,7 @@ import java.util.List;
 
 /**
  * 认证过滤器
- * 验证JWT令牌的有效性
+ * 验证JWT令牌的有效性；引用令牌通过认证服务内省（带本地缓存）
  * 
  * @author FlowMaster Team
  * @since 1.0.0
@@ -31,6 +34,7 @@ import java.util.List;
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     private final JwtService jwtService;
+    private final ReferenceTokenResolver referenceTokenResolver;
 
     /**
      * 不需要认证的路径
@@ -71,30 +75,40 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             return handleUnauthorized(exchange);
         }
 
+        if (referenceTokenResolver.isReferenceToken(token)) {
+            // chain.filter完成时也是空信号，先解析出请求再分支，避免认证成功后又进入未授权分支
+            return referenceTokenResolver.resolve(token)
+                .map(introspection -> withUser(exchange, String.valueOf(introspection.getUserId()), introspection.getUsername()))
+                .flatMap(authenticated -> chain.filter(authenticated).thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("引用令牌验证失败: path={}", path);
+                    return handleUnauthorized(exchange).thenReturn(Boolean.FALSE);
+                }))
+                .then();
+        }
+
         try {
-            // 验证JWT令牌
-            if (!jwtService.validateToken(token)) {
+            // 验证JWT令牌（验签和解析只做一次）
+            Claims claims = jwtService.parseToken(token);
+            if (claims == null) {
                 log.warn("JWT令牌验证失败: path={}", path);
                 return handleUnauthorized(exchange);
             }
+            if (CompactClaims.TYPE_REFRESH.equals(CompactClaims.type(claims))) {
+                log.warn("刷新令牌不能用于访问接口: path={}", path);
+                return handleUnauthorized(exchange);
+            }
 
             // 提取用户信息
-            String userId = jwtService.extractUserId(token);
-            String username = jwtService.extractUsername(token);
+            String userId = jwtService.getUserId(claims);
+            String username = jwtService.getUsername(claims);
             
             if (!StringUtils.hasText(userId) || !StringUtils.hasText(username)) {
                 log.warn("JWT令牌中缺少用户信息: path={}", path);
                 return handleUnauthorized(exchange);
             }
 
-            // 添加用户信息到请求头
-            ServerHttpRequest mutatedRequest = request.mutate()
-                .header("X-User-Id", userId)
-                .header("X-Username", username)
-                .build();
-
-            log.debug("认证成功: userId={}, username={}, path={}", userId, username, path);
-            return chain.filter(exchange.mutate().request(mutatedRequest).build());
+            return chain.filter(withUser(exchange, userId, username));
 
         } catch (Exception e) {
             log.error("JWT令牌验证异常: path={}, error={}", path, e.getMessage(), e);
@@ -102,6 +116,19 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
+    /**
+     * 添加用户信息到请求头
+     */
+    private ServerWebExchange withUser(ServerWebExchange exchange, String userId, String username) {
+        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+            .header("X-User-Id", userId)
+            .header("X-Username", username)
+            .build();
+
+        log.debug("认证成功: userId={}, username={}, path={}", userId, username, exchange.getRequest().getURI().getPath());
+        return exchange.mutate().request(mutatedRequest).build();
+    }
+
     /**
      * 检查是否应该跳过认证
      */
@@ -0,0 +1,52 @@
+package com.flowmaster.gateway.infrastructure.filter;
+
+import com.flowmaster.gateway.infrastructure.http.DownstreamConnectionPoolManager;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+/**
+ * 按下游服务选择连接池的路由过滤器
+ * 替代默认的NettyRoutingFilter，每个下游服务使用独立的HttpClient
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class PooledNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final DownstreamConnectionPoolManager poolManager;
+
+    public PooledNettyRoutingFilter(HttpClient httpClient,
+                                    ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties properties,
+                                    DownstreamConnectionPoolManager poolManager) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.poolManager = poolManager;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!poolManager.isEnabled()) {
+            return super.getHttpClient(route, exchange);
+        }
+
+        HttpClient client = poolManager.getHttpClient(poolManager.resolveServiceName(route));
+
+        // 保留路由级别的connect-timeout元数据
+        Object connectTimeoutAttr = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeoutAttr != null) {
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                Integer.parseInt(connectTimeoutAttr.toString()));
+        }
+        return client;
+    }
+}
@@ -0,0 +1,316 @@
+package com.flowmaster.gateway.infrastructure.http;
+
+import com.flowmaster.gateway.infrastructure.config.DownstreamPoolProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 下游服务连接池管理器
+ * 为每个下游服务创建独立的ConnectionProvider和HttpClient，避免单个服务的流量耗尽共享连接池；
+ * HttpClient与GatewayAutoConfiguration的HttpClientFactory构建方式相同（SSL、代理、响应头大小、HttpClientCustomizer），只替换连接池
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class DownstreamConnectionPoolManager implements DisposableBean {
+
+    /**
+     * 路由元数据中指定连接池名称的key
+     */
+    public static final String POOL_METADATA_KEY = "pool";
+
+    private static final String POOL_NAME_PREFIX = "gateway-";
+
+    private static final String METRIC_PREFIX = "reactor.netty.connection.provider.";
+
+    private final DownstreamPoolProperties poolProperties;
+    private final HttpClientProperties httpClientProperties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final ObjectProvider<HttpClientCustomizer> customizers;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+    public DownstreamConnectionPoolManager(DownstreamPoolProperties poolProperties,
+                                           HttpClientProperties httpClientProperties,
+                                           ServerProperties serverProperties,
+                                           HttpClientSslConfigurer sslConfigurer,
+                                           ObjectProvider<HttpClientCustomizer> customizers,
+                                           MeterRegistry meterRegistry) {
+        this.poolProperties = poolProperties;
+        this.httpClientProperties = httpClientProperties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+        this.meterRegistry = meterRegistry;
+        log.info("初始化下游服务连接池管理器: enabled={}", poolProperties.isEnabled());
+    }
+
+    /**
+     * 是否启用按服务隔离的连接池
+     */
+    public boolean isEnabled() {
+        return poolProperties.isEnabled();
+    }
+
+    /**
+     * 解析路由对应的连接池名称
+     * 优先使用路由元数据中的pool，否则使用路由URI的host（lb://服务名 即为服务名）
+     */
+    public String resolveServiceName(Route route) {
+        Object pool = route.getMetadata().get(POOL_METADATA_KEY);
+        if (pool != null) {
+            return pool.toString();
+        }
+        String host = route.getUri().getHost();
+        return host != null ? host : route.getId();
+    }
+
+    /**
+     * 获取指定服务的HttpClient，首次访问时创建
+     */
+    public HttpClient getHttpClient(String serviceName) {
+        return clients.computeIfAbsent(serviceName, this::createClient).getHttpClient();
+    }
+
+    /**
+     * 获取所有连接池的统计信息
+     */
+    public List<PoolStatistics> getPoolStatistics() {
+        List<PoolStatistics> statistics = new ArrayList<>();
+        clients.forEach((serviceName, client) -> statistics.add(collectStatistics(serviceName, client)));
+        return statistics;
+    }
+
+    private PooledClient createClient(String serviceName) {
+        DownstreamPoolProperties.PoolSettings settings = poolProperties.resolve(serviceName);
+        String poolName = POOL_NAME_PREFIX + serviceName;
+
+        log.info("创建下游服务连接池: service={}, maxConnections={}, pendingAcquireMaxCount={}, h2c={}",
+            serviceName, settings.getMaxConnections(), settings.getPendingAcquireMaxCount(), settings.getH2c());
+
+        ConnectionProvider provider = ConnectionProvider.builder(poolName)
+            .maxConnections(settings.getMaxConnections())
+            .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+            .maxIdleTime(settings.getMaxIdleTime())
+            .maxLifeTime(settings.getMaxLifeTime())
+            .evictInBackground(settings.getEvictionInterval())
+            .metrics(true)
+            .build();
+
+        HttpClient httpClient = new PooledHttpClientFactory(httpClientProperties, serverProperties, sslConfigurer,
+            customizers.orderedStream().toList(), provider).build();
+        if (Boolean.TRUE.equals(settings.getH2c())) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C);
+        }
+
+        return new PooledClient(poolName, settings, provider, httpClient);
+    }
+
+    private PoolStatistics collectStatistics(String serviceName, PooledClient client) {
+        String poolName = client.getPoolName();
+        double active = sumGauge("active.connections", poolName);
+        double idle = sumGauge("idle.connections", poolName);
+        double pending = sumGauge("pending.connections", poolName);
+        int maxConnections = client.getSettings().getMaxConnections();
+
+        long acquireCount = 0;
+        double acquireTotalMillis = 0;
+        double acquireMaxMillis = 0;
+        for (Timer timer : meterRegistry.find(METRIC_PREFIX + "pending.connections.time")
+                .tag("name", poolName).timers()) {
+            acquireCount += timer.count();
+            acquireTotalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+            acquireMaxMillis = Math.max(acquireMaxMillis, timer.max(TimeUnit.MILLISECONDS));
+        }
+
+        return new PoolStatistics(
+            serviceName,
+            maxConnections,
+            client.getSettings().getPendingAcquireMaxCount(),
+            Boolean.TRUE.equals(client.getSettings().getH2c()),
+            (long) active,
+            (long) idle,
+            (long) pending,
+            maxConnections > 0 ? active / maxConnections : 0,
+            acquireCount,
+            acquireCount > 0 ? acquireTotalMillis / acquireCount : 0,
+            acquireMaxMillis
+        );
+    }
+
+    private double sumGauge(String metric, String poolName) {
+        return meterRegistry.find(METRIC_PREFIX + metric)
+            .tag("name", poolName)
+            .gauges()
+            .stream()
+            .mapToDouble(Gauge::value)
+            .sum();
+    }
+
+    @Override
+    public void destroy() {
+        log.info("释放下游服务连接池: count={}", clients.size());
+        clients.values().forEach(client -> client.getProvider().dispose());
+        clients.clear();
+    }
+
+    /**
+     * 使用指定连接池的HttpClientFactory
+     * 其余配置（压缩、日志、连接超时、响应头大小、代理、SSL、HttpClientCustomizer）沿用网关默认HttpClient的构建逻辑
+     */
+    private static class PooledHttpClientFactory extends HttpClientFactory {
+        private final ConnectionProvider provider;
+
+        PooledHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                                ConnectionProvider provider) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.provider = provider;
+        }
+
+        HttpClient build() {
+            return createInstance();
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+    }
+
+    /**
+     * 单个服务的连接池及HttpClient
+     */
+    private static class PooledClient {
+        private final String poolName;
+        private final DownstreamPoolProperties.PoolSettings settings;
+        private final ConnectionProvider provider;
+        private final HttpClient httpClient;
+
+        PooledClient(String poolName, DownstreamPoolProperties.PoolSettings settings,
+                     ConnectionProvider provider, HttpClient httpClient) {
+            this.poolName = poolName;
+            this.settings = settings;
+            this.provider = provider;
+            this.httpClient = httpClient;
+        }
+
+        String getPoolName() {
+            return poolName;
+        }
+
+        DownstreamPoolProperties.PoolSettings getSettings() {
+            return settings;
+        }
+
+        ConnectionProvider getProvider() {
+            return provider;
+        }
+
+        HttpClient getHttpClient() {
+            return httpClient;
+        }
+    }
+
+    /**
+     * 连接池统计信息
+     */
+    public static class PoolStatistics {
+        private final String serviceName;
+        private final int maxConnections;
+        private final int pendingAcquireMaxCount;
+        private final boolean h2c;
+        private final long activeConnections;
+        private final long idleConnections;
+        private final long pendingAcquires;
+        private final double saturation;
+        private final long acquireCount;
+        private final double averageAcquireMillis;
+        private final double maxAcquireMillis;
+
+        public PoolStatistics(String serviceName, int maxConnections, int pendingAcquireMaxCount, boolean h2c,
+                              long activeConnections, long idleConnections, long pendingAcquires, double saturation,
+                              long acquireCount, double averageAcquireMillis, double maxAcquireMillis) {
+            this.serviceName = serviceName;
+            this.maxConnections = maxConnections;
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+            this.h2c = h2c;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.pendingAcquires = pendingAcquires;
+            this.saturation = saturation;
+            this.acquireCount = acquireCount;
+            this.averageAcquireMillis = averageAcquireMillis;
+            this.maxAcquireMillis = maxAcquireMillis;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public boolean isH2c() {
+            return h2c;
+        }
+
+        public long getActiveConnections() {
+            return activeConnections;
+        }
+
+        public long getIdleConnections() {
+            return idleConnections;
+        }
+
+        public long getPendingAcquires() {
+            return pendingAcquires;
+        }
+
+        public double getSaturation() {
+            return saturation;
+        }
+
+        public long getAcquireCount() {
+            return acquireCount;
+        }
+
+        public double getAverageAcquireMillis() {
+            return averageAcquireMillis;
+        }
+
+        public double getMaxAcquireMillis() {
+            return maxAcquireMillis;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.flowmaster.gateway.infrastructure.route;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按路径段组织的基数树
+ * 将路由的Path谓词编译为树结构，请求路径的查找代价只与路径段数相关，与路由数量无关
+ * <p>
+ * 支持的模式：字面量段、单段通配（* 与 {var}）、结尾的多段通配（** 与 {*var}），
+ * 其他模式（包括以/结尾的模式）由调用方回退到原始谓词逐个匹配
+ * <p>
+ * 匹配语义与PathPattern一致：* 可匹配空段（/api/* 匹配 /api/），{var} 只匹配非空段；
+ * 请求路径以/结尾时，去掉结尾的/再匹配一次，对应PathRoutePredicateFactory默认的matchTrailingSlash=true
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public class PathRadixTree {
+
+    private final Node root = new Node();
+
+    /**
+     * 插入路径模式
+     *
+     * @param pattern    路径模式
+     * @param routeIndex 路由在有序路由列表中的下标
+     * @return 模式是否被树支持；不支持时不会插入
+     */
+    public boolean insert(String pattern, int routeIndex) {
+        String[] segments = parsePattern(pattern);
+        if (segments == null) {
+            return false;
+        }
+
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (isCatchAll(segment)) {
+                node.catchAll.add(new Match(routeIndex, pattern));
+                return true;
+            }
+            if ("*".equals(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else if (isSingleWildcard(segment)) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.terminal.add(new Match(routeIndex, pattern));
+        return true;
+    }
+
+    /**
+     * 查找与请求路径匹配的所有模式
+     *
+     * @param path 已规范化的请求路径
+     * @param out  匹配结果，key为路由下标，value为匹配的模式
+     */
+    public void collect(String path, Map<Integer, String> out) {
+        String[] segments = splitPath(path);
+        collect(root, segments, 0, out);
+        if (segments.length > 1 && segments[segments.length - 1].isEmpty()) {
+            collect(root, segments, 0, segments.length - 1, out);
+        }
+    }
+
+    /**
+     * 判断请求路径能否通过树匹配（编码字符、矩阵参数、空段交给原始谓词处理）
+     */
+    public static boolean isIndexable(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        return path.indexOf('%') < 0 && path.indexOf(';') < 0 && !path.contains("//");
+    }
+
+    /**
+     * 判断模式是否包含需要提取的URI模板变量
+     */
+    public static boolean hasTemplateVariables(String pattern) {
+        return pattern.indexOf('{') >= 0;
+    }
+
+    private void collect(Node node, String[] segments, int depth, Map<Integer, String> out) {
+        collect(node, segments, depth, segments.length, out);
+    }
+
+    private void collect(Node node, String[] segments, int depth, int length, Map<Integer, String> out) {
+        for (Match match : node.catchAll) {
+            out.putIfAbsent(match.routeIndex, match.pattern);
+        }
+        if (depth == length) {
+            for (Match match : node.terminal) {
+                out.putIfAbsent(match.routeIndex, match.pattern);
+            }
+            return;
+        }
+
+        String segment = segments[depth];
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            collect(literal, segments, depth + 1, length, out);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, depth + 1, length, out);
+        }
+        if (node.variable != null && !segment.isEmpty()) {
+            collect(node.variable, segments, depth + 1, length, out);
+        }
+    }
+
+    /**
+     * 按/切分路径，保留结尾的空段（/api/ 切分为 api 和空段，/ 切分为一个空段）
+     */
+    private static String[] splitPath(String path) {
+        return path.substring(1).split("/", -1);
+    }
+
+    private static String[] parsePattern(String pattern) {
+        if (pattern == null || !pattern.startsWith("/") || pattern.endsWith("/") || pattern.contains("//")) {
+            return null;
+        }
+        String[] segments = splitPath(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (isCatchAll(segment)) {
+                if (i != segments.length - 1) {
+                    return null;
+                }
+            } else if (!isSingleWildcard(segment) && !isLiteral(segment)) {
+                return null;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isCatchAll(String segment) {
+        return "**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"));
+    }
+
+    private static boolean isSingleWildcard(String segment) {
+        if ("*".equals(segment)) {
+            return true;
+        }
+        return segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")
+            && segment.indexOf(':') < 0 && segment.indexOf('*') < 0;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}') {
+                return false;
+            }
+        }
+        return !segment.isEmpty();
+    }
+
+    /**
+     * 树节点
+     */
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private Node variable;
+        private final List<Match> terminal = new ArrayList<>(1);
+        private final List<Match> catchAll = new ArrayList<>(1);
+    }
+
+    /**
+     * 模式匹配项
+     */
+    private static class Match {
+        private final int routeIndex;
+        private final String pattern;
+
+        Match(int routeIndex, String pattern) {
+            this.routeIndex = routeIndex;
+            this.pattern = pattern;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.flowmaster.gateway.infrastructure.route;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * 基于路径基数树的路由查找
+ * 路由刷新时将所有Path谓词编译为{@link PathRadixTree}，请求时只对树命中的候选路由执行谓词，
+ * 仅包含Path谓词的路由在命中后直接返回，不再执行谓词
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class RadixRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping
+        implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private static final String PATH_PREDICATE = "Path";
+
+    private final RouteLocator routeLocator;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final boolean indexEnabled;
+
+    private volatile RouteIndex routeIndex;
+
+    public RadixRoutePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                             RouteLocator routeLocator,
+                                             RouteDefinitionLocator routeDefinitionLocator,
+                                             GlobalCorsProperties globalCorsProperties,
+                                             Environment environment,
+                                             boolean indexEnabled) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.indexEnabled = indexEnabled;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (!indexEnabled || !event.isSuccess()) {
+            return;
+        }
+        Mono.zip(routeLocator.getRoutes().collectList(),
+                routeDefinitionLocator.getRouteDefinitions().collectList())
+            .subscribe(
+                tuple -> this.routeIndex = buildIndex(tuple.getT1(), tuple.getT2()),
+                e -> {
+                    log.error("构建路由索引失败，回退到逐个谓词匹配", e);
+                    this.routeIndex = null;
+                });
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        RouteIndex index = this.routeIndex;
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (index == null || !PathRadixTree.isIndexable(path)) {
+            return super.lookupRoute(exchange);
+        }
+
+        return Flux.fromIterable(index.candidates(path))
+            .concatMap(candidate -> matches(candidate, exchange)
+                .filter(Boolean::booleanValue)
+                .map(matched -> candidate.entry.route))
+            .next()
+            .map(route -> {
+                if (log.isDebugEnabled()) {
+                    log.debug("路由索引命中: path={}, routeId={}", path, route.getId());
+                }
+                validateRoute(route, exchange);
+                return route;
+            });
+    }
+
+    private Mono<Boolean> matches(Candidate candidate, ServerWebExchange exchange) {
+        Route route = candidate.entry.route;
+        exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, route.getId());
+
+        if (candidate.entry.pathOnly) {
+            // 与PathRoutePredicateFactory匹配成功时写入的属性保持一致
+            exchange.getAttributes().put(GATEWAY_PREDICATE_MATCHED_PATH_ATTR, candidate.pattern);
+            exchange.getAttributes().put(GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR, route.getId());
+            return Mono.just(true);
+        }
+
+        return Mono.from(route.getPredicate().apply(exchange))
+            .onErrorResume(e -> {
+                log.error("路由谓词执行失败: routeId={}", route.getId(), e);
+                return Mono.just(false);
+            });
+    }
+
+    private RouteIndex buildIndex(List<Route> routes, List<RouteDefinition> definitions) {
+        Map<String, RouteDefinition> definitionsById = new HashMap<>();
+        for (RouteDefinition definition : definitions) {
+            definitionsById.put(definition.getId(), definition);
+        }
+
+        PathRadixTree tree = new PathRadixTree();
+        List<RouteEntry> entries = new ArrayList<>(routes.size());
+        List<Integer> unindexed = new ArrayList<>();
+
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            RouteEntry entry = indexRoute(route, definitionsById.get(route.getId()), i, tree);
+            entries.add(entry);
+            if (!entry.indexed) {
+                unindexed.add(i);
+            }
+        }
+
+        log.info("路由索引已重建: routes={}, indexed={}, fallback={}",
+            routes.size(), routes.size() - unindexed.size(), unindexed.size());
+        return new RouteIndex(tree, entries, unindexed);
+    }
+
+    private RouteEntry indexRoute(Route route, RouteDefinition definition, int index, PathRadixTree tree) {
+        if (definition == null) {
+            return new RouteEntry(route, false, false);
+        }
+
+        List<PredicateDefinition> pathPredicates = new ArrayList<>();
+        for (PredicateDefinition predicate : definition.getPredicates()) {
+            if (PATH_PREDICATE.equalsIgnoreCase(predicate.getName())) {
+                pathPredicates.add(predicate);
+            }
+        }
+        // 只索引恰好有一个Path谓词的路由，多个Path谓词的交集交给原始谓词处理
+        if (pathPredicates.size() != 1) {
+            return new RouteEntry(route, false, false);
+        }
+
+        PredicateDefinition pathPredicate = pathPredicates.get(0);
+        List<String> patterns = new ArrayList<>();
+        boolean matchTrailingSlash = true;
+        for (Map.Entry<String, String> arg : pathPredicate.getArgs().entrySet()) {
+            String key = arg.getKey();
+            if ("matchTrailingSlash".equals(key) || "matchOptionalTrailingSeparator".equals(key)) {
+                matchTrailingSlash = Boolean.parseBoolean(arg.getValue());
+            } else if (key.startsWith("_genkey_") || key.startsWith("patterns")) {
+                patterns.add(arg.getValue().trim());
+            }
+        }
+        if (patterns.isEmpty() || !patterns.stream().allMatch(this::isSupported)) {
+            return new RouteEntry(route, false, false);
+        }
+
+        boolean pathOnly = definition.getPredicates().size() == 1
+            && matchTrailingSlash
+            && patterns.stream().noneMatch(PathRadixTree::hasTemplateVariables);
+        for (String pattern : patterns) {
+            tree.insert(pattern, index);
+        }
+        return new RouteEntry(route, true, pathOnly);
+    }
+
+    private boolean isSupported(String pattern) {
+        // 预检：用临时树验证模式，避免半插入的路由
+        return new PathRadixTree().insert(pattern, 0);
+    }
+
+    /**
+     * 路由刷新时生成的不可变索引快照
+     */
+    private static class RouteIndex {
+        private final PathRadixTree tree;
+        private final List<RouteEntry> entries;
+        private final List<Integer> unindexed;
+
+        RouteIndex(PathRadixTree tree, List<RouteEntry> entries, List<Integer> unindexed) {
+            this.tree = tree;
+            this.entries = entries;
+            this.unindexed = Collections.unmodifiableList(unindexed);
+        }
+
+        /**
+         * 按路由原始顺序返回候选路由：树命中的路由加上无法索引的路由
+         */
+        List<Candidate> candidates(String path) {
+            Map<Integer, String> matched = new TreeMap<>();
+            tree.collect(path, matched);
+            for (Integer index : unindexed) {
+                matched.putIfAbsent(index, null);
+            }
+
+            List<Candidate> candidates = new ArrayList<>(matched.size());
+            matched.forEach((index, pattern) -> candidates.add(new Candidate(entries.get(index), pattern)));
+            return candidates;
+        }
+    }
+
+    /**
+     * 路由及其索引属性
+     */
+    private static class RouteEntry {
+        private final Route route;
+        private final boolean indexed;
+        private final boolean pathOnly;
+
+        RouteEntry(Route route, boolean indexed, boolean pathOnly) {
+            this.route = route;
+            this.indexed = indexed;
+            this.pathOnly = pathOnly;
+        }
+    }
+
+    /**
+     * 候选路由及命中的模式
+     */
+    private static class Candidate {
+        private final RouteEntry entry;
+        private final String pattern;
+
+        Candidate(RouteEntry entry, String pattern) {
+            this.entry = entry;
+            this.pattern = pattern;
+        }
+    }
+}
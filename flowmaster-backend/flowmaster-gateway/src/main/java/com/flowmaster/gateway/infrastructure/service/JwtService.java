@@ -1,21 +1,24 @@
 package com.flowmaster.gateway.infrastructure.service;
 
+import com.flowmaster.common.security.CompactClaims;
+import com.flowmaster.common.security.SigningKeyRegistry;
+import com.flowmaster.common.security.SigningKeyRegistry.SigningKey;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.function.Function;
 
 /**
  * JWT服务
- * 处理JWT令牌的生成、验证和解析
- * 
+ * 处理JWT令牌的生成、验证和解析；验签密钥按令牌头部的kid从签名密钥注册表中查找，
+ * 与认证服务共用同一套密钥配置
+ *
  * @author FlowMaster Team
  * @since 1.0.0
  */
@@ -23,8 +26,10 @@ import java.util.function.Function;
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String CLAIM_USER_ID = "userId";
+
+    private final SigningKeyRegistry signingKeyRegistry;
+    private final JwtParser parser;
 
     @Value("${jwt.expiration}")
     private Long expiration;
@@ -32,27 +37,32 @@ public class JwtService {
     @Value("${jwt.issuer}")
     private String issuer;
 
-    /**
-     * 获取签名密钥
-     */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtService(SigningKeyRegistry signingKeyRegistry) {
+        this.signingKeyRegistry = signingKeyRegistry;
+        this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(signingKeyRegistry)
+            .build();
     }
 
     /**
      * 验证JWT令牌
      */
     public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    /**
+     * 验签并解析令牌声明
+     *
+     * @param token 令牌
+     * @return 令牌声明，验证失败返回null
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             log.warn("JWT令牌验证失败: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
@@ -60,14 +70,29 @@ public class JwtService {
      * 提取用户名
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractClaim(token, this::getUsername);
     }
 
     /**
      * 提取用户ID
      */
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return extractClaim(token, this::getUserId);
+    }
+
+    /**
+     * 从声明中读取用户名
+     * 认证服务签发的令牌主题为用户ID、用户名在声明中；网关自签令牌主题为用户名
+     */
+    public String getUsername(Claims claims) {
+        return claims.containsKey(CLAIM_USER_ID) ? claims.getSubject() : CompactClaims.username(claims);
+    }
+
+    /**
+     * 从声明中读取用户ID
+     */
+    public String getUserId(Claims claims) {
+        return claims.containsKey(CLAIM_USER_ID) ? claims.get(CLAIM_USER_ID, String.class) : claims.getSubject();
     }
 
     /**
@@ -96,11 +121,7 @@ public class JwtService {
      * 提取所有声明
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -114,16 +135,22 @@ public class JwtService {
      * 创建JWT令牌
      */
     private String createToken(String username, String userId) {
+        SigningKey signingKey = signingKeyRegistry.getActiveKey();
+        if (!signingKey.canSign()) {
+            throw new IllegalStateException("当前签名密钥缺少私钥: kid=" + signingKey.getKid());
+        }
+
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
             .setSubject(username)
-            .claim("userId", userId)
+            .claim(CLAIM_USER_ID, userId)
             .setIssuer(issuer)
             .setIssuedAt(now)
             .setExpiration(expiryDate)
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
             .compact();
     }
 
@@ -133,10 +160,7 @@ public class JwtService {
     public String refreshToken(String token) {
         try {
             Claims claims = extractAllClaims(token);
-            String username = claims.getSubject();
-            String userId = claims.get("userId", String.class);
-            
-            return generateToken(username, userId);
+            return generateToken(getUsername(claims), getUserId(claims));
         } catch (Exception e) {
             log.error("刷新JWT令牌失败: {}", e.getMessage(), e);
             throw new RuntimeException("刷新令牌失败", e);
@@ -0,0 +1,166 @@
+package com.flowmaster.gateway.infrastructure.service;
+
+import com.flowmaster.common.response.Result;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 引用令牌解析服务
+ * 引用令牌是认证服务签发的不透明随机令牌，网关无法本地验签，需调用认证服务内省；
+ * 内省结果在本地缓存，缓存时间不超过令牌剩余有效期和配置的上限（上限即撤销在网关生效的最大延迟），
+ * 无效令牌短时间负缓存，并发的相同令牌只会触发一次内省调用
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ReferenceTokenResolver {
+
+    private static final String PREFIX = "fmr_";
+    private static final ParameterizedTypeReference<Result<Introspection>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final AsyncCache<String, Introspection> cache;
+    private final String introspectUri;
+    private final String internalApiToken;
+    private final Duration timeout;
+
+    public ReferenceTokenResolver(@LoadBalanced WebClient.Builder webClientBuilder,
+                                  @Value("${security.reference-token.introspect-uri:lb://flowmaster-auth-service/auth-service/api/v1/auth/introspect}") String introspectUri,
+                                  @Value("${internal.api-token}") String internalApiToken,
+                                  @Value("${security.reference-token.timeout:2000}") long timeoutMillis,
+                                  @Value("${security.reference-token.cache-max-size:100000}") long maxSize,
+                                  @Value("${security.reference-token.cache-max-ttl:30000}") long maxTtlMillis,
+                                  @Value("${security.reference-token.negative-ttl:5000}") long negativeTtlMillis) {
+        if (!StringUtils.hasText(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token 未配置，请设置环境变量 INTERNAL_API_TOKEN");
+        }
+        this.webClient = webClientBuilder.build();
+        this.introspectUri = introspectUri;
+        this.internalApiToken = internalApiToken;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new IntrospectionExpiry(TimeUnit.MILLISECONDS.toNanos(maxTtlMillis),
+                        TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis)))
+                .buildAsync();
+        log.info("初始化引用令牌解析服务: introspectUri={}, maxSize={}, maxTtl={}ms, negativeTtl={}ms",
+                introspectUri, maxSize, maxTtlMillis, negativeTtlMillis);
+    }
+
+    /**
+     * 是否为引用令牌
+     *
+     * @param token 令牌
+     * @return 是否为引用令牌
+     */
+    public boolean isReferenceToken(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    /**
+     * 解析引用令牌
+     *
+     * @param token 引用令牌
+     * @return 令牌信息，令牌无效或认证服务不可用时为空
+     */
+    public Mono<Introspection> resolve(String token) {
+        return Mono.fromFuture(() -> cache.get(token, (key, executor) -> introspect(key).toFuture()))
+                .filter(Introspection::isActive)
+                .onErrorResume(e -> {
+                    // 调用失败的结果不会进入缓存，下次请求重新内省
+                    log.warn("内省引用令牌失败: error={}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Introspection> introspect(String token) {
+        return webClient.post()
+                .uri(introspectUri)
+                .header("X-Internal-Token", internalApiToken)
+                .bodyValue(Map.of("token", token))
+                .retrieve()
+                .bodyToMono(RESPONSE_TYPE)
+                .timeout(timeout)
+                .map(result -> result.isSuccess() && result.getData() != null
+                        ? result.getData()
+                        : Introspection.INACTIVE);
+    }
+
+    /**
+     * 按内省结果确定缓存时长：有效令牌不超过剩余有效期和上限，无效令牌使用负缓存时长
+     */
+    private static class IntrospectionExpiry implements Expiry<String, Introspection> {
+        private final long maxTtlNanos;
+        private final long negativeTtlNanos;
+
+        IntrospectionExpiry(long maxTtlNanos, long negativeTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Introspection value, long currentTime) {
+            if (!value.isActive()) {
+                return negativeTtlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(value.getExpiresAt() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Introspection value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Introspection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 内省结果
+     */
+    @Data
+    public static class Introspection {
+
+        static final Introspection INACTIVE = new Introspection();
+
+        /**
+         * 用户ID
+         */
+        private Long userId;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 过期时间（毫秒时间戳）
+         */
+        private Long expiresAt;
+
+        public boolean isActive() {
+            return userId != null && expiresAt != null && expiresAt > System.currentTimeMillis();
+        }
+    }
+}
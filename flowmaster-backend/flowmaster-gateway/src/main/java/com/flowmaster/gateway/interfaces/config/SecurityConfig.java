@@ -37,6 +37,13 @@ public class SecurityConfig {
             
             // 配置授权规则
             .authorizeExchange(exchanges -> exchanges
+                // 服务间内部接口不对外暴露，放在最前面，优先于下面的放行规则
+                .pathMatchers(
+                    "/user/api/v1/users/internal/**",
+                    "/auth/api/v1/auth/validate/batch",
+                    "/auth/api/v1/auth/introspect"
+                ).denyAll()
+
                 // Swagger相关路径允许匿名访问
                 .pathMatchers(
                     "/swagger-ui/**",
@@ -5,6 +5,7 @@ import com.flowmaster.gateway.application.dto.GatewayStatusDTO;
 import com.flowmaster.gateway.application.service.MonitoringStatisticsService;
 import com.flowmaster.gateway.application.service.RateLimitStrategyService;
 import com.flowmaster.gateway.application.service.RouteManagementService;
+import com.flowmaster.gateway.infrastructure.http.DownstreamConnectionPoolManager;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -120,6 +122,18 @@ public class GatewayController {
             .map(Result::success);
     }
 
+    /**
+     * 获取下游服务连接池统计
+     */
+    @GetMapping("/pools/statistics")
+    @Operation(summary = "连接池统计", description = "获取各下游服务连接池的使用率和获取连接耗时")
+    public Mono<Result<List<DownstreamConnectionPoolManager.PoolStatistics>>> getConnectionPoolStatistics() {
+        log.debug("获取连接池统计请求");
+        
+        return monitoringStatisticsService.getConnectionPoolStatistics()
+            .map(Result::success);
+    }
+
     /**
      * 重置限流计数器
      */
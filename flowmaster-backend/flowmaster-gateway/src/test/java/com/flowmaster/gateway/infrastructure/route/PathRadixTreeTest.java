@@ -0,0 +1,167 @@
+package com.flowmaster.gateway.infrastructure.route;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 路径基数树测试
+ * 树的匹配结果与PathRoutePredicateFactory使用的PathPattern（matchTrailingSlash=true）一致
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class PathRadixTreeTest {
+
+    private static final String PATH_PREDICATE_PREFIX = "Path=";
+
+    /**
+     * 配置路由之外的通配模式：单段通配、模板变量、多段通配
+     */
+    private static final List<String> EXTRA_PATTERNS = List.of(
+        "/api/*",
+        "/api/*/detail",
+        "/api/{id}",
+        "/api/{id}/items/{itemId}",
+        "/api/**",
+        "/api/v1/users",
+        "/files/{*rest}",
+        "/*",
+        "/{tenant}/home");
+
+    private static final List<String> REQUEST_PATHS = List.of(
+        "/",
+        "/api",
+        "/api/",
+        "/api/42",
+        "/api/42/",
+        "/api/42/detail",
+        "/api/42/detail/",
+        "/api/42/items/7",
+        "/api/42/items/7/",
+        "/api/42/items/",
+        "/api/v1/users",
+        "/api/v1/users/",
+        "/api/v1/users/1",
+        "/apix",
+        "/files",
+        "/files/",
+        "/files/a/b/c",
+        "/home",
+        "/acme/home",
+        "/acme/home/",
+        "/user",
+        "/user/",
+        "/user/api/v1/users/1",
+        "/auth/login",
+        "/auth/login/",
+        "/swagger-ui/user/index.html",
+        "/v3/api-docs/user",
+        "/v3/api-docs/user/",
+        "/v3/api-docs/users",
+        "/v3/api-docs");
+
+    @Test
+    void treeMatchesPathPatternForConfiguredRoutes() throws IOException {
+        List<String> patterns = new ArrayList<>(configuredPathPatterns());
+        assertFalse(patterns.isEmpty());
+        patterns.addAll(EXTRA_PATTERNS);
+
+        PathRadixTree tree = new PathRadixTree();
+        List<PathPattern> expected = new ArrayList<>();
+        PathPatternParser parser = parser();
+        for (int i = 0; i < patterns.size(); i++) {
+            assertTrue(tree.insert(patterns.get(i), i), patterns.get(i));
+            expected.add(parser.parse(patterns.get(i)));
+        }
+
+        for (String path : REQUEST_PATHS) {
+            assertTrue(PathRadixTree.isIndexable(path), path);
+            Set<Integer> matched = new TreeSet<>();
+            PathContainer container = PathContainer.parsePath(path);
+            for (int i = 0; i < expected.size(); i++) {
+                if (expected.get(i).matches(container)) {
+                    matched.add(i);
+                }
+            }
+
+            Map<Integer, String> collected = new HashMap<>();
+            tree.collect(path, collected);
+            assertEquals(describe(patterns, matched), describe(patterns, collected.keySet()), path);
+        }
+    }
+
+    @Test
+    void trailingSlashReachesSingleWildcard() {
+        PathRadixTree tree = new PathRadixTree();
+        tree.insert("/api/*", 0);
+
+        Map<Integer, String> collected = new HashMap<>();
+        tree.collect("/api/", collected);
+        assertEquals("/api/*", collected.get(0));
+    }
+
+    @Test
+    void patternsWithTrailingSlashAreNotIndexed() {
+        PathRadixTree tree = new PathRadixTree();
+        assertFalse(tree.insert("/api/", 0));
+        assertFalse(tree.insert("/", 0));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static PathPatternParser parser() {
+        PathPatternParser parser = new PathPatternParser();
+        parser.setMatchOptionalTrailingSeparator(true);
+        return parser;
+    }
+
+    /**
+     * 读取application.yml中网关路由的Path谓词
+     */
+    private static List<String> configuredPathPatterns() throws IOException {
+        List<String> patterns = new ArrayList<>();
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"))) {
+            if (!(source instanceof EnumerablePropertySource<?> enumerable)) {
+                continue;
+            }
+            for (String name : enumerable.getPropertyNames()) {
+                if (!name.startsWith("spring.cloud.gateway.routes[") || !name.contains(".predicates[")) {
+                    continue;
+                }
+                String value = String.valueOf(enumerable.getProperty(name));
+                if (value.startsWith(PATH_PREDICATE_PREFIX)) {
+                    for (String pattern : value.substring(PATH_PREDICATE_PREFIX.length()).split(",")) {
+                        patterns.add(pattern.trim());
+                    }
+                }
+            }
+        }
+        return patterns;
+    }
+
+    private static Set<String> describe(List<String> patterns, Set<Integer> indexes) {
+        Set<String> described = new TreeSet<>();
+        for (Integer index : indexes) {
+            described.add(index + ":" + patterns.get(index));
+        }
+        return described;
+    }
+}
@@ -1,5 +1,6 @@
 package com.flowmaster.monitoring.application.service;
 
+import com.flowmaster.monitoring.infrastructure.metrics.AuthPipelineMetricsClient;
 import com.flowmaster.monitoring.infrastructure.metrics.MetricsCollector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ import java.util.Map;
 public class MonitoringApplicationService {
 
     private final MetricsCollector metricsCollector;
+    private final AuthPipelineMetricsClient authPipelineMetricsClient;
 
     /**
      * 获取系统监控概览
@@ -96,6 +98,14 @@ public class MonitoringApplicationService {
         );
     }
 
+    /**
+     * 获取认证流程各阶段耗时
+     */
+    public Map<String, Object> getAuthPipelineLatency() {
+        log.debug("获取认证流程各阶段耗时");
+        return authPipelineMetricsClient.fetch();
+    }
+
     /**
      * 获取健康检查状态
      */
@@ -0,0 +1,32 @@
+package com.flowmaster.monitoring.infrastructure.config;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * 服务调用客户端配置
+ * 按服务名（经注册中心负载均衡）拉取各服务的监控数据
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Configuration
+public class RestClientConfig {
+
+    /**
+     * 负载均衡的RestTemplate
+     */
+    @Bean
+    @LoadBalanced
+    public RestTemplate loadBalancedRestTemplate(RestTemplateBuilder builder) {
+        return builder
+                .setConnectTimeout(Duration.ofSeconds(2))
+                .setReadTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+}
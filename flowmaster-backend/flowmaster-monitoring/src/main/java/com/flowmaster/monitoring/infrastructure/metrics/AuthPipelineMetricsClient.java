@@ -0,0 +1,51 @@
+package com.flowmaster.monitoring.infrastructure.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 认证流程耗时客户端
+ * 从认证服务的 /actuator/authpipeline 端点拉取登录、刷新、登出各阶段的耗时分位数
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class AuthPipelineMetricsClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final String endpointUrl;
+
+    public AuthPipelineMetricsClient(RestTemplate restTemplate,
+                                     @Value("${monitoring.auth-pipeline.url:http://flowmaster-auth-service/auth-service/actuator/authpipeline}") String endpointUrl) {
+        this.restTemplate = restTemplate;
+        this.endpointUrl = endpointUrl;
+    }
+
+    /**
+     * 获取认证流程各阶段耗时
+     *
+     * @return 流程 → 阶段 → 结果 → 统计值（毫秒），认证服务不可用时为空
+     */
+    public Map<String, Object> fetch() {
+        try {
+            Map<String, Object> body = restTemplate.exchange(endpointUrl, HttpMethod.GET, null, RESPONSE_TYPE).getBody();
+            return body != null ? body : Collections.emptyMap();
+        } catch (Exception e) {
+            log.warn("获取认证流程耗时失败: url={}, error={}", endpointUrl, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -74,6 +74,17 @@ public class MonitoringController {
         return Result.success(metrics);
     }
 
+    /**
+     * 获取认证流程各阶段耗时
+     */
+    @GetMapping("/auth-pipeline")
+    @Operation(summary = "获取认证流程各阶段耗时", description = "获取登录、刷新、登出各阶段按结果分组的耗时分位数（毫秒）")
+    public Result<Map<String, Object>> getAuthPipelineLatency() {
+        log.debug("获取认证流程各阶段耗时请求");
+        
+        return Result.success(monitoringApplicationService.getAuthPipelineLatency());
+    }
+
     /**
      * 获取健康检查状态
      */
@@ -0,0 +1,71 @@
+package com.flowmaster.user.application.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户批量导入结果
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserImportReport {
+
+    /**
+     * 读取的数据行数
+     */
+    private long total;
+
+    /**
+     * 导入成功的用户数
+     */
+    private long imported;
+
+    /**
+     * 导入失败的行数
+     */
+    private long failed;
+
+    /**
+     * 失败行明细（最多保留配置的条数）
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 失败行明细是否因超过上限而被截断
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 失败行明细
+     */
+    @Data
+    @Accessors(chain = true)
+    public static class RowError {
+
+        /**
+         * 行号（记录起始的物理行，从1开始，CSV的列名行为第1行）
+         */
+        private long line;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 失败原因
+         */
+        private String message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flowmaster.user.application.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 用户联想结果DTO
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserSuggestionDTO {
+
+    /**
+     * 用户ID
+     */
+    private String userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 昵称
+     */
+    private String nickname;
+
+    /**
+     * 真实姓名
+     */
+    private String realName;
+}
@@ -77,16 +77,27 @@ public class UserQuery {
 
     /**
      * 页码（从0开始）
+     * 查询使用游标分页，只支持第一页（0），后续页通过cursor获取
      */
     private Integer page = 0;
 
+    /**
+     * 分页游标（上一页结果中的nextCursor），为空表示第一页
+     */
+    private String cursor;
+
+    /**
+     * 总数统计方式：none（不统计，默认）、exact（精确）、estimated（估算）
+     */
+    private String countMode;
+
     /**
      * 每页大小
      */
     private Integer size = 20;
 
     /**
-     * 排序字段
+     * 排序字段：createdAt、updatedAt、username、id
      */
     private String sortBy = "createdAt";
 
@@ -1,5 +1,6 @@
 package com.flowmaster.user.application.service;
 
+import com.flowmaster.common.event.UserCredentialMessage;
 import com.flowmaster.common.response.PageResult;
 import com.flowmaster.common.response.Result;
 import com.flowmaster.user.application.command.ChangePasswordCommand;
@@ -7,6 +8,7 @@ import com.flowmaster.user.application.command.CreateUserCommand;
 import com.flowmaster.user.application.command.UpdateUserCommand;
 import com.flowmaster.user.application.dto.UserDTO;
 import com.flowmaster.user.application.dto.UserProfileDTO;
+import com.flowmaster.user.application.dto.UserSuggestionDTO;
 import com.flowmaster.user.application.query.UserQuery;
 import com.flowmaster.user.domain.model.aggregate.User;
 import com.flowmaster.user.domain.model.entity.UserProfile;
@@ -16,18 +18,21 @@ import com.flowmaster.user.domain.model.valueobject.Phone;
 import com.flowmaster.user.domain.model.valueobject.UserId;
 import com.flowmaster.user.domain.model.valueobject.Username;
 import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import com.flowmaster.user.domain.repository.UniqueKeyConflicts;
+import com.flowmaster.user.domain.repository.UserSearchCriteria;
+import com.flowmaster.user.domain.repository.UserSearchPage;
 import com.flowmaster.user.domain.service.UserDomainService;
 import com.flowmaster.user.infrastructure.repository.UserRepositoryImpl;
+import com.flowmaster.user.infrastructure.search.UserNgramIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -44,8 +49,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserApplicationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTION_LIMIT = 50;
+
     private final UserDomainService userDomainService;
     private final UserRepositoryImpl userRepository;
+    private final UserNgramIndex userNgramIndex;
 
     /**
      * 创建用户
@@ -63,18 +73,15 @@ public class UserApplicationService {
             Phone phone = command.getPhone() != null ? Phone.of(command.getPhone()) : null;
             Password password = Password.of(command.getPassword());
 
-            // 检查用户名是否已存在
-            if (userRepository.existsByUsername(username)) {
+            // 一次检查用户名、邮箱、手机号是否已存在
+            UniqueKeyConflicts conflicts = userRepository.findUniqueKeyConflicts(username, email, phone, null);
+            if (conflicts.isUsername()) {
                 return Result.fail("用户名已存在");
             }
-
-            // 检查邮箱是否已存在
-            if (email != null && userRepository.existsByEmail(email)) {
+            if (conflicts.isEmail()) {
                 return Result.fail("邮箱已存在");
             }
-
-            // 检查手机号是否已存在
-            if (phone != null && userRepository.existsByPhone(phone)) {
+            if (conflicts.isPhone()) {
                 return Result.fail("手机号已存在");
             }
 
@@ -403,6 +410,7 @@ public class UserApplicationService {
 
     /**
      * 分页查询用户
+     * 按 (排序字段, 用户ID) 游标分页，翻页深度不影响查询代价；总数按需统计
      *
      * @param query 查询条件
      * @return 用户分页列表
@@ -412,21 +420,135 @@ public class UserApplicationService {
         try {
             log.debug("分页查询用户: query={}", query);
 
-            // 构建分页参数
-            Sort sort = Sort.by(Sort.Direction.fromString(query.getSortDirection()), query.getSortBy());
-            Pageable pageable = PageRequest.of(query.getPage(), query.getSize(), sort);
+            if (query.getCursor() == null && query.getPage() != null && query.getPage() > 0) {
+                return Result.fail("分页查询不支持页码跳转，请使用上一页返回的nextCursor");
+            }
+
+            UserSearchCriteria criteria = toSearchCriteria(query);
+            UserSearchPage page = userRepository.search(criteria);
 
-            // TODO: 实现复杂查询逻辑，这里先返回空结果
-            PageResult<UserDTO> pageResult = PageResult.of(List.of(), 0L, (long) query.getPage(), (long) query.getSize());
+            List<UserDTO> users = page.getUsers().stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            PageResult<UserDTO> pageResult = PageResult.ofCursor(users, page.getTotal(),
+                    (long) criteria.getLimit(), page.getNextCursor());
 
             return Result.success(pageResult);
 
+        } catch (IllegalArgumentException e) {
+            log.warn("分页查询用户参数错误: query={}, error={}", query, e.getMessage());
+            return Result.fail(e.getMessage());
         } catch (Exception e) {
             log.error("分页查询用户失败: query={}, error={}", query, e.getMessage(), e);
             return Result.fail("查询用户失败: " + e.getMessage());
         }
     }
 
+    /**
+     * 用户联想搜索
+     * 在内存索引中匹配用户名、昵称、真实姓名，不访问数据库
+     *
+     * @param keyword 关键字
+     * @param limit   最多返回数量
+     * @return 匹配的用户，关键字少于两个字符时为空
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Result<List<UserSuggestionDTO>> suggestUsers(String keyword, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTION_LIMIT) {
+            return Result.fail("返回数量必须在1-" + MAX_SUGGESTION_LIMIT + "之间");
+        }
+        if (!UserNgramIndex.isSearchable(keyword)) {
+            return Result.success(List.of());
+        }
+        if (!userNgramIndex.isReady()) {
+            return Result.fail("用户搜索索引正在构建，请稍后重试");
+        }
+
+        List<UserSuggestionDTO> suggestions = userNgramIndex
+                .search(keyword, EnumSet.allOf(UserNgramIndex.Field.class), limit).stream()
+                .map(document -> new UserSuggestionDTO()
+                        .setUserId(String.valueOf(document.userId()))
+                        .setUsername(document.username())
+                        .setNickname(document.nickname())
+                        .setRealName(document.realName()))
+                .collect(Collectors.toList());
+        log.debug("用户联想搜索: keyword={}, count={}", keyword, suggestions.size());
+        return Result.success(suggestions);
+    }
+
+    /**
+     * 分批获取用户凭据快照
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param limit   批大小
+     * @return 用户凭据列表
+     */
+    @Transactional(readOnly = true)
+    public Result<List<UserCredentialMessage>> getCredentialSnapshot(Long afterId, int limit) {
+        try {
+            log.debug("获取用户凭据快照: afterId={}, limit={}", afterId, limit);
+
+            List<UserCredentialMessage> credentials = userRepository.findCredentialsAfter(afterId, limit);
+            return Result.success(credentials);
+
+        } catch (Exception e) {
+            log.error("获取用户凭据快照失败: afterId={}, error={}", afterId, e.getMessage(), e);
+            return Result.fail("获取用户凭据快照失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 按用户ID批量获取用户凭据
+     *
+     * @param userIds 用户ID列表
+     * @return 用户凭据列表，已删除或不存在的用户不返回
+     */
+    @Transactional(readOnly = true)
+    public Result<List<UserCredentialMessage>> getCredentials(List<Long> userIds) {
+        try {
+            log.debug("按ID获取用户凭据: count={}", userIds.size());
+
+            List<UserCredentialMessage> credentials = userRepository.findCredentialsByIds(userIds);
+            return Result.success(credentials);
+
+        } catch (Exception e) {
+            log.error("按ID获取用户凭据失败: count={}, error={}", userIds.size(), e.getMessage(), e);
+            return Result.fail("按ID获取用户凭据失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 将查询对象转换为检索条件
+     *
+     * @param query 查询对象
+     * @return 检索条件
+     */
+    private UserSearchCriteria toSearchCriteria(UserQuery query) {
+        int size = query.getSize() != null ? query.getSize() : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("每页大小必须在1-" + MAX_PAGE_SIZE + "之间");
+        }
+
+        return new UserSearchCriteria()
+                .setUserId(query.getUserId() != null ? UserId.of(query.getUserId()).getValue() : null)
+                .setUsername(query.getUsername())
+                .setEmail(query.getEmail())
+                .setPhone(query.getPhone())
+                .setStatus(UserStatus.fromCode(query.getStatus()))
+                .setNickname(query.getNickname())
+                .setRealName(query.getRealName())
+                .setGender(query.getGender() != null ? UserProfile.Gender.fromCode(query.getGender()) : null)
+                .setCreatedAtStart(query.getCreatedAtStart())
+                .setCreatedAtEnd(query.getCreatedAtEnd())
+                .setUpdatedAtStart(query.getUpdatedAtStart())
+                .setUpdatedAtEnd(query.getUpdatedAtEnd())
+                .setSortBy(UserSearchCriteria.SortField.fromProperty(query.getSortBy()))
+                .setDescending(Sort.Direction.fromString(query.getSortDirection()).isDescending())
+                .setLimit(size)
+                .setCursor(query.getCursor() != null && !query.getCursor().isBlank() ? query.getCursor() : null)
+                .setCountMode(UserSearchCriteria.CountMode.fromName(query.getCountMode()));
+    }
+
     /**
      * 将领域对象转换为DTO
      *
@@ -0,0 +1,63 @@
+package com.flowmaster.user.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.user.infrastructure.exporter.UserExportWriter;
+import com.flowmaster.user.infrastructure.persistence.repository.UserExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 用户导出服务
+ * 从数据库游标逐行读取用户，同时写入输出流：读一行写一行，不在内存中累积结果，
+ * 内存占用与用户数量无关。整个导出是一条查询，InnoDB一致性读保证导出的是同一时刻的快照
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserExportRepository userExportRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出全部未删除用户
+     * 写入失败（通常是客户端断开）时中止查询并抛出异常，输出流此时可能只写入了部分数据
+     *
+     * @param output 输出流，导出完成后关闭
+     * @param format 数据格式
+     * @param gzip 是否gzip压缩
+     * @throws IOException 写入失败
+     */
+    public void exportUsers(OutputStream output, UserExportWriter.Format format, boolean gzip) throws IOException {
+        long start = System.currentTimeMillis();
+        OutputStream target = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : output;
+
+        long count;
+        try (UserExportWriter writer = UserExportWriter.open(target, format, objectMapper)) {
+            count = userExportRepository.forEachUser(record -> {
+                try {
+                    writer.write(record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("用户导出中断: format={}, error={}", format, e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        log.info("用户导出完成: format={}, gzip={}, count={}, elapsed={}ms",
+                format, gzip, count, System.currentTimeMillis() - start);
+    }
+}
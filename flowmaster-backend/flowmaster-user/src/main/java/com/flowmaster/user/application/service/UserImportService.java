@@ -0,0 +1,379 @@
+package com.flowmaster.user.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.common.event.UserCredentialChangedMessage;
+import com.flowmaster.common.response.Result;
+import com.flowmaster.user.application.dto.UserImportReport;
+import com.flowmaster.user.domain.model.valueobject.Email;
+import com.flowmaster.user.domain.model.valueobject.Password;
+import com.flowmaster.user.domain.model.valueobject.Phone;
+import com.flowmaster.user.domain.model.valueobject.UserId;
+import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import com.flowmaster.user.domain.model.valueobject.Username;
+import com.flowmaster.user.infrastructure.cache.UniqueKeyFilter;
+import com.flowmaster.user.infrastructure.importer.UserImportReader;
+import com.flowmaster.user.infrastructure.importer.UserImportRecord;
+import com.flowmaster.user.infrastructure.messaging.UserCredentialPublisher;
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
+import com.flowmaster.user.infrastructure.persistence.repository.UserBatchWriter;
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository;
+import com.flowmaster.user.infrastructure.search.UserNgramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * 用户批量导入服务
+ * 流式读取导入数据，按块处理：校验每行、在块内和数据库中检查唯一性、在有界线程池中并行计算密码哈希，
+ * 再用JDBC批量语句在一个事务中插入整块用户和资料。任意时刻只持有一块数据，内存占用与导入规模无关
+ * <p>
+ * 每块提交后下一块的唯一性查询即可看到已导入的数据，因此跨块的重复也会被发现；
+ * 批量插入因并发创建等原因失败时，该块回滚并逐行重试以定位失败行
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final int MAX_PROFILE_FIELD_LENGTH = 50;
+
+    private final UserJpaRepository userJpaRepository;
+    private final UserBatchWriter userBatchWriter;
+    private final UserCredentialPublisher userCredentialPublisher;
+    private final UniqueKeyFilter uniqueKeyFilter;
+    private final UserNgramIndex userNgramIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashPool;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(UserJpaRepository userJpaRepository,
+                             UserBatchWriter userBatchWriter,
+                             UserCredentialPublisher userCredentialPublisher,
+                             UniqueKeyFilter uniqueKeyFilter,
+                             UserNgramIndex userNgramIndex,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${user.import.chunk-size:500}") int chunkSize,
+                             @Value("${user.import.hash-parallelism:0}") int hashParallelism,
+                             @Value("${user.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userJpaRepository = userJpaRepository;
+        this.userBatchWriter = userBatchWriter;
+        this.userCredentialPublisher = userCredentialPublisher;
+        this.uniqueKeyFilter = uniqueKeyFilter;
+        this.userNgramIndex = userNgramIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        this.hashPool = new ForkJoinPool(parallelism);
+        log.info("初始化用户批量导入: chunkSize={}, hashParallelism={}", chunkSize, parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    /**
+     * 批量导入用户
+     *
+     * @param input 导入数据（UTF-8）
+     * @param format 数据格式：csv 或 jsonl
+     * @param operatorId 操作人ID，记录为导入用户的创建人
+     * @return 导入结果
+     */
+    public Result<UserImportReport> importUsers(InputStream input, String format, Long operatorId) {
+        long start = System.currentTimeMillis();
+        UserImportReport report = new UserImportReport();
+
+        try (UserImportReader reader = UserImportReader.open(input, UserImportReader.Format.fromName(format), objectMapper)) {
+            List<UserImportRecord> chunk = new ArrayList<>(chunkSize);
+            UserImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, report, operatorId);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, report, operatorId);
+            }
+        } catch (IllegalArgumentException e) {
+            return Result.fail(e.getMessage());
+        } catch (IOException e) {
+            log.error("读取导入数据失败: imported={}, error={}", report.getImported(), e.getMessage());
+            return Result.fail("读取导入数据失败（已导入" + report.getImported() + "个用户）: " + e.getMessage());
+        }
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("用户批量导入完成: total={}, imported={}, failed={}, elapsed={}ms",
+                report.getTotal(), report.getImported(), report.getFailed(), report.getElapsedMillis());
+        return Result.success(report);
+    }
+
+    private void processChunk(List<UserImportRecord> records, UserImportReport report, Long operatorId) {
+        report.setTotal(report.getTotal() + records.size());
+
+        List<ImportRow> rows = validate(records, report);
+        rows = excludeExisting(rows, report);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // 密码哈希是导入的主要开销，在有界线程池中并行计算
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            tasks.add(hashPool.submit(row::hashPassword));
+        }
+        tasks.forEach(ForkJoinTask::join);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ImportRow row : rows) {
+            row.prepare(UserId.generate().getValue(), now, operatorId);
+        }
+
+        List<ImportRow> inserted;
+        try {
+            List<ImportRow> batch = rows;
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            inserted = rows;
+        } catch (DataAccessException e) {
+            log.warn("批量插入用户失败，逐行重试: lines={}-{}, error={}",
+                    rows.get(0).line, rows.get(rows.size() - 1).line, e.getMostSpecificCause().getMessage());
+            inserted = insertOneByOne(rows, report);
+        }
+
+        report.setImported(report.getImported() + inserted.size());
+        uniqueKeyFilter.putAll(inserted.stream()
+                .map(row -> new UniqueKeyFilter.Keys(row.username, row.email, row.phone))
+                .collect(Collectors.toList()));
+        userNgramIndex.putAll(inserted.stream()
+                .map(row -> new UserNgramIndex.Document(row.user.getId(), row.username, row.nickname, row.realName))
+                .collect(Collectors.toList()));
+        userCredentialPublisher.publishAll(inserted.stream().map(ImportRow::toCredentialChange).collect(Collectors.toList()));
+        log.debug("导入用户块完成: records={}, inserted={}", records.size(), inserted.size());
+    }
+
+    /**
+     * 校验每行数据，并检查块内用户名、邮箱、手机号是否重复
+     */
+    private List<ImportRow> validate(List<UserImportRecord> records, UserImportReport report) {
+        List<ImportRow> rows = new ArrayList<>(records.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        for (UserImportRecord record : records) {
+            if (record.getError() != null) {
+                fail(report, record.getLine(), record.getUsername(), record.getError());
+                continue;
+            }
+
+            ImportRow row;
+            try {
+                row = ImportRow.from(record);
+            } catch (IllegalArgumentException e) {
+                fail(report, record.getLine(), record.getUsername(), e.getMessage());
+                continue;
+            }
+
+            if (usernames.contains(row.usernameKey)) {
+                fail(report, row.line, row.username, "用户名在导入数据中重复");
+            } else if (row.email != null && emails.contains(row.email)) {
+                fail(report, row.line, row.username, "邮箱在导入数据中重复");
+            } else if (row.phone != null && phones.contains(row.phone)) {
+                fail(report, row.line, row.username, "手机号在导入数据中重复");
+            } else {
+                usernames.add(row.usernameKey);
+                if (row.email != null) {
+                    emails.add(row.email);
+                }
+                if (row.phone != null) {
+                    phones.add(row.phone);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 每种键一条IN查询，排除数据库中已存在的用户名、邮箱、手机号（包括已逻辑删除的用户）
+     */
+    private List<ImportRow> excludeExisting(List<ImportRow> rows, UserImportReport report) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> existingUsernames = lowerCase(userJpaRepository.findExistingUsernames(
+                rows.stream().map(row -> row.username).collect(Collectors.toList())));
+        List<String> emails = rows.stream().map(row -> row.email).filter(email -> email != null).collect(Collectors.toList());
+        Set<String> existingEmails = emails.isEmpty() ? Set.of() : lowerCase(userJpaRepository.findExistingEmails(emails));
+        List<String> phones = rows.stream().map(row -> row.phone).filter(phone -> phone != null).collect(Collectors.toList());
+        Set<String> existingPhones = phones.isEmpty() ? Set.of() : new HashSet<>(userJpaRepository.findExistingPhones(phones));
+
+        List<ImportRow> remaining = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existingUsernames.contains(row.usernameKey)) {
+                fail(report, row.line, row.username, "用户名已存在");
+            } else if (row.email != null && existingEmails.contains(row.email)) {
+                fail(report, row.line, row.username, "邮箱已存在");
+            } else if (row.phone != null && existingPhones.contains(row.phone)) {
+                fail(report, row.line, row.username, "手机号已存在");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private void insert(List<ImportRow> rows) {
+        List<UserEntity> users = new ArrayList<>(rows.size());
+        List<UserProfileEntity> profiles = new ArrayList<>();
+        for (ImportRow row : rows) {
+            users.add(row.user);
+            if (row.profile != null) {
+                profiles.add(row.profile);
+            }
+        }
+        userBatchWriter.insertUsers(users);
+        userBatchWriter.insertProfiles(profiles);
+    }
+
+    /**
+     * 逐行插入，每行一个事务，记录失败行
+     */
+    private List<ImportRow> insertOneByOne(List<ImportRow> rows, UserImportReport report) {
+        List<ImportRow> inserted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                inserted.add(row);
+            } catch (DuplicateKeyException e) {
+                fail(report, row.line, row.username, "用户名、邮箱或手机号已存在");
+            } catch (DataAccessException e) {
+                fail(report, row.line, row.username, "写入失败: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    private void fail(UserImportReport report, long line, String username, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new UserImportReport.RowError()
+                    .setLine(line)
+                    .setUsername(username)
+                    .setMessage(message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static Set<String> lowerCase(Collection<String> values) {
+        Set<String> result = new HashSet<>(values.size() * 2);
+        for (String value : values) {
+            result.add(value.toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    /**
+     * 校验通过的导入行
+     */
+    private static class ImportRow {
+        private final long line;
+        private final String username;
+        /**
+         * 用户名唯一性比较键（MySQL默认排序规则下用户名唯一索引不区分大小写）
+         */
+        private final String usernameKey;
+        private final String email;
+        private final String phone;
+        private final String nickname;
+        private final String realName;
+        private String password;
+        private String passwordHash;
+        private UserEntity user;
+        private UserProfileEntity profile;
+
+        private ImportRow(long line, String username, String email, String phone,
+                          String password, String nickname, String realName) {
+            this.line = line;
+            this.username = username;
+            this.usernameKey = username.toLowerCase(Locale.ROOT);
+            this.email = email;
+            this.phone = phone;
+            this.password = password;
+            this.nickname = nickname;
+            this.realName = realName;
+        }
+
+        static ImportRow from(UserImportRecord record) {
+            Username username = Username.of(record.getUsername());
+            String email = record.getEmail() != null ? Email.of(record.getEmail()).getValue() : null;
+            String phone = record.getPhone() != null ? Phone.of(record.getPhone()).getValue() : null;
+            if (!Password.isValid(record.getPassword())) {
+                throw new IllegalArgumentException("密码长度必须在8-20个字符之间，且包含大小写字母、数字和特殊字符");
+            }
+            if (record.getNickname() != null && record.getNickname().length() > MAX_PROFILE_FIELD_LENGTH) {
+                throw new IllegalArgumentException("昵称长度不能超过50个字符");
+            }
+            if (record.getRealName() != null && record.getRealName().length() > MAX_PROFILE_FIELD_LENGTH) {
+                throw new IllegalArgumentException("真实姓名长度不能超过50个字符");
+            }
+            return new ImportRow(record.getLine(), username.getValue(), email, phone,
+                    record.getPassword(), record.getNickname(), record.getRealName());
+        }
+
+        void hashPassword() {
+            passwordHash = Password.ofPlainText(password).getHashedPassword();
+            password = null;
+        }
+
+        void prepare(long userId, LocalDateTime now, Long operatorId) {
+            user = new UserEntity(userId, username, email, phone, passwordHash, UserStatus.ACTIVE);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            user.setCreatedBy(operatorId);
+            user.setUpdatedBy(operatorId);
+            if (nickname != null || realName != null) {
+                profile = new UserProfileEntity(userId, nickname, realName, null, null, null, null, null);
+                profile.setCreatedAt(now);
+                profile.setUpdatedAt(now);
+                profile.setCreatedBy(operatorId);
+                profile.setUpdatedBy(operatorId);
+            }
+        }
+
+        UserCredentialChangedMessage toCredentialChange() {
+            return new UserCredentialChangedMessage()
+                    .setUserId(user.getId())
+                    .setVersion(0);
+        }
+    }
+}
@@ -159,6 +159,9 @@ public class User extends BaseDomainEntity {
         // 调用父类的更新方法
         this.update(updatedBy);
         
+        // 添加领域事件（凭据变更需要同步到认证服务）
+        addDomainEvent(new UserUpdatedEvent(this.userId, this.username, this.email));
+        
         log.info("修改用户密码: userId={}", this.userId.getValue());
     }
 
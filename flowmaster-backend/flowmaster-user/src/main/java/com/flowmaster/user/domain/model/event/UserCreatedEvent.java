@@ -30,7 +30,7 @@ public class UserCreatedEvent {
         this.occurredAt = LocalDateTime.now();
         
         log.info("用户创建事件: userId={}, username={}, email={}", 
-                userId.getValue(), username.getValue(), email.getValue());
+                userId.getValue(), username.getValue(), email != null ? email.getValue() : null);
     }
 
     @Override
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
@@ -18,6 +19,11 @@ public class UserId {
 
     private static final Pattern USER_ID_PATTERN = Pattern.compile("^[0-9]{1,19}$");
 
+    /**
+     * 最近生成的ID，保证同一毫秒内生成的ID不重复
+     */
+    private static final AtomicLong LAST_GENERATED = new AtomicLong();
+
     private final Long value;
 
     private UserId(Long value) {
@@ -61,7 +67,8 @@ public class UserId {
      */
     public static UserId generate() {
         // 这里可以使用雪花算法或其他ID生成策略
-        long id = System.currentTimeMillis();
+        // 以当前毫秒时间为基准单调递增，批量创建时同一毫秒内的ID依次加一
+        long id = LAST_GENERATED.accumulateAndGet(System.currentTimeMillis(), (last, now) -> Math.max(last + 1, now));
         return new UserId(id);
     }
 
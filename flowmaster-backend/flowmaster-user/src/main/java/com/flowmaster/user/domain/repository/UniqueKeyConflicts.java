@@ -0,0 +1,53 @@
+package com.flowmaster.user.domain.repository;
+
+import lombok.Getter;
+
+/**
+ * 唯一键冲突检查结果
+ * 标记用户名、邮箱、手机号中哪些已被其他用户占用
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Getter
+public class UniqueKeyConflicts {
+
+    private static final UniqueKeyConflicts NONE = new UniqueKeyConflicts(false, false, false);
+
+    private final boolean username;
+    private final boolean email;
+    private final boolean phone;
+
+    public UniqueKeyConflicts(boolean username, boolean email, boolean phone) {
+        this.username = username;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    /**
+     * 无冲突
+     *
+     * @return 检查结果
+     */
+    public static UniqueKeyConflicts none() {
+        return NONE;
+    }
+
+    /**
+     * 是否存在任一冲突
+     *
+     * @return 是否冲突
+     */
+    public boolean hasConflict() {
+        return username || email || phone;
+    }
+
+    @Override
+    public String toString() {
+        return "UniqueKeyConflicts{" +
+                "username=" + username +
+                ", email=" + email +
+                ", phone=" + phone +
+                '}';
+    }
+}
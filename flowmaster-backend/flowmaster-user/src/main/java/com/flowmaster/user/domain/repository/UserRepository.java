@@ -102,6 +102,17 @@ public interface UserRepository {
      */
     boolean existsByPhoneAndUserIdNot(Phone phone, Long userId);
 
+    /**
+     * 一次检查用户名、邮箱、手机号是否已被占用
+     *
+     * @param username      用户名，为null时不检查
+     * @param email         邮箱，为null时不检查
+     * @param phone         手机号，为null时不检查
+     * @param excludeUserId 排除的用户ID（更新时传入当前用户），为null时不排除
+     * @return 冲突检查结果
+     */
+    UniqueKeyConflicts findUniqueKeyConflicts(Username username, Email email, Phone phone, Long excludeUserId);
+
     /**
      * 根据状态查找用户列表
      *
@@ -145,6 +156,14 @@ public interface UserRepository {
      */
     Page<User> findByEmailContaining(String email, Pageable pageable);
 
+    /**
+     * 按条件检索用户（键集分页）
+     *
+     * @param criteria 检索条件
+     * @return 一页检索结果
+     */
+    UserSearchPage search(UserSearchCriteria criteria);
+
     /**
      * 删除用户
      *
@@ -0,0 +1,201 @@
+package com.flowmaster.user.domain.repository;
+
+import com.flowmaster.user.domain.model.entity.UserProfile;
+import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户检索条件
+ * 文本条件按前缀匹配（可使用索引），资料条件（昵称、真实姓名、性别）需要关联用户资料；
+ * 结果按 (排序字段, 用户ID) 做键集分页，游标由上一页结果给出
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserSearchCriteria {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名前缀
+     */
+    private String username;
+
+    /**
+     * 邮箱前缀
+     */
+    private String email;
+
+    /**
+     * 手机号前缀
+     */
+    private String phone;
+
+    /**
+     * 用户状态
+     */
+    private UserStatus status;
+
+    /**
+     * 昵称前缀
+     */
+    private String nickname;
+
+    /**
+     * 真实姓名前缀
+     */
+    private String realName;
+
+    /**
+     * 性别
+     */
+    private UserProfile.Gender gender;
+
+    /**
+     * 创建时间开始（含）
+     */
+    private LocalDateTime createdAtStart;
+
+    /**
+     * 创建时间结束（含）
+     */
+    private LocalDateTime createdAtEnd;
+
+    /**
+     * 更新时间开始（含）
+     */
+    private LocalDateTime updatedAtStart;
+
+    /**
+     * 更新时间结束（含）
+     */
+    private LocalDateTime updatedAtEnd;
+
+    /**
+     * 排序字段
+     */
+    private SortField sortBy = SortField.CREATED_AT;
+
+    /**
+     * 是否降序
+     */
+    private boolean descending = true;
+
+    /**
+     * 每页大小
+     */
+    private int limit = 20;
+
+    /**
+     * 上一页返回的游标，为空表示第一页
+     */
+    private String cursor;
+
+    /**
+     * 总数统计方式
+     */
+    private CountMode countMode = CountMode.NONE;
+
+    /**
+     * 是否包含用户资料条件
+     *
+     * @return 是否需要关联用户资料
+     */
+    public boolean hasProfileFilter() {
+        return hasText(nickname) || hasText(realName) || gender != null;
+    }
+
+    /**
+     * 是否包含任意过滤条件
+     *
+     * @return 是否有过滤条件
+     */
+    public boolean hasFilter() {
+        return userId != null || hasText(username) || hasText(email) || hasText(phone) || status != null
+                || createdAtStart != null || createdAtEnd != null || updatedAtStart != null || updatedAtEnd != null
+                || hasProfileFilter();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * 可排序字段，与用户表上的索引对应（二级索引隐含主键，天然覆盖 (字段, 用户ID)）
+     */
+    public enum SortField {
+        ID("id"),
+        USERNAME("username"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * 按属性名解析排序字段
+         *
+         * @param property 属性名
+         * @return 排序字段
+         */
+        public static SortField fromProperty(String property) {
+            for (SortField field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("不支持的排序字段: " + property);
+        }
+    }
+
+    /**
+     * 总数统计方式
+     */
+    public enum CountMode {
+        /**
+         * 不统计
+         */
+        NONE,
+        /**
+         * 精确统计
+         */
+        EXACT,
+        /**
+         * 估算：无过滤条件时读取表统计信息，有过滤条件时最多数到上限
+         */
+        ESTIMATED;
+
+        /**
+         * 按名称解析统计方式（忽略大小写）
+         *
+         * @param name 名称
+         * @return 统计方式，为空时返回NONE
+         */
+        public static CountMode fromName(String name) {
+            if (name == null || name.isBlank()) {
+                return NONE;
+            }
+            for (CountMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name.trim())) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("不支持的统计方式: " + name);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.flowmaster.user.domain.repository;
+
+import com.flowmaster.user.domain.model.aggregate.User;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 用户检索结果（一页）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserSearchPage {
+
+    /**
+     * 本页用户
+     */
+    private List<User> users;
+
+    /**
+     * 下一页游标，没有下一页时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 总数，未统计时为null
+     */
+    private Long total;
+
+    /**
+     * 总数是否为估算值
+     */
+    private boolean totalEstimated;
+}
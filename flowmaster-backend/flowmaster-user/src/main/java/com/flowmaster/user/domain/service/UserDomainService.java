@@ -4,6 +4,7 @@ import com.flowmaster.user.domain.model.aggregate.User;
 import com.flowmaster.user.domain.model.valueobject.Email;
 import com.flowmaster.user.domain.model.valueobject.Phone;
 import com.flowmaster.user.domain.model.valueobject.Username;
+import com.flowmaster.user.domain.repository.UniqueKeyConflicts;
 import com.flowmaster.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -67,15 +68,16 @@ public class UserDomainService {
      * @throws IllegalArgumentException 如果验证失败
      */
     public void validateUserCreation(Username username, Email email, Phone phone) {
-        if (!isUsernameUnique(username)) {
+        UniqueKeyConflicts conflicts = userRepository.findUniqueKeyConflicts(username, email, phone, null);
+        if (conflicts.isUsername()) {
             throw new IllegalArgumentException("用户名已存在: " + username.getValue());
         }
         
-        if (!isEmailUnique(email)) {
+        if (conflicts.isEmail()) {
             throw new IllegalArgumentException("邮箱已存在: " + email.getValue());
         }
         
-        if (!isPhoneUnique(phone)) {
+        if (conflicts.isPhone()) {
             throw new IllegalArgumentException("手机号已存在: " + phone.getValue());
         }
         
@@ -92,13 +94,15 @@ public class UserDomainService {
      * @throws IllegalArgumentException 如果验证失败
      */
     public void validateUserUpdate(Long userId, Email email, Phone phone) {
+        UniqueKeyConflicts conflicts = userRepository.findUniqueKeyConflicts(null, email, phone, userId);
+
         // 检查邮箱是否被其他用户使用
-        if (userRepository.existsByEmailAndUserIdNot(email, userId)) {
+        if (conflicts.isEmail()) {
             throw new IllegalArgumentException("邮箱已被其他用户使用: " + email.getValue());
         }
         
         // 检查手机号是否被其他用户使用
-        if (userRepository.existsByPhoneAndUserIdNot(phone, userId)) {
+        if (conflicts.isPhone()) {
             throw new IllegalArgumentException("手机号已被其他用户使用: " + phone.getValue());
         }
         
@@ -0,0 +1,431 @@
+package com.flowmaster.user.infrastructure.cache;
+
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository;
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository.UniqueKeyView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 用户唯一键布隆过滤器
+ * 包含所有用户（含已逻辑删除）的用户名、邮箱、手机号。过滤器判定不存在的键一定未被占用，
+ * 注册时所有键都不存在即可跳过数据库查询；判定可能存在时再由数据库确认
+ * <p>
+ * 启动后异步从用户表全量构建，构建完成前一律判定为可能存在；新增或修改的键立即加入本节点过滤器，
+ * 事务提交后再次加入并通过Redis频道通知其他节点（提交后的重建扫描一定能读到该行）。
+ * 重建期间加入的键另行记录，替换过滤器后重放到新过滤器中。
+ * 布隆过滤器无法删除，删除用户或修改邮箱后留下的旧键由定期重建清除。
+ * 过滤器仅用于跳过查询，唯一索引仍是最终保证
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class UniqueKeyFilter implements MessageListener {
+
+    private static final String KEYS_CHANNEL = "user:unique-keys:added";
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char NODE_SEPARATOR = '\n';
+
+    private final UserJpaRepository userJpaRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final int rebuildBatchSize;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    /**
+     * 重建期间加入的键，替换过滤器后重放，避免在替换瞬间加入的键只进入旧过滤器
+     */
+    private final Set<Keys> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter skipped;
+    private final Counter queried;
+
+    public UniqueKeyFilter(UserJpaRepository userJpaRepository,
+                           StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.unique-filter.enabled:true}") boolean enabled,
+                           @Value("${user.unique-filter.redis-enabled:true}") boolean redisEnabled,
+                           @Value("${user.unique-filter.expected-keys:3000000}") long expectedKeys,
+                           @Value("${user.unique-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${user.unique-filter.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.userJpaRepository = userJpaRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.skipped = checkCounter(meterRegistry, "skipped");
+        this.queried = checkCounter(meterRegistry, "queried");
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && redisEnabled) {
+            // 先订阅再构建，构建期间其他节点新增的键不会丢失
+            listenerContainer.addMessageListener(this, new ChannelTopic(KEYS_CHANNEL));
+        }
+        log.info("初始化唯一键过滤器: enabled={}, expectedKeys={}, falsePositiveRate={}",
+                enabled, expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * 应用启动后异步构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * 定期重建，清除已删除用户和已变更的旧键
+     */
+    @Scheduled(initialDelayString = "${user.unique-filter.rebuild-interval:21600000}",
+               fixedDelayString = "${user.unique-filter.rebuild-interval:21600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 从用户表按主键分批读取全部唯一键，构建新的过滤器后替换
+     * 构建期间新增的键同时写入当前过滤器和新过滤器，并在替换后重放到新过滤器
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            // 按当前用户数的1.5倍预留容量（每个用户最多三个键），保证重建后误判率不超过配置值
+            long capacity = Math.max(expectedKeys, userJpaRepository.count() * 3 * 3 / 2);
+            BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+            building = next;
+
+            long afterId = 0L;
+            long users = 0;
+            while (true) {
+                List<UniqueKeyView> batch = userJpaRepository.findUniqueKeysAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (UniqueKeyView view : batch) {
+                    putKeys(next, view.getUsername(), view.getEmail(), view.getPhone());
+                    afterId = view.getId();
+                }
+                users += batch.size();
+                if (batch.size() < rebuildBatchSize) {
+                    break;
+                }
+            }
+
+            filter = next;
+            building = null;
+
+            int replayed = 0;
+            for (Keys keys : pending) {
+                putKeys(next, keys.username(), keys.email(), keys.phone());
+                replayed++;
+            }
+            log.info("唯一键过滤器构建完成: users={}, capacity={}, bits={}, hashes={}, replayed={}, duration={}ms",
+                    users, capacity, next.numBits, next.numHashes, replayed, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("唯一键过滤器构建失败，保留现有过滤器: error={}", e.getMessage(), e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+            pending.clear();
+        }
+    }
+
+    /**
+     * 判断任一键是否可能已被占用
+     * 过滤器未构建完成时返回true
+     *
+     * @param username 用户名，可为null
+     * @param email 邮箱，可为null
+     * @param phone 手机号，可为null
+     * @return 任一键可能已被占用返回true；返回false时所有键一定未被占用
+     */
+    public boolean mightContainAny(String username, String email, String phone) {
+        BloomFilter current = filter;
+        if (!enabled || current == null) {
+            return true;
+        }
+        boolean mightContain = (username != null && current.mightContain(usernameKey(username)))
+                || (email != null && current.mightContain(emailKey(email)))
+                || (phone != null && current.mightContain(phoneKey(phone)));
+        if (mightContain) {
+            queried.increment();
+        } else {
+            skipped.increment();
+        }
+        return mightContain;
+    }
+
+    /**
+     * 加入一个用户的唯一键并通知其他节点
+     * 在事务内调用时立即加入本节点过滤器，提交后再加入一次并广播：
+     * 提交前开始的重建扫描读不到未提交的行，提交后的加入会进入重建中的过滤器或重放记录
+     *
+     * @param username 用户名
+     * @param email 邮箱，可为null
+     * @param phone 手机号，可为null
+     */
+    public void put(String username, String email, String phone) {
+        if (!enabled) {
+            return;
+        }
+        putLocally(username, email, phone);
+        afterCommit(() -> {
+            putLocally(username, email, phone);
+            broadcast(encode(username, email, phone));
+        });
+    }
+
+    /**
+     * 批量加入用户的唯一键，合并为一条通知
+     *
+     * @param keys 用户唯一键列表
+     */
+    public void putAll(Collection<Keys> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        for (Keys key : keys) {
+            putLocally(key.username(), key.email(), key.phone());
+            message.append(encode(key.username(), key.email(), key.phone()));
+        }
+        broadcast(message.toString());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int header = body.indexOf(NODE_SEPARATOR);
+        if (header <= 0 || nodeId.equals(body.substring(0, header))) {
+            return;
+        }
+        int count = 0;
+        for (String line : body.substring(header + 1).split(String.valueOf(NODE_SEPARATOR))) {
+            String[] fields = line.split(String.valueOf(FIELD_SEPARATOR), -1);
+            if (fields.length == 3) {
+                putLocally(emptyToNull(fields[0]), emptyToNull(fields[1]), emptyToNull(fields[2]));
+                count++;
+            }
+        }
+        log.debug("收到唯一键新增通知: count={}", count);
+    }
+
+    /**
+     * 过滤器是否已构建完成
+     *
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        return enabled && filter != null;
+    }
+
+    private void putLocally(String username, String email, String phone) {
+        // 先登记再写入：读到旧过滤器的写入一定在替换前登记，会被重放
+        if (rebuilding.get()) {
+            pending.add(new Keys(username, email, phone));
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            putKeys(current, username, email, phone);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            putKeys(next, username, email, phone);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void broadcast(String keys) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(KEYS_CHANNEL, nodeId + NODE_SEPARATOR + keys);
+        } catch (Exception e) {
+            // 其他节点漏掉的键只会让注册请求在唯一索引处失败，定期重建会补齐
+            log.warn("广播唯一键新增异常: error={}", e.getMessage());
+        }
+    }
+
+    private static void putKeys(BloomFilter target, String username, String email, String phone) {
+        if (username != null) {
+            target.put(usernameKey(username));
+        }
+        if (email != null) {
+            target.put(emailKey(email));
+        }
+        if (phone != null) {
+            target.put(phoneKey(phone));
+        }
+    }
+
+    private static String encode(String username, String email, String phone) {
+        return nullToEmpty(username) + FIELD_SEPARATOR + nullToEmpty(email) + FIELD_SEPARATOR + nullToEmpty(phone) + NODE_SEPARATOR;
+    }
+
+    /**
+     * 用户名和邮箱的唯一索引不区分大小写（MySQL默认排序规则），统一转为小写
+     */
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String phoneKey(String phone) {
+        return "p:" + phone;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.unique-filter.checks")
+                .description("唯一键过滤器检查次数（skipped为跳过数据库查询）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 一个用户的唯一键
+     *
+     * @param username 用户名
+     * @param email 邮箱，可为null
+     * @param phone 手机号，可为null
+     */
+    public record Keys(String username, String email, String phone) {
+    }
+
+    /**
+     * 并发安全的布隆过滤器
+     * 位数组按 m = -n·ln(p) / (ln2)² 计算，哈希函数个数 k = m/n·ln2，
+     * 用一个64位哈希派生两个哈希值，第i个位置为 h1 + i·h2（Kirsch-Mitzenmacher）
+     */
+    static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long numBits;
+        private final int numHashes;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.numBits = bits.length() * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < numHashes; i++) {
+                long index = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < numHashes; i++) {
+                long index = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String key) {
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            return mix(h);
+        }
+
+        /**
+         * MurmurHash3 的64位终混函数，打散低质量哈希的位分布
+         */
+        private static long mix(long k) {
+            k ^= k >>> 33;
+            k *= 0xFF51AFD7ED558CCDL;
+            k ^= k >>> 33;
+            k *= 0xC4CEB9FE1A85EC53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
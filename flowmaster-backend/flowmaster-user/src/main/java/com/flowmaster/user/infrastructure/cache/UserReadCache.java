@@ -0,0 +1,579 @@
+package com.flowmaster.user.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.user.domain.model.entity.UserProfile;
+import com.flowmaster.user.domain.model.event.UserStatusChangedEvent;
+import com.flowmaster.user.domain.model.event.UserUpdatedEvent;
+import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户读缓存
+ * 一级为本地Caffeine缓存，二级为可选的Redis共享缓存。用户快照按用户ID缓存，
+ * 用户名、邮箱、手机号映射到用户ID，按这些键查找时校验快照中的值与请求一致，邮箱或手机号变更后的旧映射不会命中
+ * <p>
+ * 缓存保存用户和资料的快照（不含密码哈希），每次命中都还原新的实体对象。用户更新、状态变更和删除事件在事务提交后
+ * 移除对应用户的快照，并通过Redis频道通知其他节点丢弃本地一级缓存
+ * <p>
+ * 移除快照时二级缓存写入短期墓碑而不是直接删除，各节点同时记录本地墓碑：并发读取在失效前从数据库或二级缓存
+ * 读到的旧快照（包括禁用、锁定前的状态），墓碑存在期间无法再填回任何一级缓存
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class UserReadCache implements MessageListener {
+
+    private static final String USER_KEY_PREFIX = "user:cache:id:";
+    private static final String INDEX_KEY_PREFIX = "user:cache:";
+    private static final String INVALIDATION_CHANNEL = "user:cache:invalidated";
+    private static final String TOMBSTONE = "-";
+    /**
+     * 还原实体时的密码哈希占位值，不是合法的BCrypt哈希，任何密码都不会与之匹配
+     */
+    private static final String REDACTED_PASSWORD_HASH = "{redacted}";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long l2TtlMillis;
+    private final long tombstoneTtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<Long, CachedUser> l1Users;
+    private final Cache<String, Long> l1Index;
+    private final Cache<Long, Boolean> l1Tombstones;
+
+    private final Map<KeyType, RequestCounters> counters = new EnumMap<>(KeyType.class);
+
+    public UserReadCache(StringRedisTemplate redisTemplate,
+                         RedisMessageListenerContainer listenerContainer,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${user.cache.enabled:true}") boolean enabled,
+                         @Value("${user.cache.redis-enabled:true}") boolean redisEnabled,
+                         @Value("${user.cache.l1-max-size:20000}") long l1MaxSize,
+                         @Value("${user.cache.l1-ttl:60000}") long l1TtlMillis,
+                         @Value("${user.cache.l2-ttl:600000}") long l2TtlMillis,
+                         @Value("${user.cache.tombstone-ttl:10000}") long tombstoneTtlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.l2TtlMillis = l2TtlMillis;
+        this.tombstoneTtlMillis = tombstoneTtlMillis;
+
+        this.l1Users = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.l1Index = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize * 3)
+                .expireAfterWrite(l1TtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.l1Tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+
+        for (KeyType type : KeyType.values()) {
+            counters.put(type, new RequestCounters(meterRegistry, type));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && redisEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+        log.info("初始化用户读缓存: enabled={}, redisEnabled={}, l2Ttl={}ms, tombstoneTtl={}ms",
+                enabled, redisEnabled, l2TtlMillis, tombstoneTtlMillis);
+    }
+
+    /**
+     * 查找用户
+     * 按用户ID查找时包括已删除的用户（与仓储的findById一致），按其他键查找时只返回未删除的用户
+     *
+     * @param type 键类型
+     * @param key 键值
+     * @return 用户快照，未命中返回空
+     */
+    public Optional<CachedUser> get(KeyType type, String key) {
+        if (!enabled || key == null) {
+            return Optional.empty();
+        }
+        RequestCounters requests = counters.get(type);
+        if (type == KeyType.ID) {
+            CachedUser cached = lookup(Long.valueOf(key), requests);
+            return Optional.ofNullable(cached);
+        }
+
+        String indexKey = type.indexKey(key);
+        Long userId = l1Index.getIfPresent(indexKey);
+        if (userId == null) {
+            userId = loadIndex(indexKey);
+            if (userId == null) {
+                requests.miss(redisEnabled);
+                return Optional.empty();
+            }
+            l1Index.put(indexKey, userId);
+        }
+
+        CachedUser cached = lookup(userId, requests);
+        if (cached == null || !cached.matches(type, key)) {
+            // 映射已过时（邮箱或手机号已变更、用户已删除），交由数据库判定
+            l1Index.invalidate(indexKey);
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    /**
+     * 填充数据库读取的用户
+     * 二级缓存已有快照或墓碑时不覆盖，避免并发读取的旧数据覆盖刚失效后重新加载的数据或被写回已失效的缓存
+     *
+     * @param user 用户实体
+     * @param profile 用户资料实体，可为null
+     */
+    public void fill(UserEntity user, UserProfileEntity profile) {
+        if (!enabled || user.getId() == null) {
+            return;
+        }
+        CachedUser cached = CachedUser.from(user, profile);
+        if (store(cached)) {
+            cacheLocally(cached);
+        }
+    }
+
+    /**
+     * 移除用户快照并通知其他节点，二级缓存和各节点一级缓存中留下墓碑
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        evictLocally(userId);
+        tombstoneShared(userId);
+        broadcast(userId);
+    }
+
+    /**
+     * 用户信息、资料、密码变更或删除提交后失效
+     *
+     * @param event 用户更新事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        evict(event.getUserId().getValue());
+    }
+
+    /**
+     * 用户状态变更提交后失效
+     *
+     * @param event 用户状态变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        evict(event.getUserId().getValue());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(body.substring(separator + 1));
+            evictLocally(userId);
+            log.debug("收到用户缓存失效通知: userId={}", userId);
+        } catch (NumberFormatException e) {
+            log.warn("用户缓存失效消息格式错误: {}", body);
+        }
+    }
+
+    /**
+     * 获取一级缓存中的用户数量
+     *
+     * @return 用户数量
+     */
+    public long size() {
+        return l1Users.estimatedSize();
+    }
+
+    private CachedUser lookup(Long userId, RequestCounters requests) {
+        CachedUser cached = l1Users.getIfPresent(userId);
+        if (cached != null) {
+            requests.l1Hits.increment();
+            return cached;
+        }
+        requests.l1Misses.increment();
+
+        cached = loadShared(userId);
+        if (cached == null) {
+            if (redisEnabled) {
+                requests.l2Misses.increment();
+            }
+            return null;
+        }
+        requests.l2Hits.increment();
+        cacheLocally(cached);
+        return cached;
+    }
+
+    /**
+     * 写入一级缓存，本地墓碑存在时不写入
+     * 在映射的桶锁内检查墓碑，与移除时先写墓碑再删除快照的顺序配合，不会漏判
+     */
+    private void cacheLocally(CachedUser cached) {
+        CachedUser[] previous = {null};
+        boolean[] stored = {false};
+        l1Users.asMap().compute(cached.getId(), (userId, existing) -> {
+            if (l1Tombstones.getIfPresent(userId) != null) {
+                return existing;
+            }
+            previous[0] = existing;
+            stored[0] = true;
+            return cached;
+        });
+        if (!stored[0]) {
+            return;
+        }
+        if (previous[0] != null) {
+            invalidateIndex(previous[0]);
+        }
+        if (!Boolean.TRUE.equals(cached.getDeleted())) {
+            l1Index.put(KeyType.USERNAME.indexKey(cached.getUsername()), cached.getId());
+            if (cached.getEmail() != null) {
+                l1Index.put(KeyType.EMAIL.indexKey(cached.getEmail()), cached.getId());
+            }
+            if (cached.getPhone() != null) {
+                l1Index.put(KeyType.PHONE.indexKey(cached.getPhone()), cached.getId());
+            }
+        }
+    }
+
+    private void evictLocally(Long userId) {
+        l1Tombstones.put(userId, Boolean.TRUE);
+        CachedUser previous = l1Users.getIfPresent(userId);
+        l1Users.invalidate(userId);
+        if (previous != null) {
+            invalidateIndex(previous);
+        }
+    }
+
+    private void invalidateIndex(CachedUser cached) {
+        l1Index.invalidate(KeyType.USERNAME.indexKey(cached.getUsername()));
+        if (cached.getEmail() != null) {
+            l1Index.invalidate(KeyType.EMAIL.indexKey(cached.getEmail()));
+        }
+        if (cached.getPhone() != null) {
+            l1Index.invalidate(KeyType.PHONE.indexKey(cached.getPhone()));
+        }
+    }
+
+    /**
+     * 写入二级缓存，已有快照时不覆盖；未启用Redis时只写本地缓存
+     *
+     * @param cached 用户快照
+     * @return 是否写入
+     */
+    private boolean store(CachedUser cached) {
+        if (!redisEnabled) {
+            return true;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(cached);
+            Boolean stored = redisTemplate.opsForValue()
+                    .setIfAbsent(USER_KEY_PREFIX + cached.getId(), json, l2TtlMillis, TimeUnit.MILLISECONDS);
+            if (!Boolean.TRUE.equals(stored)) {
+                return false;
+            }
+            if (!Boolean.TRUE.equals(cached.getDeleted())) {
+                String userId = String.valueOf(cached.getId());
+                storeIndex(KeyType.USERNAME.indexKey(cached.getUsername()), userId);
+                if (cached.getEmail() != null) {
+                    storeIndex(KeyType.EMAIL.indexKey(cached.getEmail()), userId);
+                }
+                if (cached.getPhone() != null) {
+                    storeIndex(KeyType.PHONE.indexKey(cached.getPhone()), userId);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("写入用户缓存异常: userId={}, error={}", cached.getId(), e.getMessage());
+            removeShared(cached.getId());
+            return false;
+        }
+    }
+
+    private void storeIndex(String indexKey, String userId) {
+        redisTemplate.opsForValue().set(INDEX_KEY_PREFIX + indexKey, userId, l2TtlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private CachedUser loadShared(Long userId) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(USER_KEY_PREFIX + userId);
+            return json != null && !TOMBSTONE.equals(json) ? objectMapper.readValue(json, CachedUser.class) : null;
+        } catch (Exception e) {
+            log.warn("读取用户缓存异常: userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long loadIndex(String indexKey) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(INDEX_KEY_PREFIX + indexKey);
+            return value != null ? Long.valueOf(value) : null;
+        } catch (Exception e) {
+            log.warn("读取用户索引缓存异常: key={}, error={}", indexKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void removeShared(Long userId) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            // 键映射随TTL过期，查找时会因快照缺失或值不符而回到数据库
+            redisTemplate.delete(USER_KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("删除用户缓存异常: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 以墓碑替换二级缓存中的用户快照，墓碑过期前填充无法写入
+     */
+    private void tombstoneShared(Long userId) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(USER_KEY_PREFIX + userId, TOMBSTONE, tombstoneTtlMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入用户缓存墓碑异常: userId={}, error={}", userId, e.getMessage());
+            removeShared(userId);
+        }
+    }
+
+    private void broadcast(Long userId) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + userId);
+        } catch (Exception e) {
+            log.warn("广播用户缓存失效异常: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 缓存键类型
+     */
+    public enum KeyType {
+        ID("id"),
+        USERNAME("username"),
+        EMAIL("email"),
+        PHONE("phone");
+
+        private final String tag;
+
+        KeyType(String tag) {
+            this.tag = tag;
+        }
+
+        String indexKey(String value) {
+            return tag + ":" + value;
+        }
+    }
+
+    /**
+     * 按键类型统计的缓存请求次数
+     */
+    private static class RequestCounters {
+        private final Counter l1Hits;
+        private final Counter l1Misses;
+        private final Counter l2Hits;
+        private final Counter l2Misses;
+
+        RequestCounters(MeterRegistry meterRegistry, KeyType type) {
+            this.l1Hits = requestCounter(meterRegistry, type, "l1", "hit");
+            this.l1Misses = requestCounter(meterRegistry, type, "l1", "miss");
+            this.l2Hits = requestCounter(meterRegistry, type, "l2", "hit");
+            this.l2Misses = requestCounter(meterRegistry, type, "l2", "miss");
+        }
+
+        void miss(boolean redisEnabled) {
+            l1Misses.increment();
+            if (redisEnabled) {
+                l2Misses.increment();
+            }
+        }
+
+        private static Counter requestCounter(MeterRegistry meterRegistry, KeyType type, String tier, String result) {
+            return Counter.builder("user.cache.requests")
+                    .description("用户读缓存请求次数")
+                    .tag("key", type.tag)
+                    .tag("tier", tier)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 用户快照（含资料，不含密码哈希）
+     * 快照只服务只读事务中的查询，还原的实体用占位值代替密码哈希；校验和修改密码在读写事务中进行，总是读数据库
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CachedUser {
+        private Long id;
+        private String username;
+        private String email;
+        private String phone;
+        private String status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private Long createdBy;
+        private Long updatedBy;
+        private Integer version;
+        private Boolean deleted;
+        private CachedProfile profile;
+
+        static CachedUser from(UserEntity user, UserProfileEntity profile) {
+            CachedUser cached = new CachedUser();
+            cached.id = user.getId();
+            cached.username = user.getUsername();
+            cached.email = user.getEmail();
+            cached.phone = user.getPhone();
+            cached.status = user.getStatus().name();
+            cached.createdAt = user.getCreatedAt();
+            cached.updatedAt = user.getUpdatedAt();
+            cached.createdBy = user.getCreatedBy();
+            cached.updatedBy = user.getUpdatedBy();
+            cached.version = user.getVersion();
+            cached.deleted = user.getDeleted();
+            cached.profile = profile != null ? CachedProfile.from(profile) : null;
+            return cached;
+        }
+
+        boolean matches(KeyType type, String key) {
+            if (Boolean.TRUE.equals(deleted)) {
+                return false;
+            }
+            return switch (type) {
+                case ID -> key.equals(String.valueOf(id));
+                case USERNAME -> key.equals(username);
+                case EMAIL -> key.equals(email);
+                case PHONE -> key.equals(phone);
+            };
+        }
+
+        public UserEntity toEntity() {
+            UserEntity user = new UserEntity(id, username, email, phone, REDACTED_PASSWORD_HASH, UserStatus.valueOf(status));
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            user.setCreatedBy(createdBy);
+            user.setUpdatedBy(updatedBy);
+            user.setVersion(version);
+            user.setDeleted(deleted);
+            return user;
+        }
+
+        public UserProfileEntity toProfileEntity() {
+            return profile != null ? profile.toEntity(id) : null;
+        }
+    }
+
+    /**
+     * 用户资料快照
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CachedProfile {
+        private String nickname;
+        private String realName;
+        private String avatar;
+        private String gender;
+        private LocalDate birthday;
+        private String bio;
+        private String address;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private Long createdBy;
+        private Long updatedBy;
+        private Integer version;
+
+        static CachedProfile from(UserProfileEntity profile) {
+            CachedProfile cached = new CachedProfile();
+            cached.nickname = profile.getNickname();
+            cached.realName = profile.getRealName();
+            cached.avatar = profile.getAvatar();
+            cached.gender = profile.getGender() != null ? profile.getGender().name() : null;
+            cached.birthday = profile.getBirthday();
+            cached.bio = profile.getBio();
+            cached.address = profile.getAddress();
+            cached.createdAt = profile.getCreatedAt();
+            cached.updatedAt = profile.getUpdatedAt();
+            cached.createdBy = profile.getCreatedBy();
+            cached.updatedBy = profile.getUpdatedBy();
+            cached.version = profile.getVersion();
+            return cached;
+        }
+
+        UserProfileEntity toEntity(Long userId) {
+            UserProfileEntity profile = new UserProfileEntity(userId, nickname, realName, avatar,
+                    gender != null ? UserProfile.Gender.valueOf(gender) : null, birthday, bio, address);
+            profile.setCreatedAt(createdAt);
+            profile.setUpdatedAt(updatedAt);
+            profile.setCreatedBy(createdBy);
+            profile.setUpdatedBy(updatedBy);
+            profile.setVersion(version);
+            return profile;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.flowmaster.user.infrastructure.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CSV格式用户导出写入器
+ * 列名与导入格式一致（username、email、phone、nickname、realName），可直接修改后重新导入（需补充password列）
+ * <p>
+ * 昵称和真实姓名由用户自行填写，以 = + - @ 开头的值在电子表格中会被当作公式执行，导出时加单引号前缀
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class CsvUserExportWriter extends UserExportWriter {
+
+    private static final String HEADER =
+            "userId,username,email,phone,status,nickname,realName,gender,birthday,createdAt,updatedAt";
+
+    CsvUserExportWriter(OutputStream output) throws IOException {
+        super(output);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(UserExportRecord record) throws IOException {
+        writer.write(String.valueOf(record.getUserId()));
+        writeField(record.getUsername());
+        writeField(record.getEmail());
+        writeField(record.getPhone());
+        writeField(record.getStatus());
+        writeField(neutralizeFormula(record.getNickname()));
+        writeField(neutralizeFormula(record.getRealName()));
+        writeField(record.getGender());
+        writeField(record.getBirthday() != null ? record.getBirthday().toString() : null);
+        writeField(record.getCreatedAt() != null ? record.getCreatedAt().toString() : null);
+        writeField(record.getUpdatedAt() != null ? record.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    /**
+     * 写入逗号和字段值，null写为空字段
+     */
+    private void writeField(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * 以公式起始字符开头的值加单引号前缀，电子表格按文本显示
+     */
+    private static String neutralizeFormula(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.flowmaster.user.infrastructure.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * JSONL格式用户导出写入器
+ * 每行一个JSON对象，字段名与导入格式一致；用户ID写为字符串，与接口返回的UserDTO一致
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class JsonLinesUserExportWriter extends UserExportWriter {
+
+    private final JsonGenerator generator;
+
+    JsonLinesUserExportWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+        super(output);
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        // 记录之间用换行分隔，而不是默认的空格
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(UserExportRecord record) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("userId", String.valueOf(record.getUserId()));
+        generator.writeStringField("username", record.getUsername());
+        generator.writeStringField("email", record.getEmail());
+        generator.writeStringField("phone", record.getPhone());
+        generator.writeStringField("status", record.getStatus());
+        generator.writeStringField("nickname", record.getNickname());
+        generator.writeStringField("realName", record.getRealName());
+        generator.writeStringField("gender", record.getGender());
+        generator.writeStringField("birthday", text(record.getBirthday()));
+        generator.writeStringField("createdAt", text(record.getCreatedAt()));
+        generator.writeStringField("updatedAt", text(record.getUpdatedAt()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 生成器关闭时会刷出自身缓冲区并关闭底层写入器
+        generator.close();
+        super.close();
+    }
+
+    private static String text(TemporalAccessor value) {
+        return value != null ? value.toString() : null;
+    }
+}
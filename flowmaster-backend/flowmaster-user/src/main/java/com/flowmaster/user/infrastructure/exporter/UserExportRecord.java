@@ -0,0 +1,40 @@
+package com.flowmaster.user.infrastructure.exporter;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 导出数据中的一行用户记录（不含密码哈希）
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserExportRecord {
+
+    private Long userId;
+
+    private String username;
+
+    private String email;
+
+    private String phone;
+
+    private String status;
+
+    private String nickname;
+
+    private String realName;
+
+    private String gender;
+
+    private LocalDate birthday;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
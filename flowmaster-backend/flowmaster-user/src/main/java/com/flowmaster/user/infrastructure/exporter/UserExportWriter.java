@@ -0,0 +1,104 @@
+package com.flowmaster.user.infrastructure.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 用户导出数据写入器
+ * 逐条把用户记录写入输出流，只在固定大小的缓冲区中暂存，内存占用与导出规模无关
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public abstract class UserExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer writer;
+
+    protected UserExportWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * 打开写入器
+     *
+     * @param output 输出流（UTF-8）
+     * @param format 数据格式
+     * @param objectMapper JSON序列化器
+     * @return 写入器
+     * @throws IOException 写入列名行失败
+     */
+    public static UserExportWriter open(OutputStream output, Format format, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvUserExportWriter(output);
+            case JSONL -> new JsonLinesUserExportWriter(output, objectMapper);
+        };
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param record 用户记录
+     * @throws IOException 写入失败（通常是客户端断开）
+     */
+    public abstract void write(UserExportRecord record) throws IOException;
+
+    /**
+     * 刷出缓冲区并关闭输出流
+     *
+     * @throws IOException 写入失败
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 导出数据格式
+     */
+    @Getter
+    public enum Format {
+        /**
+         * 逗号分隔，首行为列名，包含逗号、双引号或换行的字段用双引号包围
+         */
+        CSV("text/csv;charset=UTF-8", "csv"),
+        /**
+         * 每行一个JSON对象
+         */
+        JSONL("application/x-ndjson;charset=UTF-8", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * 根据名称获取格式
+         *
+         * @param name 格式名称（不区分大小写）
+         * @return 数据格式
+         */
+        public static Format fromName(String name) {
+            if (name != null) {
+                for (Format format : values()) {
+                    if (format.name().equalsIgnoreCase(name.trim())) {
+                        return format;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("不支持的导出格式: " + name);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.flowmaster.user.infrastructure.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV格式用户导入读取器
+ * 首行为列名（username、email、phone、password、nickname、realName，不区分大小写，未知列忽略），
+ * 引号内的字段可包含逗号和换行
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class CsvUserImportReader extends UserImportReader {
+
+    /**
+     * 单条记录的最大字符数，超过时视为引号未闭合，避免把剩余输入全部读入内存
+     */
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final String[] REQUIRED_COLUMNS = {"username", "password"};
+
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+
+    CsvUserImportReader(InputStream input) throws IOException {
+        super(input);
+        String header = readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("导入数据为空");
+        }
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(normalize(names.get(i)), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV缺少必需列: " + required);
+            }
+        }
+    }
+
+    @Override
+    public UserImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long start = lineNumber;
+        List<String> values = split(line);
+        if (values == null) {
+            throw new IOException("第" + start + "行开始的记录超过" + MAX_RECORD_LENGTH + "个字符，可能存在未闭合的引号");
+        }
+        return new UserImportRecord()
+                .setLine(start)
+                .setUsername(value(values, "username"))
+                .setEmail(value(values, "email"))
+                .setPhone(value(values, "phone"))
+                .setPassword(value(values, "password"))
+                .setNickname(value(values, "nickname"))
+                .setRealName(value(values, "realname"));
+    }
+
+    /**
+     * 拆分一条记录，引号未闭合时继续读取后续物理行
+     *
+     * @param line 记录的第一行
+     * @return 字段列表，记录超长返回null
+     */
+    private List<String> split(String line) throws IOException {
+        List<String> values = new ArrayList<>(columns.isEmpty() ? 8 : columns.size());
+        field.setLength(0);
+        boolean quoted = false;
+        int length = 0;
+
+        while (true) {
+            length += line.length();
+            if (length > MAX_RECORD_LENGTH) {
+                return null;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = readLine();
+            if (line == null) {
+                break;
+            }
+            field.append('\n');
+        }
+
+        values.add(field.toString());
+        return values;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
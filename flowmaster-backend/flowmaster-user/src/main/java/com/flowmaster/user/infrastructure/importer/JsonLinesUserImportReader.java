@@ -0,0 +1,62 @@
+package com.flowmaster.user.infrastructure.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JSONL格式用户导入读取器
+ * 每行一个JSON对象，字段名为 username、email、phone、password、nickname、realName，空行忽略
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+class JsonLinesUserImportReader extends UserImportReader {
+
+    private final ObjectMapper objectMapper;
+
+    JsonLinesUserImportReader(InputStream input, ObjectMapper objectMapper) {
+        super(input);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        UserImportRecord record = new UserImportRecord().setLine(lineNumber);
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return record.setError("不是JSON对象");
+            }
+            return record
+                    .setUsername(text(node, "username"))
+                    .setEmail(text(node, "email"))
+                    .setPhone(text(node, "phone"))
+                    .setPassword(text(node, "password"))
+                    .setNickname(text(node, "nickname"))
+                    .setRealName(text(node, "realName"));
+        } catch (JsonProcessingException e) {
+            return record.setError("JSON格式错误: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
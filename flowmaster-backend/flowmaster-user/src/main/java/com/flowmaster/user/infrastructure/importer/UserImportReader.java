@@ -0,0 +1,107 @@
+package com.flowmaster.user.infrastructure.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 用户导入数据读取器
+ * 逐条读取输入流中的用户记录，任意时刻只持有当前一条记录，内存占用与输入大小无关
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+public abstract class UserImportReader implements Closeable {
+
+    private static final char BOM = '\uFEFF';
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected UserImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 打开读取器
+     *
+     * @param input 输入流（UTF-8）
+     * @param format 数据格式
+     * @param objectMapper JSON解析器
+     * @return 读取器
+     * @throws IOException 读取列名行失败
+     */
+    public static UserImportReader open(InputStream input, Format format, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvUserImportReader(input);
+            case JSONL -> new JsonLinesUserImportReader(input, objectMapper);
+        };
+    }
+
+    /**
+     * 读取下一条记录
+     * 单行格式错误时返回带错误信息的记录，不中断后续读取
+     *
+     * @return 用户记录，输入结束返回null
+     * @throws IOException 读取失败
+     */
+    public abstract UserImportRecord next() throws IOException;
+
+    /**
+     * 读取一个物理行，去除输入开头的BOM
+     *
+     * @return 行内容，输入结束返回null
+     * @throws IOException 读取失败
+     */
+    protected String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        if (lineNumber++ == 0 && !line.isEmpty() && line.charAt(0) == BOM) {
+            line = line.substring(1);
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 导入数据格式
+     */
+    public enum Format {
+        /**
+         * 逗号分隔，首行为列名，字段可用双引号包围（引号内的双引号写作两个双引号）
+         */
+        CSV,
+        /**
+         * 每行一个JSON对象
+         */
+        JSONL;
+
+        /**
+         * 根据名称获取格式
+         *
+         * @param name 格式名称（不区分大小写）
+         * @return 数据格式
+         */
+        public static Format fromName(String name) {
+            if (name != null) {
+                for (Format format : values()) {
+                    if (format.name().equalsIgnoreCase(name.trim())) {
+                        return format;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("不支持的导入格式: " + name);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.flowmaster.user.infrastructure.importer;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 导入数据中的一行用户记录
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserImportRecord {
+
+    /**
+     * 行号（记录起始的物理行，从1开始）
+     */
+    private long line;
+
+    private String username;
+
+    private String email;
+
+    private String phone;
+
+    private String password;
+
+    private String nickname;
+
+    private String realName;
+
+    /**
+     * 解析错误，非空时其余字段不可用
+     */
+    private String error;
+}
@@ -0,0 +1,90 @@
+package com.flowmaster.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowmaster.common.event.UserCredentialChangedMessage;
+import com.flowmaster.user.domain.model.event.UserCreatedEvent;
+import com.flowmaster.user.domain.model.event.UserStatusChangedEvent;
+import com.flowmaster.user.domain.model.event.UserUpdatedEvent;
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 用户凭据变更发布器
+ * 用户领域事件在事务提交后转换为凭据变更通知，通过Redis频道广播给认证服务的本地凭据副本。
+ * 通知只携带用户ID和版本号，副本收到后通过校验内部调用令牌的接口重新拉取凭据，密码哈希不经过消息频道
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCredentialPublisher {
+
+    private final UserJpaRepository userJpaRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        publish(event.getUserId().getValue());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        publish(event.getUserId().getValue());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        publish(event.getUserId().getValue());
+    }
+
+    /**
+     * 发布批量导入的用户凭据变更（调用方在事务提交后调用）
+     *
+     * @param messages 用户凭据变更列表
+     */
+    public void publishAll(List<UserCredentialChangedMessage> messages) {
+        for (UserCredentialChangedMessage message : messages) {
+            try {
+                redisTemplate.convertAndSend(UserCredentialChangedMessage.CHANNEL, objectMapper.writeValueAsString(message));
+            } catch (Exception e) {
+                log.error("发布用户凭据变更失败: userId={}, error={}", message.getUserId(), e.getMessage());
+            }
+        }
+        log.debug("发布批量用户凭据: count={}", messages.size());
+    }
+
+    /**
+     * 读取已提交的用户版本号并发布变更通知
+     *
+     * @param userId 用户ID
+     */
+    private void publish(Long userId) {
+        try {
+            UserEntity entity = userJpaRepository.findById(userId).orElse(null);
+            if (entity == null) {
+                return;
+            }
+
+            UserCredentialChangedMessage message = new UserCredentialChangedMessage()
+                    .setUserId(entity.getId())
+                    .setVersion(entity.getVersion());
+            redisTemplate.convertAndSend(UserCredentialChangedMessage.CHANNEL, objectMapper.writeValueAsString(message));
+
+            log.debug("发布用户凭据变更: userId={}, version={}", userId, message.getVersion());
+        } catch (Exception e) {
+            // 发布失败不影响用户操作，认证服务的定期全量同步会修正副本
+            log.error("发布用户凭据变更失败: userId={}, error={}", userId, e.getMessage(), e);
+        }
+    }
+}
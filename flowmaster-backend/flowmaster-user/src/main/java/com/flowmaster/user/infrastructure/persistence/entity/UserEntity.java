@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_users_email", columnList = "email", unique = true),
     @Index(name = "idx_users_phone", columnList = "phone", unique = true),
     @Index(name = "idx_users_status", columnList = "status"),
+    @Index(name = "idx_users_status_created_at", columnList = "status, created_at"),
     @Index(name = "idx_users_created_at", columnList = "created_at"),
     @Index(name = "idx_users_updated_at", columnList = "updated_at")
 })
@@ -113,12 +114,6 @@ public class UserEntity {
     @Column(name = "deleted", nullable = false)
     private Boolean deleted = false;
 
-    /**
-     * 用户资料
-     */
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private UserProfileEntity profile;
-
     /**
      * 默认构造函数
      */
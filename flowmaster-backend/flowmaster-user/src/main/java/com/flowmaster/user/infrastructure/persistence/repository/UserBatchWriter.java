@@ -0,0 +1,81 @@
+package com.flowmaster.user.infrastructure.persistence.repository;
+
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 用户批量写入
+ * 绕过JPA持久化上下文，用JDBC批量语句插入用户和用户资料，不触发审计监听和领域事件，
+ * 调用方负责填写审计字段并在事务中调用；连接串开启rewriteBatchedStatements后MySQL驱动会把一批合并为多值INSERT
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class UserBatchWriter {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, username, email, phone, password_hash, status, " +
+            "created_at, updated_at, created_by, updated_by, version, deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, false)";
+
+    private static final String INSERT_PROFILE_SQL =
+            "INSERT INTO user_profiles (user_id, nickname, real_name, " +
+            "created_at, updated_at, created_by, updated_by, version, deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批量插入用户
+     *
+     * @param users 用户实体列表（ID和审计字段已填写）
+     */
+    public void insertUsers(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.getId());
+            ps.setString(2, user.getUsername());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getPhone());
+            ps.setString(5, user.getPasswordHash());
+            ps.setString(6, user.getStatus().name());
+            ps.setObject(7, user.getCreatedAt());
+            ps.setObject(8, user.getUpdatedAt());
+            ps.setObject(9, user.getCreatedBy());
+            ps.setObject(10, user.getUpdatedBy());
+        });
+        log.debug("批量插入用户: count={}", users.size());
+    }
+
+    /**
+     * 批量插入用户资料
+     *
+     * @param profiles 用户资料实体列表（审计字段已填写）
+     */
+    public void insertProfiles(List<UserProfileEntity> profiles) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROFILE_SQL, profiles, profiles.size(), (ps, profile) -> {
+            ps.setLong(1, profile.getUserId());
+            ps.setString(2, profile.getNickname());
+            ps.setString(3, profile.getRealName());
+            ps.setObject(4, profile.getCreatedAt());
+            ps.setObject(5, profile.getUpdatedAt());
+            ps.setObject(6, profile.getCreatedBy());
+            ps.setObject(7, profile.getUpdatedBy());
+        });
+        log.debug("批量插入用户资料: count={}", profiles.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.flowmaster.user.infrastructure.persistence.repository;
+
+import com.flowmaster.user.infrastructure.exporter.UserExportRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 用户导出读取
+ * 绕过JPA持久化上下文，用只进只读的JDBC游标逐行读取用户和用户资料，每行交给回调后即可回收，
+ * 不会把整个结果集加载到内存。只有导出语句把fetchSize设为Integer.MIN_VALUE，MySQL驱动对该语句按行流式读取，
+ * 否则驱动会在返回第一行前读完全部结果；连接串不开启useCursorFetch，其他语句不受影响
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportRepository {
+
+    private static final String EXPORT_SQL =
+            "SELECT u.id, u.username, u.email, u.phone, u.status, u.created_at, u.updated_at, " +
+            "p.nickname, p.real_name, p.gender, p.birthday " +
+            "FROM users u LEFT JOIN user_profiles p ON p.user_id = u.id AND p.deleted = false " +
+            "WHERE u.deleted = false ORDER BY u.id";
+
+    /**
+     * MySQL驱动的流式读取标记：只进只读语句的fetchSize为Integer.MIN_VALUE时逐行从网络读取结果
+     */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 按用户ID顺序逐行读取全部未删除用户
+     * 回调在读取线程中同步执行，抛出的运行时异常会中止读取并关闭游标；
+     * 流式读取期间该连接不能执行其他语句，回调中不要访问数据库
+     *
+     * @param consumer 每行用户记录的回调
+     * @return 读取的用户数
+     */
+    public long forEachUser(Consumer<UserExportRecord> consumer) {
+        long[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            consumer.accept(toRecord(rs));
+            count[0]++;
+        });
+        log.debug("读取导出用户: count={}", count[0]);
+        return count[0];
+    }
+
+    private static UserExportRecord toRecord(ResultSet rs) throws SQLException {
+        return new UserExportRecord()
+                .setUserId(rs.getLong("id"))
+                .setUsername(rs.getString("username"))
+                .setEmail(rs.getString("email"))
+                .setPhone(rs.getString("phone"))
+                .setStatus(rs.getString("status"))
+                .setNickname(rs.getString("nickname"))
+                .setRealName(rs.getString("real_name"))
+                .setGender(rs.getString("gender"))
+                .setBirthday(rs.getObject("birthday", LocalDate.class))
+                .setCreatedAt(rs.getObject("created_at", LocalDateTime.class))
+                .setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
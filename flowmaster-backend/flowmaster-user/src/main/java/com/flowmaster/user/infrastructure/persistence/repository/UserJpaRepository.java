@@ -1,5 +1,6 @@
 package com.flowmaster.user.infrastructure.persistence.repository;
 
+import com.flowmaster.user.domain.model.valueobject.UserStatus;
 import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
 import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,6 +74,82 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long>, JpaS
      */
     boolean existsByPhoneAndDeletedFalse(String phone);
 
+    /**
+     * 查找已被占用的用户名（包括已逻辑删除的用户，唯一索引不区分删除状态）
+     *
+     * @param usernames 用户名列表
+     * @return 已存在的用户名
+     */
+    @Query("SELECT u.username FROM UserEntity u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 查找已被占用的邮箱（包括已逻辑删除的用户）
+     *
+     * @param emails 邮箱列表
+     * @return 已存在的邮箱
+     */
+    @Query("SELECT u.email FROM UserEntity u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * 查找已被占用的手机号（包括已逻辑删除的用户）
+     *
+     * @param phones 手机号列表
+     * @return 已存在的手机号
+     */
+    @Query("SELECT u.phone FROM UserEntity u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    /**
+     * 查找占用任一唯一键的用户（包括已逻辑删除的用户，唯一索引不区分删除状态）
+     * 三个条件分别命中各自的唯一索引，最多返回三行
+     *
+     * @param username 用户名
+     * @param email 邮箱
+     * @param phone 手机号
+     * @param excludeId 排除的用户ID
+     * @return 唯一键投影列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.phone AS phone FROM UserEntity u " +
+           "WHERE (u.username = :username OR u.email = :email OR u.phone = :phone) AND u.id <> :excludeId")
+    List<UniqueKeyView> findUniqueKeyConflicts(@Param("username") String username, @Param("email") String email,
+                                               @Param("phone") String phone, @Param("excludeId") Long excludeId);
+
+    /**
+     * 按主键顺序分批读取用户唯一键（键集分页，包括已逻辑删除的用户）
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param pageable 分页参数（只使用大小）
+     * @return 唯一键投影列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.phone AS phone FROM UserEntity u " +
+           "WHERE u.id > :afterId ORDER BY u.id")
+    List<UniqueKeyView> findUniqueKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按主键顺序分批读取未删除用户的用户名和资料姓名（键集分页，用于构建搜索索引）
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param pageable 分页参数（只使用大小）
+     * @return 搜索文档投影列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, p.nickname AS nickname, p.realName AS realName " +
+           "FROM UserEntity u LEFT JOIN UserProfileEntity p ON p.userId = u.id AND p.deleted = false " +
+           "WHERE u.id > :afterId AND u.deleted = false ORDER BY u.id")
+    List<SearchDocumentView> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 根据用户ID批量读取未删除用户的用户名和资料姓名
+     *
+     * @param ids 用户ID列表
+     * @return 搜索文档投影列表（已删除或不存在的用户不返回）
+     */
+    @Query("SELECT u.id AS id, u.username AS username, p.nickname AS nickname, p.realName AS realName " +
+           "FROM UserEntity u LEFT JOIN UserProfileEntity p ON p.userId = u.id AND p.deleted = false " +
+           "WHERE u.id IN :ids AND u.deleted = false")
+    List<SearchDocumentView> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * 根据状态查找用户
      *
@@ -158,6 +236,27 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long>, JpaS
     @Query("UPDATE UserEntity u SET u.status = :status, u.updatedAt = :updatedAt, u.updatedBy = :updatedBy WHERE u.id IN :ids")
     int batchUpdateStatusByIds(@Param("ids") List<Long> ids, @Param("status") String status, @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") Long updatedBy);
 
+    /**
+     * 按主键顺序分批读取用户凭据（键集分页）
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param pageable 分页参数（只使用大小）
+     * @return 用户凭据列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.passwordHash AS passwordHash, u.status AS status, u.version AS version " +
+           "FROM UserEntity u WHERE u.id > :afterId AND u.deleted = false ORDER BY u.id")
+    List<CredentialView> findCredentialsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按用户ID批量读取用户凭据，已删除的用户不返回
+     *
+     * @param ids 用户ID列表
+     * @return 用户凭据列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.passwordHash AS passwordHash, u.status AS status, u.version AS version " +
+           "FROM UserEntity u WHERE u.id IN :ids AND u.deleted = false")
+    List<CredentialView> findCredentialsByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * 统计用户数量
      *
@@ -174,5 +273,45 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long>, JpaS
      */
     @Query("SELECT COUNT(u) FROM UserEntity u WHERE u.status = :status AND u.deleted = false")
     long countByStatus(@Param("status") String status);
-}
 
+    /**
+     * 用户唯一键投影
+     */
+    interface UniqueKeyView {
+        Long getId();
+
+        String getUsername();
+
+        String getEmail();
+
+        String getPhone();
+    }
+
+    /**
+     * 用户搜索文档投影
+     */
+    interface SearchDocumentView {
+        Long getId();
+
+        String getUsername();
+
+        String getNickname();
+
+        String getRealName();
+    }
+
+    /**
+     * 用户凭据投影
+     */
+    interface CredentialView {
+        Long getId();
+
+        String getUsername();
+
+        String getPasswordHash();
+
+        UserStatus getStatus();
+
+        Integer getVersion();
+    }
+}
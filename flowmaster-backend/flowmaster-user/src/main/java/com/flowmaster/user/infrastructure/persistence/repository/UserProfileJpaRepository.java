@@ -11,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,6 +32,14 @@ public interface UserProfileJpaRepository extends JpaRepository<UserProfileEntit
      */
     Optional<UserProfileEntity> findByUserIdAndDeletedFalse(Long userId);
 
+    /**
+     * 根据用户ID批量查找用户资料
+     *
+     * @param userIds 用户ID列表
+     * @return 用户资料实体列表
+     */
+    List<UserProfileEntity> findByUserIdInAndDeletedFalse(Collection<Long> userIds);
+
     /**
      * 根据昵称查找用户资料
      *
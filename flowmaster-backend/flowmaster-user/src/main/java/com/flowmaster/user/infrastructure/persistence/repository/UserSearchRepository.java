@@ -0,0 +1,277 @@
+package com.flowmaster.user.infrastructure.persistence.repository;
+
+import com.flowmaster.user.domain.repository.UserSearchCriteria;
+import com.flowmaster.user.domain.repository.UserSearchCriteria.SortField;
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 用户检索查询
+ * 按 (排序字段, 用户ID) 做键集分页：后续页以上一页最后一行的排序值和ID作为起点（WHERE key < ? OR (key = ? AND id < ?)），
+ * 不使用OFFSET，任意深度的翻页都只扫描一页数据；每次多取一行判断是否还有下一页
+ * <p>
+ * 总数统计是可选的：精确统计执行COUNT；估算在无过滤条件时读取表统计信息，
+ * 有过滤条件时只读取主键并最多数到上限
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Repository
+@Slf4j
+public class UserSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final String TABLE_ROWS_SQL =
+            "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'users'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int estimateCountCap;
+
+    public UserSearchRepository(@Value("${user.query.estimate-count-cap:10000}") int estimateCountCap) {
+        this.estimateCountCap = estimateCountCap;
+    }
+
+    /**
+     * 查询一页用户（多取一行用于判断是否还有下一页）
+     *
+     * @param criteria 检索条件
+     * @return 用户实体列表，最多 limit + 1 条
+     */
+    public List<UserEntity> findPage(UserSearchCriteria criteria) {
+        SortField sortField = criteria.getSortBy();
+        Cursor cursor = criteria.getCursor() != null ? Cursor.decode(criteria.getCursor(), sortField) : null;
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserEntity> query = cb.createQuery(UserEntity.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        List<Predicate> predicates = filters(cb, query, root, criteria);
+        if (cursor != null) {
+            predicates.add(seek(cb, root, sortField, criteria.isDescending(), cursor));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        List<Order> orders = new ArrayList<>(2);
+        if (sortField != SortField.ID) {
+            orders.add(order(cb, root.get(sortField.getProperty()), criteria.isDescending()));
+        }
+        orders.add(order(cb, root.get("id"), criteria.isDescending()));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(criteria.getLimit() + 1)
+                .getResultList();
+    }
+
+    /**
+     * 精确统计符合条件的用户数量
+     *
+     * @param criteria 检索条件
+     * @return 用户数量
+     */
+    public long count(UserSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+        query.select(cb.count(root)).where(filters(cb, query, root, criteria).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * 估算符合条件的用户数量
+     *
+     * @param criteria 检索条件
+     * @return 估算结果
+     */
+    public Estimate estimate(UserSearchCriteria criteria) {
+        if (!criteria.hasFilter()) {
+            try {
+                Object rows = entityManager.createNativeQuery(TABLE_ROWS_SQL).getSingleResult();
+                if (rows instanceof Number number) {
+                    return new Estimate(number.longValue(), true);
+                }
+            } catch (Exception e) {
+                log.debug("读取用户表统计信息失败，改为精确统计: error={}", e.getMessage());
+            }
+            return new Estimate(count(criteria), false);
+        }
+
+        // 只读取主键，最多数到上限；超过上限时返回上限作为下界
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+        query.select(root.get("id")).where(filters(cb, query, root, criteria).toArray(new Predicate[0]));
+        int counted = entityManager.createQuery(query)
+                .setMaxResults(estimateCountCap + 1)
+                .getResultList()
+                .size();
+        return counted > estimateCountCap ? new Estimate(estimateCountCap, true) : new Estimate(counted, false);
+    }
+
+    /**
+     * 生成指向指定用户之后的游标
+     *
+     * @param entity 本页最后一个用户
+     * @param sortField 排序字段
+     * @return 游标
+     */
+    public String cursorAfter(UserEntity entity, SortField sortField) {
+        String value = switch (sortField) {
+            case ID -> "";
+            case USERNAME -> entity.getUsername();
+            case CREATED_AT -> toCursorValue(entity.getCreatedAt());
+            case UPDATED_AT -> toCursorValue(entity.getUpdatedAt());
+        };
+        String raw = sortField.name() + CURSOR_SEPARATOR + entity.getId() + CURSOR_SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, AbstractQuery<?> query, Root<UserEntity> root,
+                                    UserSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isFalse(root.get("deleted")));
+
+        if (criteria.getUserId() != null) {
+            predicates.add(cb.equal(root.get("id"), criteria.getUserId()));
+        }
+        addPrefix(cb, predicates, root.get("username"), criteria.getUsername());
+        addPrefix(cb, predicates, root.get("email"), criteria.getEmail());
+        addPrefix(cb, predicates, root.get("phone"), criteria.getPhone());
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+        }
+        addRange(cb, predicates, root.get("createdAt"), criteria.getCreatedAtStart(), criteria.getCreatedAtEnd());
+        addRange(cb, predicates, root.get("updatedAt"), criteria.getUpdatedAtStart(), criteria.getUpdatedAtEnd());
+
+        if (criteria.hasProfileFilter()) {
+            // 用户实体不映射资料关联，按user_id关联子查询过滤
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<UserProfileEntity> profile = subquery.from(UserProfileEntity.class);
+            List<Predicate> profilePredicates = new ArrayList<>();
+            profilePredicates.add(cb.equal(profile.get("userId"), root.get("id")));
+            profilePredicates.add(cb.isFalse(profile.get("deleted")));
+            addPrefix(cb, profilePredicates, profile.get("nickname"), criteria.getNickname());
+            addPrefix(cb, profilePredicates, profile.get("realName"), criteria.getRealName());
+            if (criteria.getGender() != null) {
+                profilePredicates.add(cb.equal(profile.get("gender"), criteria.getGender()));
+            }
+            subquery.select(profile.get("userId")).where(profilePredicates.toArray(new Predicate[0]));
+            predicates.add(cb.exists(subquery));
+        }
+        return predicates;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Root<UserEntity> root, SortField sortField,
+                                  boolean descending, Cursor cursor) {
+        Path<Long> id = root.get("id");
+        Predicate idAfter = descending ? cb.lessThan(id, cursor.id) : cb.greaterThan(id, cursor.id);
+        if (sortField == SortField.ID) {
+            return idAfter;
+        }
+        // 排序值为空的行按最小值排序（与MySQL一致：升序在前，降序在后）
+        Path<Comparable> key = root.get(sortField.getProperty());
+        Comparable value = cursor.value;
+        if (value == null) {
+            Predicate nullAfter = cb.and(cb.isNull(key), idAfter);
+            return descending ? nullAfter : cb.or(cb.isNotNull(key), nullAfter);
+        }
+        Predicate keyAfter = descending
+                ? cb.or(cb.lessThan(key, value), cb.isNull(key))
+                : cb.greaterThan(key, value);
+        return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+    }
+
+    private static String toCursorValue(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static Order order(CriteriaBuilder cb, Path<?> path, boolean descending) {
+        return descending ? cb.desc(path) : cb.asc(path);
+    }
+
+    private static void addPrefix(CriteriaBuilder cb, List<Predicate> predicates, Path<String> path, String prefix) {
+        if (prefix != null && !prefix.isBlank()) {
+            predicates.add(cb.like(path, escapeLike(prefix.trim()) + "%", LIKE_ESCAPE));
+        }
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<LocalDateTime> path,
+                                 LocalDateTime start, LocalDateTime end) {
+        if (start != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, start));
+        }
+        if (end != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, end));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * 估算结果
+     *
+     * @param total 数量
+     * @param estimated 是否为估算值（表统计信息或计数上限）
+     */
+    public record Estimate(long total, boolean estimated) {
+    }
+
+    /**
+     * 分页游标：排序字段|用户ID|排序值，Base64URL编码；时间排序值为空时编码为空串
+     */
+    private record Cursor(long id, Comparable<?> value) {
+
+        static Cursor decode(String encoded, SortField expectedField) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\" + CURSOR_SEPARATOR, 3);
+                if (parts.length != 3 || SortField.valueOf(parts[0]) != expectedField) {
+                    throw new IllegalArgumentException("游标与排序字段不匹配: " + expectedField);
+                }
+                long id = Long.parseLong(parts[1]);
+                Comparable<?> value = switch (expectedField) {
+                    case ID -> id;
+                    case USERNAME -> parts[2];
+                    case CREATED_AT, UPDATED_AT -> parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+                };
+                return new Cursor(id, value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("无效的分页游标", e);
+            }
+        }
+    }
+}
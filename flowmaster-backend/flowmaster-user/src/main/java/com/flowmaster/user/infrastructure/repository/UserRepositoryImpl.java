@@ -1,26 +1,49 @@
 package com.flowmaster.user.infrastructure.repository;
 
+import com.flowmaster.common.event.UserCredentialMessage;
 import com.flowmaster.user.domain.model.aggregate.User;
+import com.flowmaster.user.domain.model.event.UserUpdatedEvent;
 import com.flowmaster.user.domain.model.valueobject.Email;
 import com.flowmaster.user.domain.model.valueobject.Phone;
 import com.flowmaster.user.domain.model.valueobject.UserId;
 import com.flowmaster.user.domain.model.valueobject.Username;
 import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import com.flowmaster.user.domain.repository.UniqueKeyConflicts;
 import com.flowmaster.user.domain.repository.UserRepository;
+import com.flowmaster.user.domain.repository.UserSearchCriteria;
+import com.flowmaster.user.domain.repository.UserSearchPage;
+import com.flowmaster.user.infrastructure.cache.UniqueKeyFilter;
+import com.flowmaster.user.infrastructure.cache.UserReadCache;
+import com.flowmaster.user.infrastructure.cache.UserReadCache.KeyType;
 import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
 import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
 import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository;
 import com.flowmaster.user.infrastructure.persistence.repository.UserProfileJpaRepository;
+import com.flowmaster.user.infrastructure.persistence.repository.UserSearchRepository;
+import com.flowmaster.user.infrastructure.search.UserNgramIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * 用户仓储实现
@@ -36,14 +59,19 @@ public class UserRepositoryImpl implements UserRepository {
 
     private final UserJpaRepository userJpaRepository;
     private final UserProfileJpaRepository userProfileJpaRepository;
+    private final UserSearchRepository userSearchRepository;
+    private final UserReadCache userReadCache;
+    private final UniqueKeyFilter uniqueKeyFilter;
+    private final UserNgramIndex userNgramIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findById(UserId userId) {
         log.debug("根据用户ID查找用户: userId={}", userId.getValue());
         
-        return userJpaRepository.findById(userId.getValue())
-                .map(this::convertToDomain);
+        return findCached(KeyType.ID, String.valueOf(userId.getValue()),
+                () -> userJpaRepository.findById(userId.getValue()));
     }
 
     @Override
@@ -51,8 +79,8 @@ public class UserRepositoryImpl implements UserRepository {
     public Optional<User> findByUsername(Username username) {
         log.debug("根据用户名查找用户: username={}", username.getValue());
         
-        return userJpaRepository.findByUsernameAndDeletedFalse(username.getValue())
-                .map(this::convertToDomain);
+        return findCached(KeyType.USERNAME, username.getValue(),
+                () -> userJpaRepository.findByUsernameAndDeletedFalse(username.getValue()));
     }
 
     @Override
@@ -60,8 +88,8 @@ public class UserRepositoryImpl implements UserRepository {
     public Optional<User> findByEmail(Email email) {
         log.debug("根据邮箱查找用户: email={}", email.getValue());
         
-        return userJpaRepository.findByEmailAndDeletedFalse(email.getValue())
-                .map(this::convertToDomain);
+        return findCached(KeyType.EMAIL, email.getValue(),
+                () -> userJpaRepository.findByEmailAndDeletedFalse(email.getValue()));
     }
 
     @Override
@@ -69,8 +97,8 @@ public class UserRepositoryImpl implements UserRepository {
     public Optional<User> findByPhone(Phone phone) {
         log.debug("根据手机号查找用户: phone={}", phone.getValue());
         
-        return userJpaRepository.findByPhoneAndDeletedFalse(phone.getValue())
-                .map(this::convertToDomain);
+        return findCached(KeyType.PHONE, phone.getValue(),
+                () -> userJpaRepository.findByPhoneAndDeletedFalse(phone.getValue()));
     }
 
     @Override
@@ -87,6 +115,13 @@ public class UserRepositoryImpl implements UserRepository {
             userProfileJpaRepository.save(profileEntity);
         }
         
+        // 新增或变更的唯一键加入过滤器，提交后再次加入并通知其他节点（事务回滚时多出的键只会导致多查一次数据库）
+        uniqueKeyFilter.put(savedUserEntity.getUsername(), savedUserEntity.getEmail(), savedUserEntity.getPhone());
+
+        // 发布领域事件（事务提交后由监听器处理）
+        user.getDomainEvents().forEach(eventPublisher::publishEvent);
+        user.clearDomainEvents();
+        
         // 转换为领域对象返回
         User savedUser = convertToDomain(savedUserEntity);
         
@@ -112,6 +147,13 @@ public class UserRepositoryImpl implements UserRepository {
             1L // TODO: 从认证上下文获取当前用户ID
         );
         
+        // 发布更新事件，凭据副本据此移除已删除用户
+        userJpaRepository.findById(userId.getValue()).ifPresent(entity ->
+            eventPublisher.publishEvent(new UserUpdatedEvent(
+                userId,
+                Username.of(entity.getUsername()),
+                entity.getEmail() != null ? Email.of(entity.getEmail()) : null)));
+        
         log.info("用户删除成功: userId={}", userId.getValue());
     }
 
@@ -123,6 +165,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public boolean existsByUsername(Username username) {
+        if (!uniqueKeyFilter.mightContainAny(username.getValue(), null, null)) {
+            return false;
+        }
         return userJpaRepository.existsByUsernameAndDeletedFalse(username.getValue());
     }
 
@@ -134,6 +179,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public boolean existsByEmail(Email email) {
+        if (!uniqueKeyFilter.mightContainAny(null, email.getValue(), null)) {
+            return false;
+        }
         return userJpaRepository.existsByEmailAndDeletedFalse(email.getValue());
     }
 
@@ -145,6 +193,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public boolean existsByPhone(Phone phone) {
+        if (!uniqueKeyFilter.mightContainAny(null, null, phone.getValue())) {
+            return false;
+        }
         return userJpaRepository.existsByPhoneAndDeletedFalse(phone.getValue());
     }
 
@@ -178,8 +229,10 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public Page<User> findByEmailContaining(String email, Pageable pageable) {
-        // TODO: 实现邮箱模糊查询逻辑
-        return Page.empty();
+        log.debug("根据邮箱模糊查询用户: email={}, page={}", email, pageable.getPageNumber());
+
+        Specification<UserEntity> spec = notDeleted().and((root, query, cb) -> cb.like(root.get("email"), "%" + email + "%"));
+        return convertPageToDomain(userJpaRepository.findAll(spec, pageable));
     }
 
     /**
@@ -191,8 +244,27 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public Page<User> findByUsernameContaining(String username, Pageable pageable) {
-        // TODO: 实现用户名模糊查询逻辑
-        return Page.empty();
+        log.debug("根据用户名模糊查询用户: username={}, page={}", username, pageable.getPageNumber());
+
+        // LIKE '%x%' 无法使用索引，索引就绪且不要求排序时改由内存索引匹配，只按主键读取当前页
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()
+                && UserNgramIndex.isSearchable(username) && userNgramIndex.isReady()) {
+            long[] userIds = userNgramIndex.findUserIds(username, EnumSet.of(UserNgramIndex.Field.USERNAME));
+            int from = (int) Math.min(pageable.getOffset(), userIds.length);
+            int to = Math.min(userIds.length, from + pageable.getPageSize());
+            List<Long> pageIds = Arrays.stream(userIds, from, to).boxed().collect(Collectors.toList());
+
+            Map<Long, UserEntity> entitiesById = userJpaRepository.findAllById(pageIds).stream()
+                    .filter(entity -> !Boolean.TRUE.equals(entity.getDeleted()))
+                    .collect(Collectors.toMap(UserEntity::getId, entity -> entity));
+            List<UserEntity> entities = pageIds.stream()
+                    .map(entitiesById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(convertAllToDomain(entities), pageable, userIds.length);
+        }
+
+        return convertPageToDomain(userJpaRepository.findByUsernameContainingAndDeletedFalse(username, pageable));
     }
 
     /**
@@ -204,8 +276,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public Page<User> findByStatus(UserStatus status, Pageable pageable) {
-        // TODO: 实现状态分页查询逻辑
-        return Page.empty();
+        log.debug("根据状态分页查询用户: status={}, page={}", status, pageable.getPageNumber());
+
+        return convertPageToDomain(userJpaRepository.findAll(notDeleted().and(hasStatus(status)), pageable));
     }
 
     /**
@@ -216,8 +289,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public Page<User> findAll(Pageable pageable) {
-        // TODO: 实现分页查询逻辑
-        return Page.empty();
+        log.debug("分页查询用户: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
+
+        return convertPageToDomain(userJpaRepository.findAll(notDeleted(), pageable));
     }
 
     /**
@@ -228,8 +302,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public List<User> findByStatus(UserStatus status) {
-        // TODO: 实现状态查询逻辑
-        return List.of();
+        log.debug("根据状态查找用户: status={}", status);
+
+        return convertAllToDomain(userJpaRepository.findAll(notDeleted().and(hasStatus(status))));
     }
 
     /**
@@ -241,8 +316,7 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public boolean existsByEmailAndUserIdNot(Email email, Long userId) {
-        // TODO: 实现邮箱检查逻辑
-        return false;
+        return findUniqueKeyConflicts(null, email, null, userId).isEmail();
     }
 
     /**
@@ -254,8 +328,144 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Transactional(readOnly = true)
     public boolean existsByPhoneAndUserIdNot(Phone phone, Long userId) {
-        // TODO: 实现手机号检查逻辑
-        return false;
+        return findUniqueKeyConflicts(null, null, phone, userId).isPhone();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UniqueKeyConflicts findUniqueKeyConflicts(Username username, Email email, Phone phone, Long excludeUserId) {
+        String usernameValue = username != null ? username.getValue() : null;
+        String emailValue = email != null ? email.getValue() : null;
+        String phoneValue = phone != null ? phone.getValue() : null;
+        if (usernameValue == null && emailValue == null && phoneValue == null) {
+            return UniqueKeyConflicts.none();
+        }
+
+        // 过滤器判定所有键都不存在时无需查询数据库
+        if (!uniqueKeyFilter.mightContainAny(usernameValue, emailValue, phoneValue)) {
+            return UniqueKeyConflicts.none();
+        }
+
+        boolean usernameConflict = false;
+        boolean emailConflict = false;
+        boolean phoneConflict = false;
+        List<UserJpaRepository.UniqueKeyView> owners = userJpaRepository.findUniqueKeyConflicts(
+                usernameValue, emailValue, phoneValue, excludeUserId != null ? excludeUserId : 0L);
+        for (UserJpaRepository.UniqueKeyView owner : owners) {
+            // 唯一索引不区分大小写，比较时同样忽略大小写
+            usernameConflict |= usernameValue != null && usernameValue.equalsIgnoreCase(owner.getUsername());
+            emailConflict |= emailValue != null && emailValue.equalsIgnoreCase(owner.getEmail());
+            phoneConflict |= phoneValue != null && phoneValue.equals(owner.getPhone());
+        }
+
+        UniqueKeyConflicts conflicts = new UniqueKeyConflicts(usernameConflict, emailConflict, phoneConflict);
+        log.debug("检查唯一键冲突: username={}, email={}, phone={}, conflicts={}", usernameValue, emailValue, phoneValue, conflicts);
+        return conflicts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserSearchPage search(UserSearchCriteria criteria) {
+        log.debug("检索用户: criteria={}", criteria);
+
+        List<UserEntity> entities = userSearchRepository.findPage(criteria);
+        boolean hasNext = entities.size() > criteria.getLimit();
+        if (hasNext) {
+            entities = entities.subList(0, criteria.getLimit());
+        }
+
+        UserSearchPage page = new UserSearchPage()
+                .setUsers(convertAllToDomain(entities))
+                .setNextCursor(hasNext ? userSearchRepository.cursorAfter(entities.get(entities.size() - 1), criteria.getSortBy()) : null);
+
+        switch (criteria.getCountMode()) {
+            case EXACT -> page.setTotal(userSearchRepository.count(criteria));
+            case ESTIMATED -> {
+                UserSearchRepository.Estimate estimate = userSearchRepository.estimate(criteria);
+                page.setTotal(estimate.total()).setTotalEstimated(estimate.estimated());
+            }
+            default -> {
+                // 不统计总数
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 按用户ID顺序分批获取用户凭据
+     *
+     * @param afterId 上一批最后一个用户ID
+     * @param limit   批大小
+     * @return 用户凭据列表
+     */
+    @Transactional(readOnly = true)
+    public List<UserCredentialMessage> findCredentialsAfter(Long afterId, int limit) {
+        return userJpaRepository.findCredentialsAfter(afterId, PageRequest.of(0, limit)).stream()
+                .map(UserRepositoryImpl::toCredential)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按用户ID批量获取用户凭据，已删除或不存在的用户不返回
+     *
+     * @param userIds 用户ID列表
+     * @return 用户凭据列表
+     */
+    @Transactional(readOnly = true)
+    public List<UserCredentialMessage> findCredentialsByIds(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userJpaRepository.findCredentialsByIds(userIds).stream()
+                .map(UserRepositoryImpl::toCredential)
+                .collect(Collectors.toList());
+    }
+
+    private static UserCredentialMessage toCredential(UserJpaRepository.CredentialView view) {
+        return new UserCredentialMessage()
+                .setUserId(view.getId())
+                .setUsername(view.getUsername())
+                .setPasswordHash(view.getPasswordHash())
+                .setStatus(view.getStatus().name())
+                .setVersion(view.getVersion());
+    }
+
+    private static Specification<UserEntity> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    private static Specification<UserEntity> hasStatus(UserStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * 查找单个用户，只读事务中先读缓存，未命中时查询数据库并填充缓存
+     * 读写事务（先读后改）始终查询数据库，保证修改基于最新数据
+     *
+     * @param type 缓存键类型
+     * @param key 缓存键值
+     * @param loader 数据库查询
+     * @return 用户领域对象
+     */
+    private Optional<User> findCached(KeyType type, String key, Supplier<Optional<UserEntity>> loader) {
+        boolean cacheable = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (cacheable) {
+            Optional<UserReadCache.CachedUser> cached = userReadCache.get(type, key);
+            if (cached.isPresent()) {
+                return Optional.of(assemble(cached.get().toEntity(), cached.get().toProfileEntity()));
+            }
+        }
+
+        Optional<UserEntity> userEntity = loader.get();
+        if (userEntity.isEmpty()) {
+            return Optional.empty();
+        }
+        UserProfileEntity profileEntity = userProfileJpaRepository
+                .findByUserIdAndDeletedFalse(userEntity.get().getId()).orElse(null);
+        if (cacheable) {
+            userReadCache.fill(userEntity.get(), profileEntity);
+        }
+        return Optional.of(assemble(userEntity.get(), profileEntity));
     }
 
     /**
@@ -265,14 +475,61 @@ public class UserRepositoryImpl implements UserRepository {
      * @return 用户领域对象
      */
     private User convertToDomain(UserEntity userEntity) {
-        User user = userEntity.toDomain();
-        
-        // 加载用户资料
         Optional<UserProfileEntity> profileEntity = userProfileJpaRepository.findByUserIdAndDeletedFalse(userEntity.getId());
-        if (profileEntity.isPresent()) {
-            user.setProfile(profileEntity.get().toDomain());
+        return assemble(userEntity, profileEntity.orElse(null));
+    }
+
+    /**
+     * 批量将JPA实体转换为领域对象
+     * 一条IN查询加载整批用户的资料，再在内存中按用户ID拼装，列表查询的往返次数与结果数量无关
+     *
+     * @param userEntities 用户JPA实体列表
+     * @return 用户领域对象列表（顺序与输入一致）
+     */
+    private List<User> convertAllToDomain(List<UserEntity> userEntities) {
+        if (userEntities.isEmpty()) {
+            return List.of();
         }
-        
+
+        List<Long> userIds = userEntities.stream().map(UserEntity::getId).collect(Collectors.toList());
+        Map<Long, UserProfileEntity> profiles = new HashMap<>(userIds.size() * 2);
+        for (UserProfileEntity profile : userProfileJpaRepository.findByUserIdInAndDeletedFalse(userIds)) {
+            profiles.put(profile.getUserId(), profile);
+        }
+
+        List<User> users = new ArrayList<>(userEntities.size());
+        for (UserEntity userEntity : userEntities) {
+            users.add(assemble(userEntity, profiles.get(userEntity.getId())));
+        }
+        return users;
+    }
+
+    /**
+     * 批量将JPA实体分页结果转换为领域对象分页结果
+     *
+     * @param entityPage 用户JPA实体分页结果
+     * @return 用户领域对象分页结果
+     */
+    private Page<User> convertPageToDomain(Page<UserEntity> entityPage) {
+        return new PageImpl<>(convertAllToDomain(entityPage.getContent()), entityPage.getPageable(), entityPage.getTotalElements());
+    }
+
+    /**
+     * 拼装用户和用户资料
+     *
+     * @param userEntity 用户JPA实体
+     * @param profileEntity 用户资料JPA实体，可为null
+     * @return 用户领域对象
+     */
+    private User assemble(UserEntity userEntity, UserProfileEntity profileEntity) {
+        User user = userEntity.toDomain();
+        // toDomain通过User.create重建对象，丢弃重建时产生的创建事件
+        user.clearDomainEvents();
+
+        if (profileEntity != null) {
+            user.setProfile(profileEntity.toDomain());
+        }
+
         return user;
     }
 }
@@ -0,0 +1,704 @@
+package com.flowmaster.user.infrastructure.search;
+
+import com.flowmaster.user.domain.model.event.UserCreatedEvent;
+import com.flowmaster.user.domain.model.event.UserUpdatedEvent;
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository;
+import com.flowmaster.user.infrastructure.persistence.repository.UserJpaRepository.SearchDocumentView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 用户名称N-gram搜索索引
+ * 在内存中为所有未删除用户的用户名、昵称、真实姓名建立二元和三元字符片段（忽略大小写）的倒排索引，
+ * 倒排表是按文档号升序排列的int数组。两个字的关键字直接取对应二元片段的倒排表，更长的关键字取所有三元片段的倒排表
+ * 从短到长求交集，最后逐个校验候选文档确实包含关键字
+ * <p>
+ * 启动后异步从用户表全量构建，片段切分按文档区间分片并行执行，构建完成前索引不可用。用户创建、更新、删除事件
+ * 在事务提交后从数据库重新读取该用户并更新索引，并通过Redis频道通知其他节点。更新时旧文档只做删除标记，
+ * 由定期重建回收；重建同时补齐漏掉的通知
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class UserNgramIndex implements MessageListener {
+
+    /**
+     * 关键字最短长度，单字片段的倒排表接近全量用户，不建立索引
+     */
+    public static final int MIN_KEYWORD_LENGTH = 2;
+
+    private static final String CHANGED_CHANNEL = "user:search-index:changed";
+    private static final char NODE_SEPARATOR = '\n';
+    private static final char ID_SEPARATOR = ',';
+
+    private static final int RANK_USERNAME_PREFIX = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_CONTAINS = 2;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final UserJpaRepository userJpaRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final int rebuildBatchSize;
+    private final ForkJoinPool buildPool;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    /**
+     * 重建期间变更的用户，新索引替换后重新读取
+     */
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private Segment segment;
+
+    public UserNgramIndex(UserJpaRepository userJpaRepository,
+                          StringRedisTemplate redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          @Value("${user.search-index.enabled:true}") boolean enabled,
+                          @Value("${user.search-index.redis-enabled:true}") boolean redisEnabled,
+                          @Value("${user.search-index.rebuild-batch-size:5000}") int rebuildBatchSize,
+                          @Value("${user.search-index.build-parallelism:0}") int buildParallelism) {
+        this.userJpaRepository = userJpaRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+        int parallelism = buildParallelism > 0 ? buildParallelism : Runtime.getRuntime().availableProcessors();
+        this.buildPool = new ForkJoinPool(parallelism);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled && redisEnabled) {
+            // 先订阅再构建，构建期间其他节点的变更不会丢失
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANGED_CHANNEL));
+        }
+        log.info("初始化用户搜索索引: enabled={}, buildParallelism={}", enabled, buildPool.getParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildPool.shutdown();
+    }
+
+    /**
+     * 应用启动后异步构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * 定期重建，回收已删除标记的文档
+     */
+    @Scheduled(initialDelayString = "${user.search-index.rebuild-interval:21600000}",
+               fixedDelayString = "${user.search-index.rebuild-interval:21600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 从用户表按主键分批读取全部未删除用户，并行构建新索引后替换
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            List<Document> documents = new ArrayList<>();
+            long afterId = 0L;
+            while (true) {
+                List<SearchDocumentView> batch = userJpaRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (SearchDocumentView view : batch) {
+                    documents.add(toDocument(view));
+                    afterId = view.getId();
+                }
+                if (batch.size() < rebuildBatchSize) {
+                    break;
+                }
+            }
+            long loadedTime = System.currentTimeMillis();
+
+            Segment next = Segment.build(documents, buildPool);
+            lock.writeLock().lock();
+            try {
+                segment = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // 构建期间变更的用户可能以旧数据进入新索引，重新读取覆盖
+            List<Long> changed = new ArrayList<>(pending);
+            pending.removeAll(changed);
+            if (!changed.isEmpty()) {
+                refreshLocally(changed);
+            }
+
+            log.info("用户搜索索引构建完成: users={}, grams={}, changedDuringBuild={}, loadDuration={}ms, buildDuration={}ms",
+                    documents.size(), next.postings.size(), changed.size(),
+                    loadedTime - startTime, System.currentTimeMillis() - loadedTime);
+        } catch (Exception e) {
+            log.error("用户搜索索引构建失败，保留现有索引: error={}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 索引是否已构建完成
+     *
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return enabled && segment != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 关键字是否可以通过索引查询
+     *
+     * @param keyword 关键字
+     * @return 去除首尾空白后不少于两个字符返回true
+     */
+    public static boolean isSearchable(String keyword) {
+        return keyword != null && keyword.trim().length() >= MIN_KEYWORD_LENGTH;
+    }
+
+    /**
+     * 搜索名称包含关键字的用户（忽略大小写）
+     * 用户名以关键字开头的排在最前，其次是其他字段以关键字开头的，最后是仅包含关键字的；同一档内按索引顺序
+     *
+     * @param keyword 关键字，至少两个字符
+     * @param fields 匹配的字段
+     * @param limit 最多返回数量
+     * @return 匹配的用户，索引未就绪或关键字过短时为空
+     */
+    public List<Document> search(String keyword, Set<Field> fields, int limit) {
+        if (!isSearchable(keyword) || fields.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String query = keyword.trim();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            if (current == null) {
+                return List.of();
+            }
+            int[][] buckets = new int[RANK_CONTAINS + 1][limit];
+            int[] counts = new int[RANK_CONTAINS + 1];
+            current.scan(query, doc -> {
+                int rank = current.rank(doc, query, fields);
+                if (rank != NO_MATCH && counts[rank] < limit) {
+                    buckets[rank][counts[rank]++] = doc;
+                }
+                // 最高一档已满即可停止
+                return counts[RANK_USERNAME_PREFIX] < limit;
+            });
+
+            List<Document> result = new ArrayList<>(limit);
+            for (int rank = 0; rank < buckets.length && result.size() < limit; rank++) {
+                for (int i = 0; i < counts[rank] && result.size() < limit; i++) {
+                    result.add(current.document(buckets[rank][i]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查找名称包含关键字的全部用户ID（忽略大小写），按索引顺序
+     *
+     * @param keyword 关键字，至少两个字符
+     * @param fields 匹配的字段
+     * @return 用户ID，索引未就绪或关键字过短时为空
+     */
+    public long[] findUserIds(String keyword, Set<Field> fields) {
+        if (!isSearchable(keyword) || fields.isEmpty()) {
+            return new long[0];
+        }
+        String query = keyword.trim();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            if (current == null) {
+                return new long[0];
+            }
+            long[][] ids = {new long[16]};
+            int[] count = {0};
+            current.scan(query, doc -> {
+                if (current.rank(doc, query, fields) != NO_MATCH) {
+                    if (count[0] == ids[0].length) {
+                        ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+                    }
+                    ids[0][count[0]++] = current.userIds[doc];
+                }
+                return true;
+            });
+            return Arrays.copyOf(ids[0], count[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 用户创建提交后加入索引
+     *
+     * @param event 用户创建事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        refresh(List.of(event.getUserId().getValue()));
+    }
+
+    /**
+     * 用户更新（含资料修改和删除）提交后重新读取
+     *
+     * @param event 用户更新事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        refresh(List.of(event.getUserId().getValue()));
+    }
+
+    /**
+     * 加入已提交的新用户并通知其他节点（批量导入不发布领域事件，由导入方直接调用）
+     *
+     * @param documents 用户名称
+     */
+    public void putAll(Collection<Document> documents) {
+        if (!enabled || documents.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = documents.stream().map(Document::userId).collect(Collectors.toList());
+        if (rebuilding.get()) {
+            pending.addAll(userIds);
+        }
+        lock.writeLock().lock();
+        try {
+            if (segment != null) {
+                documents.forEach(segment::add);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        broadcast(userIds);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int header = body.indexOf(NODE_SEPARATOR);
+        if (header <= 0 || nodeId.equals(body.substring(0, header))) {
+            return;
+        }
+        try {
+            List<Long> userIds = Arrays.stream(body.substring(header + 1).split(String.valueOf(ID_SEPARATOR)))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toList());
+            refreshLocally(userIds);
+            log.debug("收到用户搜索索引变更通知: count={}", userIds.size());
+        } catch (NumberFormatException e) {
+            log.warn("用户搜索索引变更消息格式错误: {}", body);
+        } catch (Exception e) {
+            log.warn("处理用户搜索索引变更通知异常: error={}", e.getMessage());
+        }
+    }
+
+    private void refresh(List<Long> userIds) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refreshLocally(userIds);
+        } catch (Exception e) {
+            // 漏掉的变更由定期重建补齐
+            log.warn("更新用户搜索索引异常: userIds={}, error={}", userIds, e.getMessage());
+        }
+        broadcast(userIds);
+    }
+
+    /**
+     * 从数据库重新读取用户，已删除或不存在的用户移出索引
+     */
+    private void refreshLocally(Collection<Long> userIds) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding.get()) {
+            pending.addAll(userIds);
+        }
+        List<SearchDocumentView> views = userJpaRepository.findSearchDocumentsByIdIn(userIds);
+
+        lock.writeLock().lock();
+        try {
+            if (segment == null) {
+                return;
+            }
+            Set<Long> found = new HashSet<>();
+            for (SearchDocumentView view : views) {
+                segment.add(toDocument(view));
+                found.add(view.getId());
+            }
+            for (Long userId : userIds) {
+                if (!found.contains(userId)) {
+                    segment.remove(userId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void broadcast(List<Long> userIds) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            String ids = userIds.stream().map(String::valueOf).collect(Collectors.joining(String.valueOf(ID_SEPARATOR)));
+            redisTemplate.convertAndSend(CHANGED_CHANNEL, nodeId + NODE_SEPARATOR + ids);
+        } catch (Exception e) {
+            log.warn("广播用户搜索索引变更异常: error={}", e.getMessage());
+        }
+    }
+
+    private static Document toDocument(SearchDocumentView view) {
+        return new Document(view.getId(), view.getUsername(), view.getNickname(), view.getRealName());
+    }
+
+    /**
+     * 可搜索的字段
+     */
+    public enum Field {
+        USERNAME,
+        NICKNAME,
+        REAL_NAME
+    }
+
+    /**
+     * 索引中的用户名称
+     *
+     * @param userId 用户ID
+     * @param username 用户名
+     * @param nickname 昵称，可为null
+     * @param realName 真实姓名，可为null
+     */
+    public record Document(long userId, String username, String nickname, String realName) {
+
+        String value(Field field) {
+            return switch (field) {
+                case USERNAME -> username;
+                case NICKNAME -> nickname;
+                case REAL_NAME -> realName;
+            };
+        }
+    }
+
+    /**
+     * 按文档号顺序访问候选文档，返回false停止
+     */
+    @FunctionalInterface
+    interface DocVisitor {
+        boolean visit(int doc);
+    }
+
+    /**
+     * 索引数据：文档号从0开始顺序分配，更新时追加新文档并标记旧文档删除，因此倒排表始终有序
+     * 非线程安全，由外层读写锁保护
+     */
+    static final class Segment {
+        private long[] userIds;
+        private Document[] documents;
+        private int size;
+        private final BitSet removed = new BitSet();
+        private final Map<Long, Integer> docByUser;
+        private final Map<Long, IntPostingList> postings;
+
+        private Segment(int capacity, Map<Long, IntPostingList> postings) {
+            int initial = Math.max(16, capacity);
+            this.userIds = new long[initial];
+            this.documents = new Document[initial];
+            this.docByUser = new HashMap<>(initial * 4 / 3 + 1);
+            this.postings = postings;
+        }
+
+        /**
+         * 并行构建：文档按区间分片，每片独立生成倒排表，再按分片顺序拼接，拼接结果仍按文档号有序
+         */
+        static Segment build(List<Document> documents, ForkJoinPool pool) {
+            int total = documents.size();
+            int partitions = Math.max(1, Math.min(pool.getParallelism(), total / 1024));
+            int partitionSize = (total + partitions - 1) / partitions;
+
+            List<ForkJoinTask<Map<Long, IntPostingList>>> tasks = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int from = p * partitionSize;
+                int to = Math.min(total, from + partitionSize);
+                tasks.add(pool.submit(() -> {
+                    Map<Long, IntPostingList> local = new HashMap<>();
+                    for (int doc = from; doc < to; doc++) {
+                        for (long gram : grams(documents.get(doc))) {
+                            local.computeIfAbsent(gram, k -> new IntPostingList()).add(doc);
+                        }
+                    }
+                    return local;
+                }));
+            }
+
+            Map<Long, IntPostingList> postings = new HashMap<>();
+            for (ForkJoinTask<Map<Long, IntPostingList>> task : tasks) {
+                task.join().forEach((gram, list) -> postings.merge(gram, list, IntPostingList::append));
+            }
+            postings.values().forEach(IntPostingList::trim);
+
+            Segment segment = new Segment(total, postings);
+            for (Document document : documents) {
+                segment.store(document);
+            }
+            return segment;
+        }
+
+        void add(Document document) {
+            int doc = store(document);
+            for (long gram : grams(document)) {
+                postings.computeIfAbsent(gram, k -> new IntPostingList()).add(doc);
+            }
+        }
+
+        void remove(long userId) {
+            Integer doc = docByUser.remove(userId);
+            if (doc != null) {
+                removed.set(doc);
+                documents[doc] = null;
+            }
+        }
+
+        Document document(int doc) {
+            return documents[doc];
+        }
+
+        private int store(Document document) {
+            if (size == userIds.length) {
+                int capacity = size + (size >> 1);
+                userIds = Arrays.copyOf(userIds, capacity);
+                documents = Arrays.copyOf(documents, capacity);
+            }
+            int doc = size++;
+            userIds[doc] = document.userId();
+            documents[doc] = document;
+            Integer previous = docByUser.put(document.userId(), doc);
+            if (previous != null) {
+                removed.set(previous);
+                documents[previous] = null;
+            }
+            return doc;
+        }
+
+        /**
+         * 按文档号升序访问包含关键字所有片段的未删除文档
+         */
+        void scan(String query, DocVisitor visitor) {
+            long[] grams = queryGrams(query);
+            IntPostingList[] lists = new IntPostingList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            // 遍历最短的倒排表，其余倒排表从上次位置向后二分查找
+            IntPostingList shortest = lists[0];
+            int[] positions = new int[lists.length];
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                if (removed.get(doc)) {
+                    continue;
+                }
+                for (int j = 1; j < lists.length; j++) {
+                    int index = Arrays.binarySearch(lists[j].docs, positions[j], lists[j].size, doc);
+                    if (index < 0) {
+                        positions[j] = -index - 1;
+                        if (positions[j] == lists[j].size) {
+                            return;
+                        }
+                        continue candidates;
+                    }
+                    positions[j] = index + 1;
+                }
+                if (!visitor.visit(doc)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 校验候选文档并计算排序档位，不包含关键字返回 NO_MATCH
+         */
+        int rank(int doc, String query, Set<Field> fields) {
+            Document document = documents[doc];
+            int rank = NO_MATCH;
+            for (Field field : fields) {
+                String value = document.value(field);
+                if (value == null) {
+                    continue;
+                }
+                if (value.regionMatches(true, 0, query, 0, query.length())) {
+                    rank = Math.min(rank, field == Field.USERNAME ? RANK_USERNAME_PREFIX : RANK_PREFIX);
+                } else if (containsIgnoreCase(value, query)) {
+                    rank = Math.min(rank, RANK_CONTAINS);
+                }
+            }
+            return rank;
+        }
+
+        private static boolean containsIgnoreCase(String value, String query) {
+            for (int i = 1; i + query.length() <= value.length(); i++) {
+                if (value.regionMatches(true, i, query, 0, query.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 文档所有字段的二元和三元片段（去重）
+         */
+        private static long[] grams(Document document) {
+            long[] grams = new long[64];
+            int count = 0;
+            for (Field field : Field.values()) {
+                String value = document.value(field);
+                if (value == null) {
+                    continue;
+                }
+                for (int i = 0; i + 1 < value.length(); i++) {
+                    if (count + 2 > grams.length) {
+                        grams = Arrays.copyOf(grams, grams.length * 2);
+                    }
+                    grams[count++] = gram(value, i, 2);
+                    if (i + 2 < value.length()) {
+                        grams[count++] = gram(value, i, 3);
+                    }
+                }
+            }
+            Arrays.sort(grams, 0, count);
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (unique == 0 || grams[i] != grams[unique - 1]) {
+                    grams[unique++] = grams[i];
+                }
+            }
+            return Arrays.copyOf(grams, unique);
+        }
+
+        /**
+         * 关键字的片段：两个字符时为一个二元片段，更长时为所有三元片段
+         */
+        private static long[] queryGrams(String query) {
+            if (query.length() == 2) {
+                return new long[] {gram(query, 0, 2)};
+            }
+            long[] grams = new long[query.length() - 2];
+            for (int i = 0; i < grams.length; i++) {
+                grams[i] = gram(query, i, 3);
+            }
+            return Arrays.stream(grams).distinct().toArray();
+        }
+
+        /**
+         * 片段编码：片段长度在最高位，其后每个字符按小写取16位，二元和三元片段的编码不会相同
+         */
+        private static long gram(String value, int start, int length) {
+            long gram = length;
+            for (int i = start; i < start + length; i++) {
+                gram = (gram << 16) | Character.toLowerCase(value.charAt(i));
+            }
+            return gram;
+        }
+    }
+
+    /**
+     * 按文档号升序的int倒排表
+     */
+    static final class IntPostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        IntPostingList append(IntPostingList other) {
+            if (size + other.size > docs.length) {
+                docs = Arrays.copyOf(docs, size + other.size);
+            }
+            System.arraycopy(other.docs, 0, docs, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        void trim() {
+            if (docs.length > size) {
+                docs = Arrays.copyOf(docs, size);
+            }
+        }
+    }
+}
@@ -48,6 +48,10 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health/**").permitAll()
                         // 用户注册和登录相关路径允许匿名访问
                         .requestMatchers("/api/v1/users/register", "/api/v1/users/login").permitAll()
+                        // 内部接口由控制器校验内部调用令牌
+                        .requestMatchers("/api/v1/users/internal/**").permitAll()
+                        // 批量导入和导出全部用户需要管理员权限
+                        .requestMatchers("/api/v1/users/import", "/api/v1/users/export").hasRole("ADMIN")
                         // 其他所有请求需要认证
                         .anyRequest().authenticated()
                 )
@@ -1,26 +1,47 @@
 package com.flowmaster.user.interfaces.rest;
 
+import com.flowmaster.common.event.UserCredentialMessage;
+import com.flowmaster.common.exception.BusinessException;
+import com.flowmaster.common.exception.ParameterException;
 import com.flowmaster.common.response.PageResult;
 import com.flowmaster.common.response.Result;
+import com.flowmaster.common.response.ResultCode;
 import com.flowmaster.user.application.command.ChangePasswordCommand;
 import com.flowmaster.user.application.command.CreateUserCommand;
 import com.flowmaster.user.application.command.UpdateUserCommand;
 import com.flowmaster.user.application.dto.UserDTO;
+import com.flowmaster.user.application.dto.UserImportReport;
+import com.flowmaster.user.application.dto.UserSuggestionDTO;
 import com.flowmaster.user.application.query.UserQuery;
 import com.flowmaster.user.application.service.UserApplicationService;
+import com.flowmaster.user.application.service.UserExportService;
+import com.flowmaster.user.application.service.UserImportService;
+import com.flowmaster.user.infrastructure.exporter.UserExportWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
 /**
  * 用户管理REST控制器
  * 
@@ -34,7 +55,24 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "用户管理", description = "用户管理相关API")
 public class UserController {
 
+    private static final DateTimeFormatter EXPORT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final UserApplicationService userApplicationService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+
+    /**
+     * 启动时校验内部调用令牌，未配置时拒绝启动，避免内部接口退化为使用默认口令
+     */
+    @PostConstruct
+    public void validateInternalApiToken() {
+        if (!StringUtils.hasText(internalApiToken)) {
+            throw new IllegalStateException("internal.api-token 未配置，请设置环境变量 INTERNAL_API_TOKEN");
+        }
+    }
 
     /**
      * 创建用户
@@ -50,6 +88,66 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    /**
+     * 批量导入用户
+     * 请求体为CSV（首行为列名）或JSONL（每行一个JSON对象），字段为 username、email、phone、password、nickname、realName
+     *
+     * @param format 数据格式
+     * @param body 请求体
+     * @param principal 当前管理员
+     * @return 导入结果（含失败行明细）
+     */
+    @PostMapping("/import")
+    @Operation(summary = "批量导入用户", description = "流式导入CSV或JSONL格式的用户数据，逐行报告失败原因")
+    public ResponseEntity<Result<UserImportReport>> importUsers(
+            @Parameter(description = "数据格式：csv 或 jsonl", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body,
+            Principal principal) {
+        Long operatorId = operatorId(principal);
+        log.info("批量导入用户请求: format={}, operatorId={}", format, operatorId);
+        Result<UserImportReport> result = userImportService.importUsers(body, format, operatorId);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 导出用户
+     * 从数据库游标逐行读取并直接写入响应，内存占用与用户数量无关
+     *
+     * @param format 数据格式
+     * @param gzip 是否gzip压缩
+     * @param response HTTP响应
+     * @throws IOException 写入响应失败
+     */
+    @GetMapping("/export")
+    @Operation(summary = "导出用户", description = "流式导出全部未删除用户，支持CSV和JSONL格式，可选gzip压缩")
+    public void exportUsers(
+            @Parameter(description = "数据格式：csv 或 jsonl", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "是否gzip压缩", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("导出用户请求: format={}, gzip={}", format, gzip);
+
+        UserExportWriter.Format exportFormat;
+        try {
+            exportFormat = UserExportWriter.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new ParameterException("format", e.getMessage());
+        }
+
+        String filename = "users-" + LocalDateTime.now().format(EXPORT_FILE_TIMESTAMP) + "." + exportFormat.getExtension();
+        if (gzip) {
+            response.setContentType("application/gzip");
+            filename += ".gz";
+        } else {
+            response.setContentType(exportFormat.getContentType());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+
+        userExportService.exportUsers(response.getOutputStream(), exportFormat, gzip);
+    }
+
     /**
      * 根据ID获取用户
      *
@@ -220,42 +318,53 @@ public class UserController {
     /**
      * 分页查询用户
      *
-     * @param username     用户名关键字
-     * @param email        邮箱关键字
-     * @param phone        手机号关键字
+     * @param username     用户名前缀
+     * @param email        邮箱前缀
+     * @param phone        手机号前缀
      * @param status       用户状态
+     * @param nickname     昵称前缀
+     * @param realName     真实姓名前缀
+     * @param gender       性别
+     * @param cursor       分页游标
      * @param page         页码
      * @param size         每页大小
      * @param sortBy       排序字段
      * @param sortDirection 排序方向
+     * @param countMode    总数统计方式
      * @return 分页结果
      */
     @GetMapping
-    @Operation(summary = "分页查询用户", description = "分页查询用户列表")
+    @Operation(summary = "分页查询用户", description = "按游标分页查询用户列表，第一页不传cursor，后续页传入上一页返回的nextCursor")
     public ResponseEntity<Result<PageResult<UserDTO>>> searchUsers(
-            @Parameter(description = "用户名关键字")
+            @Parameter(description = "用户名前缀")
             @RequestParam(required = false) String username,
-            @Parameter(description = "邮箱关键字")
+            @Parameter(description = "邮箱前缀")
             @RequestParam(required = false) String email,
-            @Parameter(description = "手机号关键字")
+            @Parameter(description = "手机号前缀")
             @RequestParam(required = false) String phone,
             @Parameter(description = "用户状态")
             @RequestParam(required = false) String status,
-            @Parameter(description = "页码", example = "0")
+            @Parameter(description = "昵称前缀")
+            @RequestParam(required = false) String nickname,
+            @Parameter(description = "真实姓名前缀")
+            @RequestParam(required = false) String realName,
+            @Parameter(description = "性别")
+            @RequestParam(required = false) String gender,
+            @Parameter(description = "分页游标（上一页返回的nextCursor）")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "页码（只支持0，后续页使用cursor）", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "排序字段", example = "createdAt")
+            @Parameter(description = "排序字段（createdAt、updatedAt、username、id）", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "排序方向", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDirection) {
-        
-        log.info("分页查询用户请求: username={}, email={}, phone={}, status={}, page={}, size={}", 
-                username, email, phone, status, page, size);
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @Parameter(description = "总数统计方式（none、exact、estimated）", example = "none")
+            @RequestParam(required = false) String countMode) {
         
-        // 构建分页参数
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        log.info("分页查询用户请求: username={}, email={}, phone={}, status={}, cursor={}, size={}", 
+                username, email, phone, status, cursor, size);
         
         // 构建查询对象
         UserQuery query = new UserQuery()
@@ -263,12 +372,119 @@ public class UserController {
                 .setEmail(email)
                 .setPhone(phone)
                 .setStatus(status)
+                .setNickname(nickname)
+                .setRealName(realName)
+                .setGender(gender)
+                .setCursor(cursor)
                 .setPage(page)
                 .setSize(size)
                 .setSortBy(sortBy)
-                .setSortDirection(sortDirection);
+                .setSortDirection(sortDirection)
+                .setCountMode(countMode);
         
         Result<PageResult<UserDTO>> result = userApplicationService.queryUsers(query);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * 用户联想搜索
+     *
+     * @param keyword 关键字
+     * @param limit   最多返回数量
+     * @return 匹配的用户
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "用户联想搜索", description = "按用户名、昵称、真实姓名包含关键字联想用户，关键字至少两个字符")
+    public ResponseEntity<Result<List<UserSuggestionDTO>>> suggestUsers(
+            @Parameter(description = "关键字", required = true)
+            @RequestParam("q") String keyword,
+            @Parameter(description = "最多返回数量", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("用户联想搜索请求: keyword={}, limit={}", keyword, limit);
+        Result<List<UserSuggestionDTO>> result = userApplicationService.suggestUsers(keyword, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 获取用户凭据快照（内部接口，供认证服务构建本地凭据副本）
+     *
+     * @param token   内部调用令牌
+     * @param afterId 上一批最后一个用户ID
+     * @param limit   批大小
+     * @return 用户凭据列表
+     */
+    @GetMapping("/internal/credentials")
+    @Operation(summary = "获取用户凭据快照", description = "按用户ID顺序分批返回用户凭据，仅供内部服务调用")
+    public ResponseEntity<Result<List<UserCredentialMessage>>> getCredentialSnapshot(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @Parameter(description = "上一批最后一个用户ID", example = "0")
+            @RequestParam(defaultValue = "0") Long afterId,
+            @Parameter(description = "批大小", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (!isInternalCall(token)) {
+            log.warn("拒绝非内部调用的凭据快照请求");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Result.fail("禁止访问"));
+        }
+
+        log.info("获取用户凭据快照请求: afterId={}, limit={}", afterId, limit);
+        Result<List<UserCredentialMessage>> result = userApplicationService.getCredentialSnapshot(afterId, Math.min(limit, 5000));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 按用户ID批量获取用户凭据（内部接口，认证服务收到凭据变更通知后据此刷新本地副本）
+     *
+     * @param token   内部调用令牌
+     * @param userIds 用户ID列表
+     * @return 用户凭据列表，已删除或不存在的用户不返回
+     */
+    @PostMapping("/internal/credentials/query")
+    @Operation(summary = "按ID获取用户凭据", description = "按用户ID批量返回用户凭据，仅供内部服务调用")
+    public ResponseEntity<Result<List<UserCredentialMessage>>> getCredentials(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @RequestBody List<Long> userIds) {
+        if (!isInternalCall(token)) {
+            log.warn("拒绝非内部调用的凭据查询请求");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Result.fail("禁止访问"));
+        }
+        if (userIds.size() > 5000) {
+            throw new ParameterException("userIds", "单次最多查询5000个用户");
+        }
+
+        log.debug("按ID获取用户凭据请求: count={}", userIds.size());
+        Result<List<UserCredentialMessage>> result = userApplicationService.getCredentials(userIds);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 校验内部调用令牌
+     *
+     * @param token 请求携带的令牌
+     * @return 是否为内部调用
+     */
+    private boolean isInternalCall(String token) {
+        if (token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                internalApiToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 从请求主体获取当前操作人ID（访问令牌的subject为用户ID）
+     *
+     * @param principal 请求主体
+     * @return 操作人ID
+     */
+    private static Long operatorId(Principal principal) {
+        if (principal != null) {
+            try {
+                return Long.valueOf(principal.getName());
+            } catch (NumberFormatException e) {
+                log.warn("无法从请求主体解析操作人ID: name={}", principal.getName());
+            }
+        }
+        throw new BusinessException(ResultCode.UNAUTHORIZED);
+    }
 }
@@ -0,0 +1,128 @@
+package com.flowmaster.user.infrastructure.repository;
+
+import com.flowmaster.user.domain.model.aggregate.User;
+import com.flowmaster.user.domain.model.valueobject.UserId;
+import com.flowmaster.user.domain.model.valueobject.UserStatus;
+import com.flowmaster.user.domain.repository.UserRepository;
+import com.flowmaster.user.domain.repository.UserSearchCriteria;
+import com.flowmaster.user.domain.repository.UserSearchPage;
+import com.flowmaster.user.infrastructure.cache.UniqueKeyFilter;
+import com.flowmaster.user.infrastructure.cache.UserReadCache;
+import com.flowmaster.user.infrastructure.persistence.entity.UserEntity;
+import com.flowmaster.user.infrastructure.persistence.entity.UserProfileEntity;
+import com.flowmaster.user.infrastructure.persistence.repository.UserSearchRepository;
+import com.flowmaster.user.infrastructure.search.UserNgramIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 用户仓储查询次数测试
+ * 通过Hibernate统计的语句数确认列表查询的资料加载与结果数量无关（用户一条、资料一条），
+ * 加载用户实体本身不会为每个用户额外查询资料
+ *
+ * @author FlowMaster Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({UserRepositoryImpl.class, UserSearchRepository.class})
+class UserRepositoryImplQueryCountTest {
+
+    private static final int USERS = 5;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8ZlGU1RA2pPYCUn0w7b0C2e";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserReadCache userReadCache;
+
+    @MockBean
+    private UniqueKeyFilter uniqueKeyFilter;
+
+    @MockBean
+    private UserNgramIndex userNgramIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= USERS; id++) {
+            UserEntity user = new UserEntity(id, "user" + id, "user" + id + "@flowmaster.local",
+                    "1380000000" + id, PASSWORD_HASH, UserStatus.ACTIVE);
+            user.setCreatedAt(now.minusMinutes(id));
+            user.setUpdatedAt(now.minusMinutes(id));
+            entityManager.persist(user);
+
+            UserProfileEntity profile = new UserProfileEntity(id, "nick" + id, "real" + id, null, null, null, null, null);
+            profile.setCreatedAt(now);
+            profile.setUpdatedAt(now);
+            entityManager.persist(profile);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listQueryLoadsProfilesInOneStatement() {
+        List<User> users = userRepository.findByStatus(UserStatus.ACTIVE);
+
+        assertEquals(USERS, users.size());
+        users.forEach(user -> assertNotNull(user.getProfile()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchLoadsProfilesInOneStatement() {
+        UserSearchPage page = userRepository.search(new UserSearchCriteria().setLimit(USERS));
+
+        assertEquals(USERS, page.getUsers().size());
+        page.getUsers().forEach(user -> assertNotNull(user.getProfile()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchFiltersByProfileWithoutAssociation() {
+        UserSearchPage page = userRepository.search(new UserSearchCriteria().setNickname("nick3"));
+
+        assertEquals(1, page.getUsers().size());
+        assertEquals("real3", page.getUsers().get(0).getProfile().getRealName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void singleLookupDoesNotLoadProfileTwice() {
+        User user = userRepository.findById(UserId.of(1L)).orElseThrow();
+
+        assertEquals("nick1", user.getProfile().getNickname());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
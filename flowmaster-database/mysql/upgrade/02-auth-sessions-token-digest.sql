@@ -0,0 +1,30 @@
+-- 认证会话表：令牌列替换为令牌摘要
+-- 适用于已存在 auth_sessions 表（由JPA ddl-auto创建）的环境，新环境无需执行
+-- 摘要为令牌的SHA-256小写十六进制，与 TokenDigest 的计算方式一致
+
+USE flowmaster;
+
+-- 新增摘要列
+ALTER TABLE auth_sessions
+    ADD COLUMN access_token_digest CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL COMMENT '访问令牌摘要' AFTER username,
+    ADD COLUMN refresh_token_digest CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL COMMENT '刷新令牌摘要' AFTER access_token_digest;
+
+-- 回填现有会话的摘要
+UPDATE auth_sessions
+SET access_token_digest = SHA2(access_token, 256),
+    refresh_token_digest = SHA2(refresh_token, 256);
+
+-- 摘要列设为非空并建立唯一索引
+ALTER TABLE auth_sessions
+    MODIFY COLUMN access_token_digest CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '访问令牌摘要',
+    MODIFY COLUMN refresh_token_digest CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '刷新令牌摘要',
+    ADD UNIQUE KEY uk_auth_sessions_access_token_digest (access_token_digest),
+    ADD UNIQUE KEY uk_auth_sessions_refresh_token_digest (refresh_token_digest);
+
+-- 删除原令牌列
+ALTER TABLE auth_sessions
+    DROP COLUMN access_token,
+    DROP COLUMN refresh_token;
+
+-- 重建表以回收空间
+OPTIMIZE TABLE auth_sessions;
@@ -0,0 +1,10 @@
+-- 用户表：按状态筛选并按创建时间排序/翻页的复合索引
+-- 适用于已存在 users 表（由JPA ddl-auto创建）的环境，新环境由 UserEntity 的索引定义创建
+-- 用户检索常见的"某状态下按创建时间倒序"查询可直接沿索引定位和翻页，不再回表排序
+
+USE flowmaster;
+
+-- 在线添加索引，不阻塞读写
+ALTER TABLE users
+    ADD INDEX idx_users_status_created_at (status, created_at),
+    ALGORITHM = INPLACE, LOCK = NONE;